@@ -0,0 +1,306 @@
+package uk.gov.moj.cpp.subscriptions.benchmarks;
+
+import static java.util.Collections.singletonList;
+import static java.util.UUID.fromString;
+import static uk.gov.justice.core.courts.AttendanceDay.attendanceDay;
+import static uk.gov.justice.core.courts.BailStatus.bailStatus;
+import static uk.gov.justice.core.courts.CourtCentre.courtCentre;
+import static uk.gov.justice.core.courts.CrackedIneffectiveTrial.crackedIneffectiveTrial;
+import static uk.gov.justice.core.courts.Defendant.defendant;
+import static uk.gov.justice.core.courts.DefendantAttendance.defendantAttendance;
+import static uk.gov.justice.core.courts.Hearing.hearing;
+import static uk.gov.justice.core.courts.JudicialResult.judicialResult;
+import static uk.gov.justice.core.courts.NowDocumentRequested.nowDocumentRequested;
+import static uk.gov.justice.core.courts.Offence.offence;
+import static uk.gov.justice.core.courts.Person.person;
+import static uk.gov.justice.core.courts.PersonDefendant.personDefendant;
+import static uk.gov.justice.core.courts.Plea.plea;
+import static uk.gov.justice.core.courts.ProsecutionCase.prosecutionCase;
+import static uk.gov.justice.core.courts.ProsecutionCaseIdentifier.prosecutionCaseIdentifier;
+import static uk.gov.justice.core.courts.Verdict.verdict;
+import static uk.gov.justice.core.courts.VerdictType.verdictType;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.DefendantCaseOffenceV2.defendantCaseOffenceV2;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Filter.filter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.NowDocumentContentV2.nowDocumentContentV2;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.NowDocumentRequestV2.nowDocumentRequestV2;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.NowdefendantV2.nowdefendantV2;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.ProsecutionCaseV2.prosecutionCaseV2;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscribers.subscribers;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscription.subscription;
+
+import uk.gov.justice.core.courts.AttendanceDay;
+import uk.gov.justice.core.courts.Defendant;
+import uk.gov.justice.core.courts.DefendantAttendance;
+import uk.gov.justice.core.courts.Gender;
+import uk.gov.justice.core.courts.Hearing;
+import uk.gov.justice.core.courts.NowDocumentRequested;
+import uk.gov.justice.core.courts.Offence;
+import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.justice.hearing.courts.AttendanceType;
+import uk.gov.moj.cpp.subscriptions.json.schemas.DefendantCaseOffenceV2;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Events;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Filter;
+import uk.gov.moj.cpp.subscriptions.json.schemas.FilterType;
+import uk.gov.moj.cpp.subscriptions.json.schemas.ProsecutionCaseV2;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Builds deterministic hearings, NOW document requests and subscriptions for the benchmarks. The
+ * same seed always produces the same data, and subscription filter values are drawn from the same
+ * value pools as the hearing so that a realistic share of subscriptions match.
+ */
+public class BenchmarkDataGenerator {
+
+    private static final UUID PRE_SENTENCE_REPORT_RESULT_DEFINITION_ID = fromString("029d370b-90f5-4650-b985-a61e9ec8db99");
+    private static final String[] FIRST_NAMES = {"John", "Maggie", "Ahmed", "Olivia", "Wei", "Fatima", "George", "Amelia", "Tomasz", "Chloe"};
+    private static final String[] LAST_NAMES = {"Smith", "Jones", "Khan", "Taylor", "Brown", "Williams", "Wilson", "Nowak", "Evans", "Patel"};
+    private static final String[] PLEA_VALUES = {"GUILTY", "NOT_GUILTY", "CHANGE_TO_GUILTY_MAGISTRATES_COURT", "CHANGE_TO_NOT_GUILTY"};
+    private static final String[] VERDICT_CATEGORIES = {"Guilty", "Not Guilty"};
+    private static final String[] BAIL_STATUSES = {"Conditional Bail", "Unconditional Bail", "Remanded into Custody"};
+    private static final String[] NOW_EDT_NAMES = {"Imprisonment", "Community order England / Wales",
+            "Admission to hospital on committal to Crown Court", "Suspended sentence order"};
+    private static final AttendanceType[] ATTENDANCE_TYPES = AttendanceType.values();
+    private static final Gender[] GENDERS = {Gender.MALE, Gender.FEMALE, Gender.NOT_KNOWN, Gender.NOT_SPECIFIED};
+    private static final FilterType[] FILTER_TYPES = FilterType.values();
+    private static final Events[] EVENTS = Events.values();
+    private static final int OFFENCE_CODE_POOL_SIZE = 500;
+    private static final int URN_POOL_FACTOR = 20;
+    private static final LocalDate HEARING_DAY = LocalDate.of(2021, 4, 12);
+
+    private final long seed;
+    private final int cases;
+    private final int defendantsPerCase;
+    private final int offencesPerDefendant;
+
+    public BenchmarkDataGenerator(final long seed, final int cases, final int defendantsPerCase, final int offencesPerDefendant) {
+        this.seed = seed;
+        this.cases = cases;
+        this.defendantsPerCase = defendantsPerCase;
+        this.offencesPerDefendant = offencesPerDefendant;
+    }
+
+    public Hearing resultedHearing() {
+        return buildHearing(false);
+    }
+
+    public Hearing currentHearing() {
+        return buildHearing(true);
+    }
+
+    public NowDocumentRequested nowDocumentRequested() {
+        final Random random = new Random(seed);
+        final List<ProsecutionCaseV2> prosecutionCases = new ArrayList<>();
+        for (int caseIndex = 0; caseIndex < cases; caseIndex++) {
+            final List<DefendantCaseOffenceV2> offences = new ArrayList<>();
+            for (int offenceIndex = 0; offenceIndex < offencesPerDefendant; offenceIndex++) {
+                final String offenceCode = offenceCode(random);
+                offences.add(defendantCaseOffenceV2()
+                        .withCode(offenceCode)
+                        .withTitle("Offence " + offenceCode)
+                        .build());
+            }
+            prosecutionCases.add(prosecutionCaseV2()
+                    .withReference(urn(random))
+                    .withDefendantCaseOffences(offences)
+                    .build());
+        }
+
+        return nowDocumentRequested()
+                .withMaterialId(uuid(random))
+                .withNowDocumentRequest(nowDocumentRequestV2()
+                        .withHearingId(uuid(random))
+                        .withNowContent(nowDocumentContentV2()
+                                .withOrderName(pick(random, NOW_EDT_NAMES))
+                                .withDefendant(nowdefendantV2()
+                                        .withFirstName(pick(random, FIRST_NAMES))
+                                        .withLastName(pick(random, LAST_NAMES))
+                                        .withDateOfBirth(dateOfBirth(random).toString())
+                                        .withGender(pick(random, GENDERS).name())
+                                        .withIsYouth(random.nextInt(5) == 0 ? "Y" : "N")
+                                        .build())
+                                .withCases(prosecutionCases)
+                                .build())
+                        .build())
+                .build();
+    }
+
+    public List<Subscription> subscriptions(final int count) {
+        final Random random = new Random(seed ^ count);
+        final List<Subscription> subscriptions = new ArrayList<>(count);
+        for (int index = 0; index < count; index++) {
+            subscriptions.add(subscription()
+                    .withId(uuid(random))
+                    .withName("Subscription " + index)
+                    .withActive(random.nextInt(10) != 0)
+                    .withFilter(filterFor(FILTER_TYPES[index % FILTER_TYPES.length], random))
+                    .withEvents(events(random))
+                    .withNowsOrEdts(singletonList(pick(random, NOW_EDT_NAMES)))
+                    .withSubscribers(singletonList(subscribers()
+                            .withId(uuid(random))
+                            .withEmailAddress("subscriber" + index + "@example.com")
+                            .withActive(true)
+                            .build()))
+                    .build());
+        }
+        return subscriptions;
+    }
+
+    private Hearing buildHearing(final boolean current) {
+        final Random random = new Random(seed);
+        final List<ProsecutionCase> prosecutionCases = new ArrayList<>(cases);
+        final List<DefendantAttendance> attendance = new ArrayList<>();
+        final UUID hearingId = uuid(random);
+
+        for (int caseIndex = 0; caseIndex < cases; caseIndex++) {
+            final UUID caseId = uuid(random);
+            final String urn = urn(random);
+            final List<Defendant> defendants = new ArrayList<>(defendantsPerCase);
+            for (int defendantIndex = 0; defendantIndex < defendantsPerCase; defendantIndex++) {
+                final Defendant defendant = buildDefendant(random, current && defendantIndex % 3 == 0);
+                defendants.add(defendant);
+                if (random.nextBoolean()) {
+                    attendance.add(defendantAttendance()
+                            .withDefendantId(defendant.getId())
+                            .withAttendanceDays(attendanceDays(random))
+                            .build());
+                }
+            }
+            prosecutionCases.add(prosecutionCase()
+                    .withId(caseId)
+                    .withProsecutionCaseIdentifier(prosecutionCaseIdentifier().withCaseURN(urn).build())
+                    .withDefendants(defendants)
+                    .build());
+        }
+
+        return hearing()
+                .withId(hearingId)
+                .withCourtCentre(courtCentre().withId(uuid(random)).withName("Benchmark Crown Court").build())
+                .withProsecutionCases(prosecutionCases)
+                .withDefendantAttendance(attendance)
+                .withCrackedIneffectiveTrial(random.nextBoolean() ? crackedIneffectiveTrial().withType("Cracked").build() : null)
+                .build();
+    }
+
+    private Defendant buildDefendant(final Random random, final boolean changeBailStatus) {
+        final UUID defendantId = uuid(random);
+        final int bailStatus = random.nextInt(BAIL_STATUSES.length);
+        final List<Offence> offences = new ArrayList<>(offencesPerDefendant);
+        for (int offenceIndex = 0; offenceIndex < offencesPerDefendant; offenceIndex++) {
+            offences.add(buildOffence(random));
+        }
+
+        return defendant()
+                .withId(defendantId)
+                .withIsYouth(random.nextInt(5) == 0)
+                .withPersonDefendant(personDefendant()
+                        .withPersonDetails(person()
+                                .withFirstName(pick(random, FIRST_NAMES))
+                                .withLastName(pick(random, LAST_NAMES))
+                                .withDateOfBirth(dateOfBirth(random))
+                                .withGender(pick(random, GENDERS))
+                                .build())
+                        .withBailStatus(bailStatus()
+                                .withCode("B")
+                                .withDescription(BAIL_STATUSES[changeBailStatus ? (bailStatus + 1) % BAIL_STATUSES.length : bailStatus])
+                                .build())
+                        .build())
+                .withOffences(offences)
+                .build();
+    }
+
+    private Offence buildOffence(final Random random) {
+        final String offenceCode = offenceCode(random);
+        final Offence.Builder offence = offence()
+                .withId(uuid(random))
+                .withOffenceCode(offenceCode)
+                .withOffenceTitle("Offence " + offenceCode);
+
+        if (random.nextInt(3) == 0) {
+            offence.withPlea(plea().withPleaValue(pick(random, PLEA_VALUES)).build());
+        }
+        if (random.nextInt(4) == 0) {
+            offence.withVerdict(verdict().withVerdictType(verdictType().withCategory(pick(random, VERDICT_CATEGORIES)).build()).build());
+        }
+        if (random.nextInt(10) == 0) {
+            offence.withJudicialResults(singletonList(judicialResult()
+                    .withJudicialResultTypeId(PRE_SENTENCE_REPORT_RESULT_DEFINITION_ID)
+                    .build()));
+        }
+        return offence.build();
+    }
+
+    private List<AttendanceDay> attendanceDays(final Random random) {
+        final int days = 1 + random.nextInt(3);
+        final List<AttendanceDay> attendanceDays = new ArrayList<>(days);
+        for (int day = 0; day < days; day++) {
+            attendanceDays.add(attendanceDay()
+                    .withDay(HEARING_DAY.plusDays(day))
+                    .withAttendanceType(pick(random, ATTENDANCE_TYPES))
+                    .build());
+        }
+        return attendanceDays;
+    }
+
+    private Filter filterFor(final FilterType filterType, final Random random) {
+        final Filter.Builder filter = filter()
+                .withId(uuid(random))
+                .withFilterType(filterType);
+        switch (filterType) {
+            case CASE_REFERENCE:
+                return filter.withUrn(urn(random)).build();
+            case DEFENDANT:
+                return filter.withDefendant(uk.gov.moj.cpp.subscriptions.json.schemas.Defendant.defendant()
+                        .withFirstName(pick(random, FIRST_NAMES))
+                        .withLastName(pick(random, LAST_NAMES))
+                        .withDateOfBirth(dateOfBirth(random))
+                        .build()).build();
+            case AGE:
+                return filter.withIsAdult(random.nextBoolean()).build();
+            case GENDER:
+                return filter.withGender(uk.gov.moj.cpp.subscriptions.json.schemas.Gender.valueOf(pick(random, GENDERS).name())).build();
+            case OFFENCE:
+                return filter.withOffence(offenceCode(random)).build();
+            default:
+                throw new IllegalArgumentException(filterType.toString());
+        }
+    }
+
+    private List<Events> events(final Random random) {
+        final List<Events> events = new ArrayList<>();
+        for (final Events event : EVENTS) {
+            if (random.nextBoolean()) {
+                events.add(event);
+            }
+        }
+        if (events.isEmpty()) {
+            events.add(pick(random, EVENTS));
+        }
+        return events;
+    }
+
+    private String urn(final Random random) {
+        return String.format("URN%06d", random.nextInt(cases * URN_POOL_FACTOR));
+    }
+
+    private static String offenceCode(final Random random) {
+        return String.format("OF%05d", random.nextInt(OFFENCE_CODE_POOL_SIZE));
+    }
+
+    private static LocalDate dateOfBirth(final Random random) {
+        return LocalDate.of(1950, 1, 1).plusDays(random.nextInt(365 * 55));
+    }
+
+    private static UUID uuid(final Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private static <T> T pick(final Random random, final T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,77 @@
+package uk.gov.moj.cpp.subscriptions.benchmarks;
+
+import static java.util.Optional.ofNullable;
+
+import uk.gov.justice.core.courts.Hearing;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.NotificationEventRuleExecutor;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.SubscriptionFilterCache;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.ApplicationParameters;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingService;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingSnapshotCacheStatistics;
+
+import java.lang.reflect.Field;
+import java.util.Optional;
+import java.util.UUID;
+
+public final class BenchmarkExecutors {
+
+    private BenchmarkExecutors() {
+    }
+
+    public static NotificationEventRuleExecutor notificationEventRuleExecutor(final Hearing currentHearing) {
+        final NotificationEventRuleExecutor executor = new NotificationEventRuleExecutor();
+        setField(executor, "applicationParameters", new BenchmarkApplicationParameters());
+        setField(executor, "hearingService", new InMemoryHearingService(currentHearing));
+        setField(executor, "hearingSnapshotCacheStatistics", new HearingSnapshotCacheStatistics());
+        setField(executor, "processorMetrics", new ProcessorMetrics());
+        setField(executor, "subscriptionFilterCache", new SubscriptionFilterCache());
+        return executor;
+    }
+
+    private static void setField(final Object target, final String fieldName, final Object value) {
+        try {
+            final Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (final ReflectiveOperationException e) {
+            throw new IllegalStateException("Unable to set " + fieldName + " on " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    private static class BenchmarkApplicationParameters extends ApplicationParameters {
+
+        @Override
+        public String getCppAppUrl() {
+            return "http://localhost:8080/";
+        }
+
+        @Override
+        public String getCaseAtaGlanceURI() {
+            return "prosecution-casefile/case-at-a-glance/";
+        }
+
+        @Override
+        public String getThirdPartySubscriptionTemplateId() {
+            return "d3041cbf-fea3-4c45-9316-eb57d1b2996b";
+        }
+
+        @Override
+        public String getThirdPartySubscriptionNowsEdtsTemplateId() {
+            return "09f8a4c2-96f1-405d-8fb2-047ed456448c";
+        }
+    }
+
+    private static class InMemoryHearingService extends HearingService {
+        private final Hearing currentHearing;
+
+        InMemoryHearingService(final Hearing currentHearing) {
+            this.currentHearing = currentHearing;
+        }
+
+        @Override
+        public Optional<Hearing> getHearing(final UUID hearingId) {
+            return ofNullable(currentHearing);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package uk.gov.moj.cpp.subscriptions.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
+import uk.gov.justice.core.courts.Hearing;
+import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
+import uk.gov.justice.services.common.converter.ObjectToJsonObjectConverter;
+import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingProjectionReader;
+
+import javax.json.JsonObject;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares reading a resulted hearing through the projection of the fields the subscription rules
+ * use with the full conversion of the hearing json. The allocation of each is reported per
+ * operation by the GC profiler of {@link SubscriptionsBenchmarkRunner}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HearingReadBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int cases;
+
+    @Param({"1", "10", "30"})
+    private int defendants;
+
+    @Param({"1", "5", "20"})
+    private int offences;
+
+    @Param("42")
+    private long seed;
+
+    private final HearingProjectionReader hearingProjectionReader = new HearingProjectionReader();
+    private JsonObjectToObjectConverter jsonObjectToObjectConverter;
+    private JsonObject hearingJson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final ObjectMapper objectMapper = new ObjectMapperProducer().objectMapper();
+        jsonObjectToObjectConverter = new JsonObjectToObjectConverter(objectMapper);
+        hearingJson = new ObjectToJsonObjectConverter(objectMapper)
+                .convert(new BenchmarkDataGenerator(seed, cases, defendants, offences).resultedHearing());
+    }
+
+    @Benchmark
+    public Hearing readFullHearing() {
+        return jsonObjectToObjectConverter.convert(hearingJson, Hearing.class);
+    }
+
+    @Benchmark
+    public Hearing readHearingProjection() {
+        return hearingProjectionReader.readHearing(hearingJson);
+    }
+}
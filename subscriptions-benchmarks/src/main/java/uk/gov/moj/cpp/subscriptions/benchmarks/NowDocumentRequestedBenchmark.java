@@ -0,0 +1,62 @@
+package uk.gov.moj.cpp.subscriptions.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static uk.gov.moj.cpp.subscriptions.benchmarks.BenchmarkExecutors.notificationEventRuleExecutor;
+
+import uk.gov.justice.core.courts.NowDocumentRequested;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.NotificationEventRuleExecutor;
+import uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
+
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NowDocumentRequestedBenchmark {
+
+    @Param({"1", "10", "50"})
+    private int cases;
+
+    @Param({"1", "5", "20"})
+    private int offences;
+
+    @Param({"10", "1000", "10000", "50000"})
+    private int subscriptions;
+
+    @Param("42")
+    private long seed;
+
+    private NotificationEventRuleExecutor executor;
+    private NowDocumentRequested nowDocumentRequested;
+    private List<Subscription> courtSubscriptions;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final BenchmarkDataGenerator generator = new BenchmarkDataGenerator(seed, cases, 1, offences);
+        nowDocumentRequested = generator.nowDocumentRequested();
+        courtSubscriptions = generator.subscriptions(subscriptions);
+        executor = notificationEventRuleExecutor(null);
+    }
+
+    @Benchmark
+    public List<EmailInfo> executeNowDocumentRequested() {
+        return executor.execute(nowDocumentRequested, courtSubscriptions);
+    }
+}
@@ -0,0 +1,154 @@
+package uk.gov.moj.cpp.subscriptions.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscribers.subscribers;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscription.subscription;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionActivated.subscriptionActivated;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionCreated.subscriptionCreated;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeactivated.subscriptionDeactivated;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionSubscribed.subscriptionSubscribed;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionUnsubscribed.subscriptionUnsubscribed;
+
+import uk.gov.moj.cpp.subscriptions.aggregate.SubscriptionAggregate;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscribers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares loading a subscription aggregate by replaying its whole stream with restoring it from
+ * the latest snapshot and replaying only the events after it, as the snapshot store does. The
+ * stream is mostly subscribe and unsubscribe toggles with an occasional activate or deactivate of
+ * the whole subscription.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SubscriptionAggregateReplayBenchmark {
+
+    private static final int WHOLE_SUBSCRIPTION_CHANGE_RATE = 200;
+
+    @Param({"1000", "10000"})
+    private int events;
+
+    @Param({"10", "1000", "5000"})
+    private int subscribers;
+
+    @Param({"25", "100"})
+    private int snapshotInterval;
+
+    @Param("42")
+    private long seed;
+
+    private List<Object> stream;
+    private byte[] snapshot;
+    private List<Object> eventsAfterSnapshot;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        stream = subscriptionStream();
+
+        final int snapshotVersion = stream.size() - stream.size() % snapshotInterval;
+        snapshot = serialize(replay(new SubscriptionAggregate(), stream.subList(0, snapshotVersion)));
+        eventsAfterSnapshot = stream.subList(snapshotVersion, stream.size());
+    }
+
+    @Benchmark
+    public SubscriptionAggregate replayFullStream() {
+        return replay(new SubscriptionAggregate(), stream);
+    }
+
+    @Benchmark
+    public SubscriptionAggregate restoreSnapshotAndReplayTail() throws IOException, ClassNotFoundException {
+        return replay(deserialize(snapshot), eventsAfterSnapshot);
+    }
+
+    private List<Object> subscriptionStream() {
+        final Random random = new Random(seed);
+        final UUID subscriptionId = uuid(random);
+        final UUID organisationId = uuid(random);
+
+        final List<Subscribers> subscriberList = new ArrayList<>(subscribers);
+        for (int index = 0; index < subscribers; index++) {
+            subscriberList.add(subscribers()
+                    .withId(uuid(random))
+                    .withEmailAddress(emailAddress(index))
+                    .withActive(true)
+                    .build());
+        }
+
+        final List<Object> eventStream = new ArrayList<>(events);
+        eventStream.add(subscriptionCreated()
+                .withOrganisationId(organisationId)
+                .withSubscription(subscription()
+                        .withId(subscriptionId)
+                        .withName("Organisation wide subscription")
+                        .withActive(true)
+                        .withSubscribers(subscriberList)
+                        .build())
+                .build());
+        while (eventStream.size() < events) {
+            if (random.nextInt(WHOLE_SUBSCRIPTION_CHANGE_RATE) == 0) {
+                eventStream.add(random.nextBoolean()
+                        ? subscriptionActivated().withSubscriptionId(subscriptionId).withOrganisationId(organisationId).build()
+                        : subscriptionDeactivated().withSubscriptionId(subscriptionId).withOrganisationId(organisationId).build());
+                continue;
+            }
+            final String subscriber = emailAddress(random.nextInt(subscribers));
+            eventStream.add(random.nextBoolean()
+                    ? subscriptionSubscribed().withSubscriptionId(subscriptionId).withOrganisationId(organisationId).withSubscriber(subscriber).build()
+                    : subscriptionUnsubscribed().withSubscriptionId(subscriptionId).withOrganisationId(organisationId).withSubscriber(subscriber).build());
+        }
+        return eventStream;
+    }
+
+    private static SubscriptionAggregate replay(final SubscriptionAggregate aggregate, final List<Object> events) {
+        events.forEach(aggregate::apply);
+        return aggregate;
+    }
+
+    private static byte[] serialize(final SubscriptionAggregate aggregate) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(aggregate);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static SubscriptionAggregate deserialize(final byte[] bytes) throws IOException, ClassNotFoundException {
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return (SubscriptionAggregate) in.readObject();
+        }
+    }
+
+    private static UUID uuid(final Random random) {
+        return new UUID(random.nextLong(), random.nextLong());
+    }
+
+    private static String emailAddress(final int index) {
+        return "subscriber" + index + "@organisation.gov.uk";
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.moj.cpp.subscriptions.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler attached, so every scenario reports throughput, sampled
+ * latency percentiles (including p99) and allocation rate. Any standard JMH command line option,
+ * such as a benchmark regex or {@code -p subscriptions=50000}, is passed through.
+ */
+public final class SubscriptionsBenchmarkRunner {
+
+    private SubscriptionsBenchmarkRunner() {
+    }
+
+    public static void main(final String[] args) throws CommandLineOptionException, RunnerException {
+        final Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+
+        new Runner(options).run();
+    }
+}
@@ -13,7 +13,7 @@ import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.core.sender.Sender;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.Metadata;
-import uk.gov.moj.cpp.subscriptions.command.api.service.UserAndGroupsService;
+import uk.gov.moj.cpp.subscriptions.common.service.UserAndGroupsService;
 
 import javax.inject.Inject;
 import javax.json.JsonObject;
@@ -86,6 +86,37 @@ public class SubscriberCommandApi {
         sender.send(envelopeFrom(metadata, envelope.payloadAsJsonObject()));
     }
 
+    @Handles("subscriptions.command.bulk-subscribe")
+    @FeatureControl(FEATURE_KEY)
+    public void bulkSubscribe(final JsonEnvelope envelope) {
+        sendForOrganisationOfUser(envelope, "subscriptions.command.handler.bulk-subscribe");
+    }
+
+    @Handles("subscriptions.command.bulk-unsubscribe")
+    @FeatureControl(FEATURE_KEY)
+    public void bulkUnsubscribe(final JsonEnvelope envelope) {
+        sendForOrganisationOfUser(envelope, "subscriptions.command.handler.bulk-unsubscribe");
+    }
+
+    @Handles("subscriptions.command.bulk-delete-subscribers")
+    @FeatureControl(FEATURE_KEY)
+    public void bulkDeleteSubscribers(final JsonEnvelope envelope) {
+        sendForOrganisationOfUser(envelope, "subscriptions.command.handler.bulk-delete-subscribers");
+    }
+
+    // the user is looked up once for the whole request rather than once per subscriber
+    private void sendForOrganisationOfUser(final JsonEnvelope envelope, final String handlerCommandName) {
+        final Metadata metadata = metadataFrom(envelope.metadata())
+                .withName(handlerCommandName)
+                .build();
+
+        final String organisationId = extractOrganisationId(userAndGroupsService.getUserDetails(envelope));
+        final JsonObject payloadWithOrganisationId = createObjectBuilder(envelope.payloadAsJsonObject())
+                .add(ORGANISATION_ID, organisationId)
+                .build();
+        sender.send(envelopeFrom(metadata, payloadWithOrganisationId));
+    }
+
     private String extractOrganisationId(final JsonObject response) {
         if(response.containsKey(ORGANISATION_ID) && nonNull(response.getString(ORGANISATION_ID))) {
             return response.getString(ORGANISATION_ID);
@@ -13,7 +13,7 @@ import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.core.sender.Sender;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.Metadata;
-import uk.gov.moj.cpp.subscriptions.command.api.service.UserAndGroupsService;
+import uk.gov.moj.cpp.subscriptions.common.service.UserAndGroupsService;
 
 import javax.inject.Inject;
 import javax.json.JsonObject;
@@ -1,6 +1,7 @@
 package uk.gov.moj.cpp.subscriptions.command.api;
 
 import static com.jayway.jsonpath.matchers.JsonPathMatchers.withJsonPath;
+import static uk.gov.justice.services.messaging.JsonObjects.createArrayBuilder;
 import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
 import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.equalTo;
@@ -8,7 +9,9 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.test.utils.core.matchers.JsonValueIsJsonMatcher.isJson;
 import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithRandomUUID;
@@ -18,7 +21,7 @@ import uk.gov.justice.services.core.sender.Sender;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.MetadataBuilder;
 import uk.gov.justice.services.messaging.spi.DefaultEnvelope;
-import uk.gov.moj.cpp.subscriptions.command.api.service.UserAndGroupsService;
+import uk.gov.moj.cpp.subscriptions.common.service.UserAndGroupsService;
 
 import javax.json.JsonObject;
 
@@ -112,4 +115,56 @@ public class SubscriberCommandApiTest {
         verify(sender).send(jsonEnvelopeArgumentCaptor.capture());
         assertThat(jsonEnvelopeArgumentCaptor.getValue().metadata().name(), equalTo("subscriptions.command.handler.delete-subscriber-via-bdf"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldHandleBulkSubscribe() {
+        shouldSendBulkCommandWithOrganisationOfUser("subscriptions.command.bulk-subscribe",
+                () -> subscriberCommandApi.bulkSubscribe(command),
+                "subscriptions.command.handler.bulk-subscribe");
+    }
+
+    @Test
+    public void shouldHandleBulkUnsubscribe() {
+        shouldSendBulkCommandWithOrganisationOfUser("subscriptions.command.bulk-unsubscribe",
+                () -> subscriberCommandApi.bulkUnsubscribe(command),
+                "subscriptions.command.handler.bulk-unsubscribe");
+    }
+
+    @Test
+    public void shouldHandleBulkDeleteSubscribers() {
+        shouldSendBulkCommandWithOrganisationOfUser("subscriptions.command.bulk-delete-subscribers",
+                () -> subscriberCommandApi.bulkDeleteSubscribers(command),
+                "subscriptions.command.handler.bulk-delete-subscribers");
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenBulkSubscribeByUserWithNoOrganisation() {
+        final MetadataBuilder metadataBuilder = metadataWithRandomUUID("subscriptions.command.bulk-subscribe");
+        when(command.metadata()).thenReturn(metadataBuilder.build());
+        when(userAndGroupsService.getUserDetails(any())).thenReturn(createObjectBuilder().add("email", "admin@test.com").build());
+        assertThrows(BadRequestException.class, () -> subscriberCommandApi.bulkSubscribe(command));
+        verifyNoInteractions(sender);
+    }
+
+    private void shouldSendBulkCommandWithOrganisationOfUser(final String commandName, final Runnable handle, final String handlerCommandName) {
+        final MetadataBuilder metadataBuilder = metadataWithRandomUUID(commandName);
+        when(command.metadata()).thenReturn(metadataBuilder.build());
+        when(command.payloadAsJsonObject()).thenReturn(createObjectBuilder()
+                .add("subscriptionSubscribers", createArrayBuilder()
+                        .add(createObjectBuilder().add("subscriptionId", "sub1").add("subscriber", "first@test.com"))
+                        .add(createObjectBuilder().add("subscriptionId", "sub2").add("subscriber", "second@test.com")))
+                .build());
+        when(userAndGroupsService.getUserDetails(any())).thenReturn(createObjectBuilder().add("organisationId", "org1234").add("email", "admin@test.com").build());
+
+        handle.run();
+
+        verify(userAndGroupsService, times(1)).getUserDetails(command);
+        verify(sender).send(jsonEnvelopeArgumentCaptor.capture());
+        assertThat(jsonEnvelopeArgumentCaptor.getValue().metadata().name(), equalTo(handlerCommandName));
+        assertThat(((JsonObject) jsonEnvelopeArgumentCaptor.getValue().payload()), isJson(allOf(
+                withJsonPath("$.organisationId", equalTo("org1234")),
+                withJsonPath("$.subscriptionSubscribers[0].subscriber", equalTo("first@test.com")),
+                withJsonPath("$.subscriptionSubscribers[1].subscriptionId", equalTo("sub2"))
+        )));
+    }
+}
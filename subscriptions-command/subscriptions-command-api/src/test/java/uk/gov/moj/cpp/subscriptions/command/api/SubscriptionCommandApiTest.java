@@ -17,7 +17,7 @@ import uk.gov.justice.services.core.sender.Sender;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.MetadataBuilder;
 import uk.gov.justice.services.messaging.spi.DefaultEnvelope;
-import uk.gov.moj.cpp.subscriptions.command.api.service.UserAndGroupsService;
+import uk.gov.moj.cpp.subscriptions.common.service.UserAndGroupsService;
 
 import javax.json.JsonObject;
 
@@ -47,7 +47,10 @@ public class SubscriptionsCommandRuleExecutorTest extends BaseDroolsAccessContro
                 Arguments.of(new Actions("subscriptions.command.create-subscription-by-user", getSubscriberPermission())),
                 Arguments.of(new Actions("subscriptions.command.subscribe", getSubscriberPermission())),
                 Arguments.of(new Actions("subscriptions.command.unsubscribe", getSubscriberPermission())),
-                Arguments.of(new Actions("subscriptions.command.delete-subscriber", getSubscriberPermission()))
+                Arguments.of(new Actions("subscriptions.command.delete-subscriber", getSubscriberPermission())),
+                Arguments.of(new Actions("subscriptions.command.bulk-subscribe", getSubscriptionsPermission())),
+                Arguments.of(new Actions("subscriptions.command.bulk-unsubscribe", getSubscriptionsPermission())),
+                Arguments.of(new Actions("subscriptions.command.bulk-delete-subscribers", getSubscriptionsPermission()))
 
         );
     }
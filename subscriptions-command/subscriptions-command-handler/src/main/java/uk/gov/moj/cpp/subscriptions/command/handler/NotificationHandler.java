@@ -13,9 +13,11 @@ import uk.gov.justice.services.eventsourcing.source.core.EventStream;
 import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.moj.cpp.subscriptions.aggregate.NotificationAggregate;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.Emails;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.HandleSendEmailRequestFailed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.HandleSendEmailRequestSucceeded;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.SendEmail;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.SendEmailBatch;
 
 import java.time.ZonedDateTime;
 import java.util.UUID;
@@ -35,20 +37,28 @@ public class NotificationHandler {
     @Handles("subscriptions.command.handler.send-email")
     public void handleSendEmail(final Envelope<SendEmail> envelope) throws EventStreamException {
         final SendEmail sendEmail = envelope.payload();
-        final UUID notificationId = randomUUID();
-        final EventStream eventStream = eventSource.getStreamById(notificationId);
-        final NotificationAggregate notificationAggregate = aggregateService.get(eventStream, NotificationAggregate.class);
-        final Stream<Object> events = notificationAggregate.sendEmail(notificationId,sendEmail.getSendToAddress(),
+        appendSendEmailRequested(envelope, sendEmail.getSendToAddress(),
                 sendEmail.getSubject(), sendEmail.getBody(), sendEmail.getSubscriptionId(),
                 sendEmail.getSubscriptionName(),
                 sendEmail.getTemplateId(),
                 sendEmail.getMaterialId(),
                 sendEmail.getTitle(),
-                sendEmail.getCaseLink()
-
-        );
+                sendEmail.getCaseLink());
+    }
 
-        appendMetaDataInEventStream(envelope, eventStream, events);
+    @Handles("subscriptions.command.handler.send-email-batch")
+    public void handleSendEmailBatch(final Envelope<SendEmailBatch> envelope) throws EventStreamException {
+        for (final Emails email : envelope.payload().getEmails()) {
+            for (final String sendToAddress : email.getSendToAddresses()) {
+                appendSendEmailRequested(envelope, sendToAddress,
+                        email.getSubject(), email.getBody(), email.getSubscriptionId(),
+                        email.getSubscriptionName(),
+                        email.getTemplateId(),
+                        email.getMaterialId(),
+                        email.getTitle(),
+                        email.getCaseLink());
+            }
+        }
     }
 
     @Handles("subscriptions.command.handler.handle-send-email-request-succeeded")
@@ -81,4 +91,24 @@ public class NotificationHandler {
         appendMetaDataInEventStream(envelope, eventStream, events);
     }
 
+    @SuppressWarnings("squid:S00107")
+    private <T> void appendSendEmailRequested(final Envelope<T> envelope, final String sendToAddress,
+                                              final String subject, final String body,
+                                              final UUID subscriptionId, final String subscriptionName,
+                                              final UUID templateId, final UUID materialId,
+                                              final String title, final String caseLink) throws EventStreamException {
+        final UUID notificationId = randomUUID();
+        final EventStream eventStream = eventSource.getStreamById(notificationId);
+        final NotificationAggregate notificationAggregate = aggregateService.get(eventStream, NotificationAggregate.class);
+        final Stream<Object> events = notificationAggregate.sendEmail(notificationId, sendToAddress,
+                subject, body, subscriptionId,
+                subscriptionName,
+                templateId,
+                materialId,
+                title,
+                caseLink
+        );
+
+        appendMetaDataInEventStream(envelope, eventStream, events);
+    }
 }
@@ -1,6 +1,10 @@
 package uk.gov.moj.cpp.subscriptions.command.handler;
 
 
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.toCollection;
+import static org.slf4j.LoggerFactory.getLogger;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_HANDLER;
 import static uk.gov.moj.cpp.subscriptions.command.handler.helper.CommandHandlerHelper.appendMetaDataInEventStream;
 
@@ -12,18 +16,31 @@ import uk.gov.justice.services.eventsourcing.source.core.EventStream;
 import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.moj.cpp.subscriptions.aggregate.SubscriptionAggregate;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.BulkDeleteSubscribers;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.BulkSubscribe;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.BulkUnsubscribe;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.DeleteSubscriber;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.DeleteSubscriberViaBdf;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.Subscribe;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.SubscriptionSubscribers;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.Unsubscribe;
 
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
+import org.slf4j.Logger;
+
 @ServiceComponent(COMMAND_HANDLER)
 public class SubscriberHandler {
 
+    private static final Logger LOGGER = getLogger(SubscriberHandler.class);
 
     @Inject
     private EventSource eventSource;
@@ -67,4 +84,58 @@ public class SubscriberHandler {
         final Stream<Object> events = subscriptionAggregate.deleteSubscriberViaBdf(command.getSubscriber());
         appendMetaDataInEventStream(envelope, eventStream, events);
     }
+
+    @Handles("subscriptions.command.handler.bulk-subscribe")
+    public void handleBulkSubscribe(final Envelope<BulkSubscribe> envelope) throws EventStreamException {
+        final BulkSubscribe command = envelope.payload();
+        applyToEachSubscription(envelope, command.getOrganisationId(), command.getSubscriptionSubscribers(),
+                (subscriptionAggregate, subscriptionId, subscriber) -> subscriptionAggregate.subscribe(subscriptionId, command.getOrganisationId(), subscriber));
+    }
+
+    @Handles("subscriptions.command.handler.bulk-unsubscribe")
+    public void handleBulkUnsubscribe(final Envelope<BulkUnsubscribe> envelope) throws EventStreamException {
+        final BulkUnsubscribe command = envelope.payload();
+        applyToEachSubscription(envelope, command.getOrganisationId(), command.getSubscriptionSubscribers(),
+                (subscriptionAggregate, subscriptionId, subscriber) -> subscriptionAggregate.unsubscribe(subscriptionId, command.getOrganisationId(), subscriber));
+    }
+
+    @Handles("subscriptions.command.handler.bulk-delete-subscribers")
+    public void handleBulkDeleteSubscribers(final Envelope<BulkDeleteSubscribers> envelope) throws EventStreamException {
+        final BulkDeleteSubscribers command = envelope.payload();
+        applyToEachSubscription(envelope, command.getOrganisationId(), command.getSubscriptionSubscribers(),
+                (subscriptionAggregate, subscriptionId, subscriber) -> subscriptionAggregate.deleteSubscriber(subscriptionId, command.getOrganisationId(), subscriber));
+    }
+
+    /**
+     * Each subscription stream is loaded and appended to once, however many of its subscribers are
+     * in the command. The subscription ids come from the caller, so a subscription that does not
+     * belong to the organisation of the caller is left unchanged.
+     */
+    private <T> void applyToEachSubscription(final Envelope<T> envelope,
+                                             final UUID organisationId,
+                                             final List<SubscriptionSubscribers> subscriptionSubscribers,
+                                             final SubscriberCommand subscriberCommand) throws EventStreamException {
+        final Map<UUID, Set<String>> subscribersBySubscription = subscriptionSubscribers.stream()
+                .collect(groupingBy(SubscriptionSubscribers::getSubscriptionId, LinkedHashMap::new,
+                        mapping(SubscriptionSubscribers::getSubscriber, toCollection(LinkedHashSet::new))));
+
+        for (final Map.Entry<UUID, Set<String>> subscription : subscribersBySubscription.entrySet()) {
+            final UUID subscriptionId = subscription.getKey();
+            final EventStream eventStream = eventSource.getStreamById(subscriptionId);
+            final SubscriptionAggregate subscriptionAggregate = aggregateService.get(eventStream, SubscriptionAggregate.class);
+            if (!organisationId.equals(subscriptionAggregate.getOrganisationId())) {
+                LOGGER.warn("Not applying {} to subscription {} as it does not belong to organisation {}",
+                        envelope.metadata().name(), subscriptionId, organisationId);
+                continue;
+            }
+            final Stream<Object> events = subscription.getValue().stream()
+                    .flatMap(subscriber -> subscriberCommand.apply(subscriptionAggregate, subscriptionId, subscriber));
+            appendMetaDataInEventStream(envelope, eventStream, events);
+        }
+    }
+
+    @FunctionalInterface
+    private interface SubscriberCommand {
+        Stream<Object> apply(final SubscriptionAggregate subscriptionAggregate, final UUID subscriptionId, final String subscriber);
+    }
 }
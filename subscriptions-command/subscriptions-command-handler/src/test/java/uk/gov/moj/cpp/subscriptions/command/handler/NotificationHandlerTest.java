@@ -1,17 +1,22 @@
 package uk.gov.moj.cpp.subscriptions.command.handler;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.UUID.randomUUID;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.core.Is.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.messaging.Envelope.envelopeFrom;
 import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithRandomUUID;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.Emails.emails;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.HandleSendEmailRequestFailed.handleSendEmailRequestFailed;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.HandleSendEmailRequestSucceeded.handleSendEmailRequestSucceeded;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.SendEmail.sendEmail;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.SendEmailBatch.sendEmailBatch;
 
 import uk.gov.justice.services.core.aggregate.AggregateService;
 import uk.gov.justice.services.eventsourcing.source.core.EventSource;
@@ -19,9 +24,11 @@ import uk.gov.justice.services.eventsourcing.source.core.EventStream;
 import uk.gov.justice.services.eventsourcing.source.core.exception.EventStreamException;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.moj.cpp.subscriptions.aggregate.NotificationAggregate;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.Emails;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.HandleSendEmailRequestFailed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.HandleSendEmailRequestSucceeded;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.SendEmail;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.SendEmailBatch;
 
 import java.time.ZonedDateTime;
 import java.util.stream.Stream;
@@ -103,6 +110,58 @@ public class NotificationHandlerTest {
         assertThat(argumentCaptorStream.getValue(), is(mappedNewEvents));
     }
 
+    @Test
+    public void shouldHandleSendEmailBatchWithOneNotificationPerRecipient() throws EventStreamException {
+        //given
+        when(eventSource.getStreamById(any())).thenReturn(eventStream);
+        when(aggregateService.get(eventStream, NotificationAggregate.class)).thenReturn(notificationAggregate);
+        when(newEvents.map(any())).thenReturn(mappedNewEvents);
+
+        final Emails firstEmail = emails()
+                .withSubscriptionId(randomUUID())
+                .withSubscriptionName("Subscription Name")
+                .withTitle("Defendant Present")
+                .withSubject("subject")
+                .withBody("body")
+                .withCaseLink("Access the case dummyUrl/case-at-a-glance/c6142858-16d1-43ed-afbc-3fb67682f2b0 for full details.")
+                .withSendToAddresses(asList("abc@xyz.com", "def@xyz.com"))
+                .withTemplateId(randomUUID())
+                .build();
+        final Emails secondEmail = emails()
+                .withSubscriptionId(randomUUID())
+                .withSubscriptionName("Other Subscription Name")
+                .withTitle("Plea changed")
+                .withSubject("other subject")
+                .withBody("other body")
+                .withSendToAddresses(singletonList("ghi@xyz.com"))
+                .withTemplateId(randomUUID())
+                .build();
+        final SendEmailBatch sendEmailBatch = sendEmailBatch()
+                .withEmails(asList(firstEmail, secondEmail))
+                .build();
+
+        when(notificationAggregate.sendEmail(any(), any(), any(), any(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(newEvents);
+
+        //when
+        notificationHandler.handleSendEmailBatch(envelopeFrom(
+                metadataWithRandomUUID("subscriptions.command.handler.send-email-batch"),
+                sendEmailBatch));
+
+        //then
+        verify(notificationAggregate).sendEmail(any(), eq("abc@xyz.com"), eq(firstEmail.getSubject()), eq(firstEmail.getBody()),
+                eq(firstEmail.getSubscriptionId()), eq(firstEmail.getSubscriptionName()), eq(firstEmail.getTemplateId()),
+                eq(null), eq(firstEmail.getTitle()), eq(firstEmail.getCaseLink()));
+        verify(notificationAggregate).sendEmail(any(), eq("def@xyz.com"), eq(firstEmail.getSubject()), eq(firstEmail.getBody()),
+                eq(firstEmail.getSubscriptionId()), eq(firstEmail.getSubscriptionName()), eq(firstEmail.getTemplateId()),
+                eq(null), eq(firstEmail.getTitle()), eq(firstEmail.getCaseLink()));
+        verify(notificationAggregate).sendEmail(any(), eq("ghi@xyz.com"), eq(secondEmail.getSubject()), eq(secondEmail.getBody()),
+                eq(secondEmail.getSubscriptionId()), eq(secondEmail.getSubscriptionName()), eq(secondEmail.getTemplateId()),
+                eq(null), eq(secondEmail.getTitle()), eq(null));
+        verify(eventSource, times(3)).getStreamById(any());
+        verify(eventStream, times(3)).append(argumentCaptorStream.capture());
+    }
+
     @Test
     public void shouldHandleSendEmailSucceeded() throws EventStreamException {
         //given
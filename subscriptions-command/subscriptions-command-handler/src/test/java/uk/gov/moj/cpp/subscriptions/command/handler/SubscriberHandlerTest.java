@@ -3,11 +3,17 @@ package uk.gov.moj.cpp.subscriptions.command.handler;
 import static com.jayway.jsonpath.matchers.JsonPathMatchers.withJsonPath;
 import static java.util.Arrays.asList;
 import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
 import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.contains;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_HANDLER;
 import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
@@ -23,9 +29,13 @@ import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderF
 import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscribers.subscribers;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscription.subscription;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionCreated.subscriptionCreated;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.BulkDeleteSubscribers.bulkDeleteSubscribers;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.BulkSubscribe.bulkSubscribe;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.BulkUnsubscribe.bulkUnsubscribe;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.DeleteSubscriber.deleteSubscriber;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.DeleteSubscriberViaBdf.deleteSubscriberViaBdf;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.Subscribe.subscribe;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.SubscriptionSubscribers.subscriptionSubscribers;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.handler.Unsubscribe.unsubscribe;
 
 import uk.gov.justice.services.core.aggregate.AggregateService;
@@ -42,11 +52,16 @@ import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionCreated;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeleted;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionSubscribed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionUnsubscribed;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.BulkDeleteSubscribers;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.BulkSubscribe;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.BulkUnsubscribe;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.DeleteSubscriber;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.DeleteSubscriberViaBdf;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.Subscribe;
+import uk.gov.moj.cpp.subscriptions.json.schemas.handler.SubscriptionSubscribers;
 import uk.gov.moj.cpp.subscriptions.json.schemas.handler.Unsubscribe;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -67,6 +82,7 @@ public class SubscriberHandlerTest {
     private static final String SUBSCRIPTIONS_COMMAND_HANDLER_UNSUBSCRIBE_SUBSCRIPTION = "subscriptions.command.handler.unsubscribe";
     private static final String SUBSCRIPTIONS_COMMAND_HANDLER_DELETE_SUBSCRIBER = "subscriptions.command.handler.delete-subscriber";
     private static final UUID SUBSCRIPTION_ID = randomUUID();
+    private static final UUID ORGANISATION_ID = randomUUID();
 
     @InjectMocks
     private SubscriberHandler subscriberHandler;
@@ -280,4 +296,141 @@ public class SubscriberHandlerTest {
                 .withName("subscriptions.command.handler.delete-subscriber-via-bdf")
                 .withMetadataFrom(requestEnvelope);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldHandleBulkSubscriberCommands() {
+        assertThat(subscriberHandler, isHandler(COMMAND_HANDLER)
+                .with(method("handleBulkSubscribe")
+                        .thatHandles("subscriptions.command.handler.bulk-subscribe"))
+                .with(method("handleBulkUnsubscribe")
+                        .thatHandles("subscriptions.command.handler.bulk-unsubscribe"))
+                .with(method("handleBulkDeleteSubscribers")
+                        .thatHandles("subscriptions.command.handler.bulk-delete-subscribers")));
+    }
+
+    @Test
+    public void shouldLoadAndAppendEachSubscriptionOnceForBulkSubscribe() throws Exception {
+        final UUID otherSubscriptionId = randomUUID();
+        final EventStream otherEventStream = mock(EventStream.class);
+        when(eventSource.getStreamById(SUBSCRIPTION_ID)).thenReturn(eventStream);
+        when(eventSource.getStreamById(otherSubscriptionId)).thenReturn(otherEventStream);
+        when(aggregateService.get(eventStream, SubscriptionAggregate.class)).thenReturn(subscriptionWithSubscribers(SUBSCRIPTION_ID, "test", "test1"));
+        when(aggregateService.get(otherEventStream, SubscriptionAggregate.class)).thenReturn(subscriptionWithSubscribers(otherSubscriptionId, "test"));
+
+        final BulkSubscribe bulkSubscribe = bulkSubscribe()
+                .withOrganisationId(ORGANISATION_ID)
+                .withSubscriptionSubscribers(asList(
+                        subscriptionSubscriber(SUBSCRIPTION_ID, "test"),
+                        subscriptionSubscriber(otherSubscriptionId, "test"),
+                        subscriptionSubscriber(SUBSCRIPTION_ID, "test1"),
+                        subscriptionSubscriber(SUBSCRIPTION_ID, "test1")))
+                .build();
+
+        subscriberHandler.handleBulkSubscribe(envelope("subscriptions.command.handler.bulk-subscribe", bulkSubscribe));
+
+        verify(eventSource, times(1)).getStreamById(SUBSCRIPTION_ID);
+        verify(eventSource, times(1)).getStreamById(otherSubscriptionId);
+        assertThat(appendedEventNames(eventStream), contains("subscriptions.event.subscription-subscribed", "subscriptions.event.subscription-subscribed"));
+        assertThat(appendedEventNames(otherEventStream), contains("subscriptions.event.subscription-subscribed"));
+    }
+
+    @Test
+    public void shouldUnsubscribeEverySubscriberOfABulkUnsubscribe() throws Exception {
+        when(eventSource.getStreamById(SUBSCRIPTION_ID)).thenReturn(eventStream);
+        when(aggregateService.get(eventStream, SubscriptionAggregate.class)).thenReturn(subscriptionWithSubscribers(SUBSCRIPTION_ID, "test", "test1"));
+
+        final BulkUnsubscribe bulkUnsubscribe = bulkUnsubscribe()
+                .withOrganisationId(ORGANISATION_ID)
+                .withSubscriptionSubscribers(asList(
+                        subscriptionSubscriber(SUBSCRIPTION_ID, "test"),
+                        subscriptionSubscriber(SUBSCRIPTION_ID, "test1")))
+                .build();
+
+        subscriberHandler.handleBulkUnsubscribe(envelope("subscriptions.command.handler.bulk-unsubscribe", bulkUnsubscribe));
+
+        assertThat(appendedEventNames(eventStream), contains("subscriptions.event.subscription-unsubscribed", "subscriptions.event.subscription-unsubscribed"));
+    }
+
+    @Test
+    public void shouldDeleteSubscriptionWhenABulkDeleteRemovesAllItsSubscribers() throws Exception {
+        when(eventSource.getStreamById(SUBSCRIPTION_ID)).thenReturn(eventStream);
+        when(aggregateService.get(eventStream, SubscriptionAggregate.class)).thenReturn(subscriptionWithSubscribers(SUBSCRIPTION_ID, "test", "test1"));
+
+        final BulkDeleteSubscribers bulkDeleteSubscribers = bulkDeleteSubscribers()
+                .withOrganisationId(ORGANISATION_ID)
+                .withSubscriptionSubscribers(asList(
+                        subscriptionSubscriber(SUBSCRIPTION_ID, "test"),
+                        subscriptionSubscriber(SUBSCRIPTION_ID, "test1")))
+                .build();
+
+        subscriberHandler.handleBulkDeleteSubscribers(envelope("subscriptions.command.handler.bulk-delete-subscribers", bulkDeleteSubscribers));
+
+        assertThat(appendedEventNames(eventStream), contains(
+                "subscriptions.event.subscriber-deleted",
+                "subscriptions.event.subscriber-deleted",
+                "subscriptions.event.subscription-deleted"));
+    }
+
+    @Test
+    public void shouldLeaveUnchangedASubscriptionThatDoesNotBelongToTheOrganisationOfTheCaller() throws Exception {
+        final UUID otherSubscriptionId = randomUUID();
+        final EventStream otherEventStream = mock(EventStream.class);
+        when(eventSource.getStreamById(SUBSCRIPTION_ID)).thenReturn(eventStream);
+        when(eventSource.getStreamById(otherSubscriptionId)).thenReturn(otherEventStream);
+        when(aggregateService.get(eventStream, SubscriptionAggregate.class)).thenReturn(subscriptionWithSubscribers(SUBSCRIPTION_ID, "test"));
+        when(aggregateService.get(otherEventStream, SubscriptionAggregate.class))
+                .thenReturn(subscriptionOfOrganisationWithSubscribers(randomUUID(), otherSubscriptionId, "test"));
+
+        final BulkDeleteSubscribers bulkDeleteSubscribers = bulkDeleteSubscribers()
+                .withOrganisationId(ORGANISATION_ID)
+                .withSubscriptionSubscribers(asList(
+                        subscriptionSubscriber(otherSubscriptionId, "test"),
+                        subscriptionSubscriber(SUBSCRIPTION_ID, "test")))
+                .build();
+
+        subscriberHandler.handleBulkDeleteSubscribers(envelope("subscriptions.command.handler.bulk-delete-subscribers", bulkDeleteSubscribers));
+
+        verify(otherEventStream, never()).append(any());
+        assertThat(appendedEventNames(eventStream), contains(
+                "subscriptions.event.subscriber-deleted",
+                "subscriptions.event.subscription-deleted"));
+    }
+
+    private static SubscriptionAggregate subscriptionWithSubscribers(final UUID subscriptionId, final String... emailAddresses) {
+        return subscriptionOfOrganisationWithSubscribers(ORGANISATION_ID, subscriptionId, emailAddresses);
+    }
+
+    private static SubscriptionAggregate subscriptionOfOrganisationWithSubscribers(final UUID organisationId, final UUID subscriptionId, final String... emailAddresses) {
+        final SubscriptionAggregate aggregate = new SubscriptionAggregate();
+        aggregate.apply(subscriptionCreated()
+                .withOrganisationId(organisationId)
+                .withSubscription(subscription()
+                        .withId(subscriptionId)
+                        .withActive(true)
+                        .withSubscribers(Stream.of(emailAddresses)
+                                .map(emailAddress -> subscribers().withId(randomUUID()).withEmailAddress(emailAddress).withActive(true).build())
+                                .collect(toList()))
+                        .build())
+                .build());
+        return aggregate;
+    }
+
+    private static SubscriptionSubscribers subscriptionSubscriber(final UUID subscriptionId, final String subscriber) {
+        return subscriptionSubscribers()
+                .withSubscriptionId(subscriptionId)
+                .withSubscriber(subscriber)
+                .build();
+    }
+
+    private static <T> Envelope<T> envelope(final String name, final T payload) {
+        return Enveloper.envelop(payload)
+                .withName(name)
+                .withMetadataFrom(envelopeFrom(metadataWithRandomUUID(name), createObjectBuilder().build()));
+    }
+
+    private static List<String> appendedEventNames(final EventStream eventStream) throws EventStreamException {
+        return verifyAppendAndGetArgumentFrom(eventStream)
+                .map(appended -> appended.metadata().name())
+                .collect(toList());
+    }
+}
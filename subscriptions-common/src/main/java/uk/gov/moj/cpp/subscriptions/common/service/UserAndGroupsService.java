@@ -1,5 +1,6 @@
-package uk.gov.moj.cpp.subscriptions.command.api.service;
+package uk.gov.moj.cpp.subscriptions.common.service;
 
+import static java.util.Arrays.asList;
 import static org.slf4j.LoggerFactory.getLogger;
 import static uk.gov.justice.services.core.annotation.Component.COMMAND_API;
 import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
@@ -10,8 +11,11 @@ import uk.gov.justice.services.core.requester.Requester;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 
+import java.util.List;
+
 import javax.inject.Inject;
 import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
 
 import org.slf4j.Logger;
 
@@ -20,17 +24,29 @@ public class UserAndGroupsService {
     private static final Logger LOGGER = getLogger(UserAndGroupsService.class);
     private static final String GET_USER_DETAILS = "usersgroups.get-logged-in-user-details";
     private static final String USER_ID = "userId";
+    private static final List<String> CACHED_DETAILS = asList("organisationId", "email");
 
     @Inject
     @ServiceComponent(COMMAND_API)
     private Requester requester;
 
+    @Inject
+    private UserDetailsCache userDetailsCache;
+
+    /**
+     * Returns the organisationId and email of the user that sent the envelope, cached per user.
+     */
     public JsonObject getUserDetails(final JsonEnvelope envelope) {
+        final String userId = envelope.metadata().userId().orElseThrow(() -> new IllegalArgumentException("userId cannot be null!"));
+        return userDetailsCache.getUserDetails(userId, () -> requestUserDetails(envelope, userId));
+    }
+
+    private JsonObject requestUserDetails(final JsonEnvelope envelope, final String userId) {
 
-        LOGGER.info("calling userAndGroups->getUserDetails with userId:{}", envelope.metadata().userId());
+        LOGGER.info("calling userAndGroups->getUserDetails with userId:{}", userId);
 
         final JsonObject payload = createObjectBuilder()
-                .add(USER_ID, envelope.metadata().userId().orElseThrow(() -> new IllegalArgumentException("userId cannot be null!")))
+                .add(USER_ID, userId)
                 .build();
 
         final Envelope<JsonObject> requestEnvelope = Enveloper.envelop(payload)
@@ -40,8 +56,15 @@ public class UserAndGroupsService {
                 requestEnvelope, JsonObject.class);
 
         final JsonObject result = jsonEnvelope.payload();
-        LOGGER.info("from userAndGroups {}", result);
-        return result;
+        LOGGER.debug("from userAndGroups {}", result);
+        return cachedDetailsOf(result);
     }
 
+    private static JsonObject cachedDetailsOf(final JsonObject userDetails) {
+        final JsonObjectBuilder builder = createObjectBuilder();
+        CACHED_DETAILS.stream()
+                .filter(userDetails::containsKey)
+                .forEach(name -> builder.add(name, userDetails.get(name)));
+        return builder.build();
+    }
 }
@@ -0,0 +1,150 @@
+package uk.gov.moj.cpp.subscriptions.common.service;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import uk.gov.justice.services.common.configuration.Value;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.json.JsonObject;
+
+/**
+ * User details by user id, expired after a configurable time and bounded to the least recently
+ * used users. Concurrent requests for a user that is not cached share a single load; a failed
+ * load, whatever it fails with, is not cached and fails the requests that share it.
+ */
+@ApplicationScoped
+public class UserDetailsCache {
+
+    private final Map<String, CachedUserDetails> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, CompletableFuture<JsonObject>> loading = new HashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sharedLoads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    @Inject
+    @Value(key = "userDetailsCacheMaxSize", defaultValue = "1000")
+    private String userDetailsCacheMaxSize;
+
+    @Inject
+    @Value(key = "userDetailsCacheTtlSeconds", defaultValue = "60")
+    private String userDetailsCacheTtlSeconds;
+
+    public JsonObject getUserDetails(final String userId, final Supplier<JsonObject> loader) {
+        final CompletableFuture<JsonObject> inProgress;
+        final CompletableFuture<JsonObject> load = new CompletableFuture<>();
+        synchronized (this) {
+            final CachedUserDetails cached = entries.get(userId);
+            if (cached != null && !cached.isExpired(System.nanoTime(), ttlNanos())) {
+                hits.increment();
+                return cached.userDetails;
+            }
+            if (cached != null) {
+                entries.remove(userId);
+                evictions.increment();
+            }
+            inProgress = loading.putIfAbsent(userId, load);
+        }
+
+        if (inProgress != null) {
+            sharedLoads.increment();
+            return await(inProgress);
+        }
+
+        misses.increment();
+        try {
+            final JsonObject userDetails = loader.get();
+            synchronized (this) {
+                entries.put(userId, new CachedUserDetails(userDetails, System.nanoTime()));
+                evictOverflow();
+            }
+            load.complete(userDetails);
+            return userDetails;
+        } catch (final Throwable e) {
+            loadFailures.increment();
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (this) {
+                loading.remove(userId);
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getSharedLoads() {
+        return sharedLoads.sum();
+    }
+
+    public long getLoadFailures() {
+        return loadFailures.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void evictOverflow() {
+        final int maxSize = Integer.parseInt(userDetailsCacheMaxSize);
+        final Iterator<String> leastRecentlyUsed = entries.keySet().iterator();
+        while (entries.size() > maxSize && leastRecentlyUsed.hasNext()) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            evictions.increment();
+        }
+    }
+
+    private long ttlNanos() {
+        return SECONDS.toNanos(Long.parseLong(userDetailsCacheTtlSeconds));
+    }
+
+    private static JsonObject await(final CompletableFuture<JsonObject> load) {
+        try {
+            return load.join();
+        } catch (final CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static class CachedUserDetails {
+        private final JsonObject userDetails;
+        private final long loadedAt;
+
+        CachedUserDetails(final JsonObject userDetails, final long loadedAt) {
+            this.userDetails = userDetails;
+            this.loadedAt = loadedAt;
+        }
+
+        boolean isExpired(final long now, final long ttlNanos) {
+            return now - loadedAt >= ttlNanos;
+        }
+    }
+}
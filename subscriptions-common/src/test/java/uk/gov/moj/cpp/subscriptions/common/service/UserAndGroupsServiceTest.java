@@ -0,0 +1,85 @@
+package uk.gov.moj.cpp.subscriptions.common.service;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
+import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithRandomUUID;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import uk.gov.justice.services.core.requester.Requester;
+import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
+
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class UserAndGroupsServiceTest {
+
+    private static final String USER_ID = randomUUID().toString();
+    private static final String ORGANISATION_ID = randomUUID().toString();
+
+    @Mock
+    private Requester requester;
+
+    @Spy
+    private UserDetailsCache userDetailsCache = new UserDetailsCache();
+
+    @InjectMocks
+    private UserAndGroupsService userAndGroupsService;
+
+    @BeforeEach
+    public void setup() {
+        setField(userDetailsCache, "userDetailsCacheMaxSize", "10");
+        setField(userDetailsCache, "userDetailsCacheTtlSeconds", "60");
+    }
+
+    @Test
+    public void shouldRequestUserDetailsOnceAndKeepOnlyOrganisationAndEmail() {
+        final JsonObject response = createObjectBuilder()
+                .add("userId", USER_ID)
+                .add("organisationId", ORGANISATION_ID)
+                .add("email", "user@organisation.gov.uk")
+                .add("firstName", "Robert")
+                .build();
+        when(requester.request(any(), eq(JsonObject.class))).thenReturn(Envelope.envelopeFrom(metadataWithRandomUUID("usersgroups.get-logged-in-user-details").build(), response));
+
+        userAndGroupsService.getUserDetails(query());
+        final JsonObject userDetails = userAndGroupsService.getUserDetails(query());
+
+        assertThat(userDetails, is(createObjectBuilder()
+                .add("organisationId", ORGANISATION_ID)
+                .add("email", "user@organisation.gov.uk")
+                .build()));
+        verify(requester, times(1)).request(any(), eq(JsonObject.class));
+    }
+
+    @Test
+    public void shouldRejectEnvelopeWithoutUserId() {
+        final JsonEnvelope query = envelopeFrom(metadataWithRandomUUID("subscriptions.query.subscriptions-by-user"), createObjectBuilder().build());
+
+        assertThrows(IllegalArgumentException.class, () -> userAndGroupsService.getUserDetails(query));
+
+        verifyNoInteractions(requester);
+    }
+
+    private static JsonEnvelope query() {
+        return envelopeFrom(metadataWithRandomUUID("subscriptions.query.subscriptions-by-user").withUserId(USER_ID), createObjectBuilder().build());
+    }
+}
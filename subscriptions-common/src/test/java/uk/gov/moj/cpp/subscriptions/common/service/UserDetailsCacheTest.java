@@ -0,0 +1,158 @@
+package uk.gov.moj.cpp.subscriptions.common.service;
+
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
+import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.setField;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class UserDetailsCacheTest {
+
+    private static final String USER_ID = randomUUID().toString();
+
+    private final JsonObject userDetails = createObjectBuilder()
+            .add("organisationId", randomUUID().toString())
+            .add("email", "user@organisation.gov.uk")
+            .build();
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @Mock
+    private Supplier<JsonObject> loader;
+
+    private final UserDetailsCache userDetailsCache = new UserDetailsCache();
+
+    @BeforeEach
+    public void setup() {
+        setField(userDetailsCache, "userDetailsCacheMaxSize", "10");
+        setField(userDetailsCache, "userDetailsCacheTtlSeconds", "60");
+    }
+
+    @AfterEach
+    public void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void shouldLoadUserDetailsOncePerUserWithinTtl() {
+        when(loader.get()).thenReturn(userDetails);
+
+        userDetailsCache.getUserDetails(USER_ID, loader);
+        final JsonObject cached = userDetailsCache.getUserDetails(USER_ID, loader);
+
+        assertThat(cached, is(userDetails));
+        assertThat(userDetailsCache.getHits(), is(1L));
+        assertThat(userDetailsCache.getMisses(), is(1L));
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    public void shouldReloadWhenEntryHasExpired() {
+        setField(userDetailsCache, "userDetailsCacheTtlSeconds", "0");
+        when(loader.get()).thenReturn(userDetails);
+
+        userDetailsCache.getUserDetails(USER_ID, loader);
+        userDetailsCache.getUserDetails(USER_ID, loader);
+
+        assertThat(userDetailsCache.getMisses(), is(2L));
+        assertThat(userDetailsCache.getEvictions(), is(1L));
+        verify(loader, times(2)).get();
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedUserWhenFull() {
+        setField(userDetailsCache, "userDetailsCacheMaxSize", "2");
+        when(loader.get()).thenReturn(userDetails);
+
+        for (final String userId : asList(USER_ID, randomUUID().toString(), randomUUID().toString())) {
+            userDetailsCache.getUserDetails(userId, loader);
+        }
+
+        assertThat(userDetailsCache.size(), is(2));
+        assertThat(userDetailsCache.getEvictions(), is(1L));
+    }
+
+    @Test
+    public void shouldNotCacheFailedLoad() {
+        when(loader.get()).thenThrow(new IllegalStateException("usersgroups unavailable")).thenReturn(userDetails);
+
+        assertThrows(IllegalStateException.class, () -> userDetailsCache.getUserDetails(USER_ID, loader));
+
+        assertThat(userDetailsCache.getUserDetails(USER_ID, loader), is(userDetails));
+        assertThat(userDetailsCache.getLoadFailures(), is(1L));
+        verify(loader, times(2)).get();
+    }
+
+    @Test
+    public void shouldShareLoadBetweenConcurrentRequestsForTheSameUser() throws Exception {
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(loader.get()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, SECONDS);
+            return userDetails;
+        });
+
+        final Future<JsonObject> first = executorService.submit(() -> userDetailsCache.getUserDetails(USER_ID, loader));
+        loading.await(5, SECONDS);
+        final Future<JsonObject> second = executorService.submit(() -> userDetailsCache.getUserDetails(USER_ID, loader));
+        while (userDetailsCache.getSharedLoads() == 0 && !second.isDone()) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertThat(first.get(5, SECONDS), is(userDetails));
+        assertThat(second.get(5, SECONDS), is(userDetails));
+        assertThat(userDetailsCache.getSharedLoads(), is(1L));
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    public void shouldFailSharedRequestsAndLoadAgainWhenALoadFailsWithAnError() throws Exception {
+        final CountDownLatch loading = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        when(loader.get()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(5, SECONDS);
+            throw new NoClassDefFoundError("usersgroups client");
+        }).thenReturn(userDetails);
+
+        final Future<JsonObject> first = executorService.submit(() -> userDetailsCache.getUserDetails(USER_ID, loader));
+        loading.await(5, SECONDS);
+        final Future<JsonObject> second = executorService.submit(() -> userDetailsCache.getUserDetails(USER_ID, loader));
+        while (userDetailsCache.getSharedLoads() == 0 && !second.isDone()) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertThat(assertThrows(ExecutionException.class, () -> first.get(5, SECONDS)).getCause(), is(instanceOf(NoClassDefFoundError.class)));
+        assertThat(assertThrows(ExecutionException.class, () -> second.get(5, SECONDS)).getCause(), is(instanceOf(NoClassDefFoundError.class)));
+        assertThat(userDetailsCache.getUserDetails(USER_ID, loader), is(userDetails));
+        assertThat(userDetailsCache.getLoadFailures(), is(1L));
+        verify(loader, times(2)).get();
+    }
+}
@@ -14,6 +14,11 @@ import uk.gov.moj.cpp.subscriptions.json.schemas.SendEmailRequestFailed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SendEmailRequestSucceeded;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SendEmailRequested;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
 import java.time.ZonedDateTime;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -21,6 +26,13 @@ import java.util.stream.Stream;
 
 public class NotificationAggregate implements Aggregate {
     private static final long serialVersionUID = 100L;
+
+    /**
+     * Snapshot format, see {@link SubscriptionAggregate}.
+     */
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final ObjectStreamField[] serialPersistentFields = {};
+
     private UUID subscriptionId;
     private String subscriptionName;
     private String sendToAddress;
@@ -92,5 +104,23 @@ public class NotificationAggregate implements Aggregate {
                 })
         );
     }
-}
 
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(SNAPSHOT_FORMAT);
+        out.writeObject(subscriptionId);
+        out.writeObject(subscriptionName);
+        out.writeObject(sendToAddress);
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int format = in.readInt();
+        if (format != SNAPSHOT_FORMAT) {
+            throw new InvalidObjectException("Unsupported NotificationAggregate snapshot format " + format);
+        }
+        this.subscriptionId = (UUID) in.readObject();
+        this.subscriptionName = (String) in.readObject();
+        this.sendToAddress = (String) in.readObject();
+    }
+}
@@ -1,6 +1,7 @@
 package uk.gov.moj.cpp.subscriptions.aggregate;
 
-import static java.util.stream.Collectors.toList;
+import static java.lang.Boolean.TRUE;
+import static java.util.Collections.unmodifiableList;
 import static java.util.stream.Stream.of;
 import static uk.gov.justice.domain.aggregate.matcher.EventSwitcher.match;
 import static uk.gov.justice.domain.aggregate.matcher.EventSwitcher.when;
@@ -33,8 +34,15 @@ import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeleted;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionSubscribed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionUnsubscribed;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamField;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
 import java.util.UUID;
 import java.util.stream.Stream;
 
@@ -42,6 +50,14 @@ import java.util.stream.Stream;
 public class SubscriptionAggregate implements Aggregate {
     private static final long serialVersionUID = 100L;
 
+    /**
+     * Snapshots are written field by field behind a format number rather than by default
+     * serialization, so the state can change shape without changing serialVersionUID. Bump the
+     * format when the written state changes and keep reading the formats still in the snapshot store.
+     */
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final ObjectStreamField[] serialPersistentFields = {};
+
     private Boolean active;
 
     private UUID id;
@@ -58,7 +74,9 @@ public class SubscriptionAggregate implements Aggregate {
 
     private List<String> nowsOrEdts;
 
-    private List<Subscribers> subscribers;
+    private Map<String, Subscribers> subscribers = new LinkedHashMap<>();
+
+    private int activeSubscribers;
 
     private boolean deleted;
 
@@ -112,7 +130,7 @@ public class SubscriptionAggregate implements Aggregate {
     }
 
     public Stream<Object> subscribe(final UUID subscriptionId, final UUID organisationId, final String subscriber) {
-        if (isDeleted() || this.subscribers.stream().noneMatch(s -> s.getEmailAddress().equals(subscriber))) {
+        if (isDeleted() || !this.subscribers.containsKey(subscriber)) {
             return Stream.empty();
         }
         return apply(of(subscriptionSubscribed()
@@ -124,7 +142,7 @@ public class SubscriptionAggregate implements Aggregate {
     }
 
     public Stream<Object> unsubscribe(final UUID subscriptionId, final UUID organisationId, final String subscriber) {
-        if (isDeleted() || this.subscribers.stream().noneMatch(s -> s.getEmailAddress().equals(subscriber))) {
+        if (isDeleted() || !this.subscribers.containsKey(subscriber)) {
             return Stream.empty();
         }
         return apply(of(subscriptionUnsubscribed()
@@ -141,7 +159,7 @@ public class SubscriptionAggregate implements Aggregate {
             ));
         }
 
-        if (this.subscribers.stream().noneMatch(s -> s.getEmailAddress().equals(subscriber))) {
+        if (!this.subscribers.containsKey(subscriber)) {
             return apply(of(buildDeleteFailedEvent(subscriptionId, organisationId, subscriber, "Subscriber does not subscribe to given subscription")));
         }
 
@@ -155,8 +173,7 @@ public class SubscriptionAggregate implements Aggregate {
                     .withOrganisationId(organisationId)
                     .build());
         } else {
-            final boolean hasOtherActiveSubscribers = subscribers.stream().anyMatch(s -> !s.getEmailAddress().equals(subscriber) && s.getActive());
-            if (!hasOtherActiveSubscribers) {
+            if (!hasOtherActiveSubscribers(subscriber)) {
                 streamBuilder.add(subscriptionDeactivated()
                         .withSubscriptionId(subscriptionId)
                         .withOrganisationId(organisationId)
@@ -172,7 +189,7 @@ public class SubscriptionAggregate implements Aggregate {
             ));
         }
 
-        if (this.subscribers.stream().noneMatch(s -> s.getEmailAddress().equals(subscriber))) {
+        if (!this.subscribers.containsKey(subscriber)) {
             return apply(of(buildDeleteFailedEvent(id, organisationId, subscriber, "Subscriber does not subscribe to given subscription")));
         }
 
@@ -186,8 +203,7 @@ public class SubscriptionAggregate implements Aggregate {
                     .withOrganisationId(organisationId)
                     .build());
         } else {
-            final boolean hasOtherActiveSubscribers = subscribers.stream().anyMatch(s -> !s.getEmailAddress().equals(subscriber) && s.getActive());
-            if (!hasOtherActiveSubscribers) {
+            if (!hasOtherActiveSubscribers(subscriber)) {
                 streamBuilder.add(subscriptionDeactivated()
                         .withSubscriptionId(id)
                         .withOrganisationId(organisationId)
@@ -218,7 +234,7 @@ public class SubscriptionAggregate implements Aggregate {
                     this.events = subscriptionCreated.getSubscription().getEvents();
                     this.filter = subscriptionCreated.getSubscription().getFilter();
                     this.nowsOrEdts = subscriptionCreated.getSubscription().getNowsOrEdts();
-                    this.subscribers = subscriptionCreated.getSubscription().getSubscribers();
+                    indexSubscribers(subscriptionCreated.getSubscription().getSubscribers());
                 }),
                 when(SubscriptionCreatedByUser.class).apply(subscriptionCreatedByUser -> {
                     this.id = subscriptionCreatedByUser.getSubscription().getId();
@@ -229,7 +245,7 @@ public class SubscriptionAggregate implements Aggregate {
                     this.events = subscriptionCreatedByUser.getSubscription().getEvents();
                     this.filter = subscriptionCreatedByUser.getSubscription().getFilter();
                     this.nowsOrEdts = subscriptionCreatedByUser.getSubscription().getNowsOrEdts();
-                    this.subscribers = subscriptionCreatedByUser.getSubscription().getSubscribers();
+                    indexSubscribers(subscriptionCreatedByUser.getSubscription().getSubscribers());
                 }),
                 when(SubscriptionActivated.class).apply(this::processSubscriptionActivated),
                 when(SubscriptionDeactivated.class).apply(this::processSubscriptionDeactivated),
@@ -238,34 +254,27 @@ public class SubscriptionAggregate implements Aggregate {
                 when(SendEmailRequested.class).apply(sendEmailRequested -> {
                 }),
                 when(SubscriptionDeleted.class).apply(e -> this.deleted = true),
-                when(SubscriberDeleted.class).apply(e -> this.subscribers = this.subscribers.stream().filter(s -> !s.getEmailAddress().equals(e.getSubscriber())).collect(toList())),
+                when(SubscriberDeleted.class).apply(e -> this.removeSubscriber(e.getSubscriber())),
                 when(SubscriberDeleteFailed.class).apply(e -> {}),
-                when(SubscriberDeletedViaBdf.class).apply(e -> this.subscribers = this.subscribers.stream().filter(s -> !s.getEmailAddress().equals(e.getSubscriber())).collect(toList()))
+                when(SubscriberDeletedViaBdf.class).apply(e -> this.removeSubscriber(e.getSubscriber()))
         );
     }
 
 
 
     private void processSubscribeAndUnsubscribe(final String emailAddress, final boolean isSubscribed) {
-        final Optional<Subscribers> subscribersOptional = this.subscribers.stream()
-                .filter(s -> s.getEmailAddress().equals(emailAddress))
-                .map(subscriber -> subscribers()
-                        .withValuesFrom(subscriber)
-                        .withActive(isSubscribed)
-                        .build())
-                .findFirst();
-        this.subscribers = this.subscribers
-                .stream()
-                .filter(s -> !s.getEmailAddress().equals(emailAddress))
-                .collect(toList());
-        if (subscribersOptional.isPresent()) {
-            this.subscribers.add(subscribersOptional.get());
+        final Subscribers subscriber = this.subscribers.get(emailAddress);
+        if (subscriber != null) {
+            if (isActive(subscriber) != isSubscribed) {
+                this.activeSubscribers += isSubscribed ? 1 : -1;
+            }
+            this.subscribers.put(emailAddress, withActive(subscriber, isSubscribed));
         }
 
         if (isSubscribed) {
             this.active = true;
         } else {
-            if (this.subscribers.stream().noneMatch(Subscribers::getActive)) {
+            if (activeSubscribers == 0) {
                 this.active = false;
             }
         }
@@ -274,21 +283,96 @@ public class SubscriptionAggregate implements Aggregate {
     @SuppressWarnings({"squid:S1172"})
     private void processSubscriptionDeactivated(final SubscriptionDeactivated subscriptionDeactivated) {
         this.active = false;
-        this.subscribers = this.subscribers.stream().map(subscriber -> subscribers()
-                .withValuesFrom(subscriber)
-                .withActive(false)
-                .build())
-                .collect(toList());
+        this.subscribers.replaceAll((emailAddress, subscriber) -> withActive(subscriber, false));
+        this.activeSubscribers = 0;
     }
 
     @SuppressWarnings({"squid:S1172"})
     private void processSubscriptionActivated(final SubscriptionActivated subscriptionActivated) {
         this.active = true;
-        this.subscribers = this.subscribers.stream().map(subscriber -> subscribers()
+        this.subscribers.replaceAll((emailAddress, subscriber) -> withActive(subscriber, true));
+        this.activeSubscribers = this.subscribers.size();
+    }
+
+    private void removeSubscriber(final String emailAddress) {
+        final Subscribers removed = this.subscribers.remove(emailAddress);
+        if (isActive(removed)) {
+            this.activeSubscribers--;
+        }
+    }
+
+    private boolean hasOtherActiveSubscribers(final String emailAddress) {
+        return activeSubscribers - (isActive(subscribers.get(emailAddress)) ? 1 : 0) > 0;
+    }
+
+    private void indexSubscribers(final List<Subscribers> subscriberList) {
+        this.subscribers = new LinkedHashMap<>();
+        this.activeSubscribers = 0;
+        if (subscriberList == null) {
+            return;
+        }
+        for (final Subscribers subscriber : subscriberList) {
+            if (this.subscribers.putIfAbsent(keyOf(subscriber), subscriber) == null && isActive(subscriber)) {
+                this.activeSubscribers++;
+            }
+        }
+    }
+
+    // a subscriber without an email address cannot be addressed by a command, so it is kept under its id
+    private static String keyOf(final Subscribers subscriber) {
+        return subscriber.getEmailAddress() != null ? subscriber.getEmailAddress() : String.valueOf(subscriber.getId());
+    }
+
+    private static Subscribers withActive(final Subscribers subscriber, final boolean isActive) {
+        if (Boolean.valueOf(isActive).equals(subscriber.getActive())) {
+            return subscriber;
+        }
+        return subscribers()
                 .withValuesFrom(subscriber)
-                .withActive(true)
-                .build())
-                .collect(toList());
+                .withActive(isActive)
+                .build();
+    }
+
+    private static boolean isActive(final Subscribers subscriber) {
+        return subscriber != null && TRUE.equals(subscriber.getActive());
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(SNAPSHOT_FORMAT);
+        out.writeObject(active);
+        out.writeObject(id);
+        out.writeObject(name);
+        out.writeObject(organisationId);
+        out.writeObject(copyOf(courts));
+        out.writeObject(copyOf(events));
+        out.writeObject(filter);
+        out.writeObject(copyOf(nowsOrEdts));
+        out.writeObject(new ArrayList<>(subscribers.values()));
+        out.writeBoolean(deleted);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        final int format = in.readInt();
+        if (format != SNAPSHOT_FORMAT) {
+            throw new InvalidObjectException("Unsupported SubscriptionAggregate snapshot format " + format);
+        }
+        this.active = (Boolean) in.readObject();
+        this.id = (UUID) in.readObject();
+        this.name = (String) in.readObject();
+        this.organisationId = (UUID) in.readObject();
+        this.courts = (List<Court>) in.readObject();
+        this.events = (List<Events>) in.readObject();
+        this.filter = (Filter) in.readObject();
+        this.nowsOrEdts = (List<String>) in.readObject();
+        indexSubscribers((List<Subscribers>) in.readObject());
+        this.deleted = in.readBoolean();
+    }
+
+    private static <T> List<T> copyOf(final List<T> values) {
+        return values == null ? null : new ArrayList<>(values);
     }
 
     public Boolean getActive() {
@@ -304,7 +388,7 @@ public class SubscriptionAggregate implements Aggregate {
     }
 
     public List<Subscribers> getSubscribers() {
-        return subscribers;
+        return unmodifiableList(new ArrayList<>(subscribers.values()));
     }
 
     public boolean isDeleted() {
@@ -0,0 +1,28 @@
+package uk.gov.moj.cpp.subscriptions.aggregate;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+
+/**
+ * Serializes an aggregate the way the snapshot store does and reads it back.
+ */
+final class AggregateSnapshots {
+
+    private AggregateSnapshots() {
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T extends Serializable> T restoreFromSnapshot(final T aggregate) throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        try (final ObjectOutputStream out = new ObjectOutputStream(snapshot)) {
+            out.writeObject(aggregate);
+        }
+        try (final ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(snapshot.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+}
@@ -6,11 +6,13 @@ import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
+import static uk.gov.moj.cpp.subscriptions.aggregate.AggregateSnapshots.restoreFromSnapshot;
 
 import uk.gov.moj.cpp.subscriptions.json.schemas.SendEmailRequestFailed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SendEmailRequestSucceeded;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SendEmailRequested;
 
+import java.io.IOException;
 import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.UUID;
@@ -120,4 +122,19 @@ public class NotificationAggregateTest {
         final List<?> eventList = eventStream.collect(toList());
         assertThat(eventList, empty());
     }
+
+    @Test
+    public void shouldHandleSendEmailRequestSucceededAfterRestoringFromSnapshot() throws IOException, ClassNotFoundException {
+        final UUID notificationId = randomUUID();
+        final UUID subscriptionId = randomUUID();
+        notificationAggregate.sendEmail(notificationId, "abc@xyz.com", "subject", "body", subscriptionId, "subscription name", null, null, null, null);
+
+        final NotificationAggregate restored = restoreFromSnapshot(notificationAggregate);
+
+        final List<?> eventList = restored.handleSendEmailSucceeded(notificationId, ZonedDateTime.now()).collect(toList());
+        final SendEmailRequestSucceeded sendEmailRequestSucceeded = (SendEmailRequestSucceeded) eventList.get(0);
+        assertThat(sendEmailRequestSucceeded.getSubscriptionId(), is(subscriptionId));
+        assertThat(sendEmailRequestSucceeded.getSubscriptionName(), is("subscription name"));
+        assertThat(sendEmailRequestSucceeded.getSendToAddress(), is("abc@xyz.com"));
+    }
 }
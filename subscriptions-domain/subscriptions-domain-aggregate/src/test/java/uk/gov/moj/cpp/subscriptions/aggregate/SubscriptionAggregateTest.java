@@ -9,6 +9,7 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static uk.gov.justice.services.test.utils.core.reflection.ReflectionUtil.getValueOfField;
+import static uk.gov.moj.cpp.subscriptions.aggregate.AggregateSnapshots.restoreFromSnapshot;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscribers.subscribers;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscription.subscription;
 
@@ -25,6 +26,7 @@ import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeleted;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionSubscribed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionUnsubscribed;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Stream;
@@ -585,4 +587,82 @@ public class SubscriptionAggregateTest {
         assertThat(subscriptionAggregate.getActive(), is(false));
     }
 
+    @Test
+    public void shouldDeactivateSubscriptionWhenDeletingTheLastActiveSubscriberAfterOthersUnsubscribed() {
+        final Subscription subscription = subscription()
+                .withId(randomUUID())
+                .withSubscribers(asList(subscribers().withId(randomUUID()).withActive(true).withEmailAddress(EMAIL).build(),
+                        subscribers().withId(randomUUID()).withActive(true).withEmailAddress("test1@test.com").build(),
+                        subscribers().withId(randomUUID()).withActive(true).withEmailAddress("test2@test.com").build()))
+                .withActive(true)
+                .build();
+        final UUID organisationId = randomUUID();
+        subscriptionAggregate.createSubscription(organisationId, subscription).collect(toList());
+        subscriptionAggregate.unsubscribe(subscription.getId(), organisationId, "test1@test.com").collect(toList());
+        subscriptionAggregate.unsubscribe(subscription.getId(), organisationId, "test2@test.com").collect(toList());
+        subscriptionAggregate.subscribe(subscription.getId(), organisationId, "test2@test.com").collect(toList());
+        subscriptionAggregate.unsubscribe(subscription.getId(), organisationId, "test2@test.com").collect(toList());
+        assertThat(subscriptionAggregate.getActive(), is(true));
+
+        final List<?> events = subscriptionAggregate.deleteSubscriber(subscription.getId(), organisationId, EMAIL).collect(toList());
+
+        assertThat(events, hasSize(2));
+        assertThat(events.get(0), instanceOf(SubscriberDeleted.class));
+        assertThat(events.get(1), instanceOf(SubscriptionDeactivated.class));
+        assertThat(subscriptionAggregate.getSubscribers(), hasSize(2));
+        assertThat(subscriptionAggregate.getActive(), is(false));
+    }
+
+    @Test
+    public void shouldIgnoreSubscribeForUnknownSubscriber() {
+        final Subscription subscription = subscription()
+                .withId(randomUUID())
+                .withSubscribers(asList(subscribers().withId(randomUUID()).withActive(false).withEmailAddress(EMAIL).build()))
+                .withActive(false)
+                .build();
+        final UUID organisationId = randomUUID();
+        subscriptionAggregate.createSubscription(organisationId, subscription).collect(toList());
+
+        assertThat(subscriptionAggregate.subscribe(subscription.getId(), organisationId, "unknown@test.com").collect(toList()), empty());
+        assertThat(subscriptionAggregate.getActive(), is(false));
+    }
+
+    @Test
+    public void shouldRestoreStateFromSnapshot() throws IOException, ClassNotFoundException {
+        final Subscription subscription = subscription()
+                .withId(randomUUID())
+                .withSubscribers(asList(subscribers().withId(randomUUID()).withActive(true).withEmailAddress(EMAIL).build(),
+                        subscribers().withId(randomUUID()).withActive(true).withEmailAddress("test1@test.com").build()))
+                .withActive(true)
+                .build();
+        final UUID organisationId = randomUUID();
+        subscriptionAggregate.createSubscription(organisationId, subscription).collect(toList());
+        subscriptionAggregate.unsubscribe(subscription.getId(), organisationId, EMAIL).collect(toList());
+
+        final SubscriptionAggregate restored = restoreFromSnapshot(subscriptionAggregate);
+
+        assertThat(restored.getId(), is(subscription.getId()));
+        assertThat(restored.getOrganisationId(), is(organisationId));
+        assertThat(restored.getActive(), is(true));
+        assertThat(restored.isDeleted(), is(false));
+        assertThat(restored.getSubscribers(), is(subscriptionAggregate.getSubscribers()));
+
+        final List<?> events = restored.unsubscribe(subscription.getId(), organisationId, "test1@test.com").collect(toList());
+        assertThat(events.get(0), instanceOf(SubscriptionUnsubscribed.class));
+        assertThat(restored.getActive(), is(false));
+    }
+
+    @Test
+    public void shouldRestoreDeletedSubscriptionFromSnapshot() throws IOException, ClassNotFoundException {
+        final Subscription subscription = subscription().withId(randomUUID()).withActive(true).withSubscribers(asList(
+                subscribers().withId(randomUUID()).withActive(true).withEmailAddress(EMAIL).build())).build();
+        final UUID organisationId = randomUUID();
+        subscriptionAggregate.createSubscription(organisationId, subscription).collect(toList());
+        subscriptionAggregate.deleteSubscription(subscription.getId(), organisationId).collect(toList());
+
+        final SubscriptionAggregate restored = restoreFromSnapshot(subscriptionAggregate);
+
+        assertThat(restored.isDeleted(), is(true));
+        assertThat(restored.activateSubscription(subscription.getId(), organisationId).collect(toList()), empty());
+    }
 }
@@ -0,0 +1,104 @@
+package uk.gov.moj.cpp.subscriptions.event.listener;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.toList;
+
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Court;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.CourtSubscriptionView;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Filter;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.NowsEdt;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.CourtSubscriptionViewRepository;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscribersRepository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+import javax.inject.Inject;
+
+/**
+ * Keeps the denormalised court_subscription_view read model in step with the normalised
+ * subscription tables. Each change rewrites every court row of the subscription. Subscriber
+ * emails are read with a query so that the subscribers of the subscription are never loaded.
+ */
+public class CourtSubscriptionViewProjector {
+
+    @Inject
+    private CourtSubscriptionViewRepository courtSubscriptionViewRepository;
+
+    @Inject
+    private SubscribersRepository subscribersRepository;
+
+    public void project(final Subscription subscription) {
+        courtSubscriptionViewRepository.deleteBySubscriptionId(subscription.getId());
+        if (courtIdsOf(subscription).isEmpty()) {
+            return;
+        }
+
+        viewsOf(subscription, subscribersRepository.findActiveEmailAddressesBySubscriptionId(subscription.getId()))
+                .forEach(courtSubscriptionViewRepository::save);
+    }
+
+    /**
+     * The court rows of a subscription, one per distinct court, given the email addresses of its
+     * active subscribers.
+     */
+    public static List<CourtSubscriptionView> viewsOf(final Subscription subscription, final Collection<String> activeSubscriberEmails) {
+        final List<String> subscriberEmails = sortedNames(activeSubscriberEmails, Function.identity());
+        return courtIdsOf(subscription).stream()
+                .map(courtId -> buildView(courtId, subscription, subscriberEmails))
+                .collect(toList());
+    }
+
+    public void remove(final UUID subscriptionId) {
+        courtSubscriptionViewRepository.deleteBySubscriptionId(subscriptionId);
+    }
+
+    private static List<UUID> courtIdsOf(final Subscription subscription) {
+        if (isNull(subscription.getCourts())) {
+            return emptyList();
+        }
+        return subscription.getCourts().stream()
+                .map(Court::getCourtId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(toList());
+    }
+
+    private static CourtSubscriptionView buildView(final UUID courtId, final Subscription subscription, final List<String> subscriberEmails) {
+        final CourtSubscriptionView.CourtSubscriptionViewBuilder builder = CourtSubscriptionView.builder()
+                .withCourtId(courtId)
+                .withSubscriptionId(subscription.getId())
+                .withSubscriptionName(subscription.getName())
+                .withActive(subscription.isActive())
+                .withEvents(sortedNames(subscription.getEvents(), event -> event.getName().name()))
+                .withNowsEdts(sortedNames(subscription.getNowsEdts(), NowsEdt::getName))
+                .withSubscriberEmails(subscriberEmails);
+
+        final Filter filter = subscription.getFilter();
+        if (nonNull(filter)) {
+            builder.withFilterId(filter.getId())
+                    .withFilterType(filter.getFilterType())
+                    .withFilterUrn(filter.getUrn())
+                    .withFilterAdult(filter.isAdult())
+                    .withFilterDefendantFirstName(filter.getDefendantFirstName())
+                    .withFilterDefendantLastName(filter.getDefendantLastName())
+                    .withFilterDefendantDateOfBirth(filter.getDateOfBirth())
+                    .withFilterGender(filter.getGender())
+                    .withFilterOffence(filter.getOffence());
+        }
+        return builder.build();
+    }
+
+    private static <T> List<String> sortedNames(final Collection<T> values, final Function<T, String> name) {
+        if (isNull(values)) {
+            return emptyList();
+        }
+        return values.stream().map(name).filter(Objects::nonNull).distinct().sorted().collect(toList());
+    }
+}
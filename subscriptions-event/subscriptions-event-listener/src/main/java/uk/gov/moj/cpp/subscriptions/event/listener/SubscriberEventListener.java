@@ -12,12 +12,11 @@ import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionSubscribed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionUnsubscribed;
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscriber;
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscribersRepository;
 import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscriptionsRepository;
 
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 
@@ -30,6 +29,11 @@ public class SubscriberEventListener {
     @Inject
     private SubscriptionsRepository subscriptionsRepository;
 
+    @Inject
+    private SubscribersRepository subscribersRepository;
+
+    @Inject
+    private CourtSubscriptionViewProjector courtSubscriptionViewProjector;
 
     @Handles("subscriptions.event.subscription-subscribed")
     public void handleSubscribe(final JsonEnvelope event) {
@@ -47,11 +51,10 @@ public class SubscriberEventListener {
     @Handles("subscriptions.event.subscriber-deleted")
     public void handleDeleteSubscriber(final JsonEnvelope event) {
         final SubscriberDeleted subscriberDeleted = jsonObjectConverter.convert(event.payloadAsJsonObject(), SubscriberDeleted.class);
-        final Subscription subscription = subscriptionsRepository.findBy(subscriberDeleted.getSubscriptionId());
-        final Optional<Subscriber> optionalSubscriber = subscription.getSubscribers().stream().filter(s -> s.getEmailAddress().equals(subscriberDeleted.getSubscriber())).findFirst();
-        if(optionalSubscriber.isPresent()) {
-            subscription.getSubscribers().remove(optionalSubscriber.get());
-            subscriptionsRepository.save(subscription);
+        final List<Subscriber> subscribers = subscribersRepository.findSubscribersByEmailAddressForSubscription(subscriberDeleted.getSubscriber(), subscriberDeleted.getSubscriptionId());
+        if (!subscribers.isEmpty()) {
+            subscribersRepository.remove(subscribers.get(0));
+            courtSubscriptionViewProjector.project(subscriptionsRepository.findForListenerUpdate(subscriberDeleted.getSubscriptionId()));
         }
     }
 
@@ -59,31 +62,25 @@ public class SubscriberEventListener {
     @Handles("subscriptions.event.subscriber-deleted-via-bdf")
     public void handleDeleteSubscriberViaBdf(final JsonEnvelope event) {
         final SubscriberDeletedViaBdf subscriberDeletedViaBdf = jsonObjectConverter.convert(event.payloadAsJsonObject(), SubscriberDeletedViaBdf.class);
-        final Subscription subscriptionFromRepo = subscriptionsRepository.findBy(subscriberDeletedViaBdf.getSubscriptionId());
-        final List<Subscriber> subscribers = subscriptionFromRepo.getSubscribers().stream()
-                .filter(s -> s.getEmailAddress().equals(subscriberDeletedViaBdf.getSubscriber()))
-                .collect(Collectors.toUnmodifiableList());
-        subscribers.forEach(subscriber -> {
-            final Subscription subscription = subscriber.getSubscription();
-            subscription.getSubscribers().remove(subscriber);
-            subscriptionsRepository.save(subscription);
-        });
+        final List<Subscriber> subscribers = subscribersRepository.findSubscribersByEmailAddressForSubscription(subscriberDeletedViaBdf.getSubscriber(), subscriberDeletedViaBdf.getSubscriptionId());
+        subscribers.forEach(subscribersRepository::remove);
+        if (!subscribers.isEmpty()) {
+            courtSubscriptionViewProjector.project(subscriptionsRepository.findForListenerUpdate(subscriberDeletedViaBdf.getSubscriptionId()));
+        }
     }
 
+    /**
+     * Updates the subscriber and, when unsubscribing, deactivates the subscription if no active
+     * subscriber is left, with one statement each. The subscription is loaded afterwards so that
+     * the projection sees the updated rows.
+     */
     private void processSubscribeUnsubscribe(final String subscriber, final UUID subscriptionId, final boolean isSubscribed) {
-        final Subscription subscription = subscriptionsRepository.findBy(subscriptionId);
-        subscription.getSubscribers().stream().forEach(s -> {
-            if (s.getEmailAddress().equals(subscriber)) {
-                s.setActive(isSubscribed);
-            }
-        });
+        subscribersRepository.updateActiveByEmailAddressForSubscription(subscriber, subscriptionId, isSubscribed);
         if (isSubscribed) {
-            subscription.setActive(isSubscribed);
+            subscriptionsRepository.updateActive(subscriptionId, true);
         } else {
-            if (subscription.getSubscribers().stream().noneMatch(Subscriber::isActive)) {
-                subscription.setActive(isSubscribed);
-            }
+            subscriptionsRepository.deactivateWithoutActiveSubscribers(subscriptionId);
         }
-        subscriptionsRepository.save(subscription);
+        courtSubscriptionViewProjector.project(subscriptionsRepository.findForListenerUpdate(subscriptionId));
     }
 }
@@ -0,0 +1,133 @@
+package uk.gov.moj.cpp.subscriptions.event.listener;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toSet;
+import static org.apache.commons.collections.CollectionUtils.isEmpty;
+import static uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder;
+
+import uk.gov.moj.cpp.subscriptions.json.schemas.Events;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscribers;
+import uk.gov.moj.cpp.subscriptions.persistence.constants.EventType;
+import uk.gov.moj.cpp.subscriptions.persistence.constants.FilterType;
+import uk.gov.moj.cpp.subscriptions.persistence.constants.Gender;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Court;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Event;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Filter;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.NowsEdt;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscriber;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Builds the subscription entity graph of a created subscription, for the event listener and the
+ * viewstore rebuild alike.
+ */
+public class SubscriptionEntityFactory {
+
+    public Subscription create(final UUID organisationId, final uk.gov.moj.cpp.subscriptions.json.schemas.Subscription subscription) {
+        return buildSubscription(subscription.getId(), subscription.getName(), organisationId,
+                subscription.getCourts(), subscription.getEvents(), subscription.getFilter(), subscription.getNowsOrEdts(), subscription.getSubscribers());
+    }
+
+    private Subscription buildSubscription(final UUID id, final String name, final UUID organisationId, final List<uk.gov.moj.cpp.subscriptions.json.schemas.Court> courts,
+                                           final List<Events> events, final uk.gov.moj.cpp.subscriptions.json.schemas.Filter filter, final List<String> nowsOrEdts, final List<Subscribers> subscribers) {
+
+        final Subscription subscription = builder()
+                .withId(id)
+                .withName(name)
+                .withOrganisationId(organisationId)
+                .withActive(true)
+                .build();
+
+
+        subscription.setCourts(buildCourts(courts, subscription));
+        subscription.setNowsEdts(buildNowsEdts(nowsOrEdts, subscription));
+        subscription.setEvents(buildEvents(events, subscription));
+        subscription.setFilter(buildFilter(filter));
+        subscription.setSubscribers(buildSubscribers(subscribers, subscription));
+        return subscription;
+    }
+
+    @SuppressWarnings({"squid:S1168"})
+    private Set<Subscriber> buildSubscribers(final List<Subscribers> subscribers, final Subscription subscription) {
+        if (isEmpty(subscribers)) {
+            return null;
+        }
+        return subscribers.stream().map(subscriber -> Subscriber.builder()
+                .withId(subscriber.getId())
+                .withEmailAddress(subscriber.getEmailAddress())
+                .withActive(true)
+                .withSubscription(subscription)
+                .build())
+                .collect(toSet());
+    }
+
+    @SuppressWarnings({"squid:S1168"})
+    private Filter buildFilter(final uk.gov.moj.cpp.subscriptions.json.schemas.Filter filter) {
+        if (isNull(filter)) {
+            return null;
+        }
+        final Filter.FiltersBuilder filtersBuilder = Filter.builder()
+                .withId(filter.getId())
+                .withFilterType(FilterType.valueOf(filter.getFilterType().name()))
+                .withAdult(filter.getIsAdult())
+                .withUrn(filter.getUrn())
+                .withOffence(filter.getOffence());
+        if (nonNull(filter.getGender())) {
+            filtersBuilder.withGender(Gender.valueOf(filter.getGender().name()));
+        }
+
+        if (nonNull(filter.getDefendant())) {
+            filtersBuilder
+                    .withDefendantFirstName(filter.getDefendant().getFirstName())
+                    .withDefendantLastName(filter.getDefendant().getLastName())
+                    .withDateOfBirth(filter.getDefendant().getDateOfBirth());
+        }
+        return filtersBuilder.build();
+    }
+
+    @SuppressWarnings({"squid:S1168"})
+    private Set<Event> buildEvents(final List<Events> events, final Subscription subscription) {
+        if (isEmpty(events)) {
+            return null;
+        }
+        return events.stream().map(event -> Event.builder()
+                .withId(randomUUID())
+                .withName(EventType.valueOf(event.name()))
+                .withSubscription(subscription)
+                .build())
+                .collect(toSet());
+    }
+
+    @SuppressWarnings({"squid:S1168"})
+    private Set<NowsEdt> buildNowsEdts(final List<String> nowsOrEdts, final Subscription subscription) {
+        if (isEmpty(nowsOrEdts)) {
+            return null;
+        }
+        return nowsOrEdts.stream().map(nowsedts -> NowsEdt.builder()
+                .withId(randomUUID())
+                .withName(nowsedts)
+                .withSubscription(subscription)
+                .build())
+                .collect(toSet());
+    }
+
+    @SuppressWarnings({"squid:S1168"})
+    private Set<Court> buildCourts(final List<uk.gov.moj.cpp.subscriptions.json.schemas.Court> courts, final Subscription subscription) {
+        if (isEmpty(courts)) {
+            return null;
+        }
+        return courts.stream().map(court -> Court.builder()
+                .withId(court.getId())
+                .withCourtId(court.getCourtId())
+                .withName(court.getName())
+                .withSubscription(subscription)
+                .build())
+                .collect(toSet());
+    }
+}
@@ -0,0 +1,88 @@
+package uk.gov.moj.cpp.subscriptions.event.listener.rebuild;
+
+import static java.util.Objects.isNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Reads the subscription events of the event store in batches ordered by stream and position,
+ * each batch continuing after the last event of the previous one, so that every stream is read
+ * in order and the (stream_id, position_in_stream) index of event_log is used for every batch.
+ */
+public class EventLogReader {
+
+    private static final String SUBSCRIPTION_EVENTS = "subscriptions.event.%";
+    private static final String SELECT_FIRST_BATCH = "select stream_id, position_in_stream, name, payload from event_log " +
+            "where name like ? order by stream_id, position_in_stream limit ?";
+    private static final String SELECT_NEXT_BATCH = "select stream_id, position_in_stream, name, payload from event_log " +
+            "where name like ? and (stream_id > ? or (stream_id = ? and position_in_stream > ?)) order by stream_id, position_in_stream limit ?";
+
+    private final Connection connection;
+    private final int batchSize;
+    private UUID lastStreamId;
+    private long lastPositionInStream;
+
+    public EventLogReader(final Connection connection, final int batchSize) {
+        this.connection = connection;
+        this.batchSize = batchSize;
+    }
+
+    public List<LoggedEvent> nextBatch() throws SQLException {
+        try (final PreparedStatement statement = prepareNextBatch();
+             final ResultSet resultSet = statement.executeQuery()) {
+            final List<LoggedEvent> events = new ArrayList<>(batchSize);
+            while (resultSet.next()) {
+                lastStreamId = resultSet.getObject("stream_id", UUID.class);
+                lastPositionInStream = resultSet.getLong("position_in_stream");
+                events.add(new LoggedEvent(lastStreamId, resultSet.getString("name"), resultSet.getString("payload")));
+            }
+            return events;
+        }
+    }
+
+    private PreparedStatement prepareNextBatch() throws SQLException {
+        if (isNull(lastStreamId)) {
+            final PreparedStatement statement = connection.prepareStatement(SELECT_FIRST_BATCH);
+            statement.setString(1, SUBSCRIPTION_EVENTS);
+            statement.setInt(2, batchSize);
+            return statement;
+        }
+        final PreparedStatement statement = connection.prepareStatement(SELECT_NEXT_BATCH);
+        statement.setString(1, SUBSCRIPTION_EVENTS);
+        statement.setObject(2, lastStreamId);
+        statement.setObject(3, lastStreamId);
+        statement.setLong(4, lastPositionInStream);
+        statement.setInt(5, batchSize);
+        return statement;
+    }
+
+    public static class LoggedEvent {
+        private final UUID streamId;
+        private final String name;
+        private final String payload;
+
+        public LoggedEvent(final UUID streamId, final String name, final String payload) {
+            this.streamId = streamId;
+            this.name = name;
+            this.payload = payload;
+        }
+
+        public UUID getStreamId() {
+            return streamId;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getPayload() {
+            return payload;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package uk.gov.moj.cpp.subscriptions.event.listener.rebuild;
+
+import static java.lang.String.format;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Counts of a viewstore rebuild so far, with its throughput in events per second.
+ */
+public class RebuildProgress {
+
+    private final long startedAt = System.nanoTime();
+    private long eventsRead;
+    private long streamsRead;
+    private long subscriptionsWritten;
+    private long rowsWritten;
+
+    public void eventsRead(final int events) {
+        eventsRead += events;
+    }
+
+    public void streamRead() {
+        streamsRead++;
+    }
+
+    public void subscriptionsWritten(final int subscriptions) {
+        subscriptionsWritten += subscriptions;
+    }
+
+    public void rowsWritten(final long rows) {
+        rowsWritten = rows;
+    }
+
+    public long getEventsRead() {
+        return eventsRead;
+    }
+
+    public long getStreamsRead() {
+        return streamsRead;
+    }
+
+    public long getSubscriptionsWritten() {
+        return subscriptionsWritten;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    @Override
+    public String toString() {
+        final long elapsedMillis = NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+        final long eventsPerSecond = elapsedMillis == 0 ? eventsRead : eventsRead * 1000 / elapsedMillis;
+        return format("%d events of %d streams read, %d subscriptions written in %d rows, %d ms elapsed, %d events/s",
+                eventsRead, streamsRead, subscriptionsWritten, rowsWritten, elapsedMillis, eventsPerSecond);
+    }
+}
@@ -0,0 +1,138 @@
+package uk.gov.moj.cpp.subscriptions.event.listener.rebuild;
+
+import static java.util.Objects.isNull;
+
+import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
+import uk.gov.moj.cpp.subscriptions.event.listener.SubscriptionEntityFactory;
+import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeleted;
+import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeletedViaBdf;
+import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionActivated;
+import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionCreated;
+import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionCreatedByUser;
+import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeactivated;
+import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeleted;
+import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionSubscribed;
+import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionUnsubscribed;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscriber;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.json.JsonObject;
+
+/**
+ * Folds subscription events into the final state of each subscription in memory, with the same
+ * outcome as the subscription and subscriber event listeners applying them one by one. Events of
+ * unknown subscriptions and events the listeners do not handle are ignored.
+ */
+public class SubscriptionsFold {
+
+    private final Map<UUID, Subscription> subscriptions = new LinkedHashMap<>();
+    private final SubscriptionEntityFactory subscriptionEntityFactory = new SubscriptionEntityFactory();
+    private final JsonObjectToObjectConverter jsonObjectConverter;
+
+    public SubscriptionsFold(final JsonObjectToObjectConverter jsonObjectConverter) {
+        this.jsonObjectConverter = jsonObjectConverter;
+    }
+
+    public void apply(final String name, final JsonObject payload) {
+        switch (name) {
+            case "subscriptions.event.subscription-created":
+                final SubscriptionCreated subscriptionCreated = jsonObjectConverter.convert(payload, SubscriptionCreated.class);
+                put(subscriptionEntityFactory.create(subscriptionCreated.getOrganisationId(), subscriptionCreated.getSubscription()));
+                break;
+            case "subscriptions.event.subscription-created-by-user":
+                final SubscriptionCreatedByUser subscriptionCreatedByUser = jsonObjectConverter.convert(payload, SubscriptionCreatedByUser.class);
+                put(subscriptionEntityFactory.create(subscriptionCreatedByUser.getOrganisationId(), subscriptionCreatedByUser.getSubscription()));
+                break;
+            case "subscriptions.event.subscription-activated":
+                setActive(jsonObjectConverter.convert(payload, SubscriptionActivated.class).getSubscriptionId(), true);
+                break;
+            case "subscriptions.event.subscription-deactivated":
+                setActive(jsonObjectConverter.convert(payload, SubscriptionDeactivated.class).getSubscriptionId(), false);
+                break;
+            case "subscriptions.event.subscription-deleted":
+                subscriptions.remove(jsonObjectConverter.convert(payload, SubscriptionDeleted.class).getSubscriptionId());
+                break;
+            case "subscriptions.event.subscription-subscribed":
+                final SubscriptionSubscribed subscribed = jsonObjectConverter.convert(payload, SubscriptionSubscribed.class);
+                subscribe(subscribed.getSubscriptionId(), subscribed.getSubscriber(), true);
+                break;
+            case "subscriptions.event.subscription-unsubscribed":
+                final SubscriptionUnsubscribed unsubscribed = jsonObjectConverter.convert(payload, SubscriptionUnsubscribed.class);
+                subscribe(unsubscribed.getSubscriptionId(), unsubscribed.getSubscriber(), false);
+                break;
+            case "subscriptions.event.subscriber-deleted":
+                final SubscriberDeleted subscriberDeleted = jsonObjectConverter.convert(payload, SubscriberDeleted.class);
+                removeSubscribers(subscriberDeleted.getSubscriptionId(), subscriberDeleted.getSubscriber(), false);
+                break;
+            case "subscriptions.event.subscriber-deleted-via-bdf":
+                final SubscriberDeletedViaBdf subscriberDeletedViaBdf = jsonObjectConverter.convert(payload, SubscriberDeletedViaBdf.class);
+                removeSubscribers(subscriberDeletedViaBdf.getSubscriptionId(), subscriberDeletedViaBdf.getSubscriber(), true);
+                break;
+            default:
+                break;
+        }
+    }
+
+    public Collection<Subscription> subscriptions() {
+        return subscriptions.values();
+    }
+
+    public void clear() {
+        subscriptions.clear();
+    }
+
+    private void put(final Subscription subscription) {
+        subscriptions.put(subscription.getId(), subscription);
+    }
+
+    private void setActive(final UUID subscriptionId, final boolean active) {
+        final Subscription subscription = subscriptions.get(subscriptionId);
+        if (isNull(subscription)) {
+            return;
+        }
+        subscription.setActive(active);
+        subscribersOf(subscription).forEach(subscriber -> subscriber.setActive(active));
+    }
+
+    private void subscribe(final UUID subscriptionId, final String emailAddress, final boolean active) {
+        final Subscription subscription = subscriptions.get(subscriptionId);
+        if (isNull(subscription)) {
+            return;
+        }
+        subscribersOf(subscription).stream()
+                .filter(subscriber -> emailAddress.equals(subscriber.getEmailAddress()))
+                .forEach(subscriber -> subscriber.setActive(active));
+        if (active) {
+            subscription.setActive(true);
+        } else if (subscribersOf(subscription).stream().noneMatch(Subscriber::isActive)) {
+            subscription.setActive(false);
+        }
+    }
+
+    private void removeSubscribers(final UUID subscriptionId, final String emailAddress, final boolean all) {
+        final Subscription subscription = subscriptions.get(subscriptionId);
+        if (isNull(subscription)) {
+            return;
+        }
+        for (final Subscriber subscriber : new ArrayList<>(subscribersOf(subscription))) {
+            if (emailAddress.equals(subscriber.getEmailAddress())) {
+                subscription.getSubscribers().remove(subscriber);
+                if (!all) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private static Collection<Subscriber> subscribersOf(final Subscription subscription) {
+        final Set<Subscriber> subscribers = subscription.getSubscribers();
+        return isNull(subscribers) ? new ArrayList<>() : subscribers;
+    }
+}
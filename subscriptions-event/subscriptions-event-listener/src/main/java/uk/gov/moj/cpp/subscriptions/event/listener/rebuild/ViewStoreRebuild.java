@@ -0,0 +1,91 @@
+package uk.gov.moj.cpp.subscriptions.event.listener.rebuild;
+
+import static java.lang.Integer.parseInt;
+import static javax.ejb.LockType.READ;
+import static javax.ejb.TransactionAttributeType.NOT_SUPPORTED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import uk.gov.justice.services.common.configuration.Value;
+import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
+import uk.gov.justice.services.common.converter.StringToJsonObjectConverter;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.Resource;
+import javax.ejb.Lock;
+import javax.ejb.Singleton;
+import javax.ejb.TransactionAttribute;
+import javax.inject.Inject;
+import javax.naming.InitialContext;
+import javax.naming.NamingException;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+
+/**
+ * Rebuilds the viewstore from the event store. The rebuild writes the viewstore in a local
+ * transaction of its own, which holds the viewstore tables locked until it commits, so it runs
+ * outside of any container transaction.
+ * <p>
+ * The rebuild does not move the stream positions the event listener has recorded, so an event the
+ * listener has not processed yet would be applied again on top of the rebuilt viewstore once the
+ * listener gets to it. The event listener must therefore be paused, with every event it had
+ * received processed, for the whole rebuild, and the rebuild refuses to run unless the caller
+ * confirms that it is.
+ */
+@Singleton
+@Lock(READ)
+@TransactionAttribute(NOT_SUPPORTED)
+public class ViewStoreRebuild {
+
+    private static final Logger LOGGER = getLogger(ViewStoreRebuild.class);
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Resource(lookup = "java:/DS.subscriptions")
+    private DataSource viewStoreDataSource;
+
+    @Inject
+    private StringToJsonObjectConverter stringToJsonObjectConverter;
+
+    @Inject
+    private JsonObjectToObjectConverter jsonObjectConverter;
+
+    @Inject
+    @Value(key = "viewStoreRebuildBatchSize", defaultValue = "1000")
+    private String viewStoreRebuildBatchSize;
+
+    @Inject
+    @Value(key = "viewStoreRebuildEventStoreDataSource", defaultValue = "java:/app/subscriptions-service/DS.eventstore")
+    private String viewStoreRebuildEventStoreDataSource;
+
+    /**
+     * Rebuilds the viewstore and returns a report of the rebuild, as long as the event listener is
+     * paused.
+     */
+    public String rebuild(final boolean eventListenerPaused) {
+        if (!eventListenerPaused) {
+            return "The viewstore is only rebuilt while the event listener is paused";
+        }
+        if (!running.compareAndSet(false, true)) {
+            return "A viewstore rebuild is already running";
+        }
+        try (final Connection eventStore = eventStoreDataSource().getConnection();
+             final Connection viewStore = viewStoreDataSource.getConnection()) {
+            return new ViewStoreRebuilder(stringToJsonObjectConverter, jsonObjectConverter, parseInt(viewStoreRebuildBatchSize))
+                    .rebuild(eventStore, viewStore)
+                    .toString();
+        } catch (final SQLException | NamingException e) {
+            LOGGER.error("Failed to rebuild the viewstore", e);
+            throw new IllegalStateException("Failed to rebuild the viewstore: " + e.getMessage(), e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private DataSource eventStoreDataSource() throws NamingException {
+        return (DataSource) new InitialContext().lookup(viewStoreRebuildEventStoreDataSource);
+    }
+}
@@ -0,0 +1,6 @@
+package uk.gov.moj.cpp.subscriptions.event.listener.rebuild;
+
+public interface ViewStoreRebuildMBean {
+
+    String rebuild(boolean eventListenerPaused);
+}
@@ -0,0 +1,57 @@
+package uk.gov.moj.cpp.subscriptions.event.listener.rebuild;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.management.ManagementFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.inject.Inject;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+import org.slf4j.Logger;
+
+/**
+ * Exposes the viewstore rebuild as the {@value #OBJECT_NAME} MBean. The MBean calls the rebuild
+ * through its container reference, so every call goes through the transaction and security
+ * handling of the {@link ViewStoreRebuild} bean.
+ */
+@Singleton
+@Startup
+public class ViewStoreRebuildMBeanRegistration {
+
+    public static final String OBJECT_NAME = "uk.gov.moj.cpp.subscriptions:type=ViewStoreRebuild";
+
+    private static final Logger LOGGER = getLogger(ViewStoreRebuildMBeanRegistration.class);
+
+    @Inject
+    private ViewStoreRebuild viewStoreRebuild;
+
+    @PostConstruct
+    public void register() {
+        try {
+            final ViewStoreRebuildMBean mBean = viewStoreRebuild::rebuild;
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new StandardMBean(mBean, ViewStoreRebuildMBean.class), new ObjectName(OBJECT_NAME));
+        } catch (final JMException e) {
+            LOGGER.error("Failed to register {}", OBJECT_NAME, e);
+        }
+    }
+
+    @PreDestroy
+    public void unregister() {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (final JMException e) {
+            LOGGER.error("Failed to unregister {}", OBJECT_NAME, e);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package uk.gov.moj.cpp.subscriptions.event.listener.rebuild;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
+import uk.gov.justice.services.common.converter.StringToJsonObjectConverter;
+import uk.gov.moj.cpp.subscriptions.event.listener.rebuild.EventLogReader.LoggedEvent;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+
+import org.slf4j.Logger;
+
+/**
+ * Rebuilds the viewstore from the event store without the event listeners. The events of each
+ * stream, which is the stream of a single subscription, are folded in memory and the final state
+ * of the subscription is written once the stream is complete. The viewstore is written in one
+ * transaction, which is rolled back when the rebuild fails.
+ */
+public class ViewStoreRebuilder {
+
+    private static final Logger LOGGER = getLogger(ViewStoreRebuilder.class);
+
+    private final StringToJsonObjectConverter stringToJsonObjectConverter;
+    private final JsonObjectToObjectConverter jsonObjectConverter;
+    private final int batchSize;
+
+    public ViewStoreRebuilder(final StringToJsonObjectConverter stringToJsonObjectConverter,
+                              final JsonObjectToObjectConverter jsonObjectConverter,
+                              final int batchSize) {
+        this.stringToJsonObjectConverter = stringToJsonObjectConverter;
+        this.jsonObjectConverter = jsonObjectConverter;
+        this.batchSize = batchSize;
+    }
+
+    public RebuildProgress rebuild(final Connection eventStore, final Connection viewStore) throws SQLException {
+        final RebuildProgress progress = new RebuildProgress();
+        final EventLogReader reader = new EventLogReader(eventStore, batchSize);
+        final ViewStoreWriter writer = new ViewStoreWriter(viewStore, batchSize);
+        final SubscriptionsFold fold = new SubscriptionsFold(jsonObjectConverter);
+        try {
+            writer.prepare();
+            UUID streamId = null;
+            for (List<LoggedEvent> batch = reader.nextBatch(); !batch.isEmpty(); batch = reader.nextBatch()) {
+                for (final LoggedEvent event : batch) {
+                    if (!event.getStreamId().equals(streamId)) {
+                        write(fold, writer, progress);
+                        streamId = event.getStreamId();
+                        progress.streamRead();
+                    }
+                    fold.apply(event.getName(), stringToJsonObjectConverter.convert(event.getPayload()));
+                }
+                progress.eventsRead(batch.size());
+                LOGGER.info("Rebuilding viewstore: {}", progress);
+            }
+            write(fold, writer, progress);
+            writer.finish();
+            progress.rowsWritten(writer.getRowsWritten());
+            LOGGER.info("Rebuilt viewstore: {}", progress);
+        } catch (final SQLException | RuntimeException e) {
+            writer.rollback();
+            throw e;
+        }
+        return progress;
+    }
+
+    private static void write(final SubscriptionsFold fold, final ViewStoreWriter writer, final RebuildProgress progress) throws SQLException {
+        for (final Subscription subscription : fold.subscriptions()) {
+            writer.write(subscription);
+        }
+        progress.subscriptionsWritten(fold.subscriptions().size());
+        progress.rowsWritten(writer.getRowsWritten());
+        fold.clear();
+    }
+}
@@ -0,0 +1,225 @@
+package uk.gov.moj.cpp.subscriptions.event.listener.rebuild;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.isNull;
+import static java.util.stream.Collectors.toList;
+import static uk.gov.moj.cpp.subscriptions.event.listener.CourtSubscriptionViewProjector.viewsOf;
+
+import uk.gov.moj.cpp.subscriptions.persistence.converter.JsonStringListConverter;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Court;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.CourtSubscriptionView;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Event;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Filter;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.NowsEdt;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscriber;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the final state of rebuilt subscriptions to an emptied viewstore with JDBC batches, all
+ * in one transaction that is only committed once every row is written. The viewstore tables are
+ * locked for the whole rebuild, so the event listener waits for the rebuilt viewstore and a failed
+ * rebuild rolls back to the viewstore as it was. The secondary indexes of the viewstore are dropped
+ * before the first batch and created again, as defined by the Liquibase changesets, before the
+ * commit.
+ */
+public class ViewStoreWriter {
+
+    private static final List<String> TABLES = asList("court_subscription_view", "court_details", "nowsedt", "event", "subscriber", "filter", "subscription");
+
+    private static final Map<String, String> SECONDARY_INDEXES = new LinkedHashMap<>();
+
+    static {
+        SECONDARY_INDEXES.put("court_details_subscription_id_idx", "court_details (subscription_id)");
+        SECONDARY_INDEXES.put("court_details_court_id_subscription_id_idx", "court_details (court_id, subscription_id)");
+        SECONDARY_INDEXES.put("nowsedt_subscription_id_idx", "nowsedt (subscription_id)");
+        SECONDARY_INDEXES.put("subscriber_subscription_id_idx", "subscriber (subscription_id)");
+        SECONDARY_INDEXES.put("subscriber_lower_email_address_subscription_id_idx", "subscriber (lower(email_address), subscription_id)");
+        SECONDARY_INDEXES.put("subscription_organisation_id_id_idx", "subscription (organisation_id, id)");
+        SECONDARY_INDEXES.put("court_subscription_view_subscription_id_idx", "court_subscription_view (subscription_id)");
+    }
+
+    private static final String INSERT_SUBSCRIPTION = "insert into subscription (id, name, active, organisation_id, filter_id) values (?, ?, ?, ?, ?)";
+    private static final String INSERT_FILTER = "insert into filter (id, filter_type, urn, is_adult, defendant_first_name, defendant_last_name, " +
+            "defendant_date_of_birth, gender, offence) values (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_SUBSCRIBER = "insert into subscriber (id, email_address, active, subscription_id) values (?, ?, ?, ?)";
+    private static final String INSERT_EVENT = "insert into event (id, name, subscription_id) values (?, ?, ?)";
+    private static final String INSERT_NOWSEDT = "insert into nowsedt (id, name, subscription_id) values (?, ?, ?)";
+    private static final String INSERT_COURT = "insert into court_details (id, court_id, name, subscription_id) values (?, ?, ?, ?)";
+    private static final String INSERT_COURT_SUBSCRIPTION_VIEW = "insert into court_subscription_view (court_id, subscription_id, subscription_name, " +
+            "active, filter_id, filter_type, filter_urn, filter_is_adult, filter_defendant_first_name, filter_defendant_last_name, " +
+            "filter_defendant_date_of_birth, filter_gender, filter_offence, events, nows_edts, subscriber_emails) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JsonStringListConverter jsonStringListConverter = new JsonStringListConverter();
+    private final Connection connection;
+    private final int batchSize;
+
+    private PreparedStatement subscriptions;
+    private PreparedStatement filters;
+    private PreparedStatement subscribers;
+    private PreparedStatement events;
+    private PreparedStatement nowsEdts;
+    private PreparedStatement courts;
+    private PreparedStatement courtSubscriptionViews;
+    private int pendingRows;
+    private long rowsWritten;
+
+    public ViewStoreWriter(final Connection connection, final int batchSize) {
+        this.connection = connection;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Locks and empties the viewstore tables and drops their secondary indexes, without committing.
+     */
+    public void prepare() throws SQLException {
+        connection.setAutoCommit(false);
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("lock table " + String.join(", ", TABLES) + " in access exclusive mode");
+            for (final String index : SECONDARY_INDEXES.keySet()) {
+                statement.execute("drop index if exists " + index);
+            }
+            statement.execute("truncate table " + String.join(", ", TABLES));
+        }
+
+        subscriptions = connection.prepareStatement(INSERT_SUBSCRIPTION);
+        filters = connection.prepareStatement(INSERT_FILTER);
+        subscribers = connection.prepareStatement(INSERT_SUBSCRIBER);
+        events = connection.prepareStatement(INSERT_EVENT);
+        nowsEdts = connection.prepareStatement(INSERT_NOWSEDT);
+        courts = connection.prepareStatement(INSERT_COURT);
+        courtSubscriptionViews = connection.prepareStatement(INSERT_COURT_SUBSCRIPTION_VIEW);
+    }
+
+    public void write(final Subscription subscription) throws SQLException {
+        final Filter filter = subscription.getFilter();
+        addSubscription(subscription, filter);
+        if (!isNull(filter)) {
+            addFilter(filter);
+        }
+        for (final Subscriber subscriber : orEmpty(subscription.getSubscribers())) {
+            addSubscriber(subscriber, subscription);
+        }
+        for (final Event event : orEmpty(subscription.getEvents())) {
+            addRow(events, event.getId(), event.getName().name(), subscription.getId());
+        }
+        for (final NowsEdt nowsEdt : orEmpty(subscription.getNowsEdts())) {
+            addRow(nowsEdts, nowsEdt.getId(), nowsEdt.getName(), subscription.getId());
+        }
+        for (final Court court : orEmpty(subscription.getCourts())) {
+            addRow(courts, court.getId(), court.getCourtId(), court.getName(), subscription.getId());
+        }
+        for (final CourtSubscriptionView view : viewsOf(subscription, activeEmailAddressesOf(subscription))) {
+            addCourtSubscriptionView(view);
+        }
+
+        if (pendingRows >= batchSize) {
+            flush();
+        }
+    }
+
+    public void flush() throws SQLException {
+        for (final PreparedStatement statement : statements()) {
+            statement.executeBatch();
+        }
+        rowsWritten += pendingRows;
+        pendingRows = 0;
+    }
+
+    /**
+     * Writes the remaining rows, creates the secondary indexes, refreshes the planner statistics
+     * of the rebuilt tables and commits the rebuild.
+     */
+    public void finish() throws SQLException {
+        flush();
+        for (final PreparedStatement statement : statements()) {
+            statement.close();
+        }
+        try (final Statement statement = connection.createStatement()) {
+            for (final Map.Entry<String, String> index : SECONDARY_INDEXES.entrySet()) {
+                statement.execute("create index " + index.getKey() + " on " + index.getValue());
+            }
+            for (final String table : TABLES) {
+                statement.execute("analyze " + table);
+            }
+        }
+        connection.commit();
+    }
+
+    /**
+     * Discards the rebuild, leaving the viewstore as it was before {@link #prepare()}.
+     */
+    public void rollback() throws SQLException {
+        connection.rollback();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    private void addSubscription(final Subscription subscription, final Filter filter) throws SQLException {
+        addRow(subscriptions, subscription.getId(), subscription.getName(), subscription.isActive(), subscription.getOrganisationId(),
+                isNull(filter) ? null : filter.getId());
+    }
+
+    private void addFilter(final Filter filter) throws SQLException {
+        addRow(filters, filter.getId(), nameOf(filter.getFilterType()), filter.getUrn(), filter.isAdult(), filter.getDefendantFirstName(),
+                filter.getDefendantLastName(), dateOf(filter.getDateOfBirth()), nameOf(filter.getGender()), filter.getOffence());
+    }
+
+    private void addSubscriber(final Subscriber subscriber, final Subscription subscription) throws SQLException {
+        addRow(subscribers, subscriber.getId(), subscriber.getEmailAddress(), subscriber.isActive(), subscription.getId());
+    }
+
+    private void addCourtSubscriptionView(final CourtSubscriptionView view) throws SQLException {
+        addRow(courtSubscriptionViews, view.getCourtId(), view.getSubscriptionId(), view.getSubscriptionName(), view.isActive(),
+                view.getFilterId(), nameOf(view.getFilterType()), view.getFilterUrn(), view.getFilterAdult(), view.getFilterDefendantFirstName(),
+                view.getFilterDefendantLastName(), dateOf(view.getFilterDefendantDateOfBirth()), nameOf(view.getFilterGender()),
+                view.getFilterOffence(), jsonStringListConverter.convertToDatabaseColumn(view.getEvents()),
+                jsonStringListConverter.convertToDatabaseColumn(view.getNowsEdts()),
+                jsonStringListConverter.convertToDatabaseColumn(view.getSubscriberEmails()));
+    }
+
+    private void addRow(final PreparedStatement statement, final Object... values) throws SQLException {
+        for (int index = 0; index < values.length; index++) {
+            statement.setObject(index + 1, values[index]);
+        }
+        statement.addBatch();
+        pendingRows++;
+    }
+
+    private List<PreparedStatement> statements() {
+        return asList(subscriptions, filters, subscribers, events, nowsEdts, courts, courtSubscriptionViews);
+    }
+
+    private static List<String> activeEmailAddressesOf(final Subscription subscription) {
+        return orEmpty(subscription.getSubscribers()).stream()
+                .filter(Subscriber::isActive)
+                .map(Subscriber::getEmailAddress)
+                .collect(toList());
+    }
+
+    private static <T> Collection<T> orEmpty(final Collection<T> values) {
+        return isNull(values) ? Collections.emptyList() : values;
+    }
+
+    private static String nameOf(final Enum<?> value) {
+        return isNull(value) ? null : value.name();
+    }
+
+    private static Date dateOf(final LocalDate value) {
+        return isNull(value) ? null : Date.valueOf(value);
+    }
+}
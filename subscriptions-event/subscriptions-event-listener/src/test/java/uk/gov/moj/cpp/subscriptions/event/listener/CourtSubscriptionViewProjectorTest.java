@@ -0,0 +1,128 @@
+package uk.gov.moj.cpp.subscriptions.event.listener;
+
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import uk.gov.moj.cpp.subscriptions.persistence.constants.EventType;
+import uk.gov.moj.cpp.subscriptions.persistence.constants.FilterType;
+import uk.gov.moj.cpp.subscriptions.persistence.constants.Gender;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Court;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.CourtSubscriptionView;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Event;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Filter;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.NowsEdt;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.CourtSubscriptionViewRepository;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscribersRepository;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CourtSubscriptionViewProjectorTest {
+
+    @InjectMocks
+    private CourtSubscriptionViewProjector courtSubscriptionViewProjector;
+
+    @Mock
+    private CourtSubscriptionViewRepository courtSubscriptionViewRepository;
+
+    @Mock
+    private SubscribersRepository subscribersRepository;
+
+    @Captor
+    private ArgumentCaptor<CourtSubscriptionView> viewArgumentCaptor;
+
+    @Test
+    public void shouldReplaceTheViewWithOneRowPerCourt() {
+        final UUID firstCourtId = randomUUID();
+        final UUID secondCourtId = randomUUID();
+        final Subscription subscription = Subscription.builder()
+                .withId(randomUUID())
+                .withName("Subscription Name")
+                .withActive(true)
+                .withFilters(Filter.builder()
+                        .withId(randomUUID())
+                        .withFilterType(FilterType.GENDER)
+                        .withGender(Gender.FEMALE)
+                        .build())
+                .build();
+
+        final Set<Court> courts = new HashSet<>();
+        courts.add(Court.builder().withId(randomUUID()).withCourtId(firstCourtId).withSubscription(subscription).build());
+        courts.add(Court.builder().withId(randomUUID()).withCourtId(secondCourtId).withSubscription(subscription).build());
+        subscription.setCourts(courts);
+
+        final Set<Event> events = new HashSet<>();
+        events.add(Event.builder().withId(randomUUID()).withName(EventType.PLEAS_ENTER).withSubscription(subscription).build());
+        events.add(Event.builder().withId(randomUUID()).withName(EventType.CHANGE_OF_PLEA).withSubscription(subscription).build());
+        subscription.setEvents(events);
+
+        final Set<NowsEdt> nowsEdts = new HashSet<>();
+        nowsEdts.add(NowsEdt.builder().withId(randomUUID()).withName("Custodial Remand status").withSubscription(subscription).build());
+        subscription.setNowsEdts(nowsEdts);
+
+        when(subscribersRepository.findActiveEmailAddressesBySubscriptionId(subscription.getId()))
+                .thenReturn(asList("second@test.com", "first@test.com", "second@test.com"));
+
+        courtSubscriptionViewProjector.project(subscription);
+
+        verify(courtSubscriptionViewRepository).deleteBySubscriptionId(subscription.getId());
+        verify(courtSubscriptionViewRepository, times(2)).save(viewArgumentCaptor.capture());
+        final List<CourtSubscriptionView> views = viewArgumentCaptor.getAllValues();
+        assertThat(views.stream().map(CourtSubscriptionView::getCourtId).collect(toList()), containsInAnyOrder(firstCourtId, secondCourtId));
+
+        final CourtSubscriptionView view = views.get(0);
+        assertThat(view.getSubscriptionId(), is(subscription.getId()));
+        assertThat(view.getSubscriptionName(), is("Subscription Name"));
+        assertThat(view.isActive(), is(true));
+        assertThat(view.getFilterType(), is(FilterType.GENDER));
+        assertThat(view.getFilterGender(), is(Gender.FEMALE));
+        assertThat(view.getEvents(), contains(EventType.CHANGE_OF_PLEA.name(), EventType.PLEAS_ENTER.name()));
+        assertThat(view.getNowsEdts(), contains("Custodial Remand status"));
+        assertThat(view.getSubscriberEmails(), contains("first@test.com", "second@test.com"));
+    }
+
+    @Test
+    public void shouldOnlyDeleteTheViewWhenSubscriptionHasNoCourts() {
+        final Subscription subscription = Subscription.builder()
+                .withId(randomUUID())
+                .withActive(true)
+                .build();
+
+        courtSubscriptionViewProjector.project(subscription);
+
+        verify(courtSubscriptionViewRepository).deleteBySubscriptionId(subscription.getId());
+        verifyNoMoreInteractions(courtSubscriptionViewRepository);
+        verifyNoInteractions(subscribersRepository);
+    }
+
+    @Test
+    public void shouldRemoveTheViewOfSubscription() {
+        final UUID subscriptionId = randomUUID();
+
+        courtSubscriptionViewProjector.remove(subscriptionId);
+
+        verify(courtSubscriptionViewRepository).deleteBySubscriptionId(subscriptionId);
+    }
+}
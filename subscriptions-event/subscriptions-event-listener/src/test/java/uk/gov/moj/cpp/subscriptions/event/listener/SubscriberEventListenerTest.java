@@ -1,9 +1,15 @@
 package uk.gov.moj.cpp.subscriptions.event.listener;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
 import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeleted.subscriberDeleted;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeletedViaBdf.subscriberDeletedViaBdf;
@@ -20,19 +26,14 @@ import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionSubscribed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionUnsubscribed;
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscriber;
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscribersRepository;
 import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscriptionsRepository;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-
 import javax.json.JsonObject;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.ArgumentCaptor;
-import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -42,7 +43,6 @@ public class SubscriberEventListenerTest {
 
 
     public static final String EMAIL = "test@test.com";
-    public static final String EMAIL2 = "test2@test.com";
     @InjectMocks
     private SubscriberEventListener subscriberEventListener;
 
@@ -61,9 +61,11 @@ public class SubscriberEventListenerTest {
     @Mock
     private SubscriptionsRepository subscriptionsRepository;
 
+    @Mock
+    private SubscribersRepository subscribersRepository;
 
-    @Captor
-    private ArgumentCaptor<Subscription> subscriptionsRepositoryArgumentCaptor;
+    @Mock
+    private CourtSubscriptionViewProjector courtSubscriptionViewProjector;
 
     @Test
     public void shouldSubscribeSubscription() {
@@ -71,127 +73,78 @@ public class SubscriberEventListenerTest {
         final SubscriptionSubscribed subscriptionSubscribed = subscriptionSubscribed().withSubscriptionId(randomUUID()).withSubscriber(EMAIL).build();
 
         when(jsonObjectToObjectConverter.convert(payload, SubscriptionSubscribed.class)).thenReturn(subscriptionSubscribed);
-        final Subscriber subscriber = builder().withId(randomUUID()).withEmailAddress(EMAIL).withActive(false).build();
-
-        final Set<Subscriber> subscribers = new HashSet<>();
-        subscribers.add(subscriber);
-        subscribers.add(Subscriber.builder().withId(randomUUID()).withEmailAddress(EMAIL2).withActive(false).build());
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription subscription = uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder()
+        final Subscription subscription = Subscription.builder()
                 .withId(subscriptionSubscribed.getSubscriptionId())
-                .withActive(false)
-                .withSubscribers(subscribers)
+                .withActive(true)
                 .build();
 
-        when(subscriptionsRepository.findBy(subscriptionSubscribed.getSubscriptionId())).thenReturn(subscription);
+        when(subscriptionsRepository.findForListenerUpdate(subscriptionSubscribed.getSubscriptionId())).thenReturn(subscription);
 
         subscriberEventListener.handleSubscribe(envelope);
 
-        verify(subscriptionsRepository).save(subscriptionsRepositoryArgumentCaptor.capture());
-        final Subscription updatedSubscription = subscriptionsRepositoryArgumentCaptor.getValue();
-        assertThat(updatedSubscription.getSubscribers().stream().filter(s -> s.getId().equals(subscriber.getId())).anyMatch(Subscriber::isActive), is(true));
-        assertThat(updatedSubscription.getSubscribers().stream().filter(s -> s.getEmailAddress().equals(EMAIL2)).noneMatch(Subscriber::isActive), is(true));
-        assertThat(updatedSubscription.isActive(), is(true));
-
+        final InOrder inOrder = inOrder(subscribersRepository, subscriptionsRepository, courtSubscriptionViewProjector);
+        inOrder.verify(subscribersRepository).updateActiveByEmailAddressForSubscription(EMAIL, subscriptionSubscribed.getSubscriptionId(), true);
+        inOrder.verify(subscriptionsRepository).updateActive(subscriptionSubscribed.getSubscriptionId(), true);
+        inOrder.verify(subscriptionsRepository).findForListenerUpdate(subscriptionSubscribed.getSubscriptionId());
+        inOrder.verify(courtSubscriptionViewProjector).project(subscription);
+        verify(subscriptionsRepository, never()).deactivateWithoutActiveSubscribers(subscriptionSubscribed.getSubscriptionId());
     }
 
     @Test
-    public void shouldUnsubscribeOnlySubscriberThenDeactivateSubscription() {
+    public void shouldUnsubscribeSubscriberThenDeactivateSubscriptionWithoutActiveSubscribers() {
         when(envelope.payloadAsJsonObject()).thenReturn(payload);
         final SubscriptionUnsubscribed subscriptionUnsubscribed = subscriptionUnsubscribed().withSubscriptionId(randomUUID()).withSubscriber(EMAIL).build();
 
         when(jsonObjectToObjectConverter.convert(payload, SubscriptionUnsubscribed.class)).thenReturn(subscriptionUnsubscribed);
-        final Subscriber subscriber = builder().withId(randomUUID()).withEmailAddress(EMAIL).withActive(true).build();
-        final Set<Subscriber> subscribers = new HashSet<>();
-        subscribers.add(subscriber);
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription subscription = uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder()
+        final Subscription subscription = Subscription.builder()
                 .withId(subscriptionUnsubscribed.getSubscriptionId())
-                .withActive(true)
-                .withSubscribers(subscribers)
+                .withActive(false)
                 .build();
 
-        when(subscriptionsRepository.findBy(subscriptionUnsubscribed.getSubscriptionId())).thenReturn(subscription);
+        when(subscriptionsRepository.findForListenerUpdate(subscriptionUnsubscribed.getSubscriptionId())).thenReturn(subscription);
 
         subscriberEventListener.handleUnSubscribe(envelope);
 
-        verify(subscriptionsRepository).save(subscriptionsRepositoryArgumentCaptor.capture());
-        final Subscription updatedSubscription = subscriptionsRepositoryArgumentCaptor.getValue();
-        assertThat(updatedSubscription.getSubscribers().stream().filter(s -> s.getId().equals(subscriber.getId())).noneMatch(Subscriber::isActive), is(true));
-
-        assertThat(updatedSubscription.isActive(), is(false));
+        final InOrder inOrder = inOrder(subscribersRepository, subscriptionsRepository, courtSubscriptionViewProjector);
+        inOrder.verify(subscribersRepository).updateActiveByEmailAddressForSubscription(EMAIL, subscriptionUnsubscribed.getSubscriptionId(), false);
+        inOrder.verify(subscriptionsRepository).deactivateWithoutActiveSubscribers(subscriptionUnsubscribed.getSubscriptionId());
+        inOrder.verify(subscriptionsRepository).findForListenerUpdate(subscriptionUnsubscribed.getSubscriptionId());
+        inOrder.verify(courtSubscriptionViewProjector).project(subscription);
+        verify(subscriptionsRepository, never()).updateActive(subscriptionUnsubscribed.getSubscriptionId(), false);
     }
 
-
     @Test
-    public void shouldUnsubscribeLastSubscriberThenDeactivateSubscription() {
+    public void shouldDeleteSubscriber() {
         when(envelope.payloadAsJsonObject()).thenReturn(payload);
-        final SubscriptionUnsubscribed subscriptionUnsubscribed = subscriptionUnsubscribed().withSubscriptionId(randomUUID()).withSubscriber(EMAIL).build();
+        final SubscriberDeleted subscriberDeleted = subscriberDeleted().withSubscriptionId(randomUUID()).withSubscriber(EMAIL).build();
 
-        when(jsonObjectToObjectConverter.convert(payload, SubscriptionUnsubscribed.class)).thenReturn(subscriptionUnsubscribed);
+        when(jsonObjectToObjectConverter.convert(payload, SubscriberDeleted.class)).thenReturn(subscriberDeleted);
         final Subscriber subscriber = builder().withId(randomUUID()).withEmailAddress(EMAIL).withActive(true).build();
-        final Set<Subscriber> subscribers = new HashSet<>();
-        subscribers.add(subscriber);
-        subscribers.add(Subscriber.builder().withId(randomUUID()).withEmailAddress(EMAIL2).withActive(false).build());
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription subscription = uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder()
-                .withId(subscriptionUnsubscribed.getSubscriptionId())
+        final Subscription subscription = Subscription.builder()
+                .withId(subscriberDeleted.getSubscriptionId())
                 .withActive(true)
-                .withSubscribers(subscribers)
                 .build();
 
-        when(subscriptionsRepository.findBy(subscriptionUnsubscribed.getSubscriptionId())).thenReturn(subscription);
-
-        subscriberEventListener.handleUnSubscribe(envelope);
-
-        verify(subscriptionsRepository).save(subscriptionsRepositoryArgumentCaptor.capture());
-        final Subscription updatedSubscription = subscriptionsRepositoryArgumentCaptor.getValue();
-        assertThat(updatedSubscription.getSubscribers().stream().filter(s -> s.getId().equals(subscriber.getId())).noneMatch(Subscriber::isActive), is(true));
-
-        assertThat(updatedSubscription.isActive(), is(false));
-    }
-
-    @Test
-    public void shouldUnsubscribeAnyOneSubscriberWithOthersActiveThenDoNotDeActivateSubscriptionStatus() {
-        when(envelope.payloadAsJsonObject()).thenReturn(payload);
-        final SubscriptionUnsubscribed subscriptionUnsubscribed = subscriptionUnsubscribed().withSubscriptionId(randomUUID()).withSubscriber(EMAIL).build();
-
-        when(jsonObjectToObjectConverter.convert(payload, SubscriptionUnsubscribed.class)).thenReturn(subscriptionUnsubscribed);
-        final Subscriber subscriber = builder().withId(randomUUID()).withEmailAddress(EMAIL).withActive(true).build();
-        final Set<Subscriber> subscribers = new HashSet<>();
-        subscribers.add(builder().withId(randomUUID()).withEmailAddress(EMAIL).withActive(true).build());
-        subscribers.add(builder().withId(randomUUID()).withEmailAddress(EMAIL2).withActive(true).build());
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription subscription = uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder()
-                .withId(subscriptionUnsubscribed.getSubscriptionId())
-                .withActive(true)
-                .withSubscribers(subscribers)
-                .build();
+        when(subscribersRepository.findSubscribersByEmailAddressForSubscription(EMAIL, subscriberDeleted.getSubscriptionId())).thenReturn(singletonList(subscriber));
+        when(subscriptionsRepository.findForListenerUpdate(subscriberDeleted.getSubscriptionId())).thenReturn(subscription);
 
-        when(subscriptionsRepository.findBy(subscriptionUnsubscribed.getSubscriptionId())).thenReturn(subscription);
-        subscriberEventListener.handleUnSubscribe(envelope);
-        verify(subscriptionsRepository).save(subscriptionsRepositoryArgumentCaptor.capture());
-        final Subscription updatedSubscription = subscriptionsRepositoryArgumentCaptor.getValue();
-        assertThat(updatedSubscription.getSubscribers().stream().filter(s -> s.getId().equals(subscriber.getId())).noneMatch(Subscriber::isActive), is(true));
+        subscriberEventListener.handleDeleteSubscriber(envelope);
 
+        verify(subscribersRepository).remove(subscriber);
+        verify(courtSubscriptionViewProjector).project(subscription);
     }
 
     @Test
-    public void shouldDeleteSubscriber() {
+    public void shouldNotProjectWhenDeletedSubscriberIsUnknown() {
         when(envelope.payloadAsJsonObject()).thenReturn(payload);
         final SubscriberDeleted subscriberDeleted = subscriberDeleted().withSubscriptionId(randomUUID()).withSubscriber(EMAIL).build();
 
         when(jsonObjectToObjectConverter.convert(payload, SubscriberDeleted.class)).thenReturn(subscriberDeleted);
-        final Set<Subscriber> subscribers = new HashSet<>();
-        subscribers.add(builder().withId(randomUUID()).withEmailAddress(EMAIL).withActive(true).build());
-        subscribers.add(builder().withId(randomUUID()).withEmailAddress(EMAIL2).withActive(true).build());
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription subscription = uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder()
-                .withId(subscriberDeleted.getSubscriptionId())
-                .withActive(true)
-                .withSubscribers(subscribers)
-                .build();
+        when(subscribersRepository.findSubscribersByEmailAddressForSubscription(EMAIL, subscriberDeleted.getSubscriptionId())).thenReturn(emptyList());
 
-        when(subscriptionsRepository.findBy(subscriberDeleted.getSubscriptionId())).thenReturn(subscription);
         subscriberEventListener.handleDeleteSubscriber(envelope);
-        verify(subscriptionsRepository).save(subscriptionsRepositoryArgumentCaptor.capture());
-        final Subscription updatedSubscription = subscriptionsRepositoryArgumentCaptor.getValue();
-        assertThat(updatedSubscription.getSubscribers().stream().noneMatch(s -> s.getEmailAddress().equals(EMAIL)), is(true));
+
+        verifyNoInteractions(subscriptionsRepository, courtSubscriptionViewProjector);
     }
 
     @Test
@@ -204,34 +157,31 @@ public class SubscriberEventListenerTest {
 
         when(jsonObjectToObjectConverter.convert(payload, SubscriberDeletedViaBdf.class)).thenReturn(subscriberDeletedViaBdf);
 
-        final List<Subscriber> subscribers = new ArrayList<>();
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription subscription =
-                uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder()
-                        .withId(subscriberDeletedViaBdf.getSubscriptionId())
-                        .withActive(true)
-                        .build();
-
+        final Subscription subscription = Subscription.builder()
+                .withId(subscriberDeletedViaBdf.getSubscriptionId())
+                .withActive(true)
+                .build();
         final Subscriber subscriberToDelete = builder()
                 .withId(randomUUID())
                 .withEmailAddress(EMAIL)
                 .withActive(true)
                 .withSubscription(subscription)
                 .build();
-        final Subscriber otherSubscriber = builder()
+        final Subscriber duplicateSubscriberToDelete = builder()
                 .withId(randomUUID())
-                .withEmailAddress(EMAIL2)
-                .withActive(true)
+                .withEmailAddress(EMAIL)
+                .withActive(false)
                 .withSubscription(subscription)
                 .build();
-        subscribers.add(subscriberToDelete);
-        subscribers.add(otherSubscriber);
-        subscription.setSubscribers(new HashSet<>(subscribers));
 
-        when(subscriptionsRepository.findBy(subscriberDeletedViaBdf.getSubscriptionId())).thenReturn(subscription);
+        when(subscribersRepository.findSubscribersByEmailAddressForSubscription(EMAIL, subscriberDeletedViaBdf.getSubscriptionId()))
+                .thenReturn(asList(subscriberToDelete, duplicateSubscriberToDelete));
+        when(subscriptionsRepository.findForListenerUpdate(subscriberDeletedViaBdf.getSubscriptionId())).thenReturn(subscription);
+
         subscriberEventListener.handleDeleteSubscriberViaBdf(envelope);
 
-        verify(subscriptionsRepository).save(subscriptionsRepositoryArgumentCaptor.capture());
-        final Subscription updatedSubscription = subscriptionsRepositoryArgumentCaptor.getValue();
-        assertThat(updatedSubscription.getSubscribers().stream().noneMatch(s -> s.getEmailAddress().equals(EMAIL)), is(true));
+        verify(subscribersRepository).remove(subscriberToDelete);
+        verify(subscribersRepository).remove(duplicateSubscriberToDelete);
+        verify(courtSubscriptionViewProjector).project(subscription);
     }
-}
\ No newline at end of file
+}
@@ -6,8 +6,10 @@ import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
-import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.Court.court;
@@ -36,18 +38,16 @@ import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeleted;
 import uk.gov.moj.cpp.subscriptions.persistence.constants.EventType;
 import uk.gov.moj.cpp.subscriptions.persistence.constants.FilterType;
 import uk.gov.moj.cpp.subscriptions.persistence.constants.Gender;
-import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscriber;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscribersRepository;
 import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscriptionsRepository;
 
-import java.util.HashSet;
-import java.util.Set;
-
 import javax.json.JsonObject;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -73,6 +73,12 @@ public class SubscriptionEventListenerTest {
     @Mock
     private SubscriptionsRepository subscriptionsRepository;
 
+    @Mock
+    private SubscribersRepository subscribersRepository;
+
+    @Mock
+    private CourtSubscriptionViewProjector courtSubscriptionViewProjector;
+
     @Captor
     private ArgumentCaptor<uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription> subscriptionArgumentCaptor;
 
@@ -115,6 +121,7 @@ public class SubscriptionEventListenerTest {
         assertThat(subscription.getFilter().getDateOfBirth(), is(parse("1961-03-02")));
         assertThat(subscription.getFilter().isAdult(), nullValue());
         assertThat(subscription.getOrganisationId(), is(subscriptionCreated.getOrganisationId()));
+        verify(courtSubscriptionViewProjector).project(subscription);
     }
 
 
@@ -194,43 +201,20 @@ public class SubscriptionEventListenerTest {
         final SubscriptionActivated subscriptionActivated = subscriptionActivated().withSubscriptionId(randomUUID()).build();
 
         when(jsonObjectToObjectConverter.convert(payload, SubscriptionActivated.class)).thenReturn(subscriptionActivated);
-        final Set<Subscriber> subscribers = new HashSet<>();
-        subscribers.add(Subscriber.builder().withId(randomUUID()).withActive(false).build());
-        subscribers.add(Subscriber.builder().withId(randomUUID()).withActive(false).build());
         final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription subscription = uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder()
                 .withId(subscriptionActivated.getSubscriptionId())
-                .withActive(false)
-                .withSubscribers(subscribers)
+                .withActive(true)
                 .build();
 
-        when(subscriptionsRepository.findBy(subscriptionActivated.getSubscriptionId())).thenReturn(subscription);
+        when(subscriptionsRepository.findForListenerUpdate(subscriptionActivated.getSubscriptionId())).thenReturn(subscription);
         subscriptionEventListener.handleSubscriptionActivated(envelope);
-        verify(subscriptionsRepository).save(subscriptionArgumentCaptor.capture());
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription updatedSubscription = subscriptionArgumentCaptor.getValue();
-        assertThat(updatedSubscription.getId(), is(subscriptionActivated.getSubscriptionId()));
-        assertThat(updatedSubscription.isActive(), is(true));
-        assertThat(updatedSubscription.getSubscribers().stream().allMatch(s -> s.isActive() == true), is(true));
-    }
-
 
-    @Test
-    public void shouldActivateSubscription() {
-        when(envelope.payloadAsJsonObject()).thenReturn(payload);
-        final SubscriptionActivated subscriptionActivated = subscriptionActivated().withSubscriptionId(randomUUID()).build();
-
-        when(jsonObjectToObjectConverter.convert(payload, SubscriptionActivated.class)).thenReturn(subscriptionActivated);
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription subscription = uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder()
-                .withId(subscriptionActivated.getSubscriptionId())
-                .withActive(false)
-                .build();
-
-        when(subscriptionsRepository.findBy(subscriptionActivated.getSubscriptionId())).thenReturn(subscription);
-        subscriptionEventListener.handleSubscriptionActivated(envelope);
-        verify(subscriptionsRepository).save(subscriptionArgumentCaptor.capture());
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription updatedSubscription = subscriptionArgumentCaptor.getValue();
-        assertThat(updatedSubscription.getId(), is(subscriptionActivated.getSubscriptionId()));
-        assertThat(updatedSubscription.isActive(), is(true));
-        assertThat(updatedSubscription.getSubscribers(), empty());
+        final InOrder inOrder = inOrder(subscriptionsRepository, subscribersRepository, courtSubscriptionViewProjector);
+        inOrder.verify(subscriptionsRepository).updateActive(subscriptionActivated.getSubscriptionId(), true);
+        inOrder.verify(subscribersRepository).updateActiveBySubscriptionId(subscriptionActivated.getSubscriptionId(), true);
+        inOrder.verify(subscriptionsRepository).findForListenerUpdate(subscriptionActivated.getSubscriptionId());
+        inOrder.verify(courtSubscriptionViewProjector).project(subscription);
+        verify(subscriptionsRepository, never()).save(any());
     }
 
 
@@ -240,43 +224,20 @@ public class SubscriptionEventListenerTest {
         final SubscriptionDeactivated subscriptionDeactivated = subscriptionDeactivated().withSubscriptionId(randomUUID()).build();
 
         when(jsonObjectToObjectConverter.convert(payload, SubscriptionDeactivated.class)).thenReturn(subscriptionDeactivated);
-        final Set<Subscriber> subscribers = new HashSet<>();
-        subscribers.add(Subscriber.builder().withId(randomUUID()).withActive(true).build());
-        subscribers.add(Subscriber.builder().withId(randomUUID()).withActive(true).build());
         final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription subscription = uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder()
                 .withId(subscriptionDeactivated.getSubscriptionId())
-                .withActive(true)
-                .withSubscribers(subscribers)
+                .withActive(false)
                 .build();
 
-        when(subscriptionsRepository.findBy(subscriptionDeactivated.getSubscriptionId())).thenReturn(subscription);
+        when(subscriptionsRepository.findForListenerUpdate(subscriptionDeactivated.getSubscriptionId())).thenReturn(subscription);
         subscriptionEventListener.handleSubscriptionDeactivated(envelope);
-        verify(subscriptionsRepository).save(subscriptionArgumentCaptor.capture());
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription updatedSubscription = subscriptionArgumentCaptor.getValue();
-        assertThat(updatedSubscription.getId(), is(subscriptionDeactivated.getSubscriptionId()));
-        assertThat(updatedSubscription.isActive(), is(false));
-        assertThat(updatedSubscription.getSubscribers().stream().allMatch(s -> s.isActive() == false), is(true));
-    }
-
 
-    @Test
-    public void shouldDeactivateSubscription() {
-        when(envelope.payloadAsJsonObject()).thenReturn(payload);
-        final SubscriptionDeactivated subscriptionDeactivated = subscriptionDeactivated().withSubscriptionId(randomUUID()).build();
-
-        when(jsonObjectToObjectConverter.convert(payload, SubscriptionDeactivated.class)).thenReturn(subscriptionDeactivated);
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription subscription = uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder()
-                .withId(subscriptionDeactivated.getSubscriptionId())
-                .withActive(true)
-                .build();
-
-        when(subscriptionsRepository.findBy(subscriptionDeactivated.getSubscriptionId())).thenReturn(subscription);
-        subscriptionEventListener.handleSubscriptionDeactivated(envelope);
-        verify(subscriptionsRepository).save(subscriptionArgumentCaptor.capture());
-        final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription updatedSubscription = subscriptionArgumentCaptor.getValue();
-        assertThat(updatedSubscription.getId(), is(subscriptionDeactivated.getSubscriptionId()));
-        assertThat(updatedSubscription.isActive(), is(false));
-        assertThat(updatedSubscription.getSubscribers(), empty());
+        final InOrder inOrder = inOrder(subscriptionsRepository, subscribersRepository, courtSubscriptionViewProjector);
+        inOrder.verify(subscriptionsRepository).updateActive(subscriptionDeactivated.getSubscriptionId(), false);
+        inOrder.verify(subscribersRepository).updateActiveBySubscriptionId(subscriptionDeactivated.getSubscriptionId(), false);
+        inOrder.verify(subscriptionsRepository).findForListenerUpdate(subscriptionDeactivated.getSubscriptionId());
+        inOrder.verify(courtSubscriptionViewProjector).project(subscription);
+        verify(subscriptionsRepository, never()).save(any());
     }
 
     @Test
@@ -295,6 +256,7 @@ public class SubscriptionEventListenerTest {
         verify(subscriptionsRepository).remove(subscriptionArgumentCaptor.capture());
         final uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription updatedSubscription = subscriptionArgumentCaptor.getValue();
         assertThat(updatedSubscription.getId(), is(subscriptionDeleted.getSubscriptionId()));
+        verify(courtSubscriptionViewProjector).remove(subscriptionDeleted.getSubscriptionId());
     }
 
     @Test
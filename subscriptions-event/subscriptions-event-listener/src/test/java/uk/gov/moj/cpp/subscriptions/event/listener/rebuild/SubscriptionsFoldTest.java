@@ -0,0 +1,165 @@
+package uk.gov.moj.cpp.subscriptions.event.listener.rebuild;
+
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Court.court;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.CHANGE_OF_PLEA;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Filter.filter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.FilterType.CASE_REFERENCE;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeleted.subscriberDeleted;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeletedViaBdf.subscriberDeletedViaBdf;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscribers.subscribers;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscription.subscription;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionActivated.subscriptionActivated;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionCreated.subscriptionCreated;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeactivated.subscriptionDeactivated;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeleted.subscriptionDeleted;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionSubscribed.subscriptionSubscribed;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionUnsubscribed.subscriptionUnsubscribed;
+
+import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
+import uk.gov.justice.services.common.converter.ObjectToJsonObjectConverter;
+import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
+import uk.gov.moj.cpp.subscriptions.persistence.constants.FilterType;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscriber;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+
+import java.util.List;
+import java.util.UUID;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+public class SubscriptionsFoldTest {
+
+    private static final String FIRST_EMAIL = "first@organisation.gov.uk";
+    private static final String SECOND_EMAIL = "second@organisation.gov.uk";
+
+    private final ObjectMapper objectMapper = new ObjectMapperProducer().objectMapper();
+    private final ObjectToJsonObjectConverter objectToJsonObjectConverter = new ObjectToJsonObjectConverter(objectMapper);
+    private final SubscriptionsFold subscriptionsFold = new SubscriptionsFold(new JsonObjectToObjectConverter(objectMapper));
+
+    private final UUID subscriptionId = randomUUID();
+    private final UUID organisationId = randomUUID();
+
+    @Test
+    public void shouldBuildCreatedSubscriptionAsTheEventListenerDoes() {
+        final UUID courtId = randomUUID();
+        subscriptionsFold.apply("subscriptions.event.subscription-created", objectToJsonObjectConverter.convert(subscriptionCreated()
+                .withOrganisationId(organisationId)
+                .withSubscription(subscription()
+                        .withId(subscriptionId)
+                        .withName("Derby Only")
+                        .withCourts(asList(court().withId(randomUUID()).withCourtId(courtId).withName("Derby").build()))
+                        .withEvents(asList(CHANGE_OF_PLEA))
+                        .withFilter(filter().withId(randomUUID()).withFilterType(CASE_REFERENCE).withUrn("URN123").build())
+                        .withSubscribers(asList(subscribers().withId(randomUUID()).withEmailAddress(FIRST_EMAIL).build()))
+                        .build())
+                .build()));
+
+        final Subscription subscription = onlySubscription();
+        assertThat(subscription.getId(), is(subscriptionId));
+        assertThat(subscription.getOrganisationId(), is(organisationId));
+        assertThat(subscription.isActive(), is(true));
+        assertThat(subscription.getCourts().iterator().next().getCourtId(), is(courtId));
+        assertThat(subscription.getEvents(), hasSize(1));
+        assertThat(subscription.getFilter().getFilterType(), is(FilterType.CASE_REFERENCE));
+        assertThat(activeEmailAddresses(subscription), contains(FIRST_EMAIL));
+    }
+
+    @Test
+    public void shouldDeactivateSubscriptionOnceNoSubscriberIsActiveAndActivateItOnSubscribe() {
+        create(FIRST_EMAIL, SECOND_EMAIL);
+
+        unsubscribe(FIRST_EMAIL);
+        assertThat(onlySubscription().isActive(), is(true));
+        assertThat(activeEmailAddresses(onlySubscription()), contains(SECOND_EMAIL));
+
+        unsubscribe(SECOND_EMAIL);
+        assertThat(onlySubscription().isActive(), is(false));
+        assertThat(activeEmailAddresses(onlySubscription()), is(empty()));
+
+        subscriptionsFold.apply("subscriptions.event.subscription-subscribed", objectToJsonObjectConverter.convert(subscriptionSubscribed()
+                .withSubscriptionId(subscriptionId).withOrganisationId(organisationId).withSubscriber(FIRST_EMAIL).build()));
+        assertThat(onlySubscription().isActive(), is(true));
+        assertThat(activeEmailAddresses(onlySubscription()), contains(FIRST_EMAIL));
+    }
+
+    @Test
+    public void shouldToggleSubscriptionAndEverySubscriber() {
+        create(FIRST_EMAIL, SECOND_EMAIL);
+
+        subscriptionsFold.apply("subscriptions.event.subscription-deactivated", objectToJsonObjectConverter.convert(subscriptionDeactivated()
+                .withSubscriptionId(subscriptionId).withOrganisationId(organisationId).build()));
+        assertThat(onlySubscription().isActive(), is(false));
+        assertThat(activeEmailAddresses(onlySubscription()), is(empty()));
+
+        subscriptionsFold.apply("subscriptions.event.subscription-activated", objectToJsonObjectConverter.convert(subscriptionActivated()
+                .withSubscriptionId(subscriptionId).withOrganisationId(organisationId).build()));
+        assertThat(onlySubscription().isActive(), is(true));
+        assertThat(activeEmailAddresses(onlySubscription()), containsInAnyOrder(FIRST_EMAIL, SECOND_EMAIL));
+    }
+
+    @Test
+    public void shouldRemoveOneSubscriberOnDeleteAndEveryMatchingSubscriberOnDeleteViaBdf() {
+        create(FIRST_EMAIL, FIRST_EMAIL, FIRST_EMAIL, SECOND_EMAIL);
+
+        subscriptionsFold.apply("subscriptions.event.subscriber-deleted", objectToJsonObjectConverter.convert(subscriberDeleted()
+                .withSubscriptionId(subscriptionId).withOrganisationId(organisationId).withSubscriber(FIRST_EMAIL).build()));
+        assertThat(onlySubscription().getSubscribers(), hasSize(3));
+
+        subscriptionsFold.apply("subscriptions.event.subscriber-deleted-via-bdf", objectToJsonObjectConverter.convert(subscriberDeletedViaBdf()
+                .withSubscriptionId(subscriptionId).withOrganisationId(organisationId).withSubscriber(FIRST_EMAIL).build()));
+        assertThat(activeEmailAddresses(onlySubscription()), contains(SECOND_EMAIL));
+    }
+
+    @Test
+    public void shouldRemoveDeletedSubscriptionAndIgnoreEventsOfUnknownSubscriptions() {
+        create(FIRST_EMAIL);
+
+        subscriptionsFold.apply("subscriptions.event.subscription-deleted", objectToJsonObjectConverter.convert(subscriptionDeleted()
+                .withSubscriptionId(subscriptionId).withOrganisationId(organisationId).build()));
+        unsubscribe(FIRST_EMAIL);
+        subscriptionsFold.apply("subscriptions.event.send-email-requested", objectToJsonObjectConverter.convert(subscriptionDeleted()
+                .withSubscriptionId(subscriptionId).withOrganisationId(organisationId).build()));
+
+        assertThat(subscriptionsFold.subscriptions(), is(empty()));
+    }
+
+    private void create(final String... emailAddresses) {
+        subscriptionsFold.apply("subscriptions.event.subscription-created", objectToJsonObjectConverter.convert(subscriptionCreated()
+                .withOrganisationId(organisationId)
+                .withSubscription(subscription()
+                        .withId(subscriptionId)
+                        .withName("Derby Only")
+                        .withSubscribers(asList(emailAddresses).stream()
+                                .map(emailAddress -> subscribers().withId(randomUUID()).withEmailAddress(emailAddress).build())
+                                .collect(toList()))
+                        .build())
+                .build()));
+    }
+
+    private void unsubscribe(final String emailAddress) {
+        subscriptionsFold.apply("subscriptions.event.subscription-unsubscribed", objectToJsonObjectConverter.convert(subscriptionUnsubscribed()
+                .withSubscriptionId(subscriptionId).withOrganisationId(organisationId).withSubscriber(emailAddress).build()));
+    }
+
+    private Subscription onlySubscription() {
+        assertThat(subscriptionsFold.subscriptions(), hasSize(1));
+        return subscriptionsFold.subscriptions().iterator().next();
+    }
+
+    private static List<String> activeEmailAddresses(final Subscription subscription) {
+        return subscription.getSubscribers().stream()
+                .filter(Subscriber::isActive)
+                .map(Subscriber::getEmailAddress)
+                .collect(toList());
+    }
+}
@@ -0,0 +1,31 @@
+package uk.gov.moj.cpp.subscriptions.event.listener.rebuild;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ViewStoreRebuildTest {
+
+    @Mock
+    private DataSource viewStoreDataSource;
+
+    @InjectMocks
+    private ViewStoreRebuild viewStoreRebuild;
+
+    @Test
+    public void shouldRefuseToRebuildUnlessTheEventListenerIsPaused() {
+        final String report = viewStoreRebuild.rebuild(false);
+
+        assertThat(report, is("The viewstore is only rebuilt while the event listener is paused"));
+        verifyNoInteractions(viewStoreDataSource);
+    }
+}
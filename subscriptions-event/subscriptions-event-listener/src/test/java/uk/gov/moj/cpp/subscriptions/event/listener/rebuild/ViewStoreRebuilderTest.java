@@ -0,0 +1,89 @@
+package uk.gov.moj.cpp.subscriptions.event.listener.rebuild;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
+import uk.gov.justice.services.common.converter.StringToJsonObjectConverter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ViewStoreRebuilderTest {
+
+    private static final String LOCK_TABLES = "lock table court_subscription_view, court_details, nowsedt, event, subscriber, filter, subscription in access exclusive mode";
+
+    @Mock
+    private StringToJsonObjectConverter stringToJsonObjectConverter;
+
+    @Mock
+    private JsonObjectToObjectConverter jsonObjectConverter;
+
+    @Mock
+    private Connection eventStore;
+
+    @Mock
+    private Connection viewStore;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private PreparedStatement inserts;
+
+    @Mock
+    private PreparedStatement eventQuery;
+
+    @Mock
+    private ResultSet events;
+
+    private ViewStoreRebuilder viewStoreRebuilder;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        viewStoreRebuilder = new ViewStoreRebuilder(stringToJsonObjectConverter, jsonObjectConverter, 10);
+        when(viewStore.createStatement()).thenReturn(statement);
+        when(viewStore.prepareStatement(anyString())).thenReturn(inserts);
+        when(eventStore.prepareStatement(anyString())).thenReturn(eventQuery);
+    }
+
+    @Test
+    public void shouldLockTheViewStoreAndCommitTheRebuildOnlyOnceEveryRowIsWritten() throws SQLException {
+        when(eventQuery.executeQuery()).thenReturn(events);
+
+        viewStoreRebuilder.rebuild(eventStore, viewStore);
+
+        final InOrder inOrder = inOrder(viewStore, statement);
+        inOrder.verify(viewStore).setAutoCommit(false);
+        inOrder.verify(statement).execute(LOCK_TABLES);
+        inOrder.verify(statement).execute("analyze subscription");
+        inOrder.verify(viewStore).commit();
+        verify(viewStore, never()).rollback();
+    }
+
+    @Test
+    public void shouldRollBackTheViewStoreWhenTheRebuildFails() throws SQLException {
+        when(eventQuery.executeQuery()).thenThrow(new SQLException("event store unavailable"));
+
+        assertThrows(SQLException.class, () -> viewStoreRebuilder.rebuild(eventStore, viewStore));
+
+        verify(statement).execute(LOCK_TABLES);
+        verify(viewStore).rollback();
+        verify(viewStore, never()).commit();
+    }
+}
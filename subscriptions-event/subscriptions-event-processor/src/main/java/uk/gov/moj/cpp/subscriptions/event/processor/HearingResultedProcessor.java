@@ -2,23 +2,28 @@ package uk.gov.moj.cpp.subscriptions.event.processor;
 
 
 import static uk.gov.justice.services.core.annotation.Component.EVENT_PROCESSOR;
+import static uk.gov.moj.cpp.subscriptions.event.processor.service.DuplicateEventLedger.hearingKey;
 
 import uk.gov.justice.core.courts.Hearing;
-import uk.gov.justice.hearing.courts.HearingResulted;
 import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.core.featurecontrol.FeatureControlGuard;
 import uk.gov.justice.services.core.requester.Requester;
-import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.NotificationEventRuleExecutor;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.DuplicateEventLedger;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.EmailInfoSender;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingProjectionReader;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.SubscriptionsQueryService;
 import uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
 import java.util.List;
+import java.util.UUID;
 
 import javax.inject.Inject;
+import javax.json.JsonObject;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -44,8 +49,16 @@ public class HearingResultedProcessor {
     @Inject
     private EmailInfoSender emailInfoSender;
 
+    @Inject
+    private ProcessorMetrics processorMetrics;
+
+    @Inject
+    private DuplicateEventLedger duplicateEventLedger;
+
+    private final HearingProjectionReader hearingProjectionReader = new HearingProjectionReader();
+
     @Handles("public.hearing.resulted")
-    public void publicHearingResulted(final Envelope<HearingResulted> event) {
+    public void publicHearingResulted(final JsonEnvelope event) {
         if (featureControlGuard.isFeatureEnabled("subscriptionsPortal")) {
             if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug("Handling public.hearing.resulted {}", event.payload());
@@ -57,7 +70,7 @@ public class HearingResultedProcessor {
     }
 
     @Handles("public.events.hearing.hearing-resulted")
-    public void handleHearingResultedPublicEvent(final Envelope<HearingResulted> event) {
+    public void handleHearingResultedPublicEvent(final JsonEnvelope event) {
         if (featureControlGuard.isFeatureEnabled("subscriptionsPortal")) {
 
             if (LOGGER.isDebugEnabled()) {
@@ -69,12 +82,29 @@ public class HearingResultedProcessor {
         }
     }
 
-    private void processHearingResulted(final Envelope<HearingResulted> event) {
-        final Hearing hearing = event.payload().getHearing();
-        final List<Subscription> subscriptionsByCourt = subscriptionsQueryService
-                .findSubscriptionsByCourt(hearing.getCourtCentre().getId(), requester);
+    /**
+     * The payload is read as json so that only the hearing fields used by the subscription rules
+     * are bound. The same hearing is published on both hearing resulted events, so a copy whose
+     * projection has already been processed is dropped before the subscriptions are looked up.
+     */
+    private void processHearingResulted(final JsonEnvelope event) {
+        final long startedAt = System.nanoTime();
+        try {
+            final JsonObject projection = hearingProjectionReader.project(event.payloadAsJsonObject().getJsonObject("hearing"));
+            final UUID hearingId = UUID.fromString(projection.getString("id"));
+            if (duplicateEventLedger.isDuplicate(hearingKey(hearingId, projection))) {
+                LOGGER.info("Hearing {} has already been processed so not processing {} event", hearingId, event.metadata().name());
+                return;
+            }
+
+            final Hearing hearing = hearingProjectionReader.toHearing(projection);
+            final List<Subscription> subscriptionsByCourt = subscriptionsQueryService
+                    .findSubscriptionsByCourt(hearing.getCourtCentre().getId(), requester);
 
-        final List<EmailInfo> emailInfos = notificationEventRuleExecutor.execute(hearing, subscriptionsByCourt);
-        emailInfoSender.sendCommand(event, emailInfos);
+            final List<EmailInfo> emailInfos = notificationEventRuleExecutor.execute(hearing, subscriptionsByCourt);
+            emailInfoSender.sendCommand(event, emailInfos);
+        } finally {
+            processorMetrics.recordHandler(event.metadata().name(), startedAt);
+        }
     }
 }
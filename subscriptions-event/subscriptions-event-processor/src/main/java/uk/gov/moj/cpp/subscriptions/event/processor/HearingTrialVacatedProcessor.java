@@ -14,6 +14,7 @@ import uk.gov.justice.services.core.featurecontrol.FeatureControlGuard;
 import uk.gov.justice.services.core.requester.Requester;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.NotificationEventRuleExecutor;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.EmailInfoSender;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingService;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.SubscriptionsQueryService;
@@ -53,6 +54,9 @@ public class HearingTrialVacatedProcessor {
     @Inject
     private EmailInfoSender emailInfoSender;
 
+    @Inject
+    private ProcessorMetrics processorMetrics;
+
 
     @Handles("public.hearing.trial-vacated")
     public void publicHearingTrialVacated(final Envelope<TrialVacated> event) {
@@ -62,26 +66,31 @@ public class HearingTrialVacatedProcessor {
                 LOGGER.debug("Handling public.hearing.trial-vacated {}", event.payload());
             }
 
-            final UUID hearingId = event.payload().getHearingId();
-            final Optional<Hearing> hearingOptional = hearingService.getHearing(hearingId);
-
-            if (hearingOptional.isPresent()) {
-                final Hearing hearing = hearingOptional.get();
-                final List<Subscription> subscriptionsByCourt = subscriptionsQueryService
-                        .findSubscriptionsByCourt(hearing.getCourtCentre().getId(), requester)
-                        .stream()
-                        .map(a -> subscription()
-                                .withValuesFrom(a)
-                                .withEvents(a.getEvents()
-                                        .stream()
-                                        .filter(filterEvent -> filterEvent == CRACKED_OR_INEFFECTIVE_TRAIL)
-                                        .collect(toList())).build())
-                        .collect(toList());
-
-                final List<EmailInfo> emailInfos = notificationEventRuleExecutor.execute(hearing, subscriptionsByCourt);
-                emailInfoSender.sendCommand(event, emailInfos);
-            } else {
-                LOGGER.info("No hearing found in the hearing context with hearing id: {} => so will not execute the subscriptions rules.", hearingId);
+            final long startedAt = System.nanoTime();
+            try {
+                final UUID hearingId = event.payload().getHearingId();
+                final Optional<Hearing> hearingOptional = hearingService.getHearing(hearingId);
+
+                if (hearingOptional.isPresent()) {
+                    final Hearing hearing = hearingOptional.get();
+                    final List<Subscription> subscriptionsByCourt = subscriptionsQueryService
+                            .findSubscriptionsByCourt(hearing.getCourtCentre().getId(), requester)
+                            .stream()
+                            .map(a -> subscription()
+                                    .withValuesFrom(a)
+                                    .withEvents(a.getEvents()
+                                            .stream()
+                                            .filter(filterEvent -> filterEvent == CRACKED_OR_INEFFECTIVE_TRAIL)
+                                            .collect(toList())).build())
+                            .collect(toList());
+
+                    final List<EmailInfo> emailInfos = notificationEventRuleExecutor.execute(hearing, subscriptionsByCourt);
+                    emailInfoSender.sendCommand(event, emailInfos);
+                } else {
+                    LOGGER.info("No hearing found in the hearing context with hearing id: {} => so will not execute the subscriptions rules.", hearingId);
+                }
+            } finally {
+                processorMetrics.recordHandler("public.hearing.trial-vacated", startedAt);
             }
         } else {
             LOGGER.info("'subscriptionsPortal' disabled so not processing 'public.hearing.trial-vacated' event");
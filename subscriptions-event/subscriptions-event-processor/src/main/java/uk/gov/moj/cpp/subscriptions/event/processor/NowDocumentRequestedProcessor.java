@@ -1,7 +1,9 @@
 package uk.gov.moj.cpp.subscriptions.event.processor;
 
 
+import static java.util.Objects.nonNull;
 import static uk.gov.justice.services.core.annotation.Component.EVENT_PROCESSOR;
+import static uk.gov.moj.cpp.subscriptions.event.processor.service.DuplicateEventLedger.materialKey;
 
 import uk.gov.justice.core.courts.Hearing;
 import uk.gov.justice.core.courts.NowDocumentRequested;
@@ -11,6 +13,8 @@ import uk.gov.justice.services.core.featurecontrol.FeatureControlGuard;
 import uk.gov.justice.services.core.requester.Requester;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.NotificationEventRuleExecutor;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.DuplicateEventLedger;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.EmailInfoSender;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingService;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.SubscriptionsQueryService;
@@ -50,6 +54,12 @@ public class NowDocumentRequestedProcessor {
     @Inject
     private EmailInfoSender emailInfoSender;
 
+    @Inject
+    private ProcessorMetrics processorMetrics;
+
+    @Inject
+    private DuplicateEventLedger duplicateEventLedger;
+
     @Handles("public.progression.now-document-requested")
     public void publicProgressionNowDocumentRequested(final Envelope<NowDocumentRequested> event) {
         processNowDocumentRequested(event, "public.progression.now-document-requested");
@@ -66,16 +76,27 @@ public class NowDocumentRequestedProcessor {
                 LOGGER.debug("Handling {} {}", eventName, event.payload());
             }
 
-            final UUID hearingId = event.payload().getNowDocumentRequest().getHearingId();
-            final Optional<Hearing> hearingOptional = hearingService.getHearing(hearingId);
-            if (hearingOptional.isPresent()) {
-                final List<Subscription> subscriptionsByCourt = subscriptionsQueryService
-                        .findSubscriptionsByCourt(hearingOptional.get().getCourtCentre().getId(), requester);
-
-                final List<EmailInfo> emailInfos = notificationEventRuleExecutor.execute(event.payload(), subscriptionsByCourt);
-                emailInfoSender.sendCommand(event, emailInfos);
-            } else {
-                LOGGER.info("No hearing found in the hearing context with hearing id: {} => so will not execute the subscriptions rules.", hearingId);
+            final long startedAt = System.nanoTime();
+            try {
+                final UUID materialId = event.payload().getMaterialId();
+                if (nonNull(materialId) && duplicateEventLedger.isDuplicate(materialKey(materialId))) {
+                    LOGGER.info("Material {} has already been processed so not processing {} event", materialId, eventName);
+                    return;
+                }
+
+                final UUID hearingId = event.payload().getNowDocumentRequest().getHearingId();
+                final Optional<Hearing> hearingOptional = hearingService.getHearing(hearingId);
+                if (hearingOptional.isPresent()) {
+                    final List<Subscription> subscriptionsByCourt = subscriptionsQueryService
+                            .findSubscriptionsByCourt(hearingOptional.get().getCourtCentre().getId(), requester);
+
+                    final List<EmailInfo> emailInfos = notificationEventRuleExecutor.execute(event.payload(), subscriptionsByCourt);
+                    emailInfoSender.sendCommand(event, emailInfos);
+                } else {
+                    LOGGER.info("No hearing found in the hearing context with hearing id: {} => so will not execute the subscriptions rules.", hearingId);
+                }
+            } finally {
+                processorMetrics.recordHandler(eventName, startedAt);
             }
         } else {
             LOGGER.info("'subscriptionsPortal' disabled so not processing {} event", eventName);
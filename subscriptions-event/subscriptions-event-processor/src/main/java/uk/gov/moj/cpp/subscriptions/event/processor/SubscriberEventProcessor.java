@@ -7,6 +7,8 @@ import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.core.sender.Sender;
 import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.SubscriptionFilterCache;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.CourtSubscriptionsCache;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeleteFailed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeleted;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeletedViaBdf;
@@ -26,23 +28,37 @@ public class SubscriberEventProcessor {
     @Inject
     private Sender sender;
 
+    @Inject
+    private CourtSubscriptionsCache courtSubscriptionsCache;
+
+    @Inject
+    private SubscriptionFilterCache subscriptionFilterCache;
+
     @Handles("subscriptions.event.subscription-subscribed")
     public void handleSubscribe(final Envelope<SubscriptionSubscribed> envelope) {
+        courtSubscriptionsCache.invalidateSubscription(envelope.payload().getSubscriptionId());
+        subscriptionFilterCache.subscriptionChanged(envelope.payload().getSubscriptionId());
         sendPublicEvent(SUBSCRIBER_SUBSCRIBE_PUBLIC_EVENT, envelope.metadata(), envelope.payload(), sender);
     }
 
     @Handles("subscriptions.event.subscription-unsubscribed")
     public void handleUnsubscribe(final Envelope<SubscriptionUnsubscribed> envelope) {
+        courtSubscriptionsCache.invalidateSubscription(envelope.payload().getSubscriptionId());
+        subscriptionFilterCache.subscriptionChanged(envelope.payload().getSubscriptionId());
         sendPublicEvent(SUBSCRIBER_UNSUBSCRIBE_PUBLIC_EVENT, envelope.metadata(), envelope.payload(), sender);
     }
 
     @Handles("subscriptions.event.subscriber-deleted")
     public void handleDeletedSubscribe(final Envelope<SubscriberDeleted> envelope) {
+        courtSubscriptionsCache.invalidateSubscription(envelope.payload().getSubscriptionId());
+        subscriptionFilterCache.subscriptionChanged(envelope.payload().getSubscriptionId());
         sendPublicEvent(SUBSCRIBER_DELETE_SUBSCRIBE_PUBLIC_EVENT, envelope.metadata(), envelope.payload(), sender);
     }
 
     @Handles("subscriptions.event.subscriber-deleted-via-bdf")
     public void handleDeletedSubscribeViaBdf(final Envelope<SubscriberDeletedViaBdf> envelope) {
+        courtSubscriptionsCache.invalidateSubscription(envelope.payload().getSubscriptionId());
+        subscriptionFilterCache.subscriptionChanged(envelope.payload().getSubscriptionId());
         sendPublicEvent(SUBSCRIBER_DELETE_SUBSCRIBE_PUBLIC_EVENT, envelope.metadata(), envelope.payload(), sender);
     }
 
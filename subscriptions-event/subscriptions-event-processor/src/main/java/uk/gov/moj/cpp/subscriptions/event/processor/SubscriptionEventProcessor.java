@@ -1,5 +1,8 @@
 package uk.gov.moj.cpp.subscriptions.event.processor;
 
+import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
+import static java.util.stream.Collectors.toList;
 import static uk.gov.justice.services.core.annotation.Component.EVENT_PROCESSOR;
 import static uk.gov.moj.cpp.subscriptions.event.processor.ProcessorHelper.sendPublicEvent;
 
@@ -7,12 +10,19 @@ import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.core.sender.Sender;
 import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.SubscriptionFilterCache;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.CourtSubscriptionsCache;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Court;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionActivated;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionCreated;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionCreatedByUser;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeactivated;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeleted;
 
+import java.util.List;
+import java.util.UUID;
+
 import javax.inject.Inject;
 
 @ServiceComponent(EVENT_PROCESSOR)
@@ -27,31 +37,60 @@ public class SubscriptionEventProcessor {
     @Inject
     private Sender sender;
 
+    @Inject
+    private CourtSubscriptionsCache courtSubscriptionsCache;
+
+    @Inject
+    private SubscriptionFilterCache subscriptionFilterCache;
+
     @Handles("subscriptions.event.subscription-created-by-user")
     public void handleCreateSubscriptionByUser(final Envelope<SubscriptionCreatedByUser> envelope) {
+        courtSubscriptionsCache.invalidateCourts(courtIdsOf(envelope.payload().getSubscription()));
+        subscriptionFilterCache.subscriptionChanged(subscriptionIdOf(envelope.payload().getSubscription()));
         sendPublicEvent(SUBSCRIPTION_CREATED_BY_USER_PUBLIC_EVENT, envelope.metadata(), envelope.payload(), sender);
     }
 
     @Handles("subscriptions.event.subscription-created")
     public void handleCreateSubscription(final Envelope<SubscriptionCreated> envelope) {
+        courtSubscriptionsCache.invalidateCourts(courtIdsOf(envelope.payload().getSubscription()));
+        subscriptionFilterCache.subscriptionChanged(subscriptionIdOf(envelope.payload().getSubscription()));
         sendPublicEvent(SUBSCRIPTION_CREATED_PUBLIC_EVENT, envelope.metadata(), envelope.payload(), sender);
     }
 
     @Handles("subscriptions.event.subscription-activated")
     public void handleSubscriptionActivated(final Envelope<SubscriptionActivated> envelope) {
+        courtSubscriptionsCache.invalidateSubscription(envelope.payload().getSubscriptionId());
+        subscriptionFilterCache.subscriptionChanged(envelope.payload().getSubscriptionId());
         sendPublicEvent(SUBSCRIPTION_ACTIVATED_PUBLIC_EVENT, envelope.metadata(), envelope.payload(), sender);
 
     }
 
     @Handles("subscriptions.event.subscription-deactivated")
     public void handleSubscriptionDeactivated(final Envelope<SubscriptionDeactivated> envelope) {
+        courtSubscriptionsCache.invalidateSubscription(envelope.payload().getSubscriptionId());
+        subscriptionFilterCache.subscriptionChanged(envelope.payload().getSubscriptionId());
         sendPublicEvent(SUBSCRIPTION_DEACTIVATED_PUBLIC_EVENT, envelope.metadata(), envelope.payload(), sender);
     }
 
     @Handles("subscriptions.event.subscription-deleted")
     public void handleSubscriptionDeleted(final Envelope<SubscriptionDeleted> envelope) {
+        courtSubscriptionsCache.invalidateSubscription(envelope.payload().getSubscriptionId());
+        subscriptionFilterCache.subscriptionChanged(envelope.payload().getSubscriptionId());
         sendPublicEvent(SUBSCRIPTION_DELETED_PUBLIC_EVENT, envelope.metadata(), envelope.payload(), sender);
 
     }
 
+    private UUID subscriptionIdOf(final Subscription subscription) {
+        return isNull(subscription) ? null : subscription.getId();
+    }
+
+    private List<UUID> courtIdsOf(final Subscription subscription) {
+        if (isNull(subscription) || isNull(subscription.getCourts())) {
+            return emptyList();
+        }
+        return subscription.getCourts()
+                .stream()
+                .map(Court::getCourtId)
+                .collect(toList());
+    }
 }
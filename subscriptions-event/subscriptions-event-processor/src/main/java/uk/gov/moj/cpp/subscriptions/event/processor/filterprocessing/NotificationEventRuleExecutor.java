@@ -3,19 +3,33 @@ package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing;
 
 import static java.util.Collections.emptyList;
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.toList;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.AbstractEventRule.createEvent;
 
 import uk.gov.justice.core.courts.Hearing;
 import uk.gov.justice.core.courts.NowDocumentRequested;
+import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.SubscriptionMatchingIndex.Candidate;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.AbstractEventRule;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.HearingFacts;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.NowEdtEventRule;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.RenderedMessageCache;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.SubscriptionFilterCache;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.ApplicationParameters;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingService;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingSnapshotCache;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingSnapshotCacheStatistics;
 import uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Events;
+import uk.gov.moj.cpp.subscriptions.json.schemas.FilterType;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
@@ -32,35 +46,64 @@ public class NotificationEventRuleExecutor {
     @Inject
     private HearingService hearingService;
 
+    @Inject
+    private HearingSnapshotCacheStatistics hearingSnapshotCacheStatistics;
+
+    @Inject
+    private ParallelRuleEvaluator parallelRuleEvaluator;
+
+    @Inject
+    private ProcessorMetrics processorMetrics;
+
+    @Inject
+    private SubscriptionFilterCache subscriptionFilterCache;
+
     public List<EmailInfo> execute(final Hearing hearing, final List<Subscription> subscriptions) {
         if (isNull(hearing) || isNull(hearing.getProsecutionCases())) {
             LOGGER.info("No hearing or prosecution cases => so will not execute the subscriptions rules");
             return emptyList();
         }
 
-        List<EmailInfo> emailInfo = subscriptions
-                .stream()
-                .filter(Subscription::getActive)
-                .flatMap(subscription ->
-                        subscription.getEvents()
-                                .stream()
-                                .flatMap(event ->
-                                        hearing.getProsecutionCases()
-                                                .stream()
-                                                .map(prosecutionCase -> createEvent(hearing, event, prosecutionCase, subscription, applicationParameters, hearingService))
-                                                .filter(AbstractEventRule::shouldExecute)
-                                                .map(AbstractEventRule::execute)
-
-                                )
+        final HearingSnapshotCache hearingSnapshotCache = new HearingSnapshotCache(hearingService);
+        final RenderedMessageCache renderedMessageCache = new RenderedMessageCache();
+        final LongAdder rules = new LongAdder();
+        final HearingFacts hearingFacts = HearingFacts.of(hearing);
+
+        final List<Candidate> candidates = SubscriptionMatchingIndex.index(subscriptions)
+                .candidatesFor(hearing.getProsecutionCases());
+        final Function<RuleEvaluation, Stream<EmailInfo>> evaluator = evaluation ->
+                Stream.of(createEvent(hearing, evaluation.event, evaluation.prosecutionCase, evaluation.subscription, applicationParameters, hearingSnapshotCache, hearingFacts,
+                        subscriptionFilterCache.filterFor(evaluation.subscription)))
+                        .filter(eventRule -> shouldExecute(eventRule, evaluation.event, evaluation.subscription, rules))
+                        .map(eventRule -> eventRule.execute(renderedMessageCache));
+
+        final List<EmailInfo> emailInfo;
+        if (shouldEvaluateInParallel(hearing)) {
+            prefetchCurrentHearing(hearing, hearingFacts, candidates, hearingSnapshotCache);
+            emailInfo = parallelRuleEvaluator.evaluate(ruleEvaluations(candidates, hearingFacts).collect(toList()), evaluator);
+        } else {
+            emailInfo = ruleEvaluations(candidates, hearingFacts)
+                    .flatMap(evaluator)
+                    .collect(toList());
+        }
 
-                ).collect(toList());
+        hearingSnapshotCacheStatistics.record(hearingSnapshotCache);
+        processorMetrics.recordEvent(rules.sum(), emailInfo.size(), hearingSnapshotCache.getRemoteCalls());
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Hearing snapshot cache for hearing {}: {} hits, {} remote calls",
+                    hearing.getId(), hearingSnapshotCache.getHits(), hearingSnapshotCache.getRemoteCalls());
+            LOGGER.debug("Rendered {} distinct emails for hearing {}, reused {} times",
+                    renderedMessageCache.size(), hearing.getId(), renderedMessageCache.getHits());
+        }
         return emailInfo;
     }
 
     public List<EmailInfo> execute(final NowDocumentRequested nowDocumentRequested,
                                    final List<Subscription> subscriptions) {
+        final RenderedMessageCache renderedMessageCache = new RenderedMessageCache();
+        final LongAdder rules = new LongAdder();
 
-        return subscriptions
+        final List<EmailInfo> emailInfo = subscriptions
                 .stream()
                 .filter(Subscription::getActive)
                 .flatMap(subscription ->
@@ -78,13 +121,66 @@ public class NotificationEventRuleExecutor {
                                                         nowDocumentRequested.getMaterialId(),
                                                         nowEdtName,
                                                         subscription,
-                                                        applicationParameters
+                                                        applicationParameters,
+                                                        subscriptionFilterCache.filterFor(subscription)
                                                 ))
-                                                .filter(AbstractEventRule::shouldExecute)
-                                                .map(AbstractEventRule::execute)
+                                                .filter(eventRule -> shouldExecute(eventRule, null, subscription, rules))
+                                                .map(eventRule -> eventRule.execute(renderedMessageCache))
 
                                 )
 
                 ).collect(toList());
+
+        processorMetrics.recordEvent(rules.sum(), emailInfo.size(), 0);
+        return emailInfo;
+    }
+
+    private boolean shouldExecute(final AbstractEventRule eventRule, final Events event, final Subscription subscription, final LongAdder rules) {
+        final boolean matched = eventRule.shouldExecute();
+        rules.increment();
+        processorMetrics.recordRule(event, filterTypeOf(subscription), matched);
+        return matched;
+    }
+
+    private static FilterType filterTypeOf(final Subscription subscription) {
+        return nonNull(subscription.getFilter()) ? subscription.getFilter().getFilterType() : null;
+    }
+
+    private boolean shouldEvaluateInParallel(final Hearing hearing) {
+        return applicationParameters.isParallelRuleEvaluationEnabled()
+                && hearing.getProsecutionCases().size() >= applicationParameters.getParallelRuleEvaluationCaseThreshold();
+    }
+
+    // the remote hearing lookup stays on the delivery thread rather than on an executor thread
+    private void prefetchCurrentHearing(final Hearing hearing, final HearingFacts hearingFacts, final List<Candidate> candidates, final HearingSnapshotCache hearingSnapshotCache) {
+        final boolean remandStatusSubscribed = candidates.stream()
+                .anyMatch(candidate -> candidate.getSubscription().getEvents().contains(Events.REMAND_STATUS));
+        if (remandStatusSubscribed && hearingFacts.hasTrigger(Events.REMAND_STATUS)) {
+            hearingSnapshotCache.getHearing(hearing.getId());
+        }
+    }
+
+    // events that nothing in the hearing triggers are skipped for every subscription, as are cases without a trigger
+    private static Stream<RuleEvaluation> ruleEvaluations(final List<Candidate> candidates, final HearingFacts hearingFacts) {
+        return candidates.stream()
+                .flatMap(candidate -> candidate.getSubscription().getEvents()
+                        .stream()
+                        .filter(hearingFacts::hasTrigger)
+                        .flatMap(event -> candidate.getProsecutionCases()
+                                .stream()
+                                .filter(prosecutionCase -> hearingFacts.forCase(prosecutionCase).hasTrigger(event))
+                                .map(prosecutionCase -> new RuleEvaluation(candidate.getSubscription(), event, prosecutionCase))));
+    }
+
+    private static class RuleEvaluation {
+        private final Subscription subscription;
+        private final Events event;
+        private final ProsecutionCase prosecutionCase;
+
+        RuleEvaluation(final Subscription subscription, final Events event, final ProsecutionCase prosecutionCase) {
+            this.subscription = subscription;
+            this.event = event;
+            this.prosecutionCase = prosecutionCase;
+        }
     }
 }
@@ -0,0 +1,102 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static java.util.stream.Collectors.toCollection;
+
+import uk.gov.moj.cpp.subscriptions.event.processor.service.ApplicationParameters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import javax.annotation.Resource;
+import javax.enterprise.concurrent.ManagedExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Evaluates rules in contiguous partitions on the container managed executor, with the calling
+ * thread taking the first partition. Results are returned in the order of the work, so the
+ * outcome is the same as evaluating it sequentially. When a partition fails, the partitions still
+ * running are cancelled.
+ */
+@ApplicationScoped
+public class ParallelRuleEvaluator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelRuleEvaluator.class);
+
+    @Resource
+    private ManagedExecutorService managedExecutorService;
+
+    @Inject
+    private ApplicationParameters applicationParameters;
+
+    public <T, R> List<R> evaluate(final List<T> work, final Function<T, Stream<R>> evaluator) {
+        final int partitions = min(max(applicationParameters.getParallelRuleEvaluationMaxPartitions(), 1), work.size());
+        if (partitions <= 1) {
+            return evaluateSequentially(work, evaluator);
+        }
+
+        final int partitionSize = (work.size() + partitions - 1) / partitions;
+        final List<Future<List<R>>> remainingPartitions = new ArrayList<>(partitions - 1);
+        int collectedPartitions = 0;
+        try {
+            for (int start = partitionSize; start < work.size(); start += partitionSize) {
+                remainingPartitions.add(submit(work.subList(start, min(start + partitionSize, work.size())), evaluator));
+            }
+
+            final List<R> results = evaluateSequentially(work.subList(0, partitionSize), evaluator);
+            for (final Future<List<R>> partition : remainingPartitions) {
+                results.addAll(await(partition));
+                collectedPartitions++;
+            }
+            return results;
+        } finally {
+            // once the evaluation has failed, the partitions not yet collected are of no use
+            for (final Future<List<R>> partition : remainingPartitions.subList(collectedPartitions, remainingPartitions.size())) {
+                partition.cancel(true);
+            }
+        }
+    }
+
+    private <T, R> Future<List<R>> submit(final List<T> partition, final Function<T, Stream<R>> evaluator) {
+        try {
+            return managedExecutorService.submit(() -> evaluateSequentially(partition, evaluator));
+        } catch (final RejectedExecutionException e) {
+            LOGGER.warn("Rule evaluation executor is saturated, evaluating {} rules on the calling thread", partition.size());
+            return completedFuture(evaluateSequentially(partition, evaluator));
+        }
+    }
+
+    private static <R> List<R> await(final Future<List<R>> partition) {
+        try {
+            return partition.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for rule evaluation", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new IllegalStateException("Rule evaluation failed", e.getCause());
+        }
+    }
+
+    private static <T, R> List<R> evaluateSequentially(final List<T> work, final Function<T, Stream<R>> evaluator) {
+        return work.stream()
+                .flatMap(evaluator)
+                .collect(toCollection(ArrayList::new));
+    }
+}
@@ -0,0 +1,194 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing;
+
+import static java.util.Collections.emptyList;
+import static java.util.Locale.ROOT;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.stream.Collectors.toList;
+
+import uk.gov.justice.core.courts.Defendant;
+import uk.gov.justice.core.courts.Offence;
+import uk.gov.justice.core.courts.Person;
+import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Filter;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inverted index over the active subscriptions of a court, keyed by filter value. A lookup
+ * returns every subscription whose filter could match a case; the event rules still make the
+ * final decision, so anything that cannot be keyed is always returned as a candidate.
+ */
+public class SubscriptionMatchingIndex {
+
+    private final List<Subscription> subscriptions;
+    private final Map<String, List<Integer>> byUrn = new HashMap<>();
+    private final Map<String, List<Integer>> byOffenceCode = new HashMap<>();
+    private final Map<String, List<Integer>> byGender = new HashMap<>();
+    private final Map<String, List<Integer>> byDefendant = new HashMap<>();
+    private final List<Integer> adults = new ArrayList<>();
+    private final List<Integer> youths = new ArrayList<>();
+    private final List<Integer> unindexed = new ArrayList<>();
+
+    private SubscriptionMatchingIndex(final List<Subscription> subscriptions) {
+        this.subscriptions = subscriptions;
+        for (int position = 0; position < subscriptions.size(); position++) {
+            add(position, subscriptions.get(position));
+        }
+    }
+
+    public static SubscriptionMatchingIndex index(final List<Subscription> subscriptions) {
+        return new SubscriptionMatchingIndex(subscriptions
+                .stream()
+                .filter(Subscription::getActive)
+                .collect(toList()));
+    }
+
+    public List<Candidate> candidatesFor(final List<ProsecutionCase> prosecutionCases) {
+        final Map<Integer, List<ProsecutionCase>> casesBySubscription = new HashMap<>();
+        final BitSet matched = new BitSet(subscriptions.size());
+
+        for (final ProsecutionCase prosecutionCase : prosecutionCases) {
+            final BitSet caseCandidates = candidatesFor(prosecutionCase);
+            caseCandidates.stream().forEach(position ->
+                    casesBySubscription.computeIfAbsent(position, k -> new ArrayList<>()).add(prosecutionCase));
+            matched.or(caseCandidates);
+        }
+
+        return matched.stream()
+                .mapToObj(position -> new Candidate(subscriptions.get(position), casesBySubscription.get(position)))
+                .collect(toList());
+    }
+
+    private BitSet candidatesFor(final ProsecutionCase prosecutionCase) {
+        final BitSet candidates = new BitSet(subscriptions.size());
+        unindexed.forEach(candidates::set);
+
+        if (nonNull(prosecutionCase.getProsecutionCaseIdentifier())) {
+            lookup(byUrn, prosecutionCase.getProsecutionCaseIdentifier().getCaseURN()).forEach(candidates::set);
+        }
+
+        if (nonNull(prosecutionCase.getDefendants())) {
+            prosecutionCase.getDefendants().forEach(defendant -> addDefendantCandidates(defendant, candidates));
+        }
+        return candidates;
+    }
+
+    private void addDefendantCandidates(final Defendant defendant, final BitSet candidates) {
+        if (isAdult(defendant)) {
+            adults.forEach(candidates::set);
+        } else {
+            youths.forEach(candidates::set);
+        }
+
+        if (nonNull(defendant.getOffences())) {
+            defendant.getOffences()
+                    .stream()
+                    .map(Offence::getOffenceCode)
+                    .forEach(offenceCode -> lookup(byOffenceCode, offenceCode).forEach(candidates::set));
+        }
+
+        if (nonNull(defendant.getPersonDefendant()) && nonNull(defendant.getPersonDefendant().getPersonDetails())) {
+            final Person person = defendant.getPersonDefendant().getPersonDetails();
+            if (nonNull(person.getGender())) {
+                lookup(byGender, person.getGender().name().toUpperCase(ROOT)).forEach(candidates::set);
+            }
+            lookup(byDefendant, defendantKey(person.getFirstName(), person.getLastName(), person.getDateOfBirth())).forEach(candidates::set);
+        }
+    }
+
+    private void add(final int position, final Subscription subscription) {
+        final Filter filter = subscription.getFilter();
+        if (isNull(filter) || isNull(filter.getFilterType())) {
+            unindexed.add(position);
+            return;
+        }
+
+        switch (filter.getFilterType()) {
+            case CASE_REFERENCE:
+                addTo(byUrn, filter.getUrn(), position);
+                break;
+            case OFFENCE:
+                addTo(byOffenceCode, filter.getOffence(), position);
+                break;
+            case GENDER:
+                addTo(byGender, isNull(filter.getGender()) ? null : filter.getGender().name().toUpperCase(ROOT), position);
+                break;
+            case AGE:
+                addAge(filter.getIsAdult(), position);
+                break;
+            case DEFENDANT:
+                addTo(byDefendant, isNull(filter.getDefendant()) ? null : defendantKey(filter.getDefendant().getFirstName(),
+                        filter.getDefendant().getLastName(), filter.getDefendant().getDateOfBirth()), position);
+                break;
+            default:
+                unindexed.add(position);
+        }
+    }
+
+    private void addAge(final Boolean isAdult, final int position) {
+        if (isNull(isAdult)) {
+            unindexed.add(position);
+        } else if (isAdult) {
+            adults.add(position);
+        } else {
+            youths.add(position);
+        }
+    }
+
+    private void addTo(final Map<String, List<Integer>> index, final String key, final int position) {
+        if (isNull(key)) {
+            unindexed.add(position);
+        } else {
+            index.computeIfAbsent(key, k -> new ArrayList<>()).add(position);
+        }
+    }
+
+    private static List<Integer> lookup(final Map<String, List<Integer>> index, final String key) {
+        return isNull(key) ? emptyList() : index.getOrDefault(key, emptyList());
+    }
+
+    private static boolean isAdult(final Defendant defendant) {
+        return isNull(defendant.getIsYouth()) || Boolean.FALSE.equals(defendant.getIsYouth());
+    }
+
+    private static String defendantKey(final String firstName, final String lastName, final LocalDate dateOfBirth) {
+        if (isNull(firstName) || isNull(lastName) || isNull(dateOfBirth)) {
+            return null;
+        }
+        return foldCase(firstName) + '|' + foldCase(lastName) + '|' + dateOfBirth;
+    }
+
+    // same per-character folding as String.equalsIgnoreCase, so equal keys mean equalsIgnoreCase names
+    private static String foldCase(final String value) {
+        final StringBuilder folded = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            folded.append(Character.toLowerCase(Character.toUpperCase(value.charAt(i))));
+        }
+        return folded.toString();
+    }
+
+    public static class Candidate {
+        private final Subscription subscription;
+        private final List<ProsecutionCase> prosecutionCases;
+
+        Candidate(final Subscription subscription, final List<ProsecutionCase> prosecutionCases) {
+            this.subscription = subscription;
+            this.prosecutionCases = prosecutionCases;
+        }
+
+        public Subscription getSubscription() {
+            return subscription;
+        }
+
+        public List<ProsecutionCase> getProsecutionCases() {
+            return prosecutionCases;
+        }
+    }
+}
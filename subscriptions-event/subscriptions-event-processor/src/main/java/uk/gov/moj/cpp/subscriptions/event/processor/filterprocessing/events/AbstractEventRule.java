@@ -3,8 +3,10 @@ package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events;
 import uk.gov.justice.core.courts.Defendant;
 import uk.gov.justice.core.courts.Hearing;
 import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.HearingFacts.CaseFacts;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.ApplicationParameters;
-import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingService;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingSnapshotCache;
 import uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Events;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
@@ -13,12 +15,16 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 
 
-import static java.lang.String.format;
 import static java.util.Objects.isNull;
+import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.MessageTemplate.compile;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo.emailInfo;
 
 public abstract class AbstractEventRule {
 
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("d MMMM yyyy");
+    private static final MessageTemplate DEFENDANT = compile("{0} {1}");
+    private static final MessageTemplate DEFENDANT_WITH_DATE_OF_BIRTH = compile("{0} {1} - {2}");
+
     protected ApplicationParameters applicationParameters;
 
     public abstract boolean shouldExecute();
@@ -41,6 +47,10 @@ public abstract class AbstractEventRule {
                 .build();
     }
 
+    public EmailInfo execute(final RenderedMessageCache renderedMessageCache) {
+        return execute();
+    }
+
     protected abstract String prepareSubject();
 
     protected abstract String prepareTitle();
@@ -52,29 +62,32 @@ public abstract class AbstractEventRule {
                                                 final ProsecutionCase prosecutionCase,
                                                 final Subscription subscription,
                                                 final ApplicationParameters applicationParameters,
-                                                final HearingService hearingService) {
+                                                final HearingSnapshotCache hearingSnapshotCache,
+                                                final HearingFacts hearingFacts,
+                                                final AbstractFilterStrategy filterStrategy) {
+        final CaseFacts caseFacts = hearingFacts.forCase(prosecutionCase);
         AbstractEventRule eventRule;
         switch (eventType) {
             case PLEAS_ENTER:
-                eventRule = new PleaEnteredEventRule(prosecutionCase, subscription);
+                eventRule = new PleaEnteredEventRule(prosecutionCase, subscription, caseFacts, filterStrategy);
                 break;
             case PRE_SENTENCE_REPORT_REQUESTED:
-                eventRule = new PreSentenceReportEventRule(prosecutionCase, subscription);
+                eventRule = new PreSentenceReportEventRule(prosecutionCase, subscription, caseFacts, filterStrategy);
                 break;
             case VERDICTS_ENTER:
-                eventRule = new VerdictEnterEventRule(prosecutionCase, subscription);
+                eventRule = new VerdictEnterEventRule(prosecutionCase, subscription, caseFacts, filterStrategy);
                 break;
             case DEFENDANT_APPELLANT_ATTENDANCE:
-                eventRule = new DefendantPresentEventRule(hearing, prosecutionCase, subscription);
+                eventRule = new DefendantPresentEventRule(prosecutionCase, subscription, caseFacts, filterStrategy);
                 break;
             case CHANGE_OF_PLEA:
-                eventRule = new PleaChangedEventRule(prosecutionCase, subscription);
+                eventRule = new PleaChangedEventRule(prosecutionCase, subscription, caseFacts, filterStrategy);
                 break;
             case CRACKED_OR_INEFFECTIVE_TRAIL:
-                eventRule = new TrialEffectivenessEventRule(hearing, prosecutionCase, subscription);
+                eventRule = new TrialEffectivenessEventRule(hearing, prosecutionCase, subscription, caseFacts, filterStrategy);
                 break;
             case REMAND_STATUS:
-                eventRule = new RemandStatusChangedEventRule(hearing, prosecutionCase, subscription, hearingService);
+                eventRule = new RemandStatusChangedEventRule(hearing, prosecutionCase, subscription, hearingSnapshotCache, caseFacts, filterStrategy);
                 break;
             default:
                 throw new IllegalArgumentException(eventType.toString());
@@ -86,15 +99,15 @@ public abstract class AbstractEventRule {
 
 
     static String formatDateOfBirth(final LocalDate date) {
-        return date.format(DateTimeFormatter.ofPattern("d MMMM yyyy"));
+        return date.format(DATE_FORMATTER);
     }
 
     protected String preparePersonalDefendantInfo(Defendant defendant) {
         if(isNull(defendant.getPersonDefendant().getPersonDetails().getDateOfBirth())){
-            return format("%s %s", defendant.getPersonDefendant().getPersonDetails().getFirstName(),
+            return DEFENDANT.render(defendant.getPersonDefendant().getPersonDetails().getFirstName(),
                     defendant.getPersonDefendant().getPersonDetails().getLastName().toUpperCase());
         }else {
-            return format("%s %s - %s", defendant.getPersonDefendant().getPersonDetails().getFirstName(),
+            return DEFENDANT_WITH_DATE_OF_BIRTH.render(defendant.getPersonDefendant().getPersonDetails().getFirstName(),
                     defendant.getPersonDefendant().getPersonDetails().getLastName().toUpperCase(),
                     formatDateOfBirth(defendant.getPersonDefendant().getPersonDetails().getDateOfBirth()));
         }
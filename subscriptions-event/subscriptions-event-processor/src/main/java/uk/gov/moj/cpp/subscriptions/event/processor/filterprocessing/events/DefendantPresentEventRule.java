@@ -1,27 +1,19 @@
 package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events;
 
-import static java.text.MessageFormat.format;
-import static java.util.Arrays.asList;
 import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.toList;
-import static org.apache.commons.lang3.StringUtils.capitalize;
-import static uk.gov.justice.hearing.courts.AttendanceType.BY_VIDEO;
-import static uk.gov.justice.hearing.courts.AttendanceType.IN_PERSON;
-import static uk.gov.justice.hearing.courts.AttendanceType.NOT_PRESENT;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.Section.buildSection;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy.createFilter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.DEFENDANT_APPELLANT_ATTENDANCE;
 
-import uk.gov.justice.core.courts.AttendanceDay;
 import uk.gov.justice.core.courts.Defendant;
-import uk.gov.justice.core.courts.DefendantAttendance;
 import uk.gov.justice.core.courts.Hearing;
 import uk.gov.justice.core.courts.ProsecutionCase;
-import uk.gov.justice.hearing.courts.AttendanceType;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.HearingFacts.CaseFacts;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
 import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Predicate;
@@ -29,25 +21,28 @@ import java.util.function.Predicate;
 
 public class DefendantPresentEventRule extends HearingEventRule {
 
-    private Hearing hearing;
     private ProsecutionCase prosecutionCase;
     private Subscription subscription;
     private AbstractFilterStrategy filterStrategy;
-    private Predicate<DefendantAttendance> defendantPresentFilter = d -> d.getAttendanceDays().stream()
-            .anyMatch(s -> asList(IN_PERSON, BY_VIDEO, NOT_PRESENT).contains(s.getAttendanceType()));
+    private CaseFacts caseFacts;
 
 
     public DefendantPresentEventRule(final Hearing hearing, final ProsecutionCase prosecutionCase, final Subscription subscription) {
-        this.hearing = hearing;
+        this(prosecutionCase, subscription, HearingFacts.of(hearing).forCase(prosecutionCase), createFilter(subscription));
+    }
+
+    /**
+     * The case facts hold the present defendants of the hearing and their attendance lines.
+     */
+    public DefendantPresentEventRule(final ProsecutionCase prosecutionCase, final Subscription subscription, final CaseFacts caseFacts, final AbstractFilterStrategy filterStrategy) {
         this.prosecutionCase = prosecutionCase;
         this.subscription = subscription;
-        this.filterStrategy = createFilter(subscription);
+        this.filterStrategy = filterStrategy;
+        this.caseFacts = caseFacts;
     }
 
     private boolean defendantPresent() {
-        return nonNull(hearing.getDefendantAttendance()) && hearing.getDefendantAttendance()
-                .stream()
-                .anyMatch(defendantPresentFilter);
+        return caseFacts.hasTrigger(DEFENDANT_APPELLANT_ATTENDANCE);
     }
 
     private boolean containsCaseUrn() {
@@ -79,8 +74,19 @@ public class DefendantPresentEventRule extends HearingEventRule {
         return subscription;
     }
 
-    protected List<Section> getSections() {
-        return filterStrategy.filterDefendants(prosecutionCase)
+    @Override
+    protected ProsecutionCase getProsecutionCase() {
+        return prosecutionCase;
+    }
+
+    @Override
+    protected List<Defendant> filterDefendants() {
+        return filterStrategy.filterDefendants(prosecutionCase);
+    }
+
+    @Override
+    protected List<Section> getSections(final List<Defendant> filteredDefendants) {
+        return filteredDefendants
                 .stream()
                 .filter(hearingHasAttendance())
                 .map(this::prepareDefendantsInfo)
@@ -88,13 +94,7 @@ public class DefendantPresentEventRule extends HearingEventRule {
     }
 
     private Predicate<Defendant> hearingHasAttendance() {
-        final List<UUID> defendantsInHearing = hearing.getDefendantAttendance()
-                .stream()
-                .filter(defendantPresentFilter)
-                .map(DefendantAttendance::getDefendantId)
-                .collect(toList());
-
-        return d -> defendantsInHearing.contains(d.getId());
+        return defendant -> caseFacts.isTriggeredBy(DEFENDANT_APPELLANT_ATTENDANCE, defendant);
     }
 
     private Section prepareDefendantsInfo(Defendant defendant) {
@@ -108,34 +108,7 @@ public class DefendantPresentEventRule extends HearingEventRule {
     }
 
     private List<String> getDefendantAttendanceType(Defendant defendant) {
-
-        final Comparator<AttendanceDay> nameComparator = (a1, a2) -> {
-            int result = getAttendanceTypeOrder(a1.getAttendanceType()).compareTo(getAttendanceTypeOrder(a2.getAttendanceType()));
-            if (result != 0) {
-                return result;
-            }
-
-            return a2.getDay().compareTo(a1.getDay());
-        };
-
-        return hearing.getDefendantAttendance().stream()
-                .filter(a -> a.getDefendantId().equals(defendant.getId()))
-                .flatMap(a -> a.getAttendanceDays()
-                        .stream()
-                        .sorted(nameComparator)
-                        .map(b -> format("{0} - {1}", capitalize(b.getAttendanceType().toString().replace("_", " ").toLowerCase()), formatDateOfBirth(b.getDay()))))
-                .collect(toList());
-    }
-
-    private Integer getAttendanceTypeOrder(AttendanceType attendanceType) {
-        switch (attendanceType) {
-            case IN_PERSON:
-                return 0;
-            case BY_VIDEO:
-                return 1;
-            default:
-                return 2;
-        }
+        return caseFacts.attendanceLinesOf(defendant);
     }
 
 
@@ -1,19 +1,26 @@
 package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events;
 
-import static java.text.MessageFormat.format;
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.joining;
+import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.MessageTemplate.compile;
+import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.RenderedMessageCache.key;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo.emailInfo;
 
 import uk.gov.justice.core.courts.Defendant;
+import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.RenderedMessageCache.RenderedMessage;
 import uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo;
 
+import java.util.BitSet;
 import java.util.List;
 import java.util.UUID;
 
 public abstract class HearingEventRule extends AbstractEventRule {
 
     private static final String LINE_SEPARATOR = ". ";
+    private static final MessageTemplate SUBJECT = compile("Case {0} - {1}");
+    private static final MessageTemplate CASE_LINK = compile("Access the case {0} for full details.");
 
     protected abstract UUID getCaseId();
 
@@ -21,15 +28,33 @@ public abstract class HearingEventRule extends AbstractEventRule {
 
     protected abstract String getTitle();
 
-    protected abstract List<Section> getSections();
+    protected abstract ProsecutionCase getProsecutionCase();
+
+    protected abstract List<Defendant> filterDefendants();
+
+    protected abstract List<Section> getSections(final List<Defendant> filteredDefendants);
+
+    protected List<Section> getSections() {
+        return getSections(filterDefendants());
+    }
 
     @Override
     public EmailInfo execute() {
+        return execute(new RenderedMessageCache());
+    }
+
+    @Override
+    public EmailInfo execute(final RenderedMessageCache renderedMessageCache) {
+        final List<Defendant> filteredDefendants = filterDefendants();
+        final RenderedMessage message = renderedMessageCache.render(
+                key(getClass(), getCaseId(), getCaseUrn(), selectedDefendants(filteredDefendants)),
+                () -> new RenderedMessage(prepareTitle(), prepareSubject(), prepareBody(filteredDefendants), prepareCaseLink()));
+
         return emailInfo()
-                .withTitle(prepareTitle())
-                .withSubject(prepareSubject())
-                .withBody(prepareBody())
-                .withCaseLink(prepareCaseLink())
+                .withTitle(message.getTitle())
+                .withSubject(message.getSubject())
+                .withBody(message.getBody())
+                .withCaseLink(message.getCaseLink())
                 .withSubscription(getSubscription())
                 .withEmailTemplateId(applicationParameters.getThirdPartySubscriptionTemplateId())
                 .build();
@@ -37,25 +62,22 @@ public abstract class HearingEventRule extends AbstractEventRule {
 
     @Override
     protected String prepareSubject() {
-        return format("Case {0} - {1}", getCaseUrn(), getTitle().toLowerCase());
+        return SUBJECT.render(getCaseUrn(), getTitle().toLowerCase());
     }
 
     protected String prepareTitle() {
-        return format("{0}", getTitle());
+        return getTitle();
     }
 
     protected String prepareCaseLink() {
-        return format("{0}", buildCaseAccessInfo());
+        return CASE_LINK.render(applicationParameters.getCppAppUrl()
+                + applicationParameters.getCaseAtaGlanceURI()
+                + getCaseId());
     }
 
     @Override
     protected String prepareBody() {
-        List<Section> sections = getSections();
-        String linesBuilder = sections.stream()
-                .flatMap(section -> section.getLines().stream())
-                .collect(joining(LINE_SEPARATOR, "", LINE_SEPARATOR));
-
-        return format("{0}", linesBuilder);
+        return prepareBody(filterDefendants());
     }
 
     protected String prepareDefendantLine(final Defendant defendant) {
@@ -66,12 +88,35 @@ public abstract class HearingEventRule extends AbstractEventRule {
         }
     }
 
-    private String buildCaseAccessInfo() {
-        return format("Access the case {0} for full details.",
-                applicationParameters.getCppAppUrl()
-                        + applicationParameters.getCaseAtaGlanceURI()
-                        + getCaseId());
+    private String prepareBody(final List<Defendant> filteredDefendants) {
+        return getSections(filteredDefendants).stream()
+                .flatMap(section -> section.getLines().stream())
+                .collect(joining(LINE_SEPARATOR, "", LINE_SEPARATOR));
     }
 
+    // positions of the filtered defendants within the case, so equal filter outcomes share a key
+    private Object selectedDefendants(final List<Defendant> filteredDefendants) {
+        final List<Defendant> defendants = getProsecutionCase().getDefendants();
+        final BitSet selected = new BitSet();
+        for (final Defendant filteredDefendant : filteredDefendants) {
+            final int position = positionOf(defendants, filteredDefendant);
+            if (position < 0) {
+                return filteredDefendants;
+            }
+            selected.set(position);
+        }
+        return selected;
+    }
 
+    private static int positionOf(final List<Defendant> defendants, final Defendant defendant) {
+        if (isNull(defendants)) {
+            return -1;
+        }
+        for (int position = 0; position < defendants.size(); position++) {
+            if (defendants.get(position) == defendant) {
+                return position;
+            }
+        }
+        return -1;
+    }
 }
@@ -0,0 +1,272 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events;
+
+import static java.lang.Boolean.TRUE;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.newSetFromMap;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.apache.commons.lang3.StringUtils.capitalize;
+import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.AbstractEventRule.formatDateOfBirth;
+import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.MessageTemplate.compile;
+import static uk.gov.justice.hearing.courts.AttendanceType.BY_VIDEO;
+import static uk.gov.justice.hearing.courts.AttendanceType.IN_PERSON;
+import static uk.gov.justice.hearing.courts.AttendanceType.NOT_PRESENT;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.CHANGE_OF_PLEA;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.CRACKED_OR_INEFFECTIVE_TRAIL;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.DEFENDANT_APPELLANT_ATTENDANCE;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.PLEAS_ENTER;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.PRE_SENTENCE_REPORT_REQUESTED;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.REMAND_STATUS;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.VERDICTS_ENTER;
+
+import uk.gov.justice.core.courts.AttendanceDay;
+import uk.gov.justice.core.courts.Defendant;
+import uk.gov.justice.core.courts.DefendantAttendance;
+import uk.gov.justice.core.courts.Hearing;
+import uk.gov.justice.core.courts.JudicialResult;
+import uk.gov.justice.core.courts.Offence;
+import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.justice.hearing.courts.AttendanceType;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Events;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * What a resulted hearing can notify about, worked out in a single pass over the hearing. For
+ * every prosecution case it holds the events with a trigger and the defendants and offences that
+ * trigger them, so the executor can skip events that nothing in the hearing triggers and the
+ * rules do not rescan the hearing for every subscription. Defendants and offences are held by
+ * identity, as the rules are given the same instances. A remand status trigger is a defendant
+ * with a bail status on a non SJP hearing; whether it changed is still for the rule to decide.
+ * The attendance lines of every present defendant are rendered once for all subscriptions.
+ */
+public final class HearingFacts {
+
+    private static final List<String> CHANGED_PLEAS = asList("CHANGE_TO_GUILTY_MAGISTRATES_COURT", "CHANGE_TO_NOT_GUILTY");
+    private static final UUID PRE_SENTENCE_REPORT_RESULT_DEFINITION_ID = UUID.fromString("029d370b-90f5-4650-b985-a61e9ec8db99");
+    private static final Set<AttendanceType> PRESENT = EnumSet.of(IN_PERSON, BY_VIDEO, NOT_PRESENT);
+    private static final MessageTemplate ATTENDANCE_LINE = compile("{0} - {1}");
+    // in person first, then by video, then the rest, each latest day first
+    private static final Comparator<AttendanceDay> ATTENDANCE_ORDER = Comparator
+            .comparingInt((AttendanceDay attendanceDay) -> attendanceTypeOrder(attendanceDay.getAttendanceType()))
+            .thenComparing(AttendanceDay::getDay, Comparator.reverseOrder());
+
+    private final boolean sjpHearing;
+    private final boolean trialEffectivenessSet;
+    private final Map<UUID, List<String>> attendanceLines;
+    private final Map<ProsecutionCase, CaseFacts> caseFacts = new IdentityHashMap<>();
+    private final Set<Events> triggeredEvents = EnumSet.noneOf(Events.class);
+
+    private HearingFacts(final Hearing hearing) {
+        this.sjpHearing = TRUE.equals(hearing.getIsSJPHearing());
+        this.trialEffectivenessSet = nonNull(hearing.getCrackedIneffectiveTrial()) || TRUE.equals(hearing.getIsEffectiveTrial());
+        this.attendanceLines = attendanceLinesOf(hearing.getDefendantAttendance());
+        if (nonNull(hearing.getProsecutionCases())) {
+            for (final ProsecutionCase prosecutionCase : hearing.getProsecutionCases()) {
+                final CaseFacts facts = new CaseFacts(this, prosecutionCase);
+                caseFacts.put(prosecutionCase, facts);
+                triggeredEvents.addAll(facts.triggeredEvents);
+            }
+        }
+    }
+
+    private HearingFacts() {
+        this.sjpHearing = false;
+        this.trialEffectivenessSet = false;
+        this.attendanceLines = emptyMap();
+    }
+
+    public static HearingFacts of(final Hearing hearing) {
+        return new HearingFacts(hearing);
+    }
+
+    /**
+     * Facts of a prosecution case read without its hearing, so hearing level events never trigger.
+     */
+    public static CaseFacts ofCase(final ProsecutionCase prosecutionCase) {
+        return new CaseFacts(new HearingFacts(), prosecutionCase);
+    }
+
+    /**
+     * Whether any prosecution case of the hearing triggers the event.
+     */
+    public boolean hasTrigger(final Events event) {
+        return triggeredEvents.contains(event);
+    }
+
+    public CaseFacts forCase(final ProsecutionCase prosecutionCase) {
+        final CaseFacts facts = caseFacts.get(prosecutionCase);
+        return nonNull(facts) ? facts : new CaseFacts(this, prosecutionCase);
+    }
+
+    /**
+     * Attendance lines of the defendants present on any day, keyed by defendant id. The days of
+     * each attendance record are sorted on their own, as the notification has always listed them.
+     */
+    private static Map<UUID, List<String>> attendanceLinesOf(final List<DefendantAttendance> defendantAttendances) {
+        if (isNull(defendantAttendances)) {
+            return emptyMap();
+        }
+        final Map<UUID, List<String>> linesByDefendant = new HashMap<>();
+        for (final DefendantAttendance defendantAttendance : defendantAttendances) {
+            if (isPresent(defendantAttendance)) {
+                linesByDefendant.put(defendantAttendance.getDefendantId(), new ArrayList<>());
+            }
+        }
+        for (final DefendantAttendance defendantAttendance : defendantAttendances) {
+            final List<String> lines = linesByDefendant.get(defendantAttendance.getDefendantId());
+            if (nonNull(lines) && nonNull(defendantAttendance.getAttendanceDays())) {
+                final List<AttendanceDay> attendanceDays = new ArrayList<>(defendantAttendance.getAttendanceDays());
+                attendanceDays.sort(ATTENDANCE_ORDER);
+                for (final AttendanceDay attendanceDay : attendanceDays) {
+                    lines.add(attendanceLine(attendanceDay));
+                }
+            }
+        }
+        linesByDefendant.replaceAll((defendantId, lines) -> unmodifiableList(lines));
+        return unmodifiableMap(linesByDefendant);
+    }
+
+    private static String attendanceLine(final AttendanceDay attendanceDay) {
+        return ATTENDANCE_LINE.render(capitalize(attendanceDay.getAttendanceType().toString().replace("_", " ").toLowerCase()),
+                formatDateOfBirth(attendanceDay.getDay()));
+    }
+
+    private static int attendanceTypeOrder(final AttendanceType attendanceType) {
+        switch (attendanceType) {
+            case IN_PERSON:
+                return 0;
+            case BY_VIDEO:
+                return 1;
+            default:
+                return 2;
+        }
+    }
+
+    private static boolean isPresent(final DefendantAttendance defendantAttendance) {
+        if (isNull(defendantAttendance.getAttendanceDays())) {
+            return false;
+        }
+        for (final AttendanceDay attendanceDay : defendantAttendance.getAttendanceDays()) {
+            if (PRESENT.contains(attendanceDay.getAttendanceType())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static final class CaseFacts {
+
+        private final Set<Events> triggeredEvents = EnumSet.noneOf(Events.class);
+        private final Map<Events, Set<Object>> triggers;
+        private final Map<UUID, List<String>> attendanceLines;
+
+        private CaseFacts(final HearingFacts hearingFacts, final ProsecutionCase prosecutionCase) {
+            this.attendanceLines = hearingFacts.attendanceLines;
+            final Map<Events, Set<Object>> triggersByEvent = new EnumMap<>(Events.class);
+            if (hearingFacts.trialEffectivenessSet) {
+                triggeredEvents.add(CRACKED_OR_INEFFECTIVE_TRAIL);
+            }
+            if (!hearingFacts.attendanceLines.isEmpty()) {
+                triggeredEvents.add(DEFENDANT_APPELLANT_ATTENDANCE);
+            }
+            for (final Defendant defendant : defendantsOf(prosecutionCase)) {
+                if (hearingFacts.attendanceLines.containsKey(defendant.getId())) {
+                    add(triggersByEvent, DEFENDANT_APPELLANT_ATTENDANCE, defendant);
+                }
+                if (!hearingFacts.sjpHearing && nonNull(defendant.getPersonDefendant()) && nonNull(defendant.getPersonDefendant().getBailStatus())) {
+                    trigger(triggersByEvent, REMAND_STATUS, defendant);
+                }
+                if (nonNull(defendant.getOffences())) {
+                    for (final Offence offence : defendant.getOffences()) {
+                        addOffenceTriggers(triggersByEvent, defendant, offence);
+                    }
+                }
+            }
+            this.triggers = unmodifiableMap(triggersByEvent);
+        }
+
+        public boolean hasTrigger(final Events event) {
+            return triggeredEvents.contains(event);
+        }
+
+        public boolean isTriggeredBy(final Events event, final Defendant defendant) {
+            return triggeredBy(event).contains(defendant);
+        }
+
+        public boolean isTriggeredBy(final Events event, final Offence offence) {
+            return triggeredBy(event).contains(offence);
+        }
+
+        /**
+         * The attendance lines of a present defendant, in the order the notification lists them.
+         */
+        public List<String> attendanceLinesOf(final Defendant defendant) {
+            final List<String> lines = attendanceLines.get(defendant.getId());
+            return nonNull(lines) ? lines : emptyList();
+        }
+
+        private Set<Object> triggeredBy(final Events event) {
+            final Set<Object> triggeredBy = triggers.get(event);
+            return nonNull(triggeredBy) ? triggeredBy : emptySet();
+        }
+
+        private void addOffenceTriggers(final Map<Events, Set<Object>> triggersByEvent, final Defendant defendant, final Offence offence) {
+            if (nonNull(offence.getPlea()) && nonNull(offence.getPlea().getPleaValue())) {
+                if (nonNull(defendant.getPersonDefendant())) {
+                    trigger(triggersByEvent, PLEAS_ENTER, defendant, offence);
+                }
+                if (CHANGED_PLEAS.contains(offence.getPlea().getPleaValue())) {
+                    trigger(triggersByEvent, CHANGE_OF_PLEA, defendant, offence);
+                }
+            }
+            if (nonNull(offence.getVerdict()) && nonNull(offence.getVerdict().getVerdictType())) {
+                trigger(triggersByEvent, VERDICTS_ENTER, defendant, offence);
+            }
+            if (hasPreSentenceReport(offence)) {
+                trigger(triggersByEvent, PRE_SENTENCE_REPORT_REQUESTED, defendant, offence);
+            }
+        }
+
+        private void trigger(final Map<Events, Set<Object>> triggersByEvent, final Events event, final Object... triggeredBy) {
+            triggeredEvents.add(event);
+            for (final Object trigger : triggeredBy) {
+                add(triggersByEvent, event, trigger);
+            }
+        }
+
+        private static void add(final Map<Events, Set<Object>> triggersByEvent, final Events event, final Object trigger) {
+            triggersByEvent.computeIfAbsent(event, key -> newSetFromMap(new IdentityHashMap<>())).add(trigger);
+        }
+
+        private static boolean hasPreSentenceReport(final Offence offence) {
+            if (isNull(offence.getJudicialResults())) {
+                return false;
+            }
+            for (final JudicialResult judicialResult : offence.getJudicialResults()) {
+                if (PRE_SENTENCE_REPORT_RESULT_DEFINITION_ID.equals(judicialResult.getJudicialResultTypeId())) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static List<Defendant> defendantsOf(final ProsecutionCase prosecutionCase) {
+            return nonNull(prosecutionCase) && nonNull(prosecutionCase.getDefendants()) ? prosecutionCase.getDefendants() : emptyList();
+        }
+    }
+}
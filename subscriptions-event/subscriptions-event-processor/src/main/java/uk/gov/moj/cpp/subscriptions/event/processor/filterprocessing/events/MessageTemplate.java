@@ -0,0 +1,61 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events;
+
+import static java.lang.Integer.parseInt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A message pattern with {@code {n}} placeholders, parsed once and rendered without the
+ * per-call parsing of {@link java.text.MessageFormat}. For string arguments it renders
+ * exactly what {@code MessageFormat.format} would, and instances are safe to share.
+ */
+public final class MessageTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{(\\d+)}");
+
+    private final String[] literals;
+    private final int[] argumentIndexes;
+    private final int literalLength;
+
+    private MessageTemplate(final String[] literals, final int[] argumentIndexes) {
+        this.literals = literals;
+        this.argumentIndexes = argumentIndexes;
+        int length = 0;
+        for (final String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static MessageTemplate compile(final String pattern) {
+        final List<String> literals = new ArrayList<>();
+        final List<Integer> argumentIndexes = new ArrayList<>();
+        final Matcher matcher = PLACEHOLDER.matcher(pattern);
+        int position = 0;
+        while (matcher.find()) {
+            literals.add(pattern.substring(position, matcher.start()));
+            argumentIndexes.add(parseInt(matcher.group(1)));
+            position = matcher.end();
+        }
+        literals.add(pattern.substring(position));
+
+        return new MessageTemplate(literals.toArray(new String[0]), argumentIndexes.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    public String render(final String... arguments) {
+        final StringBuilder rendered = new StringBuilder(literalLength + 16 * argumentIndexes.length);
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            rendered.append(literals[i]);
+            final int argumentIndex = argumentIndexes[i];
+            if (argumentIndex < arguments.length) {
+                rendered.append(arguments[argumentIndex]);
+            } else {
+                rendered.append('{').append(argumentIndex).append('}');
+            }
+        }
+        return rendered.append(literals[argumentIndexes.length]).toString();
+    }
+}
@@ -1,6 +1,5 @@
 package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events;
 
-import static java.text.MessageFormat.format;
 import static java.util.Arrays.asList;
 import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.toList;
@@ -10,6 +9,8 @@ import static uk.gov.justice.core.courts.Person.person;
 import static uk.gov.justice.core.courts.PersonDefendant.personDefendant;
 import static uk.gov.justice.core.courts.ProsecutionCase.prosecutionCase;
 import static uk.gov.justice.core.courts.ProsecutionCaseIdentifier.prosecutionCaseIdentifier;
+import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.MessageTemplate.compile;
+import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.RenderedMessageCache.key;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy.createFilter;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo.emailInfo;
 
@@ -20,6 +21,7 @@ import uk.gov.justice.core.courts.Organisation;
 import uk.gov.moj.cpp.subscriptions.json.schemas.NowDocumentContentV2;
 import uk.gov.moj.cpp.subscriptions.json.schemas.NowdefendantV2;
 import uk.gov.moj.cpp.subscriptions.json.schemas.ProsecutionCaseV2;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.RenderedMessageCache.RenderedMessage;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.ApplicationParameters;
 import uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo;
@@ -31,6 +33,10 @@ import java.util.UUID;
 
 public class NowEdtEventRule extends AbstractEventRule {
 
+    private static final MessageTemplate PERSON_WITH_DATE_OF_BIRTH_SUBJECT = compile("Case {0} {1} {2} {3} - {4}");
+    private static final MessageTemplate PERSON_SUBJECT = compile("Case {0} {1} {2} - {3}");
+    private static final MessageTemplate ORGANISATION_SUBJECT = compile("Case {0} {1} - {2}");
+
     private NowDocumentContentV2 nowDocumentContent;
     private ProsecutionCaseV2 prosecutionCase;
     private NowdefendantV2 defendant;
@@ -45,6 +51,17 @@ public class NowEdtEventRule extends AbstractEventRule {
                            final String nowEdtName,
                            final Subscription subscription,
                            final ApplicationParameters applicationParameters
+    ) {
+        this(nowDocumentContent, prosecutionCase, materialId, nowEdtName, subscription, applicationParameters, createFilter(subscription));
+    }
+
+    public NowEdtEventRule(final NowDocumentContentV2 nowDocumentContent,
+                           final ProsecutionCaseV2 prosecutionCase,
+                           final UUID materialId,
+                           final String nowEdtName,
+                           final Subscription subscription,
+                           final ApplicationParameters applicationParameters,
+                           final AbstractFilterStrategy filterStrategy
     ) {
         this.nowDocumentContent = nowDocumentContent;
         this.prosecutionCase = prosecutionCase;
@@ -52,7 +69,7 @@ public class NowEdtEventRule extends AbstractEventRule {
         this.materialId = materialId;
         this.nowEdtName = nowEdtName;
         this.subscription = subscription;
-        this.filterStrategy = createFilter(subscription);
+        this.filterStrategy = filterStrategy;
         this.applicationParameters = applicationParameters;
     }
 
@@ -114,11 +131,20 @@ public class NowEdtEventRule extends AbstractEventRule {
 
     @Override
     public EmailInfo execute() {
+        return execute(new RenderedMessageCache());
+    }
+
+    @Override
+    public EmailInfo execute(final RenderedMessageCache renderedMessageCache) {
+        final RenderedMessage message = renderedMessageCache.render(
+                key(getClass(), prosecutionCase.getReference(), nowEdtName),
+                () -> new RenderedMessage(prepareTitle(), prepareSubject(), prepareBody(), prepareCaseLink()));
+
         return emailInfo()
-                .withTitle(prepareTitle())
-                .withSubject(prepareSubject())
-                .withBody(prepareBody())
-                .withCaseLink(prepareCaseLink())
+                .withTitle(message.getTitle())
+                .withSubject(message.getSubject())
+                .withBody(message.getBody())
+                .withCaseLink(message.getCaseLink())
                 .withSubscription(getSubscription())
                 .withMaterialId(materialId.toString())
                 .withEmailTemplateId(applicationParameters.getThirdPartySubscriptionNowsEdtsTemplateId())
@@ -129,14 +155,14 @@ public class NowEdtEventRule extends AbstractEventRule {
     protected String prepareSubject() {
         if(nonNull(defendant.getFirstName())) {
             if(nonNull(defendant.getDateOfBirth())) {
-                return format("Case {0} {1} {2} {3} - {4}",
+                return PERSON_WITH_DATE_OF_BIRTH_SUBJECT.render(
                         prosecutionCase.getReference(),
                         defendant.getFirstName(),
                         defendant.getLastName().toUpperCase(),
                         formatDateOfBirth(LocalDate.parse(defendant.getDateOfBirth())),
                         nowEdtName);
             } else {
-                return format("Case {0} {1} {2} - {3}",
+                return PERSON_SUBJECT.render(
                         prosecutionCase.getReference(),
                         defendant.getFirstName(),
                         defendant.getLastName().toUpperCase(),
@@ -144,7 +170,7 @@ public class NowEdtEventRule extends AbstractEventRule {
             }
 
         } else {
-            return format("Case {0} {1} - {2}", prosecutionCase.getReference(), defendant.getName(), nowEdtName);
+            return ORGANISATION_SUBJECT.render(prosecutionCase.getReference(), defendant.getName(), nowEdtName);
         }
     }
 
@@ -160,7 +186,7 @@ public class NowEdtEventRule extends AbstractEventRule {
 
     @Override
     protected String prepareBody() {
-        return format("{0}", nowEdtName);
+        return nowEdtName;
     }
 
 }
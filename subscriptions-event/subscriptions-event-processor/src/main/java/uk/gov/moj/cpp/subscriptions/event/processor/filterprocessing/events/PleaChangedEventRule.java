@@ -1,14 +1,15 @@
 package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events;
 
-import static java.util.Arrays.asList;
 import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.toList;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.Section.buildSection;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy.createFilter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.CHANGE_OF_PLEA;
 
 import uk.gov.justice.core.courts.Defendant;
 import uk.gov.justice.core.courts.Offence;
 import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.HearingFacts.CaseFacts;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
@@ -30,23 +31,25 @@ public class PleaChangedEventRule extends HearingEventRule {
         pleaTitle.put("CHANGE_TO_NOT_GUILTY", "Change of Plea: Guilty to Not Guilty");
     }
 
-    private Predicate<Offence> offencePleaChanged = offence -> nonNull(offence.getPlea())
-            && nonNull(offence.getPlea().getPleaValue())
-            && asList("CHANGE_TO_GUILTY_MAGISTRATES_COURT", "CHANGE_TO_NOT_GUILTY").contains(offence.getPlea().getPleaValue());
+    private CaseFacts caseFacts;
 
-    private Predicate<Defendant> defendantHasPlea = defendant -> nonNull(defendant.getOffences())
-            && defendant.getOffences().stream().anyMatch(offencePleaChanged);
+    private Predicate<Offence> offencePleaChanged = offence -> caseFacts.isTriggeredBy(CHANGE_OF_PLEA, offence);
+
+    private Predicate<Defendant> defendantHasPlea = defendant -> caseFacts.isTriggeredBy(CHANGE_OF_PLEA, defendant);
 
     public PleaChangedEventRule(final ProsecutionCase prosecutionCase, final Subscription subscription) {
+        this(prosecutionCase, subscription, HearingFacts.ofCase(prosecutionCase), createFilter(subscription));
+    }
+
+    public PleaChangedEventRule(final ProsecutionCase prosecutionCase, final Subscription subscription, final CaseFacts caseFacts, final AbstractFilterStrategy filterStrategy) {
         this.prosecutionCase = prosecutionCase;
         this.subscription = subscription;
-        this.filterStrategy = createFilter(subscription);
+        this.filterStrategy = filterStrategy;
+        this.caseFacts = caseFacts;
     }
 
     private boolean hasPlea() {
-        return nonNull(prosecutionCase.getDefendants()) && prosecutionCase.getDefendants()
-                .stream()
-                .anyMatch(defendantHasPlea);
+        return caseFacts.hasTrigger(CHANGE_OF_PLEA);
     }
 
     private boolean containsCaseUrn() {
@@ -78,8 +81,19 @@ public class PleaChangedEventRule extends HearingEventRule {
         return subscription;
     }
 
-    protected List<Section> getSections() {
-        return filterStrategy.filterDefendants(prosecutionCase)
+    @Override
+    protected ProsecutionCase getProsecutionCase() {
+        return prosecutionCase;
+    }
+
+    @Override
+    protected List<Defendant> filterDefendants() {
+        return filterStrategy.filterDefendants(prosecutionCase);
+    }
+
+    @Override
+    protected List<Section> getSections(final List<Defendant> filteredDefendants) {
+        return filteredDefendants
                 .stream()
                 .filter(defendantHasPlea)
                 .flatMap(a -> this.prepareDefendantsInfo(a).stream())
@@ -4,10 +4,12 @@ import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.toList;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.Section.buildSection;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy.createFilter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.PLEAS_ENTER;
 
 import uk.gov.justice.core.courts.Defendant;
 import uk.gov.justice.core.courts.Offence;
 import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.HearingFacts.CaseFacts;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
@@ -20,21 +22,24 @@ public class PleaEnteredEventRule extends HearingEventRule {
     private ProsecutionCase prosecutionCase;
     private Subscription subscription;
     private AbstractFilterStrategy filterStrategy;
-    private Predicate<Offence> offenceHasPlea = offence -> nonNull(offence.getPlea()) && nonNull(offence.getPlea().getPleaValue());
-    private Predicate<Defendant> defendantHasPlea = defendant -> nonNull(defendant.getPersonDefendant()) && nonNull(defendant.getOffences()) &&
-            defendant.getOffences().stream().anyMatch(offenceHasPlea);
+    private CaseFacts caseFacts;
+    private Predicate<Offence> offenceHasPlea = offence -> caseFacts.isTriggeredBy(PLEAS_ENTER, offence);
+    private Predicate<Defendant> defendantHasPlea = defendant -> caseFacts.isTriggeredBy(PLEAS_ENTER, defendant);
     private static String PLEA_TITLE = "Plea: ";
 
     public PleaEnteredEventRule(final ProsecutionCase prosecutionCase, final Subscription subscription) {
+        this(prosecutionCase, subscription, HearingFacts.ofCase(prosecutionCase), createFilter(subscription));
+    }
+
+    public PleaEnteredEventRule(final ProsecutionCase prosecutionCase, final Subscription subscription, final CaseFacts caseFacts, final AbstractFilterStrategy filterStrategy) {
         this.prosecutionCase = prosecutionCase;
         this.subscription = subscription;
-        this.filterStrategy = createFilter(subscription);
+        this.filterStrategy = filterStrategy;
+        this.caseFacts = caseFacts;
     }
 
     private boolean hasPlea() {
-        return nonNull(prosecutionCase.getDefendants()) && prosecutionCase.getDefendants()
-                .stream()
-                .anyMatch(defendantHasPlea);
+        return caseFacts.hasTrigger(PLEAS_ENTER);
     }
 
     private boolean containsCaseUrn() {
@@ -66,8 +71,19 @@ public class PleaEnteredEventRule extends HearingEventRule {
         return subscription;
     }
 
-    protected List<Section> getSections() {
-        return filterStrategy.filterDefendants(prosecutionCase)
+    @Override
+    protected ProsecutionCase getProsecutionCase() {
+        return prosecutionCase;
+    }
+
+    @Override
+    protected List<Defendant> filterDefendants() {
+        return filterStrategy.filterDefendants(prosecutionCase);
+    }
+
+    @Override
+    protected List<Section> getSections(final List<Defendant> filteredDefendants) {
+        return filteredDefendants
                 .stream()
                 .filter(defendantHasPlea)
                 .flatMap(a -> this.prepareDefendantsInfo(a).stream())
@@ -1,13 +1,14 @@
 package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events;
 
-import static java.text.MessageFormat.format;
 import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.toList;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.Section.buildSection;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy.createFilter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.PRE_SENTENCE_REPORT_REQUESTED;
 
 import uk.gov.justice.core.courts.Defendant;
 import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.HearingFacts.CaseFacts;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
@@ -16,26 +17,25 @@ import java.util.UUID;
 import java.util.function.Predicate;
 
 public class PreSentenceReportEventRule extends HearingEventRule {
-    private static final String PRE_SENTENCE_REPORT_RESULT_DEFINITION_ID = "029d370b-90f5-4650-b985-a61e9ec8db99";
     private ProsecutionCase prosecutionCase;
     private Subscription subscription;
     private AbstractFilterStrategy filterStrategy;
-    private Predicate<Defendant> preSentenceReportExists = defendant -> nonNull(defendant.getOffences()) && defendant.getOffences().stream()
-            .filter(a -> nonNull(a.getJudicialResults()))
-            .flatMap(a -> a.getJudicialResults().stream())
-            .anyMatch(a -> nonNull(a.getJudicialResultTypeId()) &&
-                    (PRE_SENTENCE_REPORT_RESULT_DEFINITION_ID.equals(a.getJudicialResultTypeId().toString())));
+    private CaseFacts caseFacts;
+    private Predicate<Defendant> preSentenceReportExists = defendant -> caseFacts.isTriggeredBy(PRE_SENTENCE_REPORT_REQUESTED, defendant);
 
     public PreSentenceReportEventRule(ProsecutionCase prosecutionCase, Subscription subscription) {
+        this(prosecutionCase, subscription, HearingFacts.ofCase(prosecutionCase), createFilter(subscription));
+    }
+
+    public PreSentenceReportEventRule(final ProsecutionCase prosecutionCase, final Subscription subscription, final CaseFacts caseFacts, final AbstractFilterStrategy filterStrategy) {
         this.prosecutionCase = prosecutionCase;
         this.subscription = subscription;
-        this.filterStrategy = createFilter(subscription);
+        this.filterStrategy = filterStrategy;
+        this.caseFacts = caseFacts;
     }
 
     private boolean hasPreSentenceReport() {
-        return nonNull(prosecutionCase.getDefendants()) && prosecutionCase.getDefendants()
-                .stream()
-                .anyMatch(preSentenceReportExists);
+        return caseFacts.hasTrigger(PRE_SENTENCE_REPORT_REQUESTED);
     }
 
     private boolean containsCaseUrn() {
@@ -67,8 +67,19 @@ public class PreSentenceReportEventRule extends HearingEventRule {
         return subscription;
     }
 
-    protected List<Section> getSections() {
-        return filterStrategy.filterDefendants(prosecutionCase)
+    @Override
+    protected ProsecutionCase getProsecutionCase() {
+        return prosecutionCase;
+    }
+
+    @Override
+    protected List<Defendant> filterDefendants() {
+        return filterStrategy.filterDefendants(prosecutionCase);
+    }
+
+    @Override
+    protected List<Section> getSections(final List<Defendant> filteredDefendants) {
+        return filteredDefendants
                 .stream()
                 .filter(preSentenceReportExists)
                 .map(a -> buildSection(prepareDefendantLine(a)))
@@ -3,17 +3,19 @@ package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events;
 import static java.lang.String.format;
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
-import static java.util.Optional.ofNullable;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.ObjectUtils.notEqual;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.Section.buildSection;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy.createFilter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.REMAND_STATUS;
 
 import uk.gov.justice.core.courts.Defendant;
 import uk.gov.justice.core.courts.Hearing;
 import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.HearingFacts.CaseFacts;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy;
-import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingService;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingSnapshot;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingSnapshotCache;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
 import java.util.List;
@@ -27,21 +29,35 @@ public class RemandStatusChangedEventRule extends HearingEventRule {
     private ProsecutionCase prosecutionCase;
     private Subscription subscription;
     private AbstractFilterStrategy filterStrategy;
-    private HearingService hearingService;
+    private HearingSnapshotCache hearingSnapshotCache;
+    private CaseFacts caseFacts;
 
     private Predicate<Defendant> bailStatusChanged =
-            defendant -> nonNull(defendant.getPersonDefendant()) && nonNull(defendant.getPersonDefendant().getBailStatus())
-                    && defendantBailStatusChanged(defendant);
+            defendant -> caseFacts.isTriggeredBy(REMAND_STATUS, defendant) && defendantBailStatusChanged(defendant);
 
     public RemandStatusChangedEventRule(final Hearing resultedHearing,
                                         final ProsecutionCase prosecutionCase,
                                         final Subscription subscription,
-                                        final HearingService hearingService) {
+                                        final HearingSnapshotCache hearingSnapshotCache) {
+        this(resultedHearing, prosecutionCase, subscription, hearingSnapshotCache, HearingFacts.of(resultedHearing).forCase(prosecutionCase), createFilter(subscription));
+    }
+
+    /**
+     * The case facts hold the defendants with a bail status on a non SJP hearing, so only those
+     * are compared with the current hearing.
+     */
+    public RemandStatusChangedEventRule(final Hearing resultedHearing,
+                                        final ProsecutionCase prosecutionCase,
+                                        final Subscription subscription,
+                                        final HearingSnapshotCache hearingSnapshotCache,
+                                        final CaseFacts caseFacts,
+                                        final AbstractFilterStrategy filterStrategy) {
         this.resultedHearing = resultedHearing;
         this.prosecutionCase = prosecutionCase;
         this.subscription = subscription;
-        this.filterStrategy = createFilter(subscription);
-        this.hearingService = hearingService;
+        this.filterStrategy = filterStrategy;
+        this.hearingSnapshotCache = hearingSnapshotCache;
+        this.caseFacts = caseFacts;
     }
 
     private boolean hasBailStatusChanged() {
@@ -53,14 +69,10 @@ public class RemandStatusChangedEventRule extends HearingEventRule {
 
     @Override
     public boolean shouldExecute() {
-        return !isSjpCase() && containsCaseUrn()
+        return caseFacts.hasTrigger(REMAND_STATUS) && containsCaseUrn()
                 && hasBailStatusChanged() && filterStrategy.caseMatches(prosecutionCase);
     }
 
-    private boolean isSjpCase() {
-        return ofNullable(resultedHearing.getIsSJPHearing()).orElse(false);
-    }
-
     private boolean containsCaseUrn() {
         return nonNull(prosecutionCase.getProsecutionCaseIdentifier().getCaseURN());
     }
@@ -86,14 +98,9 @@ public class RemandStatusChangedEventRule extends HearingEventRule {
     }
 
     private boolean defendantBailStatusChanged(final Defendant resultedDefendant) {
-
-        final Optional<ProsecutionCase> currentProsecutionCaseOptional = findProsecutionCaseFromCurrentHearing();
-
-        return currentProsecutionCaseOptional.map(aCase -> aCase.getDefendants()
-                .stream()
-                .filter(a -> a.getId().equals(resultedDefendant.getId()))
-                .anyMatch(a -> notEqual(findBailStatus(resultedDefendant), findBailStatus(a)))).orElse(false);
-
+        return findDefendantFromCurrentHearing(resultedDefendant.getId())
+                .map(a -> notEqual(findBailStatus(resultedDefendant), findBailStatus(a)))
+                .orElse(false);
     }
 
     private String findBailStatus(final Defendant defendant) {
@@ -108,17 +115,25 @@ public class RemandStatusChangedEventRule extends HearingEventRule {
 
     }
 
-    private Optional<ProsecutionCase> findProsecutionCaseFromCurrentHearing() {
-        final Optional<Hearing> hearingOptional = hearingService.getHearing(resultedHearing.getId());
+    private Optional<Defendant> findDefendantFromCurrentHearing(final UUID defendantId) {
+        final Optional<HearingSnapshot> hearingOptional = hearingSnapshotCache.getHearing(resultedHearing.getId());
 
-        return hearingOptional.flatMap(hearing -> hearing.getProsecutionCases()
-                .stream()
-                .filter(a -> a.getId().equals(this.prosecutionCase.getId()))
-                .findFirst());
+        return hearingOptional.flatMap(hearing -> hearing.findDefendant(this.prosecutionCase.getId(), defendantId));
+    }
+
+    @Override
+    protected ProsecutionCase getProsecutionCase() {
+        return prosecutionCase;
     }
 
-    protected List<Section> getSections() {
-        return filterStrategy.filterDefendants(prosecutionCase)
+    @Override
+    protected List<Defendant> filterDefendants() {
+        return filterStrategy.filterDefendants(prosecutionCase);
+    }
+
+    @Override
+    protected List<Section> getSections(final List<Defendant> filteredDefendants) {
+        return filteredDefendants
                 .stream()
                 .filter(bailStatusChanged)
                 .map(a -> buildSection(prepareDefendantLine(a), findBailStatus(a)))
@@ -0,0 +1,100 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Email text rendered while processing one hearing event, shared by every subscription whose
+ * filter selects the same defendants of the same case for the same event rule.
+ * Create one per event; it may be shared by rules evaluated in parallel.
+ */
+public class RenderedMessageCache {
+
+    private final Map<Key, RenderedMessage> messages = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+
+    public RenderedMessage render(final Key key, final Supplier<RenderedMessage> renderer) {
+        final RenderedMessage cached = messages.get(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        return messages.computeIfAbsent(key, k -> renderer.get());
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public int size() {
+        return messages.size();
+    }
+
+    public static Key key(final Class<?> rule, final Object... parts) {
+        return new Key(rule, parts);
+    }
+
+    public static final class Key {
+        private final Class<?> rule;
+        private final List<Object> parts;
+
+        private Key(final Class<?> rule, final Object... parts) {
+            this.rule = rule;
+            this.parts = unmodifiableList(asList(parts));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            final Key that = (Key) o;
+            return rule.equals(that.rule) && parts.equals(that.parts);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(rule, parts);
+        }
+    }
+
+    public static final class RenderedMessage {
+        private final String title;
+        private final String subject;
+        private final String body;
+        private final String caseLink;
+
+        public RenderedMessage(final String title, final String subject, final String body, final String caseLink) {
+            this.title = title;
+            this.subject = subject;
+            this.body = body;
+            this.caseLink = caseLink;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public String getBody() {
+            return body;
+        }
+
+        public String getCaseLink() {
+            return caseLink;
+        }
+    }
+}
@@ -1,14 +1,17 @@
 package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events;
 
-import static java.lang.Boolean.TRUE;
-import static java.text.MessageFormat.format;
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Objects.nonNull;
+import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.MessageTemplate.compile;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.Section.buildSection;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy.createFilter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.CRACKED_OR_INEFFECTIVE_TRAIL;
 
+import uk.gov.justice.core.courts.Defendant;
 import uk.gov.justice.core.courts.Hearing;
 import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.HearingFacts.CaseFacts;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
@@ -17,16 +20,24 @@ import java.util.UUID;
 
 public class TrialEffectivenessEventRule extends HearingEventRule {
 
+    private static final MessageTemplate TRIAL_EFFECTIVENESS_LINE = compile("Trial for case {0} is {1}");
+
     private Hearing hearing;
     private ProsecutionCase prosecutionCase;
     private Subscription subscription;
     private AbstractFilterStrategy filterStrategy;
+    private CaseFacts caseFacts;
 
     public TrialEffectivenessEventRule(final Hearing hearing, final ProsecutionCase prosecutionCase, final Subscription subscription) {
+        this(hearing, prosecutionCase, subscription, HearingFacts.of(hearing).forCase(prosecutionCase), createFilter(subscription));
+    }
+
+    public TrialEffectivenessEventRule(final Hearing hearing, final ProsecutionCase prosecutionCase, final Subscription subscription, final CaseFacts caseFacts, final AbstractFilterStrategy filterStrategy) {
         this.hearing = hearing;
         this.prosecutionCase = prosecutionCase;
         this.subscription = subscription;
-        this.filterStrategy = createFilter(subscription);
+        this.filterStrategy = filterStrategy;
+        this.caseFacts = caseFacts;
     }
 
     @Override
@@ -35,8 +46,7 @@ public class TrialEffectivenessEventRule extends HearingEventRule {
     }
 
     private boolean hasTrialEffectiveness() {
-        return nonNull(hearing.getCrackedIneffectiveTrial()) ||
-                TRUE.equals(hearing.getIsEffectiveTrial());
+        return caseFacts.hasTrigger(CRACKED_OR_INEFFECTIVE_TRAIL);
     }
 
     private boolean containsCaseUrn() {
@@ -63,8 +73,19 @@ public class TrialEffectivenessEventRule extends HearingEventRule {
         return subscription;
     }
 
-    protected List<Section> getSections() {
+    @Override
+    protected ProsecutionCase getProsecutionCase() {
+        return prosecutionCase;
+    }
+
+    @Override
+    protected List<Defendant> filterDefendants() {
+        return emptyList();
+    }
+
+    @Override
+    protected List<Section> getSections(final List<Defendant> filteredDefendants) {
         final String trialEffectiveness = nonNull(hearing.getCrackedIneffectiveTrial()) ? hearing.getCrackedIneffectiveTrial().getType() : "Effective";
-        return asList(buildSection(format("Trial for case {0} is {1}", getCaseUrn(), trialEffectiveness)));
+        return asList(buildSection(TRIAL_EFFECTIVENESS_LINE.render(getCaseUrn(), trialEffectiveness)));
     }
 }
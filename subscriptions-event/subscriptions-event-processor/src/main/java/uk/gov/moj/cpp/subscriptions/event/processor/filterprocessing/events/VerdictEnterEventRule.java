@@ -4,10 +4,12 @@ import static java.util.Objects.nonNull;
 import static java.util.stream.Collectors.toList;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.Section.buildSection;
 import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy.createFilter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.VERDICTS_ENTER;
 
 import uk.gov.justice.core.courts.Defendant;
 import uk.gov.justice.core.courts.Offence;
 import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.HearingFacts.CaseFacts;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
@@ -20,16 +22,21 @@ public class VerdictEnterEventRule extends HearingEventRule {
     private ProsecutionCase prosecutionCase;
     private Subscription subscription;
     private AbstractFilterStrategy filterStrategy;
-    private Predicate<Offence> offenceHasVerdict = offence -> nonNull(offence.getVerdict()) && nonNull(offence.getVerdict().getVerdictType());
-    private Predicate<Defendant> defendantHasVerdict = defendant -> nonNull(defendant.getOffences()) &&
-            defendant.getOffences().stream().anyMatch(offenceHasVerdict);
+    private CaseFacts caseFacts;
+    private Predicate<Offence> offenceHasVerdict = offence -> caseFacts.isTriggeredBy(VERDICTS_ENTER, offence);
+    private Predicate<Defendant> defendantHasVerdict = defendant -> caseFacts.isTriggeredBy(VERDICTS_ENTER, defendant);
     private static String VERDICT_TITLE = "Verdict: ";
 
 
     public VerdictEnterEventRule(ProsecutionCase prosecutionCase, Subscription subscription) {
+        this(prosecutionCase, subscription, HearingFacts.ofCase(prosecutionCase), createFilter(subscription));
+    }
+
+    public VerdictEnterEventRule(final ProsecutionCase prosecutionCase, final Subscription subscription, final CaseFacts caseFacts, final AbstractFilterStrategy filterStrategy) {
         this.prosecutionCase = prosecutionCase;
         this.subscription = subscription;
-        this.filterStrategy = createFilter(subscription);
+        this.filterStrategy = filterStrategy;
+        this.caseFacts = caseFacts;
     }
 
     @Override
@@ -38,9 +45,7 @@ public class VerdictEnterEventRule extends HearingEventRule {
     }
 
     private boolean hasVerdict() {
-        return nonNull(prosecutionCase.getDefendants()) && prosecutionCase.getDefendants()
-                .stream()
-                .anyMatch(defendantHasVerdict);
+        return caseFacts.hasTrigger(VERDICTS_ENTER);
     }
 
     private boolean containsCaseUrn() {
@@ -67,8 +72,19 @@ public class VerdictEnterEventRule extends HearingEventRule {
         return subscription;
     }
 
-    protected List<Section> getSections() {
-        return filterStrategy.filterDefendants(prosecutionCase)
+    @Override
+    protected ProsecutionCase getProsecutionCase() {
+        return prosecutionCase;
+    }
+
+    @Override
+    protected List<Defendant> filterDefendants() {
+        return filterStrategy.filterDefendants(prosecutionCase);
+    }
+
+    @Override
+    protected List<Section> getSections(final List<Defendant> filteredDefendants) {
+        return filteredDefendants
                 .stream()
                 .filter(defendantHasVerdict)
                 .flatMap(a -> this.prepareDefendantsInfo(a).stream())
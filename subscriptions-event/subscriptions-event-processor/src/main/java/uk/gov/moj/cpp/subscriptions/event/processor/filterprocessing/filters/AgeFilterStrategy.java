@@ -1,44 +1,50 @@
 package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters;
 
-import static java.util.Objects.isNull;
-import static java.util.stream.Collectors.toList;
+import static java.lang.Boolean.TRUE;
+import static java.util.Objects.nonNull;
 
 import uk.gov.justice.core.courts.Defendant;
 import uk.gov.justice.core.courts.ProsecutionCase;
-import uk.gov.moj.cpp.subscriptions.json.schemas.Filter;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Predicate;
 
 
 public class AgeFilterStrategy implements AbstractFilterStrategy {
-    private Filter filter;
-    private Predicate<Defendant> defendantAgePredicate = a ->
-            (isAdult(a).equals(filter.getIsAdult()));
 
+    private final Boolean isAdult;
 
     public AgeFilterStrategy(final Subscription subscription) {
-        this.filter = subscription.getFilter();
+        this.isAdult = subscription.getFilter().getIsAdult();
     }
 
     @Override
     public boolean caseMatches(final ProsecutionCase prosecutionCase) {
-        return prosecutionCase
-                .getDefendants()
-                .stream()
-                .anyMatch(defendantAgePredicate);
+        for (final Defendant defendant : prosecutionCase.getDefendants()) {
+            if (matches(defendant)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public List<Defendant> filterDefendants(final ProsecutionCase prosecutionCase) {
-        return prosecutionCase.getDefendants()
-                .stream()
-                .filter(defendantAgePredicate)
-                .collect(toList());
+        final List<Defendant> defendants = new ArrayList<>();
+        for (final Defendant defendant : prosecutionCase.getDefendants()) {
+            if (matches(defendant)) {
+                defendants.add(defendant);
+            }
+        }
+        return defendants;
     }
 
-    private Boolean isAdult(final Defendant a) {
-        return isNull(a.getIsYouth()) || Boolean.FALSE.equals(a.getIsYouth());
+    private boolean matches(final Defendant defendant) {
+        return nonNull(isAdult) && isAdult == isAdult(defendant);
+    }
+
+    private static boolean isAdult(final Defendant defendant) {
+        return !TRUE.equals(defendant.getIsYouth());
     }
 }
@@ -1,46 +1,60 @@
 package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
-import static java.util.stream.Collectors.toList;
 
 import uk.gov.justice.core.courts.Defendant;
+import uk.gov.justice.core.courts.Person;
 import uk.gov.justice.core.courts.ProsecutionCase;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Filter;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Predicate;
 
 public class DefendantFilterStrategy implements AbstractFilterStrategy {
 
-    private Filter filter;
-    private Predicate<Defendant> defendantPredicate = a ->
-    {
-        final boolean personDefendantPredicate = nonNull(a.getPersonDefendant()) && nonNull(a.getPersonDefendant().getPersonDetails());
-
-        return personDefendantPredicate && filter.getDefendant().getFirstName().equalsIgnoreCase(a.getPersonDefendant().getPersonDetails().getFirstName()) &&
-                filter.getDefendant().getLastName().equalsIgnoreCase(a.getPersonDefendant().getPersonDetails().getLastName()) &&
-                filter.getDefendant().getDateOfBirth().equals(a.getPersonDefendant().getPersonDetails().getDateOfBirth());
-    };
-
+    private final String firstName;
+    private final String lastName;
+    private final LocalDate dateOfBirth;
 
     public DefendantFilterStrategy(final Subscription subscription) {
-        this.filter = subscription.getFilter();
+        final Filter filter = subscription.getFilter();
+        final boolean hasDefendant = nonNull(filter.getDefendant());
+        this.firstName = hasDefendant ? filter.getDefendant().getFirstName() : null;
+        this.lastName = hasDefendant ? filter.getDefendant().getLastName() : null;
+        this.dateOfBirth = hasDefendant ? filter.getDefendant().getDateOfBirth() : null;
     }
 
     @Override
     public boolean caseMatches(final ProsecutionCase prosecutionCase) {
-        return prosecutionCase
-                .getDefendants()
-                .stream()
-                .anyMatch(defendantPredicate);
+        for (final Defendant defendant : prosecutionCase.getDefendants()) {
+            if (matches(defendant)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
     public List<Defendant> filterDefendants(final ProsecutionCase prosecutionCase) {
-        return prosecutionCase.getDefendants()
-                .stream()
-                .filter(defendantPredicate)
-                .collect(toList());
+        final List<Defendant> defendants = new ArrayList<>();
+        for (final Defendant defendant : prosecutionCase.getDefendants()) {
+            if (matches(defendant)) {
+                defendants.add(defendant);
+            }
+        }
+        return defendants;
+    }
+
+    private boolean matches(final Defendant defendant) {
+        if (isNull(defendant.getPersonDefendant()) || isNull(defendant.getPersonDefendant().getPersonDetails())) {
+            return false;
+        }
+        final Person personDetails = defendant.getPersonDefendant().getPersonDetails();
+        return nonNull(firstName) && firstName.equalsIgnoreCase(personDetails.getFirstName())
+                && nonNull(lastName) && lastName.equalsIgnoreCase(personDetails.getLastName())
+                && nonNull(dateOfBirth) && dateOfBirth.equals(personDetails.getDateOfBirth());
     }
 }
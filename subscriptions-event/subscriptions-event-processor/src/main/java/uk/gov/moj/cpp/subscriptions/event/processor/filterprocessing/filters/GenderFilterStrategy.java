@@ -1,40 +1,60 @@
 package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters;
 
+import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
-import static java.util.stream.Collectors.toList;
 
 import uk.gov.justice.core.courts.Defendant;
+import uk.gov.justice.core.courts.Gender;
 import uk.gov.justice.core.courts.ProsecutionCase;
-import uk.gov.moj.cpp.subscriptions.json.schemas.Filter;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
+import java.util.ArrayList;
 import java.util.List;
-import java.util.function.Predicate;
 
 public class GenderFilterStrategy implements AbstractFilterStrategy {
-    private Filter filter;
-    private Predicate<Defendant> genderPredicate = a ->
-            nonNull(a.getPersonDefendant()) && nonNull(a.getPersonDefendant().getPersonDetails()) &&
-                    nonNull(a.getPersonDefendant().getPersonDetails().getGender()) &&
-                    filter.getGender().name().equalsIgnoreCase(a.getPersonDefendant().getPersonDetails().getGender().name());
+
+    private final Gender gender;
 
     public GenderFilterStrategy(final Subscription subscription) {
-        this.filter = subscription.getFilter();
+        this.gender = genderOf(subscription.getFilter().getGender());
     }
 
     @Override
     public boolean caseMatches(final ProsecutionCase prosecutionCase) {
-        return prosecutionCase
-                .getDefendants()
-                .stream()
-                .anyMatch(genderPredicate);
+        for (final Defendant defendant : prosecutionCase.getDefendants()) {
+            if (matches(defendant)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
-    public List<uk.gov.justice.core.courts.Defendant> filterDefendants(ProsecutionCase prosecutionCase) {
-        return prosecutionCase.getDefendants()
-                .stream()
-                .filter(genderPredicate)
-                .collect(toList());
+    public List<Defendant> filterDefendants(final ProsecutionCase prosecutionCase) {
+        final List<Defendant> defendants = new ArrayList<>();
+        for (final Defendant defendant : prosecutionCase.getDefendants()) {
+            if (matches(defendant)) {
+                defendants.add(defendant);
+            }
+        }
+        return defendants;
+    }
+
+    private boolean matches(final Defendant defendant) {
+        return nonNull(gender) && nonNull(defendant.getPersonDefendant()) && nonNull(defendant.getPersonDefendant().getPersonDetails())
+                && gender == defendant.getPersonDefendant().getPersonDetails().getGender();
+    }
+
+    // the subscription and hearing models have their own gender enums, matched by name
+    private static Gender genderOf(final uk.gov.moj.cpp.subscriptions.json.schemas.Gender filterGender) {
+        if (isNull(filterGender)) {
+            return null;
+        }
+        for (final Gender gender : Gender.values()) {
+            if (gender.name().equalsIgnoreCase(filterGender.name())) {
+                return gender;
+            }
+        }
+        return null;
     }
 }
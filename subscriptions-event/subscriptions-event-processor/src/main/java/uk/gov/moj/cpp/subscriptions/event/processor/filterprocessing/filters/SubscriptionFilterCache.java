@@ -0,0 +1,73 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters;
+
+import static java.util.Objects.isNull;
+import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.AbstractFilterStrategy.createFilter;
+
+import uk.gov.moj.cpp.subscriptions.json.schemas.Filter;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * Filter strategies compiled once per subscription and reused by the rules of every hearing
+ * event. An entry is keyed by the subscription id and a version that moves on with every event
+ * of the subscription handled by this processor; as a subscription can also change on another
+ * node, an entry is only reused while the filter it was compiled from is still equal to the one
+ * of the subscription.
+ */
+@ApplicationScoped
+public class SubscriptionFilterCache {
+
+    private final Map<UUID, Long> versions = new ConcurrentHashMap<>();
+    private final Map<UUID, CompiledFilter> compiledFilters = new ConcurrentHashMap<>();
+
+    public AbstractFilterStrategy filterFor(final Subscription subscription) {
+        final UUID subscriptionId = subscription.getId();
+        if (isNull(subscriptionId)) {
+            return createFilter(subscription);
+        }
+
+        final long version = versions.getOrDefault(subscriptionId, 0L);
+        final CompiledFilter compiled = compiledFilters.get(subscriptionId);
+        if (compiled != null && compiled.isFor(version, subscription.getFilter())) {
+            return compiled.filterStrategy;
+        }
+
+        // an entry put after a racing change carries the old version and is not reused
+        final CompiledFilter recompiled = new CompiledFilter(version, subscription.getFilter(), createFilter(subscription));
+        compiledFilters.put(subscriptionId, recompiled);
+        return recompiled.filterStrategy;
+    }
+
+    public void subscriptionChanged(final UUID subscriptionId) {
+        if (isNull(subscriptionId)) {
+            return;
+        }
+        versions.merge(subscriptionId, 1L, Long::sum);
+        compiledFilters.remove(subscriptionId);
+    }
+
+    public int size() {
+        return compiledFilters.size();
+    }
+
+    private static class CompiledFilter {
+        private final long version;
+        private final Filter filter;
+        private final AbstractFilterStrategy filterStrategy;
+
+        CompiledFilter(final long version, final Filter filter, final AbstractFilterStrategy filterStrategy) {
+            this.version = version;
+            this.filter = filter;
+            this.filterStrategy = filterStrategy;
+        }
+
+        boolean isFor(final long subscriptionVersion, final Filter subscriptionFilter) {
+            return version == subscriptionVersion && (filter == subscriptionFilter || filter.equals(subscriptionFilter));
+        }
+    }
+}
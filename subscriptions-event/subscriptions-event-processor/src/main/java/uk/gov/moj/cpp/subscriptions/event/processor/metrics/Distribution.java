@@ -0,0 +1,63 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.metrics;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the values of a timer or histogram without locking. Values are counted in power of two
+ * buckets, so percentiles are reported as the upper bound of the bucket they fall in.
+ */
+public class Distribution {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder total = new LongAdder();
+    private final LongAccumulator maximum = new LongAccumulator(Math::max, 0);
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    public Distribution() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            buckets[bucket] = new LongAdder();
+        }
+    }
+
+    public void record(final long value) {
+        final long recorded = max(value, 0);
+        count.increment();
+        total.add(recorded);
+        maximum.accumulate(recorded);
+        buckets[Long.SIZE - numberOfLeadingZeros(recorded)].increment();
+    }
+
+    public DistributionSnapshot snapshot() {
+        final long[] counts = new long[BUCKETS];
+        long snapshotCount = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            counts[bucket] = buckets[bucket].sum();
+            snapshotCount += counts[bucket];
+        }
+        final long snapshotMaximum = maximum.get();
+        return new DistributionSnapshot(count.sum(), total.sum(), snapshotMaximum,
+                percentile(counts, snapshotCount, snapshotMaximum, 0.5),
+                percentile(counts, snapshotCount, snapshotMaximum, 0.95),
+                percentile(counts, snapshotCount, snapshotMaximum, 0.99));
+    }
+
+    private static long percentile(final long[] counts, final long snapshotCount, final long snapshotMaximum, final double percentile) {
+        final long rank = (long) ceil(snapshotCount * percentile);
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += counts[bucket];
+            if (seen >= rank && seen > 0) {
+                return min((1L << bucket) - 1, snapshotMaximum);
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,51 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.metrics;
+
+import java.beans.ConstructorProperties;
+
+public class DistributionSnapshot {
+
+    private final long count;
+    private final long total;
+    private final long max;
+    private final long p50;
+    private final long p95;
+    private final long p99;
+
+    @ConstructorProperties({"count", "total", "max", "p50", "p95", "p99"})
+    public DistributionSnapshot(final long count, final long total, final long max, final long p50, final long p95, final long p99) {
+        this.count = count;
+        this.total = total;
+        this.max = max;
+        this.p50 = p50;
+        this.p95 = p95;
+        this.p99 = p99;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getMax() {
+        return max;
+    }
+
+    public long getMean() {
+        return count == 0 ? 0 : total / count;
+    }
+
+    public long getP50() {
+        return p50;
+    }
+
+    public long getP95() {
+        return p95;
+    }
+
+    public long getP99() {
+        return p99;
+    }
+}
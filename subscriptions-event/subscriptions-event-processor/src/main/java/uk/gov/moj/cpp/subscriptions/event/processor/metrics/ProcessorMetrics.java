@@ -0,0 +1,144 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.metrics;
+
+import static java.util.Objects.nonNull;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import uk.gov.moj.cpp.subscriptions.json.schemas.Events;
+import uk.gov.moj.cpp.subscriptions.json.schemas.FilterType;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.enterprise.context.ApplicationScoped;
+
+/**
+ * Timings and counts of the hot path of the event processor. Handler and remote call timings are
+ * recorded in microseconds; rule outcomes are counted per subscribed event and per filter type,
+ * where a match is a rule that produced an email. Suppressed duplicates counts the events dropped
+ * as a second copy of an event already processed.
+ */
+@ApplicationScoped
+public class ProcessorMetrics {
+
+    private final ConcurrentMap<String, Distribution> handlerTimings = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Distribution> remoteCallTimings = new ConcurrentHashMap<>();
+    private final Distribution subscriptionsPerCourt = new Distribution();
+    private final Distribution rulesPerEvent = new Distribution();
+    private final Distribution emailsPerEvent = new Distribution();
+    private final Distribution remoteCallsPerEvent = new Distribution();
+    private final Map<Events, Outcomes> eventOutcomes = new EnumMap<>(Events.class);
+    private final Map<FilterType, Outcomes> filterOutcomes = new EnumMap<>(FilterType.class);
+    private final LongAdder suppressedDuplicates = new LongAdder();
+
+    public ProcessorMetrics() {
+        for (final Events event : Events.values()) {
+            eventOutcomes.put(event, new Outcomes());
+        }
+        for (final FilterType filterType : FilterType.values()) {
+            filterOutcomes.put(filterType, new Outcomes());
+        }
+    }
+
+    public void recordHandler(final String eventName, final long startedAtNanos) {
+        handlerTimings.computeIfAbsent(eventName, name -> new Distribution()).record(microsSince(startedAtNanos));
+    }
+
+    public void recordRemoteCall(final String queryName, final long startedAtNanos) {
+        remoteCallTimings.computeIfAbsent(queryName, name -> new Distribution()).record(microsSince(startedAtNanos));
+    }
+
+    public void recordSubscriptionsPerCourt(final int subscriptions) {
+        subscriptionsPerCourt.record(subscriptions);
+    }
+
+    public void recordEvent(final long rules, final int emails, final long remoteCalls) {
+        rulesPerEvent.record(rules);
+        emailsPerEvent.record(emails);
+        remoteCallsPerEvent.record(remoteCalls);
+    }
+
+    public void recordRule(final Events event, final FilterType filterType, final boolean matched) {
+        if (nonNull(event)) {
+            eventOutcomes.get(event).record(matched);
+        }
+        if (nonNull(filterType)) {
+            filterOutcomes.get(filterType).record(matched);
+        }
+    }
+
+    public void recordSuppressedDuplicate() {
+        suppressedDuplicates.increment();
+    }
+
+    public Map<String, DistributionSnapshot> getHandlerTimings() {
+        return snapshotOf(handlerTimings);
+    }
+
+    public Map<String, DistributionSnapshot> getRemoteCallTimings() {
+        return snapshotOf(remoteCallTimings);
+    }
+
+    public DistributionSnapshot getSubscriptionsPerCourt() {
+        return subscriptionsPerCourt.snapshot();
+    }
+
+    public DistributionSnapshot getRulesPerEvent() {
+        return rulesPerEvent.snapshot();
+    }
+
+    public DistributionSnapshot getEmailsPerEvent() {
+        return emailsPerEvent.snapshot();
+    }
+
+    public DistributionSnapshot getRemoteCallsPerEvent() {
+        return remoteCallsPerEvent.snapshot();
+    }
+
+    public Map<String, Long> getEventOutcomes() {
+        return countsOf(eventOutcomes);
+    }
+
+    public Map<String, Long> getFilterOutcomes() {
+        return countsOf(filterOutcomes);
+    }
+
+    public long getSuppressedDuplicates() {
+        return suppressedDuplicates.sum();
+    }
+
+    private static long microsSince(final long startedAtNanos) {
+        return NANOSECONDS.toMicros(System.nanoTime() - startedAtNanos);
+    }
+
+    private static Map<String, DistributionSnapshot> snapshotOf(final Map<String, Distribution> distributions) {
+        final Map<String, DistributionSnapshot> snapshots = new TreeMap<>();
+        distributions.forEach((name, distribution) -> snapshots.put(name, distribution.snapshot()));
+        return snapshots;
+    }
+
+    private static <K extends Enum<K>> Map<String, Long> countsOf(final Map<K, Outcomes> outcomes) {
+        final Map<String, Long> counts = new TreeMap<>();
+        outcomes.forEach((key, outcome) -> {
+            counts.put(key.name() + ".match", outcome.matches.sum());
+            counts.put(key.name() + ".miss", outcome.misses.sum());
+        });
+        return counts;
+    }
+
+    private static class Outcomes {
+        private final LongAdder matches = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+
+        private void record(final boolean matched) {
+            if (matched) {
+                matches.increment();
+            } else {
+                misses.increment();
+            }
+        }
+    }
+}
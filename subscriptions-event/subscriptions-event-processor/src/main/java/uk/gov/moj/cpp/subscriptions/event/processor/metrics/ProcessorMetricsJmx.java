@@ -0,0 +1,99 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.metrics;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.ejb.Singleton;
+import javax.ejb.Startup;
+import javax.inject.Inject;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+
+/**
+ * Exposes the {@link ProcessorMetrics} as the {@value #OBJECT_NAME} MXBean.
+ */
+@Singleton
+@Startup
+public class ProcessorMetricsJmx implements ProcessorMetricsMXBean {
+
+    public static final String OBJECT_NAME = "uk.gov.moj.cpp.subscriptions:type=ProcessorMetrics";
+
+    private static final Logger LOGGER = getLogger(ProcessorMetricsJmx.class);
+
+    @Inject
+    private ProcessorMetrics processorMetrics;
+
+    @PostConstruct
+    public void register() {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, new ObjectName(OBJECT_NAME));
+        } catch (final JMException e) {
+            LOGGER.error("Failed to register {}", OBJECT_NAME, e);
+        }
+    }
+
+    @PreDestroy
+    public void unregister() {
+        final MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            final ObjectName objectName = new ObjectName(OBJECT_NAME);
+            if (mBeanServer.isRegistered(objectName)) {
+                mBeanServer.unregisterMBean(objectName);
+            }
+        } catch (final JMException e) {
+            LOGGER.error("Failed to unregister {}", OBJECT_NAME, e);
+        }
+    }
+
+    @Override
+    public Map<String, DistributionSnapshot> getHandlerTimings() {
+        return processorMetrics.getHandlerTimings();
+    }
+
+    @Override
+    public Map<String, DistributionSnapshot> getRemoteCallTimings() {
+        return processorMetrics.getRemoteCallTimings();
+    }
+
+    @Override
+    public DistributionSnapshot getSubscriptionsPerCourt() {
+        return processorMetrics.getSubscriptionsPerCourt();
+    }
+
+    @Override
+    public DistributionSnapshot getRulesPerEvent() {
+        return processorMetrics.getRulesPerEvent();
+    }
+
+    @Override
+    public DistributionSnapshot getEmailsPerEvent() {
+        return processorMetrics.getEmailsPerEvent();
+    }
+
+    @Override
+    public DistributionSnapshot getRemoteCallsPerEvent() {
+        return processorMetrics.getRemoteCallsPerEvent();
+    }
+
+    @Override
+    public Map<String, Long> getEventOutcomes() {
+        return processorMetrics.getEventOutcomes();
+    }
+
+    @Override
+    public Map<String, Long> getFilterOutcomes() {
+        return processorMetrics.getFilterOutcomes();
+    }
+
+    @Override
+    public long getSuppressedDuplicates() {
+        return processorMetrics.getSuppressedDuplicates();
+    }
+}
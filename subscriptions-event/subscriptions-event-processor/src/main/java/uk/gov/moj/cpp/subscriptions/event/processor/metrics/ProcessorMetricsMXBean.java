@@ -0,0 +1,24 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.metrics;
+
+import java.util.Map;
+
+public interface ProcessorMetricsMXBean {
+
+    Map<String, DistributionSnapshot> getHandlerTimings();
+
+    Map<String, DistributionSnapshot> getRemoteCallTimings();
+
+    DistributionSnapshot getSubscriptionsPerCourt();
+
+    DistributionSnapshot getRulesPerEvent();
+
+    DistributionSnapshot getEmailsPerEvent();
+
+    DistributionSnapshot getRemoteCallsPerEvent();
+
+    Map<String, Long> getEventOutcomes();
+
+    Map<String, Long> getFilterOutcomes();
+
+    long getSuppressedDuplicates();
+}
@@ -25,6 +25,34 @@ public class ApplicationParameters {
     @Value(key = "caseAtaGlanceURI", defaultValue = "prosecution-casefile/case-at-a-glance/")
     private String caseAtaGlanceURI;
 
+    @Inject
+    @Value(key = "courtSubscriptionsCacheMaxSize", defaultValue = "500")
+    private String courtSubscriptionsCacheMaxSize;
+
+    @Inject
+    @Value(key = "courtSubscriptionsCacheTtlSeconds", defaultValue = "10")
+    private String courtSubscriptionsCacheTtlSeconds;
+
+    @Inject
+    @Value(key = "courtSubscriptionsCacheSettleMillis", defaultValue = "10000")
+    private String courtSubscriptionsCacheSettleMillis;
+
+    @Inject
+    @Value(key = "parallelRuleEvaluationEnabled", defaultValue = "false")
+    private String parallelRuleEvaluationEnabled;
+
+    @Inject
+    @Value(key = "parallelRuleEvaluationCaseThreshold", defaultValue = "4")
+    private String parallelRuleEvaluationCaseThreshold;
+
+    @Inject
+    @Value(key = "parallelRuleEvaluationMaxPartitions", defaultValue = "4")
+    private String parallelRuleEvaluationMaxPartitions;
+
+    @Inject
+    @Value(key = "duplicateEventWindowMinutes", defaultValue = "60")
+    private String duplicateEventWindowMinutes;
+
     @Inject
     private MaterialUrlGenerator materialUrlGenerator;
 
@@ -47,4 +75,32 @@ public class ApplicationParameters {
     public String getThirdPartySubscriptionNowsEdtsTemplateId() {
         return thirdPartySubscriptionNowsEdtsTemplateId;
     }
+
+    public int getCourtSubscriptionsCacheMaxSize() {
+        return Integer.parseInt(courtSubscriptionsCacheMaxSize);
+    }
+
+    public long getCourtSubscriptionsCacheTtlSeconds() {
+        return Long.parseLong(courtSubscriptionsCacheTtlSeconds);
+    }
+
+    public long getCourtSubscriptionsCacheSettleMillis() {
+        return Long.parseLong(courtSubscriptionsCacheSettleMillis);
+    }
+
+    public boolean isParallelRuleEvaluationEnabled() {
+        return Boolean.parseBoolean(parallelRuleEvaluationEnabled);
+    }
+
+    public int getParallelRuleEvaluationCaseThreshold() {
+        return Integer.parseInt(parallelRuleEvaluationCaseThreshold);
+    }
+
+    public int getParallelRuleEvaluationMaxPartitions() {
+        return Integer.parseInt(parallelRuleEvaluationMaxPartitions);
+    }
+
+    public long getDuplicateEventWindowMinutes() {
+        return Long.parseLong(duplicateEventWindowMinutes);
+    }
 }
@@ -0,0 +1,167 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.service;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Objects.isNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The subscriptions of a court, cached for the configured TTL. A subscription event reaches this
+ * processor at the same time as the listener that updates the viewstore, so the rows loaded just
+ * after an invalidation may not show the change yet. Entries loaded within the settle period of
+ * the last invalidation therefore expire at the end of that period rather than after the TTL.
+ * <p>
+ * Invalidation only reaches the cache of the node that processed the subscription event, so the
+ * other nodes keep serving what they loaded until it expires. A change to the subscriptions of a
+ * court can therefore go unnoticed for up to the TTL after it is committed to the viewstore,
+ * which is why the TTL defaults to the scale of the settle period.
+ */
+@ApplicationScoped
+public class CourtSubscriptionsCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CourtSubscriptionsCache.class);
+
+    private final Map<UUID, CachedSubscriptions> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long generation;
+    private long settlesAt;
+    private boolean settling;
+
+    @Inject
+    private ApplicationParameters applicationParameters;
+
+    public List<Subscription> getSubscriptions(final UUID courtId, final Supplier<List<Subscription>> loader) {
+        final long loadGeneration;
+        final long loadStartedAt;
+        synchronized (this) {
+            final CachedSubscriptions cached = entries.get(courtId);
+            if (cached != null && !cached.isExpired(System.nanoTime(), ttlNanos())) {
+                hits.increment();
+                return cached.subscriptions;
+            }
+            if (cached != null) {
+                entries.remove(courtId);
+                evictions.increment();
+            }
+            loadGeneration = generation;
+            loadStartedAt = System.nanoTime();
+        }
+
+        misses.increment();
+        final List<Subscription> loaded = loader.get();
+        final List<Subscription> subscriptions = isNull(loaded) ? emptyList() : unmodifiableList(loaded);
+
+        synchronized (this) {
+            // an invalidation that raced with the load may already make this result stale
+            if (loadGeneration == generation) {
+                final boolean loadedWhileSettling = settling && loadStartedAt - settlesAt < 0;
+                entries.put(courtId, new CachedSubscriptions(subscriptions, System.nanoTime(), loadedWhileSettling, settlesAt));
+                evictOverflow();
+            }
+        }
+        return subscriptions;
+    }
+
+    public synchronized void invalidateCourts(final Collection<UUID> courtIds) {
+        invalidated();
+        courtIds.forEach(courtId -> {
+            if (entries.remove(courtId) != null) {
+                LOGGER.debug("Invalidated cached subscriptions for court {}", courtId);
+            }
+        });
+    }
+
+    public synchronized void invalidateSubscription(final UUID subscriptionId) {
+        invalidated();
+        if (isNull(subscriptionId)) {
+            return;
+        }
+
+        final Iterator<Map.Entry<UUID, CachedSubscriptions>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<UUID, CachedSubscriptions> entry = iterator.next();
+            if (entry.getValue().contains(subscriptionId)) {
+                iterator.remove();
+                LOGGER.debug("Invalidated cached subscriptions for court {} after change to subscription {}", entry.getKey(), subscriptionId);
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void invalidated() {
+        generation++;
+        settling = true;
+        settlesAt = System.nanoTime() + MILLISECONDS.toNanos(applicationParameters.getCourtSubscriptionsCacheSettleMillis());
+    }
+
+    private void evictOverflow() {
+        final int maxSize = applicationParameters.getCourtSubscriptionsCacheMaxSize();
+        final Iterator<UUID> leastRecentlyUsed = entries.keySet().iterator();
+        while (entries.size() > maxSize && leastRecentlyUsed.hasNext()) {
+            leastRecentlyUsed.next();
+            leastRecentlyUsed.remove();
+            evictions.increment();
+        }
+    }
+
+    private long ttlNanos() {
+        return SECONDS.toNanos(applicationParameters.getCourtSubscriptionsCacheTtlSeconds());
+    }
+
+    private static class CachedSubscriptions {
+        private final List<Subscription> subscriptions;
+        private final long loadedAt;
+        private final boolean loadedWhileSettling;
+        private final long settlesAt;
+
+        CachedSubscriptions(final List<Subscription> subscriptions, final long loadedAt, final boolean loadedWhileSettling, final long settlesAt) {
+            this.subscriptions = subscriptions;
+            this.loadedAt = loadedAt;
+            this.loadedWhileSettling = loadedWhileSettling;
+            this.settlesAt = settlesAt;
+        }
+
+        boolean isExpired(final long now, final long ttlNanos) {
+            return now - loadedAt >= ttlNanos || (loadedWhileSettling && now - settlesAt >= 0);
+        }
+
+        boolean contains(final UUID subscriptionId) {
+            return subscriptions.stream().anyMatch(subscription -> subscriptionId.equals(subscription.getId()));
+        }
+    }
+}
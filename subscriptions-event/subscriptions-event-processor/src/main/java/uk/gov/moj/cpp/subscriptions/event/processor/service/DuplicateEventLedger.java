@@ -0,0 +1,120 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.service;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Objects.isNull;
+import static javax.transaction.Transactional.TxType.MANDATORY;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.DuplicateEventLedgerEntry;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.DuplicateEventLedgerRepository;
+
+import java.math.BigInteger;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.ZonedDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.json.JsonObject;
+import javax.persistence.PersistenceException;
+import javax.transaction.Transactional;
+
+/**
+ * Remembers the public events already processed so that a second copy received within
+ * {@link ApplicationParameters#getDuplicateEventWindowMinutes()} is dropped. An entry is recorded
+ * in the transaction of the handler, which must already be running, so an event whose processing
+ * fails and is redelivered is not remembered. A copy delivered while another is being processed
+ * waits on the entry of the other, and is dropped once that entry is committed. Entries older than
+ * the window are purged at most once per window, which bounds the ledger to the events of about two
+ * windows. A window of zero disables the ledger.
+ */
+@ApplicationScoped
+public class DuplicateEventLedger {
+
+    private static final String HEARING_KEY_PREFIX = "hearing:";
+    private static final String MATERIAL_KEY_PREFIX = "material:";
+
+    @Inject
+    private DuplicateEventLedgerRepository duplicateEventLedgerRepository;
+
+    @Inject
+    private ApplicationParameters applicationParameters;
+
+    @Inject
+    private ProcessorMetrics processorMetrics;
+
+    @Inject
+    private UtcClock utcClock;
+
+    private final AtomicLong nextPurgeAt = new AtomicLong();
+
+    /**
+     * Key of a hearing event: the hearing id and a hash of the hearing content read by the
+     * subscription rules, so that a resulted hearing that has changed is processed again.
+     */
+    public static String hearingKey(final UUID hearingId, final JsonObject hearingProjection) {
+        return HEARING_KEY_PREFIX + hearingId + ":" + sha256Of(hearingProjection.toString());
+    }
+
+    public static String materialKey(final UUID materialId) {
+        return MATERIAL_KEY_PREFIX + materialId;
+    }
+
+    /**
+     * Records the event with the given key as processed, returning true if it was already
+     * processed within the window.
+     */
+    @Transactional(MANDATORY)
+    public boolean isDuplicate(final String dedupeKey) {
+        final long windowMinutes = applicationParameters.getDuplicateEventWindowMinutes();
+        if (windowMinutes <= 0) {
+            return false;
+        }
+
+        final ZonedDateTime now = utcClock.now();
+        final ZonedDateTime windowStart = now.minusMinutes(windowMinutes);
+        purgeIfDue(now, windowStart, windowMinutes);
+
+        final boolean duplicate = isNull(duplicateEventLedgerRepository.findBy(dedupeKey))
+                ? !recordedFirst(dedupeKey, now)
+                : duplicateEventLedgerRepository.updateProcessedAtIfProcessedBefore(dedupeKey, now, windowStart) == 0;
+        if (duplicate) {
+            processorMetrics.recordSuppressedDuplicate();
+        }
+        return duplicate;
+    }
+
+    /**
+     * Inserts the entry of an event not yet in the ledger. A unique key clash means a concurrent
+     * copy of the event has committed its entry first; the clash marks the transaction of the
+     * handler for rollback, so this copy is dropped and, once redelivered, found in the ledger.
+     */
+    private boolean recordedFirst(final String dedupeKey, final ZonedDateTime now) {
+        try {
+            duplicateEventLedgerRepository.saveAndFlush(new DuplicateEventLedgerEntry(dedupeKey, now));
+            return true;
+        } catch (final PersistenceException e) {
+            return false;
+        }
+    }
+
+    private void purgeIfDue(final ZonedDateTime now, final ZonedDateTime windowStart, final long windowMinutes) {
+        final long nowMillis = now.toInstant().toEpochMilli();
+        final long purgeAt = nextPurgeAt.get();
+        if (nowMillis >= purgeAt && nextPurgeAt.compareAndSet(purgeAt, nowMillis + windowMinutes * 60_000L)) {
+            duplicateEventLedgerRepository.deleteProcessedBefore(windowStart);
+        }
+    }
+
+    private static String sha256Of(final String value) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(UTF_8));
+            return String.format("%064x", new BigInteger(1, digest));
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package uk.gov.moj.cpp.subscriptions.event.processor.service;
 
+import static java.util.stream.Collectors.toList;
+import static uk.gov.justice.services.messaging.JsonObjects.createArrayBuilder;
 import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
 import static org.apache.commons.lang3.StringUtils.isNotEmpty;
 import static uk.gov.justice.services.core.annotation.Component.EVENT_PROCESSOR;
@@ -15,34 +17,51 @@ import uk.gov.moj.cpp.subscriptions.json.schemas.Subscribers;
 import java.util.List;
 
 import javax.inject.Inject;
+import javax.json.JsonArrayBuilder;
 import javax.json.JsonObject;
 import javax.json.JsonObjectBuilder;
 
 public class EmailInfoSender {
 
-    private static final String SUBSCRIPTIONS_COMMAND_HANDLER_SEND_EMAIL = "subscriptions.command.handler.send-email";
+    private static final String SUBSCRIPTIONS_COMMAND_HANDLER_SEND_EMAIL_BATCH = "subscriptions.command.handler.send-email-batch";
 
     @Inject
     @ServiceComponent(EVENT_PROCESSOR)
     private Sender sender;
 
     public void sendCommand(final Envelope<?> event, final List<EmailInfo> emailInfos) {
-        emailInfos.forEach(emailInfo ->
-                emailInfo.getSubscription().getSubscribers()
-                        .stream()
-                        .filter(Subscribers::getActive)
-                        .forEach(subscriber ->
-                                sender.send(envelopeFrom(metadataFrom(event.metadata())
-                                                        .withName(SUBSCRIPTIONS_COMMAND_HANDLER_SEND_EMAIL)
-                                                        .build(),
-                                                createPayload(emailInfo, subscriber)
-                                        )
-                                )));
+        final List<JsonObject> emails = emailInfos.stream()
+                .map(emailInfo -> createPayload(emailInfo, activeEmailAddresses(emailInfo)))
+                .filter(email -> !email.getJsonArray("sendToAddresses").isEmpty())
+                .collect(toList());
+
+        if (emails.isEmpty()) {
+            return;
+        }
+
+        final JsonArrayBuilder emailsBuilder = createArrayBuilder();
+        emails.forEach(emailsBuilder::add);
+
+        sender.send(envelopeFrom(metadataFrom(event.metadata())
+                        .withName(SUBSCRIPTIONS_COMMAND_HANDLER_SEND_EMAIL_BATCH)
+                        .build(),
+                createObjectBuilder().add("emails", emailsBuilder).build()));
     }
 
-    private JsonObject createPayload(final EmailInfo emailInfo, final Subscribers subscriber) {
+    private List<String> activeEmailAddresses(final EmailInfo emailInfo) {
+        return emailInfo.getSubscription().getSubscribers()
+                .stream()
+                .filter(Subscribers::getActive)
+                .map(Subscribers::getEmailAddress)
+                .collect(toList());
+    }
+
+    private JsonObject createPayload(final EmailInfo emailInfo, final List<String> sendToAddresses) {
+        final JsonArrayBuilder sendToAddressesBuilder = createArrayBuilder();
+        sendToAddresses.forEach(sendToAddressesBuilder::add);
+
         final JsonObjectBuilder payloadBuilder = createObjectBuilder()
-                .add("sendToAddress", subscriber.getEmailAddress())
+                .add("sendToAddresses", sendToAddressesBuilder)
                 .add("subject", emailInfo.getSubject())
                 .add("title", emailInfo.getTitle())
                 .add("body", emailInfo.getBody())
@@ -0,0 +1,109 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.service;
+
+import static java.util.Arrays.asList;
+import static java.util.Objects.nonNull;
+import static uk.gov.justice.services.messaging.JsonObjects.createArrayBuilder;
+import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
+
+import uk.gov.justice.core.courts.Hearing;
+import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
+import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.json.JsonArray;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonValue;
+
+/**
+ * Reads a hearing with only the fields that the subscription rules and filters use: case
+ * identifiers, defendant names, dates of birth, gender and youth, offence codes and titles,
+ * pleas, verdicts, bail status, attendance, judicial result types and trial effectiveness.
+ * Judicial result details, counsels, hearing days and addresses are never bound, which keeps
+ * large multi-defendant hearings from materialising the full object graph.
+ */
+public class HearingProjectionReader {
+
+    private static final Projection HEARING = projection("id", "isSJPHearing", "isEffectiveTrial", "crackedIneffectiveTrial")
+            .with("courtCentre", projection("id", "name"))
+            .with("defendantAttendance", projection("defendantId", "attendanceDays"))
+            .with("prosecutionCases", projection("id", "prosecutionCaseIdentifier")
+                    .with("defendants", projection("id", "prosecutionCaseId", "isYouth")
+                            .with("personDefendant", projection("bailStatus")
+                                    .with("personDetails", projection("firstName", "lastName", "dateOfBirth", "gender")))
+                            .with("legalEntityDefendant", projection()
+                                    .with("organisation", projection("name")))
+                            .with("offences", projection("id", "offenceCode", "offenceTitle", "plea", "verdict")
+                                    .with("judicialResults", projection("judicialResultId", "judicialResultTypeId")))));
+
+    private final JsonObjectToObjectConverter jsonObjectToObjectConverter = new JsonObjectToObjectConverter(new ObjectMapperProducer().objectMapper());
+
+    public Hearing readHearing(final JsonObject hearing) {
+        return toHearing(project(hearing));
+    }
+
+    /**
+     * Binds a hearing already reduced by {@link #project(JsonObject)}.
+     */
+    public Hearing toHearing(final JsonObject projection) {
+        return jsonObjectToObjectConverter.convert(projection, Hearing.class);
+    }
+
+    /**
+     * The hearing json reduced to the fields read by the subscription rules.
+     */
+    public JsonObject project(final JsonObject hearing) {
+        return HEARING.apply(hearing);
+    }
+
+    private static Projection projection(final String... copiedFields) {
+        return new Projection(asList(copiedFields));
+    }
+
+    private static final class Projection {
+        private final List<String> copiedFields;
+        private final Map<String, Projection> projectedFields = new LinkedHashMap<>();
+
+        private Projection(final List<String> copiedFields) {
+            this.copiedFields = copiedFields;
+        }
+
+        private Projection with(final String field, final Projection projection) {
+            projectedFields.put(field, projection);
+            return this;
+        }
+
+        private JsonObject apply(final JsonObject source) {
+            final JsonObjectBuilder builder = createObjectBuilder();
+            for (final String field : copiedFields) {
+                final JsonValue value = source.get(field);
+                if (nonNull(value)) {
+                    builder.add(field, value);
+                }
+            }
+            for (final Map.Entry<String, Projection> field : projectedFields.entrySet()) {
+                final JsonValue value = source.get(field.getKey());
+                if (nonNull(value)) {
+                    builder.add(field.getKey(), field.getValue().applyTo(value));
+                }
+            }
+            return builder.build();
+        }
+
+        private JsonValue applyTo(final JsonValue value) {
+            if (value instanceof JsonObject) {
+                return apply((JsonObject) value);
+            }
+            if (value instanceof JsonArray) {
+                final JsonArrayBuilder builder = createArrayBuilder();
+                ((JsonArray) value).forEach(element -> builder.add(applyTo(element)));
+                return builder.build();
+            }
+            return value;
+        }
+    }
+}
@@ -9,12 +9,11 @@ import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
 import static uk.gov.justice.services.messaging.JsonEnvelope.metadataBuilder;
 
 import uk.gov.justice.core.courts.Hearing;
-import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
-import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.core.requester.Requester;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.messaging.Metadata;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -22,20 +21,21 @@ import java.util.UUID;
 import javax.inject.Inject;
 import javax.json.JsonObject;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 
 public class HearingService {
 
     private static final Logger LOGGER = getLogger(HearingService.class);
 
-    private final ObjectMapper objectMapper = new ObjectMapperProducer().objectMapper();
-    private final JsonObjectToObjectConverter jsonObjectToObjectConverter = new JsonObjectToObjectConverter(objectMapper);
+    private final HearingProjectionReader hearingProjectionReader = new HearingProjectionReader();
 
     @Inject
     @ServiceComponent(EVENT_PROCESSOR)
     private Requester requester;
 
+    @Inject
+    private ProcessorMetrics processorMetrics;
+
     private static final String HEARING_GET_HEARING = "hearing.get.hearing";
 
     public Optional<Hearing> getHearing(final UUID hearingId) {
@@ -50,16 +50,18 @@ public class HearingService {
                 .add("hearingId", hearingId.toString())
                 .build();
 
+        final long startedAt = System.nanoTime();
         final Envelope<JsonObject> responseAsJsonObject = requester.requestAsAdmin(
                 envelopeFrom(metadata, payload), JsonObject.class);
+        processorMetrics.recordRemoteCall(HEARING_GET_HEARING, startedAt);
 
         final JsonObject payloadAsJsonObject = responseAsJsonObject.payload();
         if (payloadAsJsonObject.isEmpty()) {
             return Optional.empty();
         }
 
-        final Hearing result = jsonObjectToObjectConverter.convert(payloadAsJsonObject.getJsonObject("hearing"), Hearing.class);
-        LOGGER.info("from hearing.get.hearing {}", result);
+        final Hearing result = hearingProjectionReader.readHearing(payloadAsJsonObject.getJsonObject("hearing"));
+        LOGGER.info("from hearing.get.hearing received hearing {}", hearingId);
 
         return of(result);
     }
@@ -0,0 +1,50 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.service;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Objects.isNull;
+import static java.util.Optional.ofNullable;
+
+import uk.gov.justice.core.courts.Defendant;
+import uk.gov.justice.core.courts.Hearing;
+import uk.gov.justice.core.courts.ProsecutionCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+public class HearingSnapshot {
+
+    private final Hearing hearing;
+    private final Map<UUID, ProsecutionCase> prosecutionCases = new HashMap<>();
+    private final Map<UUID, Map<UUID, Defendant>> defendants = new HashMap<>();
+
+    public HearingSnapshot(final Hearing hearing) {
+        this.hearing = hearing;
+        if (isNull(hearing.getProsecutionCases())) {
+            return;
+        }
+
+        hearing.getProsecutionCases().forEach(prosecutionCase -> {
+            prosecutionCases.putIfAbsent(prosecutionCase.getId(), prosecutionCase);
+            if (isNull(prosecutionCase.getDefendants())) {
+                return;
+            }
+
+            final Map<UUID, Defendant> caseDefendants = defendants.computeIfAbsent(prosecutionCase.getId(), k -> new HashMap<>());
+            prosecutionCase.getDefendants().forEach(defendant -> caseDefendants.putIfAbsent(defendant.getId(), defendant));
+        });
+    }
+
+    public Hearing getHearing() {
+        return hearing;
+    }
+
+    public Optional<ProsecutionCase> findProsecutionCase(final UUID prosecutionCaseId) {
+        return ofNullable(prosecutionCases.get(prosecutionCaseId));
+    }
+
+    public Optional<Defendant> findDefendant(final UUID prosecutionCaseId, final UUID defendantId) {
+        return ofNullable(defendants.getOrDefault(prosecutionCaseId, emptyMap()).get(defendantId));
+    }
+}
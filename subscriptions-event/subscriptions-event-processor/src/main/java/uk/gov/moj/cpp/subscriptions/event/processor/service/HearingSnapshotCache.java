@@ -0,0 +1,48 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.service;
+
+import static java.util.Objects.isNull;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class HearingSnapshotCache {
+
+    private final HearingService hearingService;
+    private final Map<UUID, Optional<HearingSnapshot>> snapshots = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder remoteCalls = new LongAdder();
+
+    public HearingSnapshotCache(final HearingService hearingService) {
+        this.hearingService = hearingService;
+    }
+
+    public Optional<HearingSnapshot> getHearing(final UUID hearingId) {
+        if (isNull(hearingId)) {
+            remoteCalls.increment();
+            return hearingService.getHearing(null).map(HearingSnapshot::new);
+        }
+
+        final Optional<HearingSnapshot> cached = snapshots.get(hearingId);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+
+        // rules evaluated in parallel wait here for the one remote call per hearing
+        return snapshots.computeIfAbsent(hearingId, id -> {
+            remoteCalls.increment();
+            return hearingService.getHearing(id).map(HearingSnapshot::new);
+        });
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getRemoteCalls() {
+        return remoteCalls.sum();
+    }
+}
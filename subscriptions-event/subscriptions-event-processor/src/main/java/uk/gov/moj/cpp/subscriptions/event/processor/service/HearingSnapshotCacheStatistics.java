@@ -0,0 +1,25 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.service;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.enterprise.context.ApplicationScoped;
+
+@ApplicationScoped
+public class HearingSnapshotCacheStatistics {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder remoteCalls = new LongAdder();
+
+    public void record(final HearingSnapshotCache hearingSnapshotCache) {
+        hits.add(hearingSnapshotCache.getHits());
+        remoteCalls.add(hearingSnapshotCache.getRemoteCalls());
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getRemoteCalls() {
+        return remoteCalls.sum();
+    }
+}
@@ -10,22 +10,38 @@ import uk.gov.justice.services.core.requester.Requester;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.Metadata;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
 import java.util.List;
 import java.util.UUID;
 
+import javax.inject.Inject;
 import javax.json.JsonObject;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 public class SubscriptionsQueryService {
+
+    private static final String COURT_MATCHING_VIEW = "subscriptions.query.court-matching-view";
+
     private final ObjectMapper objectMapper = new ObjectMapperProducer().objectMapper();
 
     private final JsonObjectToObjectConverter jsonObjectToObjectConverter = new JsonObjectToObjectConverter(objectMapper);
 
+    @Inject
+    private CourtSubscriptionsCache courtSubscriptionsCache;
+
+    @Inject
+    private ProcessorMetrics processorMetrics;
 
     public List<Subscription> findSubscriptionsByCourt(UUID courtId, Requester requester) {
+        final List<Subscription> subscriptions = courtSubscriptionsCache.getSubscriptions(courtId, () -> querySubscriptionsByCourt(courtId, requester));
+        processorMetrics.recordSubscriptionsPerCourt(subscriptions.size());
+        return subscriptions;
+    }
+
+    private List<Subscription> querySubscriptionsByCourt(final UUID courtId, final Requester requester) {
         final JsonObject subscriptionsByCourtId = getSubscriptionsByCourtId(courtId, requester);
 
         final CourtSubscriptions courtSubscriptions = jsonObjectToObjectConverter.convert(subscriptionsByCourtId, CourtSubscriptions.class);
@@ -36,14 +52,16 @@ public class SubscriptionsQueryService {
 
         final Metadata metadata = metadataBuilder()
                 .withId(randomUUID())
-                .withName("subscriptions.query.subscriptions.by-court-id").build();
+                .withName(COURT_MATCHING_VIEW).build();
 
         final JsonObject payload = createObjectBuilder()
                 .add("courtId", courtId.toString())
                 .build();
 
+        final long startedAt = System.nanoTime();
         final Envelope<JsonObject> jsonEnvelope = requester.requestAsAdmin(
                 JsonEnvelope.envelopeFrom(metadata, payload), JsonObject.class);
+        processorMetrics.recordRemoteCall(COURT_MATCHING_VIEW, startedAt);
 
         return jsonEnvelope.payload();
     }
@@ -2,7 +2,13 @@ package uk.gov.moj.cpp.subscriptions.event.processor;
 
 import static java.util.Collections.singletonList;
 import static java.util.UUID.randomUUID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -10,8 +16,9 @@ import static org.mockito.Mockito.when;
 import static uk.gov.justice.core.courts.CourtCentre.courtCentre;
 import static uk.gov.justice.core.courts.Hearing.hearing;
 import static uk.gov.justice.hearing.courts.HearingResulted.hearingResulted;
-import static uk.gov.justice.services.messaging.Envelope.envelopeFrom;
+import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
 import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithRandomUUIDAndName;
+import static uk.gov.moj.cpp.subscriptions.event.processor.TestUtil.readFile;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo.emailInfo;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscribers.subscribers;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscription.subscription;
@@ -20,15 +27,18 @@ import uk.gov.justice.core.courts.Hearing;
 import uk.gov.justice.hearing.courts.HearingResulted;
 import uk.gov.justice.services.core.featurecontrol.FeatureControlGuard;
 import uk.gov.justice.services.core.requester.Requester;
-import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.justice.services.common.converter.ObjectToJsonObjectConverter;
+import uk.gov.justice.services.common.converter.StringToJsonObjectConverter;
+import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
+import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.NotificationEventRuleExecutor;
-import uk.gov.moj.cpp.subscriptions.event.processor.helper.FileResourceObjectMapper;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.DuplicateEventLedger;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.EmailInfoSender;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.SubscriptionsQueryService;
 import uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
-import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import java.util.function.Consumer;
@@ -36,6 +46,8 @@ import java.util.function.Consumer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -55,13 +67,25 @@ public class HearingResultedProcessorTest {
     @Mock
     private SubscriptionsQueryService subscriptionsQueryService;
 
+    @Mock
+    private ProcessorMetrics processorMetrics;
+
+    @Mock
+    private DuplicateEventLedger duplicateEventLedger;
+
     @InjectMocks
     private HearingResultedProcessor hearingResultedProcessor;
 
     @Mock
     private EmailInfoSender emailInfoSender;
 
-    private FileResourceObjectMapper fileResourceObjectMapper = new FileResourceObjectMapper();
+    @Captor
+    private ArgumentCaptor<Hearing> hearingCaptor;
+
+    @Captor
+    private ArgumentCaptor<String> dedupeKeyCaptor;
+
+    private final ObjectToJsonObjectConverter objectToJsonObjectConverter = new ObjectToJsonObjectConverter(new ObjectMapperProducer().objectMapper());
 
     @BeforeEach
     public void setup() {
@@ -85,53 +109,74 @@ public class HearingResultedProcessorTest {
     }
 
     @Test
-    public void shouldRaiseCommandWhenHearingHearingResultedWithDefendantInitiationCodePublicEventReceived() throws IOException {
+    public void shouldDropAHearingThatHasAlreadyBeenProcessedBeforeLookingUpSubscriptions() {
+        final UUID hearingId = randomUUID();
+        final HearingResulted hearingResulted = hearingResulted().withHearing(hearing().withId(hearingId).withCourtCentre(courtCentre().withId(randomUUID()).build()).build()).build();
+        final JsonEnvelope hearingResultedEnvelope = envelopeFrom(metadataWithRandomUUIDAndName().build(),
+                objectToJsonObjectConverter.convert(hearingResulted));
+        when(duplicateEventLedger.isDuplicate(anyString())).thenReturn(true);
+
+        hearingResultedProcessor.handleHearingResultedPublicEvent(hearingResultedEnvelope);
+
+        verify(duplicateEventLedger).isDuplicate(dedupeKeyCaptor.capture());
+        assertThat(dedupeKeyCaptor.getValue(), startsWith("hearing:" + hearingId + ":"));
+        verify(subscriptionsQueryService, never()).findSubscriptionsByCourt(any(), any());
+        verify(notificationEventRuleExecutor, never()).execute(any(Hearing.class), any());
+        verify(emailInfoSender, never()).sendCommand(any(), any());
+        verify(processorMetrics).recordHandler(eq(hearingResultedEnvelope.metadata().name()), anyLong());
+    }
+
+    @Test
+    public void shouldRaiseCommandWhenHearingHearingResultedWithDefendantInitiationCodePublicEventReceived() {
         handleHearingResultedWithDefendantInitiationCode(hearingResultedProcessor::handleHearingResultedPublicEvent);
     }
 
-    private void handleHearingResulted(final Consumer<Envelope<HearingResulted>> hearingResultedConsumer) {
+    private void handleHearingResulted(final Consumer<JsonEnvelope> hearingResultedConsumer) {
         final UUID courtId = randomUUID();
-        final HearingResulted hearingResulted = hearingResulted().withHearing(hearing().withCourtCentre(courtCentre().withId(courtId).build()).build()).build();
-        final Envelope<HearingResulted> hearingResultedEnvelope = envelopeFrom(metadataWithRandomUUIDAndName().build(),
-                hearingResulted);
+        final HearingResulted hearingResulted = hearingResulted().withHearing(hearing().withId(randomUUID()).withCourtCentre(courtCentre().withId(courtId).build()).build()).build();
+        final JsonEnvelope hearingResultedEnvelope = envelopeFrom(metadataWithRandomUUIDAndName().build(),
+                objectToJsonObjectConverter.convert(hearingResulted));
 
         final List<Subscription> subscriptions = singletonList(subscription().build());
         when(subscriptionsQueryService.findSubscriptionsByCourt(any(), any())).thenReturn(subscriptions);
 
         final List<EmailInfo> emailInfos = buildEmailInfos();
-        when(notificationEventRuleExecutor.execute(hearingResulted.getHearing(), subscriptions)).thenReturn(emailInfos);
+        when(notificationEventRuleExecutor.execute(any(Hearing.class), eq(subscriptions))).thenReturn(emailInfos);
 
         hearingResultedConsumer.accept(hearingResultedEnvelope);
 
-        verify(notificationEventRuleExecutor).execute(hearingResulted.getHearing(), subscriptions);
+        verify(notificationEventRuleExecutor).execute(hearingCaptor.capture(), eq(subscriptions));
+        assertThat(hearingCaptor.getValue().getCourtCentre().getId(), is(courtId));
         verify(subscriptionsQueryService).findSubscriptionsByCourt(courtId, requester);
         verify(emailInfoSender).sendCommand(eq(hearingResultedEnvelope), eq(emailInfos));
+        verify(processorMetrics).recordHandler(eq(hearingResultedEnvelope.metadata().name()), anyLong());
 
     }
 
-    private void handleHearingResultedWithDefendantInitiationCode(final Consumer<Envelope<HearingResulted>> hearingResultedConsumer) throws IOException {
-        final HearingResulted hearingResulted = fileResourceObjectMapper.convertFromFile("stub/NotificationEventHearingResultedWithDefendantInitiationCode.json", HearingResulted.class);
-        final Envelope<HearingResulted> hearingResultedEnvelope = envelopeFrom(metadataWithRandomUUIDAndName().build(),
-                hearingResulted);
+    private void handleHearingResultedWithDefendantInitiationCode(final Consumer<JsonEnvelope> hearingResultedConsumer) {
+        final JsonEnvelope hearingResultedEnvelope = envelopeFrom(metadataWithRandomUUIDAndName().build(),
+                new StringToJsonObjectConverter().convert(readFile("stub/NotificationEventHearingResultedWithDefendantInitiationCode.json")));
 
         final List<Subscription> subscriptions = singletonList(subscription().build());
         when(subscriptionsQueryService.findSubscriptionsByCourt(any(), any())).thenReturn(subscriptions);
 
         final List<EmailInfo> emailInfos = buildEmailInfos();
-        when(notificationEventRuleExecutor.execute(hearingResulted.getHearing(), subscriptions)).thenReturn(emailInfos);
+        when(notificationEventRuleExecutor.execute(any(Hearing.class), eq(subscriptions))).thenReturn(emailInfos);
 
         hearingResultedConsumer.accept(hearingResultedEnvelope);
 
-        verify(notificationEventRuleExecutor).execute(hearingResulted.getHearing(), subscriptions);
+        verify(notificationEventRuleExecutor).execute(hearingCaptor.capture(), eq(subscriptions));
+        assertThat(hearingCaptor.getValue().getProsecutionCases(), hasSize(1));
+        assertThat(hearingCaptor.getValue().getProsecutionCases().get(0).getDefendants(), hasSize(2));
         verify(emailInfoSender).sendCommand(eq(hearingResultedEnvelope), eq(emailInfos));
 
     }
 
-    private void handleHearingResultedWhenDisabled(final Consumer<Envelope<HearingResulted>> hearingResultedConsumer) {
+    private void handleHearingResultedWhenDisabled(final Consumer<JsonEnvelope> hearingResultedConsumer) {
         final UUID courtId = randomUUID();
-        final HearingResulted hearingResulted = hearingResulted().withHearing(hearing().withCourtCentre(courtCentre().withId(courtId).build()).build()).build();
-        final Envelope<HearingResulted> hearingResultedEnvelope = envelopeFrom(metadataWithRandomUUIDAndName().build(),
-                hearingResulted);
+        final HearingResulted hearingResulted = hearingResulted().withHearing(hearing().withId(randomUUID()).withCourtCentre(courtCentre().withId(courtId).build()).build()).build();
+        final JsonEnvelope hearingResultedEnvelope = envelopeFrom(metadataWithRandomUUIDAndName().build(),
+                objectToJsonObjectConverter.convert(hearingResulted));
 
         hearingResultedConsumer.accept(hearingResultedEnvelope);
 
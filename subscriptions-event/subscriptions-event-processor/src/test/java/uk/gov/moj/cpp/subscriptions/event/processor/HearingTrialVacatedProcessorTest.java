@@ -28,6 +28,7 @@ import uk.gov.justice.services.core.featurecontrol.FeatureControlGuard;
 import uk.gov.justice.services.core.requester.Requester;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.NotificationEventRuleExecutor;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.EmailInfoSender;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingService;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.SubscriptionsQueryService;
@@ -62,6 +63,9 @@ public class HearingTrialVacatedProcessorTest {
     @Mock
     private SubscriptionsQueryService subscriptionsQueryService;
 
+    @Mock
+    private ProcessorMetrics processorMetrics;
+
     @InjectMocks
     private HearingTrialVacatedProcessor hearingTrialVacatedProcessor;
 
@@ -26,6 +26,8 @@ import uk.gov.justice.services.core.featurecontrol.FeatureControlGuard;
 import uk.gov.justice.services.core.requester.Requester;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.NotificationEventRuleExecutor;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.DuplicateEventLedger;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.EmailInfoSender;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingService;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.SubscriptionsQueryService;
@@ -63,6 +65,12 @@ public class NowDocumentRequestedProcessorTest {
     @Mock
     HearingService hearingService;
 
+    @Mock
+    private ProcessorMetrics processorMetrics;
+
+    @Mock
+    private DuplicateEventLedger duplicateEventLedger;
+
     @InjectMocks
     private NowDocumentRequestedProcessor nowDocumentRequestedProcessor;
 
@@ -194,4 +202,22 @@ public class NowDocumentRequestedProcessorTest {
         verify(subscriptionsQueryService, never()).findSubscriptionsByCourt(any(), any());
         verify(emailInfoSender, never()).sendCommand(any(), any());
     }
+
+    @Test
+    void shouldDropANowDocumentWhoseMaterialHasAlreadyBeenProcessed() {
+        final UUID materialId = randomUUID();
+
+        final NowDocumentRequested nowDocumentRequested = nowDocumentRequested()
+                .withMaterialId(materialId)
+                .withNowDocumentRequest(nowDocumentRequestV2().withHearingId(randomUUID()).build()).build();
+        final Envelope<NowDocumentRequested> nowDocumentRequestedEnvelope = envelopeFrom(metadataWithRandomUUIDAndName().build(),
+                nowDocumentRequested);
+        when(duplicateEventLedger.isDuplicate("material:" + materialId)).thenReturn(true);
+
+        nowDocumentRequestedProcessor.publicHearingNowsNowDocumentRequested(nowDocumentRequestedEnvelope);
+
+        verify(hearingService, never()).getHearing(any());
+        verify(subscriptionsQueryService, never()).findSubscriptionsByCourt(any(), any());
+        verify(emailInfoSender, never()).sendCommand(any(), any());
+    }
 }
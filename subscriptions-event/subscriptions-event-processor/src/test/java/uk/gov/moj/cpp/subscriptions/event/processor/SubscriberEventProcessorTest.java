@@ -1,5 +1,6 @@
 package uk.gov.moj.cpp.subscriptions.event.processor;
 
+import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.verify;
@@ -13,12 +14,16 @@ import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionUnsubscribed
 
 import uk.gov.justice.services.core.sender.Sender;
 import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.SubscriptionFilterCache;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.CourtSubscriptionsCache;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeleteFailed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeleted;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriberDeletedViaBdf;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionSubscribed;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionUnsubscribed;
 
+import java.util.UUID;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -33,6 +38,12 @@ public class SubscriberEventProcessorTest {
     @Mock
     private Sender sender;
 
+    @Mock
+    private CourtSubscriptionsCache courtSubscriptionsCache;
+
+    @Mock
+    private SubscriptionFilterCache subscriptionFilterCache;
+
     @Captor
     private ArgumentCaptor<Envelope<?>> captor;
 
@@ -43,7 +54,8 @@ public class SubscriberEventProcessorTest {
     public void shouldProcessPrivateSubscriptionSubscribeAndPublicSubscribedRaised() {
 
 
-        final SubscriptionSubscribed subscriptionSubscribed = subscriptionSubscribed().build();
+        final UUID subscriptionId = randomUUID();
+        final SubscriptionSubscribed subscriptionSubscribed = subscriptionSubscribed().withSubscriptionId(subscriptionId).build();
 
         final Envelope<SubscriptionSubscribed> envelope = envelopeFrom(
                 metadataWithRandomUUID("subscriptions.event.subscription-subscribed"),
@@ -51,6 +63,8 @@ public class SubscriberEventProcessorTest {
 
         subscriberEventProcessor.handleSubscribe(envelope);
 
+        verify(courtSubscriptionsCache).invalidateSubscription(subscriptionId);
+        verify(subscriptionFilterCache).subscriptionChanged(subscriptionId);
         verify(sender).send(captor.capture());
 
         final Envelope<?> messageEnvelope = captor.getValue();
@@ -1,5 +1,6 @@
 package uk.gov.moj.cpp.subscriptions.event.processor;
 
+import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.Mockito.verify;
@@ -13,12 +14,16 @@ import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeleted.subs
 
 import uk.gov.justice.services.core.sender.Sender;
 import uk.gov.justice.services.messaging.Envelope;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.SubscriptionFilterCache;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.CourtSubscriptionsCache;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionActivated;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionCreated;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionCreatedByUser;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeactivated;
 import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionDeleted;
 
+import java.util.UUID;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -33,6 +38,12 @@ public class SubscriptionEventProcessorTest {
     @Mock
     private Sender sender;
 
+    @Mock
+    private CourtSubscriptionsCache courtSubscriptionsCache;
+
+    @Mock
+    private SubscriptionFilterCache subscriptionFilterCache;
+
     @Captor
     private ArgumentCaptor<Envelope<?>> captor;
 
@@ -61,7 +72,8 @@ public class SubscriptionEventProcessorTest {
     public void shouldProcessPrivateActivateSubscriptionAndPublicActivateSubscriptionRaised() {
 
 
-        final SubscriptionActivated subscriptionActivated = subscriptionActivated().build();
+        final UUID subscriptionId = randomUUID();
+        final SubscriptionActivated subscriptionActivated = subscriptionActivated().withSubscriptionId(subscriptionId).build();
 
         final Envelope<SubscriptionActivated> envelope = envelopeFrom(
                 metadataWithRandomUUID("subscriptions.event.subscription-activated"),
@@ -69,6 +81,8 @@ public class SubscriptionEventProcessorTest {
 
         subscriptionEventProcessor.handleSubscriptionActivated(envelope);
 
+        verify(courtSubscriptionsCache).invalidateSubscription(subscriptionId);
+        verify(subscriptionFilterCache).subscriptionChanged(subscriptionId);
         verify(sender).send(captor.capture());
 
         final Envelope<?> messageEnvelope = captor.getValue();
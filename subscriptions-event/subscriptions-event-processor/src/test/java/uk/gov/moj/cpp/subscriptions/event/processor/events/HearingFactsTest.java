@@ -0,0 +1,176 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.events;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.UUID.fromString;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static uk.gov.justice.core.courts.AttendanceDay.attendanceDay;
+import static uk.gov.justice.core.courts.BailStatus.bailStatus;
+import static uk.gov.justice.core.courts.Defendant.defendant;
+import static uk.gov.justice.core.courts.DefendantAttendance.defendantAttendance;
+import static uk.gov.justice.core.courts.Hearing.hearing;
+import static uk.gov.justice.core.courts.JudicialResult.judicialResult;
+import static uk.gov.justice.core.courts.Offence.offence;
+import static uk.gov.justice.core.courts.Person.person;
+import static uk.gov.justice.core.courts.PersonDefendant.personDefendant;
+import static uk.gov.justice.core.courts.Plea.plea;
+import static uk.gov.justice.core.courts.ProsecutionCase.prosecutionCase;
+import static uk.gov.justice.core.courts.Verdict.verdict;
+import static uk.gov.justice.core.courts.VerdictType.verdictType;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.CHANGE_OF_PLEA;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.CRACKED_OR_INEFFECTIVE_TRAIL;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.DEFENDANT_APPELLANT_ATTENDANCE;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.PLEAS_ENTER;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.PRE_SENTENCE_REPORT_REQUESTED;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.REMAND_STATUS;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.VERDICTS_ENTER;
+
+import uk.gov.justice.core.courts.Defendant;
+import uk.gov.justice.core.courts.Hearing;
+import uk.gov.justice.core.courts.Offence;
+import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.justice.hearing.courts.AttendanceType;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.HearingFacts;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.HearingFacts.CaseFacts;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class HearingFactsTest {
+
+    private static final UUID PRE_SENTENCE_REPORT_RESULT_DEFINITION_ID = fromString("029d370b-90f5-4650-b985-a61e9ec8db99");
+
+    @Test
+    public void shouldRecordTheDefendantsAndOffencesThatTriggerEachEventPerCase() {
+        final Offence pleaChanged = offence().withId(randomUUID()).withPlea(plea().withPleaValue("CHANGE_TO_NOT_GUILTY").build()).build();
+        final Offence verdictSet = offence().withId(randomUUID()).withVerdict(verdict().withVerdictType(verdictType().withCategory("Guilty").build()).build()).build();
+        final Defendant pleading = personDefendantWith(pleaChanged);
+        final Defendant convicted = personDefendantWith(verdictSet);
+        final ProsecutionCase firstCase = prosecutionCase().withId(randomUUID()).withDefendants(singletonList(pleading)).build();
+        final ProsecutionCase secondCase = prosecutionCase().withId(randomUUID()).withDefendants(singletonList(convicted)).build();
+
+        final HearingFacts hearingFacts = HearingFacts.of(hearing().withId(randomUUID()).withProsecutionCases(asList(firstCase, secondCase)).build());
+
+        assertThat(hearingFacts.hasTrigger(PLEAS_ENTER), is(true));
+        assertThat(hearingFacts.hasTrigger(CHANGE_OF_PLEA), is(true));
+        assertThat(hearingFacts.hasTrigger(VERDICTS_ENTER), is(true));
+        assertThat(hearingFacts.hasTrigger(PRE_SENTENCE_REPORT_REQUESTED), is(false));
+        assertThat(hearingFacts.hasTrigger(CRACKED_OR_INEFFECTIVE_TRAIL), is(false));
+        assertThat(hearingFacts.hasTrigger(DEFENDANT_APPELLANT_ATTENDANCE), is(false));
+
+        final CaseFacts firstCaseFacts = hearingFacts.forCase(firstCase);
+        assertThat(firstCaseFacts.hasTrigger(CHANGE_OF_PLEA), is(true));
+        assertThat(firstCaseFacts.hasTrigger(VERDICTS_ENTER), is(false));
+        assertThat(firstCaseFacts.isTriggeredBy(CHANGE_OF_PLEA, pleading), is(true));
+        assertThat(firstCaseFacts.isTriggeredBy(CHANGE_OF_PLEA, pleaChanged), is(true));
+        assertThat(firstCaseFacts.isTriggeredBy(CHANGE_OF_PLEA, convicted), is(false));
+
+        final CaseFacts secondCaseFacts = hearingFacts.forCase(secondCase);
+        assertThat(secondCaseFacts.hasTrigger(PLEAS_ENTER), is(false));
+        assertThat(secondCaseFacts.isTriggeredBy(VERDICTS_ENTER, verdictSet), is(true));
+    }
+
+    @Test
+    public void shouldRecordAPreSentenceReportByItsResultDefinition() {
+        final Offence withReport = offence().withId(randomUUID())
+                .withJudicialResults(singletonList(judicialResult().withJudicialResultTypeId(PRE_SENTENCE_REPORT_RESULT_DEFINITION_ID).build()))
+                .build();
+        final Offence withOtherResult = offence().withId(randomUUID())
+                .withJudicialResults(singletonList(judicialResult().withJudicialResultTypeId(randomUUID()).build()))
+                .build();
+        final Defendant defendant = personDefendantWith(withReport, withOtherResult);
+
+        final CaseFacts caseFacts = HearingFacts.ofCase(prosecutionCase().withId(randomUUID()).withDefendants(singletonList(defendant)).build());
+
+        assertThat(caseFacts.hasTrigger(PRE_SENTENCE_REPORT_REQUESTED), is(true));
+        assertThat(caseFacts.isTriggeredBy(PRE_SENTENCE_REPORT_REQUESTED, withReport), is(true));
+        assertThat(caseFacts.isTriggeredBy(PRE_SENTENCE_REPORT_REQUESTED, withOtherResult), is(false));
+    }
+
+    @Test
+    public void shouldApplyHearingLevelEventsToEveryCaseAndOnlyPresentDefendantsToAttendance() {
+        final Defendant present = personDefendantWith();
+        final Defendant absent = personDefendantWith();
+        final ProsecutionCase prosecutionCase = prosecutionCase().withId(randomUUID()).withDefendants(asList(present, absent)).build();
+        final Hearing hearing = hearing()
+                .withId(randomUUID())
+                .withIsEffectiveTrial(true)
+                .withDefendantAttendance(singletonList(defendantAttendance()
+                        .withDefendantId(present.getId())
+                        .withAttendanceDays(singletonList(attendanceDay().withAttendanceType(AttendanceType.IN_PERSON).withDay(LocalDate.of(2021, 4, 2)).build()))
+                        .build()))
+                .withProsecutionCases(singletonList(prosecutionCase))
+                .build();
+
+        final CaseFacts caseFacts = HearingFacts.of(hearing).forCase(prosecutionCase);
+
+        assertThat(caseFacts.hasTrigger(CRACKED_OR_INEFFECTIVE_TRAIL), is(true));
+        assertThat(caseFacts.hasTrigger(DEFENDANT_APPELLANT_ATTENDANCE), is(true));
+        assertThat(caseFacts.isTriggeredBy(DEFENDANT_APPELLANT_ATTENDANCE, present), is(true));
+        assertThat(caseFacts.isTriggeredBy(DEFENDANT_APPELLANT_ATTENDANCE, absent), is(false));
+        assertThat(HearingFacts.ofCase(prosecutionCase).hasTrigger(CRACKED_OR_INEFFECTIVE_TRAIL), is(false));
+    }
+
+    @Test
+    public void shouldIndexTheSortedAttendanceLinesOfEveryPresentDefendantOnce() {
+        final Defendant present = personDefendantWith();
+        final Defendant absent = personDefendantWith();
+        final ProsecutionCase prosecutionCase = prosecutionCase().withId(randomUUID()).withDefendants(asList(present, absent)).build();
+        final Hearing hearing = hearing()
+                .withId(randomUUID())
+                .withDefendantAttendance(singletonList(defendantAttendance()
+                        .withDefendantId(present.getId())
+                        .withAttendanceDays(asList(
+                                attendanceDay().withAttendanceType(AttendanceType.NOT_PRESENT).withDay(LocalDate.of(2021, 4, 20)).build(),
+                                attendanceDay().withAttendanceType(AttendanceType.BY_VIDEO).withDay(LocalDate.of(2021, 4, 2)).build(),
+                                attendanceDay().withAttendanceType(AttendanceType.IN_PERSON).withDay(LocalDate.of(2021, 4, 12)).build(),
+                                attendanceDay().withAttendanceType(AttendanceType.BY_VIDEO).withDay(LocalDate.of(2021, 4, 27)).build()))
+                        .build()))
+                .withProsecutionCases(singletonList(prosecutionCase))
+                .build();
+
+        final HearingFacts hearingFacts = HearingFacts.of(hearing);
+        final CaseFacts caseFacts = hearingFacts.forCase(prosecutionCase);
+
+        assertThat(caseFacts.attendanceLinesOf(present), contains("In person - 12 April 2021", "By video - 27 April 2021",
+                "By video - 2 April 2021", "Not present - 20 April 2021"));
+        assertThat(caseFacts.attendanceLinesOf(present), is(sameInstance(hearingFacts.forCase(prosecutionCase).attendanceLinesOf(present))));
+        assertThat(caseFacts.attendanceLinesOf(absent), is(empty()));
+    }
+
+    @Test
+    public void shouldOnlyConsiderRemandStatusForDefendantsWithABailStatusOutsideSjp() {
+        final Defendant onBail = defendant()
+                .withId(randomUUID())
+                .withPersonDefendant(personDefendant()
+                        .withPersonDetails(person().withFirstName("John").withLastName("Smith").build())
+                        .withBailStatus(bailStatus().withCode("B").withDescription("Conditional Bail").build())
+                        .build())
+                .build();
+        final ProsecutionCase prosecutionCase = prosecutionCase().withId(randomUUID()).withDefendants(asList(onBail, personDefendantWith())).build();
+
+        final HearingFacts hearingFacts = HearingFacts.of(hearing().withId(randomUUID()).withProsecutionCases(singletonList(prosecutionCase)).build());
+        final HearingFacts sjpHearingFacts = HearingFacts.of(hearing().withId(randomUUID()).withIsSJPHearing(true).withProsecutionCases(singletonList(prosecutionCase)).build());
+
+        assertThat(hearingFacts.hasTrigger(REMAND_STATUS), is(true));
+        assertThat(hearingFacts.forCase(prosecutionCase).isTriggeredBy(REMAND_STATUS, onBail), is(true));
+        assertThat(sjpHearingFacts.hasTrigger(REMAND_STATUS), is(false));
+    }
+
+    private static Defendant personDefendantWith(final Offence... offences) {
+        return defendant()
+                .withId(randomUUID())
+                .withPersonDefendant(personDefendant()
+                        .withPersonDetails(person().withFirstName("John").withLastName("Smith").build())
+                        .build())
+                .withOffences(asList(offences))
+                .build();
+    }
+}
@@ -0,0 +1,36 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.events;
+
+import static java.text.MessageFormat.format;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.MessageTemplate.compile;
+
+import org.junit.jupiter.api.Test;
+
+public class MessageTemplateTest {
+
+    @Test
+    public void shouldRenderLikeMessageFormatForStringArguments() {
+        final String pattern = "Case {0} {1} {2} {3} - {4}";
+        final String[] arguments = {"URN123", "Robert", "ORMSBY", "17 January 1968", "Custodial Remand status"};
+
+        assertThat(compile(pattern).render(arguments), is(format(pattern, (Object[]) arguments)));
+    }
+
+    @Test
+    public void shouldRenderRepeatedAndReorderedPlaceholders() {
+        assertThat(compile("{1} - {0} - {1}").render("first", "second"), is("second - first - second"));
+    }
+
+    @Test
+    public void shouldRenderNullArgumentsAndMissingArgumentsLikeMessageFormat() {
+        final String pattern = "Trial for case {0} is {1}";
+
+        assertThat(compile(pattern).render((String) null), is(format(pattern, (Object) null)));
+    }
+
+    @Test
+    public void shouldRenderPatternWithoutPlaceholders() {
+        assertThat(compile("Plea entered").render(), is("Plea entered"));
+    }
+}
@@ -7,6 +7,8 @@ import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.justice.core.courts.BailStatus.bailStatus;
 import static uk.gov.justice.core.courts.Defendant.defendant;
@@ -26,6 +28,7 @@ import uk.gov.justice.core.courts.ProsecutionCase;
 import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.events.RemandStatusChangedEventRule;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.ApplicationParameters;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingService;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingSnapshotCache;
 import uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
@@ -85,7 +88,7 @@ public class RemandStatusChangedEventRuleTest {
                 new RemandStatusChangedEventRule(buildResultedHearing(),
                         buildCaseWithBailStatus(),
                         buildSubscription(),
-                        hearingService);
+                        new HearingSnapshotCache(hearingService));
         remandStatusChangedEventRule.setApplicationParameters(applicationParameters);
         assertThat(remandStatusChangedEventRule.shouldExecute(), equalTo(true));
         final EmailInfo emailInfo = remandStatusChangedEventRule.execute();
@@ -93,6 +96,7 @@ public class RemandStatusChangedEventRuleTest {
         assertThat(emailInfo.getTitle(), is("Remand status changed"));
         assertThat(emailInfo.getCaseLink(), is(format("Access the case http://localhost:8080/prosecution-casefile/case-at-a-glance/{0} for full details.",CASE_ID)));
         assertThat(emailInfo.getBody(), is(format("John SMITH. Unconditional Bail. Maggie SMITH - 1 April 1982. Unconditional Bail. ")));
+        verify(hearingService, times(1)).getHearing(HEARING_ID);
     }
 
 
@@ -1,31 +1,50 @@
 package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing;
 
 import static java.text.MessageFormat.format;
+import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static uk.gov.justice.core.courts.CourtCentre.courtCentre;
 import static uk.gov.justice.core.courts.Hearing.hearing;
 import static uk.gov.justice.hearing.courts.HearingResulted.hearingResulted;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.PLEAS_ENTER;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.VERDICTS_ENTER;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscription.subscription;
 
 import uk.gov.justice.hearing.courts.HearingResulted;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters.SubscriptionFilterCache;
 import uk.gov.moj.cpp.subscriptions.event.processor.helper.FileResourceObjectMapper;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.ApplicationParameters;
 import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingService;
+import uk.gov.moj.cpp.subscriptions.event.processor.service.HearingSnapshotCacheStatistics;
 import uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo;
 import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
 
 import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
+import java.util.function.Function;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -37,6 +56,18 @@ public class NotificationEventRuleExecutorTest {
     @Mock
     private HearingService hearingService;
 
+    @Mock
+    private HearingSnapshotCacheStatistics hearingSnapshotCacheStatistics;
+
+    @Mock
+    private ParallelRuleEvaluator parallelRuleEvaluator;
+
+
+    @Mock
+    private ProcessorMetrics processorMetrics;
+
+    @Spy
+    private SubscriptionFilterCache subscriptionFilterCache;
 
     @InjectMocks
     private NotificationEventRuleExecutor notificationEventRuleExecutor;
@@ -58,7 +89,71 @@ public class NotificationEventRuleExecutorTest {
 
 
         assertThat(emailInfos.get(0).getBody(), is(format("Robert ORMSBY - 17 January 1968. Occupy reserved seat / berth without a valid ticket on the Tyne and Wear Metro. Plea: GUILTY. ")));
+        verify(processorMetrics).recordRule(eq(PLEAS_ENTER), any(), eq(true));
+        verify(processorMetrics).recordEvent(anyLong(), eq(1), eq(0L));
+
+    }
+
+    @Test
+    public void shouldRenderEmailOnceForSubscriptionsWithTheSameFilterOutcome() throws IOException {
+        final HearingResulted hearingResulted = fileResourceObjectMapper.convertFromFile("stub/NotificationEventRuleExecuterHearingResulted.json", HearingResulted.class);
+        final Subscription firstSubscription = fileResourceObjectMapper.convertFromFile("stub/CreateSubscriptionForSpecificSubscriberCommand.json", Subscription.class);
+        final Subscription secondSubscription = fileResourceObjectMapper.convertFromFile("stub/CreateSubscriptionForSpecificSubscriberCommand.json", Subscription.class);
+
+        final List<EmailInfo> emailInfos = notificationEventRuleExecutor.execute(hearingResulted.getHearing(), asList(firstSubscription, secondSubscription));
+
+        assertThat(emailInfos, hasSize(2));
+        assertThat(emailInfos.get(0).getSubscription(), is(sameInstance(firstSubscription)));
+        assertThat(emailInfos.get(1).getSubscription(), is(sameInstance(secondSubscription)));
+        assertThat(emailInfos.get(1).getSubject(), is(sameInstance(emailInfos.get(0).getSubject())));
+        assertThat(emailInfos.get(1).getBody(), is(sameInstance(emailInfos.get(0).getBody())));
+    }
+
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void shouldEvaluateRulesInParallelWhenHearingReachesTheThreshold() throws IOException {
+        final HearingResulted hearingResulted = fileResourceObjectMapper.convertFromFile("stub/NotificationEventRuleExecuterHearingResulted.json", HearingResulted.class);
+        final Subscription subscription = fileResourceObjectMapper.convertFromFile("stub/CreateSubscriptionForSpecificSubscriberCommand.json", Subscription.class);
+        when(applicationParameters.isParallelRuleEvaluationEnabled()).thenReturn(true);
+        when(applicationParameters.getParallelRuleEvaluationCaseThreshold()).thenReturn(1);
+        when(parallelRuleEvaluator.evaluate(anyList(), any())).thenAnswer(invocation ->
+                ((List<Object>) invocation.getArgument(0)).stream()
+                        .flatMap((Function) invocation.getArgument(1))
+                        .collect(toList()));
+
+        final List<EmailInfo> emailInfos = notificationEventRuleExecutor.execute(hearingResulted.getHearing(), singletonList(subscription));
+
+        assertThat(emailInfos, hasSize(1));
+        assertThat(emailInfos.get(0).getSubject(), is("Case URN123 - plea entered"));
+        verify(parallelRuleEvaluator).evaluate(anyList(), any());
+    }
+
+    @Test
+    public void shouldEvaluateRulesOnTheCallingThreadBelowTheThreshold() throws IOException {
+        final HearingResulted hearingResulted = fileResourceObjectMapper.convertFromFile("stub/NotificationEventRuleExecuterHearingResulted.json", HearingResulted.class);
+        final Subscription subscription = fileResourceObjectMapper.convertFromFile("stub/CreateSubscriptionForSpecificSubscriberCommand.json", Subscription.class);
+        when(applicationParameters.isParallelRuleEvaluationEnabled()).thenReturn(true);
+        when(applicationParameters.getParallelRuleEvaluationCaseThreshold()).thenReturn(hearingResulted.getHearing().getProsecutionCases().size() + 1);
+
+        final List<EmailInfo> emailInfos = notificationEventRuleExecutor.execute(hearingResulted.getHearing(), singletonList(subscription));
+
+        assertThat(emailInfos, hasSize(1));
+        verifyNoInteractions(parallelRuleEvaluator);
+    }
+
+    @Test
+    public void shouldSkipEventsThatNothingInTheHearingTriggers() throws IOException {
+        final HearingResulted hearingResulted = fileResourceObjectMapper.convertFromFile("stub/NotificationEventRuleExecuterHearingResulted.json", HearingResulted.class);
+        final Subscription subscription = subscription()
+                .withValuesFrom(fileResourceObjectMapper.convertFromFile("stub/CreateSubscriptionForSpecificSubscriberCommand.json", Subscription.class))
+                .withEvents(singletonList(VERDICTS_ENTER))
+                .build();
+
+        final List<EmailInfo> emailInfos = notificationEventRuleExecutor.execute(hearingResulted.getHearing(), singletonList(subscription));
 
+        assertThat(emailInfos, hasSize(0));
+        verify(processorMetrics, never()).recordRule(any(), any(), anyBoolean());
+        verify(processorMetrics).recordEvent(0L, 0, 0L);
     }
 
     @Test
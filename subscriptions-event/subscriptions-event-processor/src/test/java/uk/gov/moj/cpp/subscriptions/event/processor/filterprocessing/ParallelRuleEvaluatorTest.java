@@ -0,0 +1,130 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import uk.gov.moj.cpp.subscriptions.event.processor.service.ApplicationParameters;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.enterprise.concurrent.ManagedExecutorService;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ParallelRuleEvaluatorTest {
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(2);
+
+    @Mock
+    private ManagedExecutorService managedExecutorService;
+
+    @Mock
+    private ApplicationParameters applicationParameters;
+
+    @InjectMocks
+    private ParallelRuleEvaluator parallelRuleEvaluator;
+
+    @AfterEach
+    public void shutdownExecutor() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnResultsInWorkOrder() {
+        when(applicationParameters.getParallelRuleEvaluationMaxPartitions()).thenReturn(3);
+        when(managedExecutorService.submit(any(Callable.class))).thenAnswer(invocation -> executorService.submit(invocation.<Callable<?>>getArgument(0)));
+
+        final List<Integer> results = parallelRuleEvaluator.evaluate(work(10), value -> Stream.of(value, value * 100));
+
+        assertThat(results, is(work(10).stream().flatMap(value -> Stream.of(value, value * 100)).collect(toList())));
+        verify(managedExecutorService, times(2)).submit(any(Callable.class));
+    }
+
+    @Test
+    public void shouldEvaluateOnTheCallingThreadWhenOnePartitionIsAllowed() {
+        when(applicationParameters.getParallelRuleEvaluationMaxPartitions()).thenReturn(1);
+
+        final List<Integer> results = parallelRuleEvaluator.evaluate(work(5), Stream::of);
+
+        assertThat(results, is(work(5)));
+        verifyNoInteractions(managedExecutorService);
+    }
+
+    @Test
+    public void shouldEvaluateOnTheCallingThreadWhenTheExecutorIsSaturated() {
+        when(applicationParameters.getParallelRuleEvaluationMaxPartitions()).thenReturn(4);
+        when(managedExecutorService.submit(any(Callable.class))).thenThrow(new RejectedExecutionException());
+
+        final List<Integer> results = parallelRuleEvaluator.evaluate(work(8), Stream::of);
+
+        assertThat(results, is(work(8)));
+    }
+
+    @Test
+    public void shouldRethrowFailureOfAPartition() {
+        when(applicationParameters.getParallelRuleEvaluationMaxPartitions()).thenReturn(2);
+        when(managedExecutorService.submit(any(Callable.class))).thenAnswer(invocation -> executorService.submit(invocation.<Callable<?>>getArgument(0)));
+
+        assertThrows(IllegalArgumentException.class, () -> parallelRuleEvaluator.evaluate(work(4), value -> {
+            if (value == 3) {
+                throw new IllegalArgumentException("rule failed");
+            }
+            return Stream.of(value);
+        }));
+    }
+
+    @Test
+    public void shouldCancelSubmittedPartitionsWhenThePartitionOfTheCallingThreadFails() {
+        final CompletableFuture<List<Integer>> second = new CompletableFuture<>();
+        final CompletableFuture<List<Integer>> third = new CompletableFuture<>();
+        when(applicationParameters.getParallelRuleEvaluationMaxPartitions()).thenReturn(3);
+        when(managedExecutorService.submit(any(Callable.class))).thenReturn(second, third);
+
+        assertThrows(IllegalArgumentException.class, () -> parallelRuleEvaluator.evaluate(work(3), value -> {
+            if (value == 0) {
+                throw new IllegalArgumentException("rule failed");
+            }
+            return Stream.of(value);
+        }));
+
+        assertThat(second.isCancelled(), is(true));
+        assertThat(third.isCancelled(), is(true));
+    }
+
+    @Test
+    public void shouldCancelThePartitionsNotYetCollectedWhenAnEarlierPartitionFails() {
+        final CompletableFuture<List<Integer>> second = new CompletableFuture<>();
+        final CompletableFuture<List<Integer>> third = new CompletableFuture<>();
+        second.completeExceptionally(new IllegalArgumentException("rule failed"));
+        when(applicationParameters.getParallelRuleEvaluationMaxPartitions()).thenReturn(3);
+        when(managedExecutorService.submit(any(Callable.class))).thenReturn(second, third);
+
+        assertThrows(IllegalArgumentException.class, () -> parallelRuleEvaluator.evaluate(work(3), Stream::of));
+
+        assertThat(third.isCancelled(), is(true));
+    }
+
+    private static List<Integer> work(final int size) {
+        return IntStream.range(0, size).boxed().collect(toList());
+    }
+}
@@ -0,0 +1,131 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static uk.gov.justice.core.courts.Offence.offence;
+import static uk.gov.justice.core.courts.Person.person;
+import static uk.gov.justice.core.courts.PersonDefendant.personDefendant;
+import static uk.gov.justice.core.courts.ProsecutionCase.prosecutionCase;
+import static uk.gov.justice.core.courts.ProsecutionCaseIdentifier.prosecutionCaseIdentifier;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Defendant.defendant;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Filter.filter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.FilterType.AGE;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.FilterType.CASE_REFERENCE;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.FilterType.DEFENDANT;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.FilterType.GENDER;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.FilterType.OFFENCE;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscription.subscription;
+
+import uk.gov.justice.core.courts.Gender;
+import uk.gov.justice.core.courts.ProsecutionCase;
+import uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.SubscriptionMatchingIndex.Candidate;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Filter;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class SubscriptionMatchingIndexTest {
+
+    private static final LocalDate DATE_OF_BIRTH = LocalDate.of(1982, 4, 29);
+
+    @Test
+    public void shouldReturnOnlySubscriptionsWhoseFilterValueOccursInTheCase() {
+        final Subscription urnSubscription = buildSubscription(filter().withFilterType(CASE_REFERENCE).withUrn("URN123").build());
+        final Subscription otherUrnSubscription = buildSubscription(filter().withFilterType(CASE_REFERENCE).withUrn("URN999").build());
+        final Subscription offenceSubscription = buildSubscription(filter().withFilterType(OFFENCE).withOffence("OffenceCode1").build());
+        final Subscription otherOffenceSubscription = buildSubscription(filter().withFilterType(OFFENCE).withOffence("OffenceCode9").build());
+        final Subscription genderSubscription = buildSubscription(filter().withFilterType(GENDER)
+                .withGender(uk.gov.moj.cpp.subscriptions.json.schemas.Gender.MALE).build());
+        final Subscription defendantSubscription = buildSubscription(filter().withFilterType(DEFENDANT)
+                .withDefendant(defendant().withFirstName("JOHN").withLastName("smith").withDateOfBirth(DATE_OF_BIRTH).build()).build());
+        final Subscription youthSubscription = buildSubscription(filter().withFilterType(AGE).withIsAdult(false).build());
+
+        final List<Candidate> candidates = SubscriptionMatchingIndex.index(asList(urnSubscription, otherUrnSubscription,
+                offenceSubscription, otherOffenceSubscription, genderSubscription, defendantSubscription, youthSubscription))
+                .candidatesFor(singletonList(buildCase("URN123")));
+
+        assertThat(subscriptionsOf(candidates), contains(urnSubscription, offenceSubscription, genderSubscription, defendantSubscription));
+    }
+
+    @Test
+    public void shouldKeepSubscriptionOrderAndCaseOrderForEachCandidate() {
+        final Subscription adultSubscription = buildSubscription(filter().withFilterType(AGE).withIsAdult(true).build());
+        final Subscription urnSubscription = buildSubscription(filter().withFilterType(CASE_REFERENCE).withUrn("URN2").build());
+        final ProsecutionCase firstCase = buildCase("URN1");
+        final ProsecutionCase secondCase = buildCase("URN2");
+
+        final List<Candidate> candidates = SubscriptionMatchingIndex.index(asList(adultSubscription, urnSubscription))
+                .candidatesFor(asList(firstCase, secondCase));
+
+        assertThat(subscriptionsOf(candidates), contains(adultSubscription, urnSubscription));
+        assertThat(candidates.get(0).getProsecutionCases(), contains(firstCase, secondCase));
+        assertThat(candidates.get(1).getProsecutionCases(), contains(secondCase));
+    }
+
+    @Test
+    public void shouldAlwaysReturnSubscriptionsThatCannotBeIndexed() {
+        final Subscription noDateOfBirthSubscription = buildSubscription(filter().withFilterType(DEFENDANT)
+                .withDefendant(defendant().withFirstName("Maggie").withLastName("Smith").build()).build());
+
+        final List<Candidate> candidates = SubscriptionMatchingIndex.index(singletonList(noDateOfBirthSubscription))
+                .candidatesFor(singletonList(buildCase("URN123")));
+
+        assertThat(candidates, hasSize(1));
+        assertThat(candidates.get(0).getSubscription(), is(noDateOfBirthSubscription));
+    }
+
+    @Test
+    public void shouldIgnoreInactiveSubscriptions() {
+        final Subscription inactiveSubscription = subscription()
+                .withId(randomUUID())
+                .withActive(false)
+                .withFilter(filter().withFilterType(CASE_REFERENCE).withUrn("URN123").build())
+                .build();
+
+        final List<Candidate> candidates = SubscriptionMatchingIndex.index(singletonList(inactiveSubscription))
+                .candidatesFor(singletonList(buildCase("URN123")));
+
+        assertThat(candidates, is(empty()));
+    }
+
+    private List<Subscription> subscriptionsOf(final List<Candidate> candidates) {
+        return candidates.stream().map(Candidate::getSubscription).collect(toList());
+    }
+
+    private Subscription buildSubscription(final Filter filter) {
+        return subscription()
+                .withId(randomUUID())
+                .withActive(true)
+                .withFilter(filter)
+                .build();
+    }
+
+    private ProsecutionCase buildCase(final String urn) {
+        return prosecutionCase()
+                .withId(randomUUID())
+                .withProsecutionCaseIdentifier(prosecutionCaseIdentifier().withCaseURN(urn).build())
+                .withDefendants(singletonList(uk.gov.justice.core.courts.Defendant.defendant()
+                        .withId(randomUUID())
+                        .withPersonDefendant(personDefendant()
+                                .withPersonDetails(person()
+                                        .withFirstName("John")
+                                        .withLastName("Smith")
+                                        .withDateOfBirth(DATE_OF_BIRTH)
+                                        .withGender(Gender.MALE)
+                                        .build())
+                                .build())
+                        .withOffences(singletonList(offence().withOffenceCode("OffenceCode1").build()))
+                        .build()))
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.filterprocessing.filters;
+
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Filter.filter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.FilterType.AGE;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.FilterType.CASE_REFERENCE;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscription.subscription;
+
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+public class SubscriptionFilterCacheTest {
+
+    private final SubscriptionFilterCache subscriptionFilterCache = new SubscriptionFilterCache();
+
+    @Test
+    public void shouldReuseTheFilterCompiledForASubscription() {
+        final Subscription subscription = subscriptionWithUrn(randomUUID(), "URN123");
+
+        final AbstractFilterStrategy filterStrategy = subscriptionFilterCache.filterFor(subscription);
+
+        assertThat(filterStrategy, instanceOf(UrnFilterStrategy.class));
+        assertThat(subscriptionFilterCache.filterFor(subscription), is(sameInstance(filterStrategy)));
+        assertThat(subscriptionFilterCache.size(), is(1));
+    }
+
+    @Test
+    public void shouldCompileTheFilterAgainOnceTheSubscriptionHasChanged() {
+        final UUID subscriptionId = randomUUID();
+        final Subscription subscription = subscriptionWithUrn(subscriptionId, "URN123");
+        final AbstractFilterStrategy filterStrategy = subscriptionFilterCache.filterFor(subscription);
+
+        subscriptionFilterCache.subscriptionChanged(subscriptionId);
+
+        assertThat(subscriptionFilterCache.size(), is(0));
+        final AbstractFilterStrategy recompiled = subscriptionFilterCache.filterFor(subscription);
+        assertThat(recompiled, is(not(sameInstance(filterStrategy))));
+        assertThat(subscriptionFilterCache.filterFor(subscription), is(sameInstance(recompiled)));
+    }
+
+    @Test
+    public void shouldCompileTheFilterAgainWhenTheSubscriptionFilterIsNoLongerTheSame() {
+        final UUID subscriptionId = randomUUID();
+        subscriptionFilterCache.filterFor(subscriptionWithUrn(subscriptionId, "URN123"));
+
+        final AbstractFilterStrategy filterStrategy = subscriptionFilterCache.filterFor(subscription()
+                .withId(subscriptionId)
+                .withFilter(filter().withFilterType(AGE).withIsAdult(true).build())
+                .build());
+
+        assertThat(filterStrategy, instanceOf(AgeFilterStrategy.class));
+        assertThat(subscriptionFilterCache.size(), is(1));
+    }
+
+    @Test
+    public void shouldNotCacheTheFilterOfASubscriptionWithoutAnId() {
+        final Subscription subscription = subscriptionWithUrn(null, "URN123");
+
+        final AbstractFilterStrategy filterStrategy = subscriptionFilterCache.filterFor(subscription);
+
+        assertThat(filterStrategy, instanceOf(UrnFilterStrategy.class));
+        assertThat(subscriptionFilterCache.size(), is(0));
+    }
+
+    private static Subscription subscriptionWithUrn(final UUID subscriptionId, final String urn) {
+        return subscription()
+                .withId(subscriptionId)
+                .withFilter(filter().withFilterType(CASE_REFERENCE).withUrn(urn).build())
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.metrics;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasEntry;
+import static org.hamcrest.Matchers.is;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.PLEAS_ENTER;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Events.REMAND_STATUS;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.FilterType.CASE_REFERENCE;
+
+import org.junit.jupiter.api.Test;
+
+public class ProcessorMetricsTest {
+
+    private final ProcessorMetrics processorMetrics = new ProcessorMetrics();
+
+    @Test
+    public void shouldReportCountMeanMaximumAndBucketedPercentiles() {
+        final Distribution distribution = new Distribution();
+        for (int value = 1; value <= 100; value++) {
+            distribution.record(value);
+        }
+
+        final DistributionSnapshot snapshot = distribution.snapshot();
+
+        assertThat(snapshot.getCount(), is(100L));
+        assertThat(snapshot.getTotal(), is(5050L));
+        assertThat(snapshot.getMean(), is(50L));
+        assertThat(snapshot.getMax(), is(100L));
+        assertThat(snapshot.getP50(), is(63L));
+        assertThat(snapshot.getP95(), is(100L));
+        assertThat(snapshot.getP99(), is(100L));
+    }
+
+    @Test
+    public void shouldReportAnEmptyDistributionAsZero() {
+        final DistributionSnapshot snapshot = new Distribution().snapshot();
+
+        assertThat(snapshot.getCount(), is(0L));
+        assertThat(snapshot.getMean(), is(0L));
+        assertThat(snapshot.getP99(), is(0L));
+    }
+
+    @Test
+    public void shouldCountRuleMatchesAndMissesPerEventAndFilterType() {
+        processorMetrics.recordRule(PLEAS_ENTER, CASE_REFERENCE, true);
+        processorMetrics.recordRule(PLEAS_ENTER, CASE_REFERENCE, false);
+        processorMetrics.recordRule(REMAND_STATUS, null, false);
+        processorMetrics.recordRule(null, CASE_REFERENCE, true);
+
+        assertThat(processorMetrics.getEventOutcomes(), hasEntry("PLEAS_ENTER.match", 1L));
+        assertThat(processorMetrics.getEventOutcomes(), hasEntry("PLEAS_ENTER.miss", 1L));
+        assertThat(processorMetrics.getEventOutcomes(), hasEntry("REMAND_STATUS.miss", 1L));
+        assertThat(processorMetrics.getFilterOutcomes(), hasEntry("CASE_REFERENCE.match", 2L));
+        assertThat(processorMetrics.getFilterOutcomes(), hasEntry("CASE_REFERENCE.miss", 1L));
+    }
+}
@@ -0,0 +1,144 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.service;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscription.subscription;
+
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class CourtSubscriptionsCacheTest {
+
+    private static final UUID COURT_ID = randomUUID();
+    private static final UUID SUBSCRIPTION_ID = randomUUID();
+
+    @Mock
+    private ApplicationParameters applicationParameters;
+
+    @Mock
+    private Supplier<List<Subscription>> loader;
+
+    @InjectMocks
+    private CourtSubscriptionsCache courtSubscriptionsCache;
+
+    private final List<Subscription> subscriptions = singletonList(subscription().withId(SUBSCRIPTION_ID).build());
+
+    @BeforeEach
+    public void setup() {
+        when(loader.get()).thenReturn(subscriptions);
+    }
+
+    @Test
+    public void shouldLoadSubscriptionsOncePerCourtWithinTtl() {
+        when(applicationParameters.getCourtSubscriptionsCacheTtlSeconds()).thenReturn(300L);
+        when(applicationParameters.getCourtSubscriptionsCacheMaxSize()).thenReturn(10);
+
+        courtSubscriptionsCache.getSubscriptions(COURT_ID, loader);
+        final List<Subscription> cached = courtSubscriptionsCache.getSubscriptions(COURT_ID, loader);
+
+        assertThat(cached, is(subscriptions));
+        assertThat(courtSubscriptionsCache.getHits(), is(1L));
+        assertThat(courtSubscriptionsCache.getMisses(), is(1L));
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    public void shouldReloadWhenEntryHasExpired() {
+        when(applicationParameters.getCourtSubscriptionsCacheTtlSeconds()).thenReturn(0L);
+        when(applicationParameters.getCourtSubscriptionsCacheMaxSize()).thenReturn(10);
+
+        courtSubscriptionsCache.getSubscriptions(COURT_ID, loader);
+        courtSubscriptionsCache.getSubscriptions(COURT_ID, loader);
+
+        assertThat(courtSubscriptionsCache.getMisses(), is(2L));
+        assertThat(courtSubscriptionsCache.getEvictions(), is(1L));
+        verify(loader, times(2)).get();
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedCourtWhenFull() {
+        when(applicationParameters.getCourtSubscriptionsCacheMaxSize()).thenReturn(2);
+        final UUID secondCourtId = randomUUID();
+        final UUID thirdCourtId = randomUUID();
+
+        for (final UUID courtId : asList(COURT_ID, secondCourtId, thirdCourtId)) {
+            courtSubscriptionsCache.getSubscriptions(courtId, loader);
+        }
+
+        assertThat(courtSubscriptionsCache.size(), is(2));
+        assertThat(courtSubscriptionsCache.getEvictions(), is(1L));
+    }
+
+    @Test
+    public void shouldInvalidateCourtsContainingChangedSubscription() {
+        when(applicationParameters.getCourtSubscriptionsCacheMaxSize()).thenReturn(10);
+        courtSubscriptionsCache.getSubscriptions(COURT_ID, loader);
+
+        courtSubscriptionsCache.invalidateSubscription(SUBSCRIPTION_ID);
+
+        assertThat(courtSubscriptionsCache.size(), is(0));
+    }
+
+    @Test
+    public void shouldInvalidateCourtsContainingChangedInactiveSubscription() {
+        final UUID inactiveSubscriptionId = randomUUID();
+        final UUID otherCourtId = randomUUID();
+        when(applicationParameters.getCourtSubscriptionsCacheMaxSize()).thenReturn(10);
+        courtSubscriptionsCache.getSubscriptions(COURT_ID, () -> asList(
+                subscription().withId(SUBSCRIPTION_ID).withActive(true).build(),
+                subscription().withId(inactiveSubscriptionId).withActive(false).build()));
+        courtSubscriptionsCache.getSubscriptions(otherCourtId, loader);
+
+        courtSubscriptionsCache.invalidateSubscription(inactiveSubscriptionId);
+
+        assertThat(courtSubscriptionsCache.size(), is(1));
+        courtSubscriptionsCache.getSubscriptions(otherCourtId, loader);
+        assertThat(courtSubscriptionsCache.getHits(), is(1L));
+    }
+
+    @Test
+    public void shouldOnlyKeepSubscriptionsLoadedBeforeTheViewstoreHasSettledUntilTheEndOfTheSettlePeriod() throws InterruptedException {
+        final List<Subscription> changed = singletonList(subscription().withId(SUBSCRIPTION_ID).withActive(false).build());
+        when(applicationParameters.getCourtSubscriptionsCacheTtlSeconds()).thenReturn(300L);
+        when(applicationParameters.getCourtSubscriptionsCacheMaxSize()).thenReturn(10);
+        when(applicationParameters.getCourtSubscriptionsCacheSettleMillis()).thenReturn(500L);
+
+        courtSubscriptionsCache.invalidateSubscription(SUBSCRIPTION_ID);
+        // the listener has not committed the change yet
+        courtSubscriptionsCache.getSubscriptions(COURT_ID, loader);
+        assertThat(courtSubscriptionsCache.getSubscriptions(COURT_ID, () -> changed), is(subscriptions));
+
+        Thread.sleep(600);
+
+        assertThat(courtSubscriptionsCache.getSubscriptions(COURT_ID, () -> changed), is(changed));
+        assertThat(courtSubscriptionsCache.getSubscriptions(COURT_ID, loader), is(changed));
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    public void shouldInvalidateCourtsOfCreatedSubscription() {
+        when(applicationParameters.getCourtSubscriptionsCacheMaxSize()).thenReturn(10);
+        courtSubscriptionsCache.getSubscriptions(COURT_ID, loader);
+
+        courtSubscriptionsCache.invalidateCourts(singletonList(COURT_ID));
+
+        assertThat(courtSubscriptionsCache.size(), is(0));
+    }
+}
@@ -0,0 +1,147 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.service;
+
+import static java.time.ZoneOffset.UTC;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
+import static uk.gov.moj.cpp.subscriptions.event.processor.service.DuplicateEventLedger.hearingKey;
+import static uk.gov.moj.cpp.subscriptions.event.processor.service.DuplicateEventLedger.materialKey;
+
+import uk.gov.justice.services.common.util.UtcClock;
+import uk.gov.moj.cpp.subscriptions.event.processor.metrics.ProcessorMetrics;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.DuplicateEventLedgerEntry;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.DuplicateEventLedgerRepository;
+
+import java.time.ZonedDateTime;
+import java.util.UUID;
+
+import javax.persistence.PersistenceException;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class DuplicateEventLedgerTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2026, 10, 17, 10, 0, 0, 0, UTC);
+
+    @Mock
+    private DuplicateEventLedgerRepository duplicateEventLedgerRepository;
+
+    @Mock
+    private ApplicationParameters applicationParameters;
+
+    @Mock
+    private ProcessorMetrics processorMetrics;
+
+    @Mock
+    private UtcClock utcClock;
+
+    @InjectMocks
+    private DuplicateEventLedger duplicateEventLedger;
+
+    @Captor
+    private ArgumentCaptor<DuplicateEventLedgerEntry> entryCaptor;
+
+    @Test
+    public void shouldRecordAnEventSeenForTheFirstTime() {
+        givenAWindowOfMinutes(60);
+        final String key = materialKey(randomUUID());
+
+        assertThat(duplicateEventLedger.isDuplicate(key), is(false));
+
+        verify(duplicateEventLedgerRepository).saveAndFlush(entryCaptor.capture());
+        assertThat(entryCaptor.getValue().getDedupeKey(), is(key));
+        assertThat(entryCaptor.getValue().getProcessedAt(), is(NOW));
+        verify(processorMetrics, never()).recordSuppressedDuplicate();
+    }
+
+    @Test
+    public void shouldSuppressAnEventAlreadyProcessedWithinTheWindow() {
+        givenAWindowOfMinutes(60);
+        final String key = materialKey(randomUUID());
+        when(duplicateEventLedgerRepository.findBy(key)).thenReturn(new DuplicateEventLedgerEntry(key, NOW.minusMinutes(5)));
+        when(duplicateEventLedgerRepository.updateProcessedAtIfProcessedBefore(key, NOW, NOW.minusMinutes(60))).thenReturn(0);
+
+        assertThat(duplicateEventLedger.isDuplicate(key), is(true));
+
+        verify(duplicateEventLedgerRepository, never()).saveAndFlush(any());
+        verify(processorMetrics).recordSuppressedDuplicate();
+    }
+
+    @Test
+    public void shouldSuppressAnEventWhoseEntryAConcurrentCopyHasRecordedFirst() {
+        givenAWindowOfMinutes(60);
+        final String key = materialKey(randomUUID());
+        when(duplicateEventLedgerRepository.saveAndFlush(any())).thenThrow(new PersistenceException("duplicate key value violates unique constraint"));
+
+        assertThat(duplicateEventLedger.isDuplicate(key), is(true));
+
+        verify(processorMetrics).recordSuppressedDuplicate();
+    }
+
+    @Test
+    public void shouldProcessAgainAnEventLastProcessedBeforeTheWindow() {
+        givenAWindowOfMinutes(60);
+        final String key = materialKey(randomUUID());
+        when(duplicateEventLedgerRepository.findBy(key)).thenReturn(new DuplicateEventLedgerEntry(key, NOW.minusMinutes(90)));
+        when(duplicateEventLedgerRepository.updateProcessedAtIfProcessedBefore(key, NOW, NOW.minusMinutes(60))).thenReturn(1);
+
+        assertThat(duplicateEventLedger.isDuplicate(key), is(false));
+
+        verify(processorMetrics, never()).recordSuppressedDuplicate();
+    }
+
+    @Test
+    public void shouldPurgeEventsOlderThanTheWindowAtMostOncePerWindow() {
+        givenAWindowOfMinutes(60);
+
+        duplicateEventLedger.isDuplicate(materialKey(randomUUID()));
+        duplicateEventLedger.isDuplicate(materialKey(randomUUID()));
+        when(utcClock.now()).thenReturn(NOW.plusMinutes(61));
+        duplicateEventLedger.isDuplicate(materialKey(randomUUID()));
+
+        verify(duplicateEventLedgerRepository).deleteProcessedBefore(NOW.minusMinutes(60));
+        verify(duplicateEventLedgerRepository).deleteProcessedBefore(NOW.plusMinutes(1));
+        verify(duplicateEventLedgerRepository, times(3)).saveAndFlush(any());
+    }
+
+    @Test
+    public void shouldNotRecordEventsWhenTheWindowIsZero() {
+        when(applicationParameters.getDuplicateEventWindowMinutes()).thenReturn(0L);
+
+        assertThat(duplicateEventLedger.isDuplicate(materialKey(randomUUID())), is(false));
+
+        verifyNoInteractions(duplicateEventLedgerRepository, processorMetrics);
+    }
+
+    @Test
+    public void shouldKeyAHearingByItsIdAndTheContentReadByTheRules() {
+        final UUID hearingId = randomUUID();
+
+        final String key = hearingKey(hearingId, createObjectBuilder().add("id", hearingId.toString()).add("isEffectiveTrial", true).build());
+
+        assertThat(key.startsWith("hearing:" + hearingId + ":"), is(true));
+        assertThat(key.length(), is(("hearing:" + hearingId + ":").length() + 64));
+        assertThat(hearingKey(hearingId, createObjectBuilder().add("id", hearingId.toString()).add("isEffectiveTrial", true).build()), is(key));
+        assertThat(hearingKey(hearingId, createObjectBuilder().add("id", hearingId.toString()).add("isEffectiveTrial", false).build()), is(not(key)));
+    }
+
+    private void givenAWindowOfMinutes(final long windowMinutes) {
+        when(applicationParameters.getDuplicateEventWindowMinutes()).thenReturn(windowMinutes);
+        when(utcClock.now()).thenReturn(NOW);
+    }
+}
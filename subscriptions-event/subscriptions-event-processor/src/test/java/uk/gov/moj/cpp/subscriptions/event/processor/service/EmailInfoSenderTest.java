@@ -2,11 +2,15 @@ package uk.gov.moj.cpp.subscriptions.event.processor.service;
 
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static uk.gov.justice.services.messaging.Envelope.envelopeFrom;
 import static uk.gov.justice.services.test.utils.core.messaging.MetadataBuilderFactory.metadataWithRandomUUIDAndName;
 import static uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo.emailInfo;
@@ -17,10 +21,13 @@ import uk.gov.justice.core.courts.NowDocumentRequested;
 import uk.gov.justice.services.core.sender.Sender;
 import uk.gov.justice.services.messaging.Envelope;
 import uk.gov.moj.cpp.subscriptions.json.schemas.EmailInfo;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscribers;
 
 import java.util.List;
 
+import javax.json.JsonArray;
 import javax.json.JsonObject;
+import javax.json.JsonString;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -70,7 +77,61 @@ public class EmailInfoSenderTest {
         verify(sender).send(envelopeCaptor.capture());
 
         final Envelope<JsonObject> publicEvent = envelopeCaptor.getValue();
-        assertThat(publicEvent.metadata().name(), equalTo("subscriptions.command.handler.send-email"));
-        assertThat(publicEvent.payload().getString("subject"), is("Subject"));
+        assertThat(publicEvent.metadata().name(), equalTo("subscriptions.command.handler.send-email-batch"));
+        final JsonObject email = publicEvent.payload().getJsonArray("emails").getJsonObject(0);
+        assertThat(email.getString("subject"), is("Subject"));
+        assertThat(email.getJsonArray("sendToAddresses").getString(0), is("abc@xyz.com"));
+    }
+
+    @Test
+    public void shouldSendOneCommandForAllEmailsOfTheEvent() {
+
+        final Envelope<NowDocumentRequested> nowDocumentRequestedEnvelope = envelopeFrom(metadataWithRandomUUIDAndName().build(),
+                null);
+
+        final List<EmailInfo> emailInfos = asList(
+                buildEmailInfo("First subject", subscribers().withEmailAddress("abc@xyz.com").withActive(true).build(),
+                        subscribers().withEmailAddress("def@xyz.com").withActive(true).build(),
+                        subscribers().withEmailAddress("inactive@xyz.com").withActive(false).build()),
+                buildEmailInfo("Second subject", subscribers().withEmailAddress("ghi@xyz.com").withActive(true).build()),
+                buildEmailInfo("No active subscribers", subscribers().withEmailAddress("jkl@xyz.com").withActive(false).build()));
+
+        emailInfoSender.sendCommand(nowDocumentRequestedEnvelope, emailInfos);
+
+        verify(sender).send(envelopeCaptor.capture());
+
+        final JsonArray emails = envelopeCaptor.getValue().payload().getJsonArray("emails");
+        assertThat(emails.size(), is(2));
+        assertThat(emails.getJsonObject(0).getString("subject"), is("First subject"));
+        assertThat(emails.getJsonObject(0).getJsonArray("sendToAddresses").getValuesAs(JsonString.class)
+                .stream().map(JsonString::getString).collect(toList()), contains("abc@xyz.com", "def@xyz.com"));
+        assertThat(emails.getJsonObject(1).getString("subject"), is("Second subject"));
+    }
+
+    @Test
+    public void shouldNotSendCommandWhenThereAreNoActiveSubscribers() {
+
+        final Envelope<NowDocumentRequested> nowDocumentRequestedEnvelope = envelopeFrom(metadataWithRandomUUIDAndName().build(),
+                null);
+
+        emailInfoSender.sendCommand(nowDocumentRequestedEnvelope,
+                singletonList(buildEmailInfo("Subject", subscribers().withEmailAddress("abc@xyz.com").withActive(false).build())));
+
+        verifyNoInteractions(sender);
+    }
+
+    private EmailInfo buildEmailInfo(final String subject, final Subscribers... subscribers) {
+        return emailInfo()
+                .withSubscription(subscription()
+                        .withId(randomUUID())
+                        .withName("subscription name")
+                        .withSubscribers(asList(subscribers))
+                        .build())
+                .withSubject(subject)
+                .withBody("Body")
+                .withTitle("title")
+                .withCaseLink("caseLink")
+                .withEmailTemplateId(randomUUID().toString())
+                .build();
     }
 }
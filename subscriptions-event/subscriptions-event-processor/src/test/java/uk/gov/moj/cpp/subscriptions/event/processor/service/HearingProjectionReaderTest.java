@@ -0,0 +1,91 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.service;
+
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static uk.gov.moj.cpp.subscriptions.event.processor.TestUtil.readFile;
+
+import uk.gov.justice.core.courts.Defendant;
+import uk.gov.justice.core.courts.Hearing;
+import uk.gov.justice.core.courts.Offence;
+import uk.gov.justice.services.common.converter.JsonObjectToObjectConverter;
+import uk.gov.justice.services.common.converter.StringToJsonObjectConverter;
+import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
+
+import java.util.List;
+
+import javax.json.JsonObject;
+
+import org.junit.jupiter.api.Test;
+
+public class HearingProjectionReaderTest {
+
+    private final JsonObjectToObjectConverter jsonObjectToObjectConverter = new JsonObjectToObjectConverter(new ObjectMapperProducer().objectMapper());
+    private final HearingProjectionReader hearingProjectionReader = new HearingProjectionReader();
+
+    @Test
+    public void shouldReadTheFieldsUsedByTheRulesAsTheFullConversionDoes() {
+        final JsonObject hearingJson = hearingOf("stub/NotificationEventHearingResultedWithDefendantInitiationCode.json");
+
+        final Hearing full = jsonObjectToObjectConverter.convert(hearingJson, Hearing.class);
+        final Hearing projected = hearingProjectionReader.readHearing(hearingJson);
+
+        assertThat(projected.getId(), is(full.getId()));
+        assertThat(projected.getCourtCentre().getId(), is(full.getCourtCentre().getId()));
+        assertThat(projected.getCourtCentre().getName(), is(full.getCourtCentre().getName()));
+        assertThat(projected.getDefendantAttendance(), is(full.getDefendantAttendance()));
+        assertThat(projected.getProsecutionCases(), hasSize(full.getProsecutionCases().size()));
+        assertThat(projected.getProsecutionCases().get(0).getProsecutionCaseIdentifier(), is(full.getProsecutionCases().get(0).getProsecutionCaseIdentifier()));
+
+        final List<Defendant> fullDefendants = full.getProsecutionCases().get(0).getDefendants();
+        final List<Defendant> projectedDefendants = projected.getProsecutionCases().get(0).getDefendants();
+        assertThat(projectedDefendants, hasSize(fullDefendants.size()));
+        for (int index = 0; index < fullDefendants.size(); index++) {
+            final Defendant fullDefendant = fullDefendants.get(index);
+            final Defendant projectedDefendant = projectedDefendants.get(index);
+            assertThat(projectedDefendant.getId(), is(fullDefendant.getId()));
+            assertThat(projectedDefendant.getPersonDefendant().getBailStatus(), is(fullDefendant.getPersonDefendant().getBailStatus()));
+            assertThat(projectedDefendant.getPersonDefendant().getPersonDetails().getFirstName(), is(fullDefendant.getPersonDefendant().getPersonDetails().getFirstName()));
+            assertThat(projectedDefendant.getPersonDefendant().getPersonDetails().getLastName(), is(fullDefendant.getPersonDefendant().getPersonDetails().getLastName()));
+            assertThat(projectedDefendant.getPersonDefendant().getPersonDetails().getDateOfBirth(), is(fullDefendant.getPersonDefendant().getPersonDetails().getDateOfBirth()));
+            assertThat(projectedDefendant.getPersonDefendant().getPersonDetails().getGender(), is(fullDefendant.getPersonDefendant().getPersonDetails().getGender()));
+            assertThat(offenceCodesOf(projectedDefendant), is(offenceCodesOf(fullDefendant)));
+            assertThat(judicialResultTypesOf(projectedDefendant), is(judicialResultTypesOf(fullDefendant)));
+        }
+    }
+
+    @Test
+    public void shouldDropFieldsTheRulesDoNotRead() {
+        final JsonObject hearingJson = hearingOf("stub/NotificationEventHearingResultedWithDefendantInitiationCode.json");
+
+        final Hearing projected = hearingProjectionReader.readHearing(hearingJson);
+
+        assertThat(projected.getProsecutionCounsels(), is(nullValue()));
+        assertThat(projected.getDefenceCounsels(), is(nullValue()));
+        assertThat(projected.getHearingDays(), is(nullValue()));
+        final Offence offence = projected.getProsecutionCases().get(0).getDefendants().get(0).getOffences().get(0);
+        assertThat(offence.getOffenceCode(), is(notNullValue()));
+        assertThat(offence.getWording(), is(nullValue()));
+        assertThat(offence.getJudicialResults().get(0).getJudicialResultTypeId(), is(notNullValue()));
+        assertThat(offence.getJudicialResults().get(0).getLabel(), is(nullValue()));
+    }
+
+    private static List<String> offenceCodesOf(final Defendant defendant) {
+        return defendant.getOffences().stream().map(Offence::getOffenceCode).collect(toList());
+    }
+
+    private static List<Object> judicialResultTypesOf(final Defendant defendant) {
+        return defendant.getOffences().stream()
+                .filter(offence -> offence.getJudicialResults() != null)
+                .flatMap(offence -> offence.getJudicialResults().stream())
+                .map(judicialResult -> (Object) judicialResult.getJudicialResultTypeId())
+                .collect(toList());
+    }
+
+    private static JsonObject hearingOf(final String path) {
+        return new StringToJsonObjectConverter().convert(readFile(path)).getJsonObject("hearing");
+    }
+}
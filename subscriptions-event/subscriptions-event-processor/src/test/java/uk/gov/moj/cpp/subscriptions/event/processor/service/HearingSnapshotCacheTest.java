@@ -0,0 +1,67 @@
+package uk.gov.moj.cpp.subscriptions.event.processor.service;
+
+import static java.util.Collections.singletonList;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.justice.core.courts.Defendant.defendant;
+import static uk.gov.justice.core.courts.Hearing.hearing;
+import static uk.gov.justice.core.courts.ProsecutionCase.prosecutionCase;
+
+import uk.gov.justice.core.courts.Defendant;
+import uk.gov.justice.core.courts.Hearing;
+import uk.gov.justice.core.courts.ProsecutionCase;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class HearingSnapshotCacheTest {
+
+    private static final UUID HEARING_ID = randomUUID();
+    private static final UUID CASE_ID = randomUUID();
+    private static final UUID DEFENDANT_ID = randomUUID();
+
+    @Mock
+    private HearingService hearingService;
+
+    @Test
+    public void shouldFetchHearingOnceAndLookupCaseAndDefendantById() {
+        final Defendant defendant = defendant().withId(DEFENDANT_ID).build();
+        final ProsecutionCase prosecutionCase = prosecutionCase().withId(CASE_ID).withDefendants(singletonList(defendant)).build();
+        final Hearing hearing = hearing().withId(HEARING_ID).withProsecutionCases(singletonList(prosecutionCase)).build();
+        when(hearingService.getHearing(HEARING_ID)).thenReturn(of(hearing));
+
+        final HearingSnapshotCache hearingSnapshotCache = new HearingSnapshotCache(hearingService);
+        hearingSnapshotCache.getHearing(HEARING_ID);
+        final HearingSnapshot hearingSnapshot = hearingSnapshotCache.getHearing(HEARING_ID).get();
+
+        assertThat(hearingSnapshot.getHearing(), is(hearing));
+        assertThat(hearingSnapshot.findProsecutionCase(CASE_ID).get(), is(prosecutionCase));
+        assertThat(hearingSnapshot.findDefendant(CASE_ID, DEFENDANT_ID).get(), is(defendant));
+        assertThat(hearingSnapshot.findDefendant(randomUUID(), DEFENDANT_ID).isPresent(), is(false));
+        assertThat(hearingSnapshotCache.getHits(), is(1L));
+        assertThat(hearingSnapshotCache.getRemoteCalls(), is(1L));
+        verify(hearingService, times(1)).getHearing(HEARING_ID);
+    }
+
+    @Test
+    public void shouldRememberHearingsThatWereNotFound() {
+        when(hearingService.getHearing(HEARING_ID)).thenReturn(empty());
+
+        final HearingSnapshotCache hearingSnapshotCache = new HearingSnapshotCache(hearingService);
+
+        assertThat(hearingSnapshotCache.getHearing(HEARING_ID).isPresent(), is(false));
+        assertThat(hearingSnapshotCache.getHearing(HEARING_ID).isPresent(), is(false));
+        verify(hearingService, times(1)).getHearing(HEARING_ID);
+    }
+}
@@ -0,0 +1,265 @@
+package it;
+
+import static java.lang.Integer.parseInt;
+import static java.util.UUID.randomUUID;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+
+import uk.gov.justice.services.test.utils.persistence.TestJdbcConnectionProvider;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Court;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Event;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Filter;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.NowsEdt;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscriber;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscribersRepository;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscriptionsRepository;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.persistence.EntityManager;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.deltaspike.data.api.EntityGraph;
+import org.apache.deltaspike.data.api.Query;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.cfg.Configuration;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.service.UnknownUnwrapTypeException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Checks that the subscriber email lookups of the portal use the indexes of changeset 010 once
+ * the subscriber table holds 100k rows. The repository queries are run through Hibernate and the
+ * plans are those of the SQL Hibernate generated for them.
+ */
+public class SubscriberLookupPerformanceIT extends BaseIT {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SubscriberLookupPerformanceIT.class);
+
+    private static final String NAME_PREFIX = "lookup-performance-";
+    private static final int SUBSCRIPTIONS = 1000;
+    private static final int SUBSCRIBERS_PER_SUBSCRIPTION = 100;
+    private static final int SUBSCRIPTIONS_PER_ORGANISATION = 100;
+    private static final int SUBSCRIPTIONS_OF_USER = 5;
+    private static final String USER_EMAIL = "lookup.performance@organisation.gov.uk";
+    private static final String FETCH_GRAPH = "javax.persistence.fetchgraph";
+    private static final Pattern QUERY_PARAMETER = Pattern.compile("[:?](\\w+)");
+
+    private static final List<String> statements = new CopyOnWriteArrayList<>();
+
+    private static Connection connection;
+    private static SessionFactory sessionFactory;
+    private static UUID organisationId;
+    private static UUID subscriptionOfUser;
+
+    @BeforeAll
+    public static void insertSubscribers() throws SQLException {
+        connection = new TestJdbcConnectionProvider().getViewStoreConnection(CONTEXT_NAME);
+        deleteSubscriptions();
+
+        final List<UUID> organisations = new ArrayList<>();
+        try (final PreparedStatement subscription = connection.prepareStatement("insert into subscription (id, name, active, organisation_id) values (?, ?, true, ?)");
+             final PreparedStatement subscriber = connection.prepareStatement("insert into subscriber (id, email_address, active, subscription_id) values (?, ?, true, ?)")) {
+            for (int index = 0; index < SUBSCRIPTIONS; index++) {
+                if (index % SUBSCRIPTIONS_PER_ORGANISATION == 0) {
+                    organisations.add(randomUUID());
+                }
+                final UUID subscriptionId = randomUUID();
+                subscription.setObject(1, subscriptionId);
+                subscription.setString(2, NAME_PREFIX + index);
+                subscription.setObject(3, organisations.get(organisations.size() - 1));
+                subscription.addBatch();
+
+                for (int subscriberIndex = 0; subscriberIndex < SUBSCRIBERS_PER_SUBSCRIPTION; subscriberIndex++) {
+                    final boolean user = index < SUBSCRIPTIONS_OF_USER && subscriberIndex == 0;
+                    subscriber.setObject(1, randomUUID());
+                    subscriber.setString(2, user ? USER_EMAIL : "Subscriber" + subscriberIndex + ".Of" + index + "@organisation.gov.uk");
+                    subscriber.setObject(3, subscriptionId);
+                    subscriber.addBatch();
+                }
+                if (index == 0) {
+                    subscriptionOfUser = subscriptionId;
+                }
+                subscription.executeBatch();
+                subscriber.executeBatch();
+            }
+        }
+        organisationId = organisations.get(0);
+
+        try (final Statement statement = connection.createStatement()) {
+            statement.execute("analyze subscription");
+            statement.execute("analyze subscriber");
+        }
+
+        final Configuration configuration = new Configuration()
+                .addAnnotatedClass(Subscription.class)
+                .addAnnotatedClass(Subscriber.class)
+                .addAnnotatedClass(Filter.class)
+                .addAnnotatedClass(Event.class)
+                .addAnnotatedClass(NowsEdt.class)
+                .addAnnotatedClass(Court.class)
+                .setProperty(AvailableSettings.DIALECT, PostgreSQLDialect.class.getName())
+                .setStatementInspector(sql -> {
+                    statements.add(sql);
+                    return sql;
+                });
+        configuration.getProperties().put(AvailableSettings.CONNECTION_PROVIDER, new ViewStoreConnectionProvider());
+        sessionFactory = configuration.buildSessionFactory();
+    }
+
+    @AfterAll
+    public static void deleteSubscribers() throws SQLException {
+        sessionFactory.close();
+        deleteSubscriptions();
+        connection.close();
+    }
+
+    @Test
+    public void shouldFindSubscriptionsOfSubscriberThroughIndexes() throws Exception {
+        final Method query = SubscriptionsRepository.class.getMethod("findByOrganisationIdAndSubscriber", UUID.class, String.class);
+        final Map<String, Object> parameters = ImmutableMap.of("organisationId", organisationId, "emailAddress", USER_EMAIL);
+
+        final List<?> subscriptions = run(query, parameters);
+        final String plan = explain(statements.get(0), parametersInOrder(query, parameters));
+        LOGGER.info("Plan for subscriptions of subscriber:\n{}", plan);
+
+        assertThat(plan, containsString("subscription_organisation_id_id_idx"));
+        assertThat(plan, containsString("subscriber_lower_email_address_subscription_id_idx"));
+        assertThat(plan, not(containsString("Seq Scan on subscriber")));
+        assertThat(new HashSet<>(subscriptions), hasSize(SUBSCRIPTIONS_OF_USER));
+    }
+
+    @Test
+    public void shouldFindSubscriberOfSubscriptionThroughIndex() throws Exception {
+        final Method query = SubscribersRepository.class.getMethod("findSubscribersByEmailAddressForSubscription", String.class, UUID.class);
+        final Map<String, Object> parameters = ImmutableMap.of("1", USER_EMAIL, "2", subscriptionOfUser);
+
+        final List<?> subscribers = run(query, parameters);
+        final String plan = explain(statements.get(0), parametersInOrder(query, parameters));
+        LOGGER.info("Plan for subscriber of subscription:\n{}", plan);
+
+        assertThat(plan, containsString("subscriber_lower_email_address_subscription_id_idx"));
+        assertThat(plan, not(containsString("Seq Scan on subscriber")));
+        assertThat(subscribers, hasSize(1));
+        assertThat(run(query, ImmutableMap.of("1", USER_EMAIL.toUpperCase(), "2", subscriptionOfUser)).isEmpty(), is(true));
+    }
+
+    /**
+     * Runs the JPQL of a repository query, with its entity graph, and keeps the SQL Hibernate
+     * generated for it as the first of the captured statements.
+     */
+    private static List<?> run(final Method repositoryQuery, final Map<String, Object> parameters) {
+        final EntityManager entityManager = sessionFactory.createEntityManager();
+        try {
+            final javax.persistence.Query query = entityManager.createQuery(repositoryQuery.getAnnotation(Query.class).value());
+            final EntityGraph entityGraph = repositoryQuery.getAnnotation(EntityGraph.class);
+            if (entityGraph != null) {
+                query.setHint(FETCH_GRAPH, entityManager.getEntityGraph(entityGraph.value()));
+            }
+            parameters.forEach((name, value) -> {
+                if (name.chars().allMatch(Character::isDigit)) {
+                    query.setParameter(parseInt(name), value);
+                } else {
+                    query.setParameter(name, value);
+                }
+            });
+            statements.clear();
+            return query.getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * The parameter values in the order Hibernate binds them, which is the order the parameters
+     * appear in the JPQL.
+     */
+    private static Object[] parametersInOrder(final Method repositoryQuery, final Map<String, Object> parameters) {
+        final List<Object> values = new ArrayList<>();
+        final Matcher matcher = QUERY_PARAMETER.matcher(repositoryQuery.getAnnotation(Query.class).value());
+        while (matcher.find()) {
+            values.add(parameters.get(matcher.group(1)));
+        }
+        return values.toArray();
+    }
+
+    private static String explain(final String sql, final Object[] parameters) throws SQLException {
+        final StringBuilder plan = new StringBuilder();
+        try (final PreparedStatement statement = connection.prepareStatement("explain analyze " + sql)) {
+            for (int index = 0; index < parameters.length; index++) {
+                statement.setObject(index + 1, parameters[index]);
+            }
+            try (final ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+        }
+        return plan.toString();
+    }
+
+    private static void deleteSubscriptions() throws SQLException {
+        try (final PreparedStatement subscribers = connection.prepareStatement(
+                "delete from subscriber where subscription_id in (select id from subscription where name like ?)");
+             final PreparedStatement subscriptions = connection.prepareStatement("delete from subscription where name like ?")) {
+            subscribers.setString(1, NAME_PREFIX + "%");
+            subscribers.executeUpdate();
+            subscriptions.setString(1, NAME_PREFIX + "%");
+            subscriptions.executeUpdate();
+        }
+    }
+
+    private static class ViewStoreConnectionProvider implements ConnectionProvider {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return new TestJdbcConnectionProvider().getViewStoreConnection(CONTEXT_NAME);
+        }
+
+        @Override
+        public void closeConnection(final Connection viewStoreConnection) throws SQLException {
+            viewStoreConnection.close();
+        }
+
+        @Override
+        public boolean supportsAggressiveRelease() {
+            return false;
+        }
+
+        @Override
+        @SuppressWarnings("rawtypes")
+        public boolean isUnwrappableAs(final Class unwrapType) {
+            return false;
+        }
+
+        @Override
+        public <T> T unwrap(final Class<T> unwrapType) {
+            throw new UnknownUnwrapTypeException(unwrapType);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package it;
+
+import static com.jayway.jsonpath.matchers.JsonPathMatchers.isJson;
+import static com.jayway.jsonpath.matchers.JsonPathMatchers.withJsonPath;
+import static java.lang.String.format;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.awaitility.Awaitility.await;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.is;
+import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
+import static uk.gov.moj.cpp.subscriptions.helper.RestHelper.getWriteUrl;
+import static uk.gov.moj.cpp.subscriptions.helper.RestHelper.makePostCall;
+import static uk.gov.moj.cpp.subscriptions.helper.StubUtil.resetStubs;
+import static uk.gov.moj.cpp.subscriptions.helper.StubUtil.stubGetUserDetails;
+import static uk.gov.moj.cpp.subscriptions.helper.TestUtil.readFile;
+
+import uk.gov.justice.services.test.utils.persistence.TestJdbcConnectionProvider;
+import uk.gov.moj.cpp.platform.test.feature.toggle.FeatureStubber;
+import uk.gov.moj.cpp.subscriptions.helper.EventListener;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServerConnection;
+import javax.management.ObjectName;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Rebuilds the viewstore from the event store and checks that it holds the same rows as the
+ * viewstore written by the event listeners. The ids of event and nowsedt rows are generated by
+ * whichever writes them and are left out of the comparison. Every event has been processed by the
+ * event listeners before the rebuild, which stands in for pausing them.
+ */
+public class ViewStoreRebuildIT extends BaseIT {
+
+    private static final String SUBSCRIPTION_CREATED_PUBLIC_EVENT = "public.subscriptions.event.subscription-created";
+    private static final String SUBSCRIPTION_UNSUBSCRIBE_PUBLIC_EVENT = "public.subscriptions.event.subscription-unsubscribed-successfully";
+    private static final String REBUILD_OBJECT_NAME = "uk.gov.moj.cpp.subscriptions:type=ViewStoreRebuild";
+    private static final String HOST = System.getProperty("INTEGRATION_HOST_KEY", "localhost");
+    private static final String MANAGEMENT_URL = "service:jmx:remote+http://%s:9990";
+
+    private static final Map<String, String> SNAPSHOT_QUERIES = ImmutableMap.<String, String>builder()
+            .put("subscription", "select id, name, active, organisation_id, filter_id from subscription order by id")
+            .put("subscriber", "select id, email_address, active, subscription_id from subscriber order by id")
+            .put("filter", "select * from filter order by id")
+            .put("court_details", "select id, court_id, name, subscription_id from court_details order by id")
+            .put("event", "select subscription_id, name from event order by subscription_id, name")
+            .put("nowsedt", "select subscription_id, name from nowsedt order by subscription_id, name")
+            .put("court_subscription_view", "select * from court_subscription_view order by court_id, subscription_id")
+            .build();
+
+    private final String subscriptionId = randomUUID().toString();
+    private final String userId = randomUUID().toString();
+    private final String organisationId = randomUUID().toString();
+
+    @BeforeAll
+    public static void init() {
+        resetStubs();
+        FeatureStubber.stubFeaturesFor("subscriptions", ImmutableMap.of("subscriptionsPortal", true));
+    }
+
+    @Test
+    public void shouldRebuildTheViewStoreTheEventListenersWrote() throws Exception {
+        createSubscriptionWithTwoSubscribers();
+        unsubscribeFirstSubscriber();
+
+        final Map<String, List<Map<String, Object>>> incremental = snapshot();
+        assertThat(incremental.get("subscriber").toString(), containsString(subscriptionId));
+
+        final String report = rebuild();
+
+        assertThat(report, containsString("events/s"));
+        assertThat(snapshot(), is(incremental));
+    }
+
+    private void createSubscriptionWithTwoSubscribers() {
+        stubGetUserDetails(userId, organisationId, "mock-data/user-and-groups-get-user-details-for-manage-subscription.json");
+        final EventListener eventListener = new EventListener(SUBSCRIPTION_CREATED_PUBLIC_EVENT);
+
+        makePostCall(getWriteUrl("/subscriptions"),
+                "application/vnd.subscriptions.command.create-subscription-by-admin+json",
+                readFile("stub-data/create-subscription-command-with-two-subscribers.json").replace("%ID%", subscriptionId), userId);
+
+        assertThat(eventListener.retrieveMessage(), isJson(withJsonPath("$.subscription.id", equalTo(subscriptionId))));
+        await().atMost(60, SECONDS).until(() -> activeOf("select active from subscriber where subscription_id = '" + subscriptionId + "'"),
+                hasItem(true));
+    }
+
+    private void unsubscribeFirstSubscriber() {
+        stubGetUserDetails(userId, organisationId, "mock-data/user-and-groups-get-user-details-for-standard-subscription.json");
+        final EventListener eventListener = new EventListener(SUBSCRIPTION_UNSUBSCRIBE_PUBLIC_EVENT);
+
+        makePostCall(getWriteUrl(format("/subscriptions/%s", subscriptionId)),
+                "application/vnd.subscriptions.command.unsubscribe+json",
+                createObjectBuilder().build().toString(), userId);
+
+        assertThat(eventListener.retrieveMessage(), isJson(withJsonPath("$.subscriptionId", equalTo(subscriptionId))));
+        await().atMost(60, SECONDS).until(() -> activeOf("select active from subscriber where subscription_id = '" + subscriptionId + "'"),
+                hasItem(false));
+    }
+
+    private static String rebuild() throws Exception {
+        final Map<String, Object> environment = new HashMap<>();
+        environment.put(JMXConnector.CREDENTIALS, new String[]{"admin", "admin"});
+        try (final JMXConnector connector = JMXConnectorFactory.connect(new JMXServiceURL(format(MANAGEMENT_URL, HOST)), environment)) {
+            final MBeanServerConnection connection = connector.getMBeanServerConnection();
+            return (String) connection.invoke(new ObjectName(REBUILD_OBJECT_NAME), "rebuild", new Object[]{true}, new String[]{boolean.class.getName()});
+        }
+    }
+
+    private static List<Boolean> activeOf(final String sql) throws SQLException {
+        final List<Boolean> active = new ArrayList<>();
+        try (final Connection connection = new TestJdbcConnectionProvider().getViewStoreConnection(CONTEXT_NAME);
+             final Statement statement = connection.createStatement();
+             final ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                active.add(resultSet.getBoolean(1));
+            }
+        }
+        return active;
+    }
+
+    private static Map<String, List<Map<String, Object>>> snapshot() throws SQLException {
+        final Map<String, List<Map<String, Object>>> tables = new HashMap<>();
+        try (final Connection connection = new TestJdbcConnectionProvider().getViewStoreConnection(CONTEXT_NAME);
+             final Statement statement = connection.createStatement()) {
+            for (final Map.Entry<String, String> query : SNAPSHOT_QUERIES.entrySet()) {
+                tables.put(query.getKey(), rowsOf(statement, query.getValue()));
+            }
+        }
+        return tables;
+    }
+
+    private static List<Map<String, Object>> rowsOf(final Statement statement, final String sql) throws SQLException {
+        final List<Map<String, Object>> rows = new ArrayList<>();
+        try (final ResultSet resultSet = statement.executeQuery(sql)) {
+            final int columns = resultSet.getMetaData().getColumnCount();
+            while (resultSet.next()) {
+                final Map<String, Object> row = new HashMap<>();
+                for (int column = 1; column <= columns; column++) {
+                    row.put(resultSet.getMetaData().getColumnName(column), resultSet.getObject(column));
+                }
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+}
@@ -9,8 +9,8 @@ import uk.gov.justice.services.core.annotation.FeatureControl;
 import uk.gov.justice.services.core.annotation.Handles;
 import uk.gov.justice.services.core.annotation.ServiceComponent;
 import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.moj.cpp.subscriptions.common.service.UserAndGroupsService;
 import uk.gov.moj.cpp.subscriptions.query.SubscriptionsQueryView;
-import uk.gov.moj.cpp.subscriptions.query.api.service.UserAndGroupsService;
 
 import javax.inject.Inject;
 import javax.json.JsonObject;
@@ -33,11 +33,25 @@ public class SubscriptionsQueryApi {
         return this.subscriptionsQueryView.retrieveSubscriptions(query, fromString(extractOrganisationId(userDetails)));
     }
 
+    @Handles("subscriptions.query.subscription-summaries")
+    @FeatureControl(FEATURE_KEY)
+    public JsonEnvelope retrieveSubscriptionSummaries(final JsonEnvelope query) {
+        final JsonObject userDetails = userAndGroupsService.getUserDetails(query);
+        return this.subscriptionsQueryView.retrieveSubscriptionSummaries(query, fromString(extractOrganisationId(userDetails)));
+    }
+
     @Handles("subscriptions.query.subscriptions.by-court-id")
     @FeatureControl(FEATURE_KEY)
     public JsonEnvelope retrieveSubscriptionsByCourtId(final JsonEnvelope query) {
         return this.subscriptionsQueryView.retrieveSubscriptionsByCourtId(query, fromString(query.payloadAsJsonObject().getString("courtId")));
     }
+
+    @Handles("subscriptions.query.court-matching-view")
+    @FeatureControl(FEATURE_KEY)
+    public JsonEnvelope retrieveCourtMatchingView(final JsonEnvelope query) {
+        return this.subscriptionsQueryView.retrieveCourtMatchingView(query, fromString(query.payloadAsJsonObject().getString("courtId")));
+    }
+
     @Handles("subscriptions.query.subscriptions-by-user")
     @FeatureControl(FEATURE_KEY)
     public JsonEnvelope retrieveSubscriptionsByUser(final JsonEnvelope query) {
@@ -8,8 +8,8 @@ import static org.mockito.Mockito.when;
 
 import uk.gov.justice.services.messaging.JsonEnvelope;
 import uk.gov.justice.services.messaging.Metadata;
+import uk.gov.moj.cpp.subscriptions.common.service.UserAndGroupsService;
 import uk.gov.moj.cpp.subscriptions.query.SubscriptionsQueryView;
-import uk.gov.moj.cpp.subscriptions.query.api.service.UserAndGroupsService;
 
 import java.util.Optional;
 import java.util.UUID;
@@ -49,6 +49,16 @@ public class SubscriptionsQueryApiTest {
         verify(subscriptionsQueryView).retrieveSubscriptions(jsonEnvelope, organisationId);
     }
 
+    @Test
+    public void shouldHandleQuerySubscriptionSummaries() {
+        final UUID organisationId = randomUUID();
+        when(userAndGroupsService.getUserDetails(jsonEnvelope)).thenReturn(createObjectBuilder().add("organisationId", organisationId.toString()).build());
+
+        subscriptionsQueryApi.retrieveSubscriptionSummaries(jsonEnvelope);
+
+        verify(subscriptionsQueryView).retrieveSubscriptionSummaries(jsonEnvelope, organisationId);
+    }
+
     @Test
     public void shouldHandleQuerySubscriptionsByCourtId() {
         final UUID courtId = randomUUID();
@@ -57,6 +67,14 @@ public class SubscriptionsQueryApiTest {
         verify(subscriptionsQueryView).retrieveSubscriptionsByCourtId(jsonEnvelope, courtId);
     }
 
+    @Test
+    public void shouldHandleQueryCourtMatchingView() {
+        final UUID courtId = randomUUID();
+        when(jsonEnvelope.payloadAsJsonObject()).thenReturn(createObjectBuilder().add("courtId", courtId.toString()).build());
+        subscriptionsQueryApi.retrieveCourtMatchingView(jsonEnvelope);
+        verify(subscriptionsQueryView).retrieveCourtMatchingView(jsonEnvelope, courtId);
+    }
+
     @Test
     public void shouldHandleQuerySubscriptionsByUser() {
         final Optional<String> userId = ofNullable(randomUUID().toString());
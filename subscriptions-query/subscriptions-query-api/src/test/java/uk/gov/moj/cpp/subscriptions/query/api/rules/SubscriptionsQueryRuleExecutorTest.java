@@ -41,7 +41,8 @@ public class SubscriptionsQueryRuleExecutorTest extends BaseDroolsAccessControlT
     public static Stream<Arguments> actions() throws JsonProcessingException {
         return Stream.of(
                 Arguments.of(new Actions("subscriptions.query.subscriptions", getSubscriptionsPermission())),
-                Arguments.of(new Actions("subscriptions.query.subscriptions-by-user", getSubscriberPermission()))
+                Arguments.of(new Actions("subscriptions.query.subscriptions-by-user", getSubscriberPermission())),
+                Arguments.of(new Actions("subscriptions.query.subscription-summaries", getSubscriptionsPermission()))
         );
     }
 
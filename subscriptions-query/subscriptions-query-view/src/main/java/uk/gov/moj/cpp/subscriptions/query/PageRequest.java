@@ -0,0 +1,125 @@
+package uk.gov.moj.cpp.subscriptions.query;
+
+import static java.lang.Math.min;
+import static java.util.Objects.isNull;
+import static java.util.Optional.empty;
+import static java.util.UUID.fromString;
+
+import uk.gov.justice.services.adapter.rest.exception.BadRequestException;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+import javax.json.JsonNumber;
+import javax.json.JsonObject;
+import javax.json.JsonString;
+import javax.json.JsonValue;
+
+/**
+ * Keyset pagination of a query ordered by subscription id. The continuation token of a page is
+ * the id of its last subscription; the next page starts after it. A query without a page size or
+ * token is not paged. A page size that is not a whole number of at least 1, or a token that is
+ * not a subscription id, is rejected as a bad request.
+ */
+public final class PageRequest {
+
+    public static final String PAGE_SIZE = "pageSize";
+    public static final String PAGE_TOKEN = "pageToken";
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final PageRequest UNPAGED = new PageRequest(0, null);
+
+    private final int pageSize;
+    private final UUID after;
+
+    private PageRequest(final int pageSize, final UUID after) {
+        this.pageSize = pageSize;
+        this.after = after;
+    }
+
+    public static PageRequest pageRequestOf(final JsonObject query) {
+        final Optional<Integer> pageSize = pageSizeOf(query.get(PAGE_SIZE));
+        final Optional<UUID> after = pageTokenOf(query.get(PAGE_TOKEN));
+        if (!pageSize.isPresent() && !after.isPresent()) {
+            return UNPAGED;
+        }
+        final int size = pageSize.orElse(DEFAULT_PAGE_SIZE);
+        if (size < 1) {
+            throw new BadRequestException(PAGE_SIZE + " must be at least 1 but was " + size);
+        }
+        return new PageRequest(min(size, MAX_PAGE_SIZE), after.orElse(null));
+    }
+
+    public boolean isPaged() {
+        return pageSize > 0;
+    }
+
+    /**
+     * Runs the query for every result when unpaged, otherwise for one more than a page so the
+     * presence of a following page is known without a count.
+     */
+    public <T> Page<T> fetch(final Supplier<List<T>> all,
+                             final IntFunction<List<T>> firstPage,
+                             final BiFunction<UUID, Integer, List<T>> pageAfter,
+                             final Function<T, UUID> idOf) {
+        if (!isPaged()) {
+            return new Page<>(all.get(), null);
+        }
+
+        final List<T> results = isNull(after) ? firstPage.apply(pageSize + 1) : pageAfter.apply(after, pageSize + 1);
+        if (results.size() <= pageSize) {
+            return new Page<>(results, null);
+        }
+        final List<T> page = results.subList(0, pageSize);
+        return new Page<>(page, idOf.apply(page.get(pageSize - 1)).toString());
+    }
+
+    private static Optional<Integer> pageSizeOf(final JsonValue value) {
+        try {
+            if (value instanceof JsonNumber) {
+                return Optional.of(((JsonNumber) value).intValueExact());
+            }
+            if (value instanceof JsonString) {
+                return Optional.of(Integer.parseInt(((JsonString) value).getString()));
+            }
+        } catch (final ArithmeticException | NumberFormatException e) {
+            throw new BadRequestException(PAGE_SIZE + " must be a whole number of at least 1 but was " + value, e);
+        }
+        return empty();
+    }
+
+    private static Optional<UUID> pageTokenOf(final JsonValue value) {
+        if (value instanceof JsonString) {
+            try {
+                return Optional.of(fromString(((JsonString) value).getString()));
+            } catch (final IllegalArgumentException e) {
+                throw new BadRequestException(PAGE_TOKEN + " is not a valid page token: " + value, e);
+            }
+        }
+        return empty();
+    }
+
+    public static final class Page<T> {
+        private final List<T> items;
+        private final String nextPageToken;
+
+        private Page(final List<T> items, final String nextPageToken) {
+            this.items = items;
+            this.nextPageToken = nextPageToken;
+        }
+
+        public List<T> getItems() {
+            return items;
+        }
+
+        public Optional<String> getNextPageToken() {
+            return Optional.ofNullable(nextPageToken);
+        }
+    }
+}
@@ -3,65 +3,111 @@ package uk.gov.moj.cpp.subscriptions.query;
 import static java.util.stream.Collectors.toList;
 import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
 import static uk.gov.justice.services.messaging.JsonEnvelope.envelopeFrom;
+import static uk.gov.moj.cpp.subscriptions.query.PageRequest.pageRequestOf;
 
 import uk.gov.justice.services.common.converter.ObjectToJsonValueConverter;
 import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+import uk.gov.moj.cpp.subscriptions.persistence.projection.SubscriptionSummary;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.CourtSubscriptionViewRepository;
 import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscriptionsRepository;
+import uk.gov.moj.cpp.subscriptions.query.PageRequest.Page;
+import uk.gov.moj.cpp.subscriptions.query.converter.CourtSubscriptionViewConverter;
 import uk.gov.moj.cpp.subscriptions.query.converter.SubscriptionConverter;
+import uk.gov.moj.cpp.subscriptions.query.converter.SubscriptionSummaryConverter;
 
 import java.util.UUID;
+import java.util.function.Function;
 
 import javax.inject.Inject;
+import javax.json.JsonObjectBuilder;
+import javax.transaction.Transactional;
 
-
+/**
+ * Subscriptions are converted inside a transaction so that the collections left out of
+ * Subscription.QUERY_VIEW_GRAPH can be loaded in batches as they are read.
+ */
+@Transactional
 public class SubscriptionsQueryView {
 
     public static final String SUBSCRIPTIONS = "subscriptions";
+    public static final String NEXT_PAGE_TOKEN = "nextPageToken";
+
     @Inject
     private SubscriptionsRepository subscriptionsRepository;
 
+    @Inject
+    private CourtSubscriptionViewRepository courtSubscriptionViewRepository;
+
     @Inject
     private ObjectToJsonValueConverter objectToJsonValueConverter;
 
+    private final SubscriptionSummaryConverter subscriptionSummaryConverter = new SubscriptionSummaryConverter();
+
 
     public JsonEnvelope retrieveSubscriptions(final JsonEnvelope envelope, final UUID organisationId) {
-        final SubscriptionConverter subscriptionConverter = new SubscriptionConverter(null);
+        final Page<Subscription> page = pageRequestOf(envelope.payloadAsJsonObject()).fetch(
+                () -> subscriptionsRepository.findByOrganisationId(organisationId),
+                maxResults -> subscriptionsRepository.findByOrganisationIdOrderByIdAsc(organisationId, maxResults),
+                (after, maxResults) -> subscriptionsRepository.findByOrganisationIdAndIdGreaterThanOrderByIdAsc(organisationId, after, maxResults),
+                Subscription::getId);
 
-        return envelopeFrom(envelope.metadata(),
-                createObjectBuilder()
-                        .add(SUBSCRIPTIONS, objectToJsonValueConverter.convert(
-                                subscriptionsRepository.findByOrganisationId(organisationId)
-                                        .stream()
-                                        .map(subscriptionConverter::convert)
-                                        .collect(toList())
-                        ))
-                        .build());
+        return subscriptionsEnvelope(envelope, page, new SubscriptionConverter(null)::convert);
     }
 
     public JsonEnvelope retrieveSubscriptions(final JsonEnvelope envelope, final UUID organisationId, final String email) {
-        final SubscriptionConverter subscriptionConverter = new SubscriptionConverter(email);
-        return envelopeFrom(envelope.metadata(),
-                createObjectBuilder()
-                        .add(SUBSCRIPTIONS, objectToJsonValueConverter.convert(
-                                subscriptionsRepository.findByOrganisationIdAndSubscriber(organisationId, email)
-                                        .stream()
-                                        .map(subscriptionConverter::convert)
-                                        .collect(toList())
-                        ))
-                        .build());
+        final Page<Subscription> page = pageRequestOf(envelope.payloadAsJsonObject()).fetch(
+                () -> subscriptionsRepository.findByOrganisationIdAndSubscriber(organisationId, email),
+                maxResults -> subscriptionsRepository.findPageByOrganisationIdAndSubscriber(organisationId, email, maxResults),
+                (after, maxResults) -> subscriptionsRepository.findPageByOrganisationIdAndSubscriberAfter(organisationId, email, after, maxResults),
+                Subscription::getId);
+
+        return subscriptionsEnvelope(envelope, page, new SubscriptionConverter(email)::convert);
+    }
+
+    public JsonEnvelope retrieveSubscriptionSummaries(final JsonEnvelope envelope, final UUID organisationId) {
+        final Page<SubscriptionSummary> page = pageRequestOf(envelope.payloadAsJsonObject()).fetch(
+                () -> subscriptionsRepository.findSummariesByOrganisationId(organisationId),
+                maxResults -> subscriptionsRepository.findSummariesByOrganisationId(organisationId, maxResults),
+                (after, maxResults) -> subscriptionsRepository.findSummariesByOrganisationIdAfter(organisationId, after, maxResults),
+                SubscriptionSummary::getId);
+
+        return subscriptionsEnvelope(envelope, page, subscriptionSummaryConverter::convert);
     }
 
     public JsonEnvelope retrieveSubscriptionsByCourtId(final JsonEnvelope envelope, final UUID courtId) {
-        final SubscriptionConverter subscriptionConverter = new SubscriptionConverter(null);
+        final Page<Subscription> page = pageRequestOf(envelope.payloadAsJsonObject()).fetch(
+                () -> subscriptionsRepository.findWithDetailsByCourtId(courtId),
+                maxResults -> subscriptionsRepository.findPageWithDetailsByCourtId(courtId, maxResults),
+                (after, maxResults) -> subscriptionsRepository.findPageWithDetailsByCourtIdAfter(courtId, after, maxResults),
+                Subscription::getId);
+
+        return subscriptionsEnvelope(envelope, page, new SubscriptionConverter(null)::convert);
+    }
+
+    public JsonEnvelope retrieveCourtMatchingView(final JsonEnvelope envelope, final UUID courtId) {
+        final CourtSubscriptionViewConverter courtSubscriptionViewConverter = new CourtSubscriptionViewConverter();
 
         return envelopeFrom(envelope.metadata(),
                 createObjectBuilder()
                         .add(SUBSCRIPTIONS, objectToJsonValueConverter.convert(
-                                subscriptionsRepository.findByCourtId(courtId)
+                                courtSubscriptionViewRepository.findByCourtId(courtId)
                                         .stream()
-                                        .map(subscriptionConverter::convert)
+                                        .map(courtSubscriptionViewConverter::convert)
                                         .collect(toList())
                         ))
                         .build());
     }
+
+    private <T> JsonEnvelope subscriptionsEnvelope(final JsonEnvelope envelope, final Page<T> page, final Function<T, ?> converter) {
+        final JsonObjectBuilder payload = createObjectBuilder()
+                .add(SUBSCRIPTIONS, objectToJsonValueConverter.convert(
+                        page.getItems()
+                                .stream()
+                                .map(converter)
+                                .collect(toList())
+                ));
+        page.getNextPageToken().ifPresent(nextPageToken -> payload.add(NEXT_PAGE_TOKEN, nextPageToken));
+        return envelopeFrom(envelope.metadata(), payload.build());
+    }
 }
@@ -0,0 +1,53 @@
+package uk.gov.moj.cpp.subscriptions.query.converter;
+
+import static java.util.Objects.isNull;
+import static java.util.Optional.ofNullable;
+import static java.util.stream.Collectors.toList;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Defendant.defendant;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Filter.filter;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscribers.subscribers;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.Subscription.subscription;
+
+import uk.gov.moj.cpp.subscriptions.json.schemas.Events;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Filter;
+import uk.gov.moj.cpp.subscriptions.json.schemas.FilterType;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Gender;
+import uk.gov.moj.cpp.subscriptions.json.schemas.Subscription;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.CourtSubscriptionView;
+
+public class CourtSubscriptionViewConverter implements Converter<CourtSubscriptionView, Subscription> {
+
+    @Override
+    public Subscription convert(final CourtSubscriptionView view) {
+        return subscription()
+                .withId(view.getSubscriptionId())
+                .withActive(view.isActive())
+                .withName(view.getSubscriptionName())
+                .withEvents(view.getEvents().stream().map(Events::valueOf).collect(toList()))
+                .withFilter(convertFilter(view))
+                .withNowsOrEdts(view.getNowsEdts())
+                .withSubscribers(view.getSubscriberEmails().stream()
+                        .map(email -> subscribers().withEmailAddress(email).withActive(true).build())
+                        .collect(toList()))
+                .build();
+    }
+
+    private Filter convertFilter(final CourtSubscriptionView view) {
+        if (isNull(view.getFilterType())) {
+            return null;
+        }
+        return filter()
+                .withId(view.getFilterId())
+                .withUrn(view.getFilterUrn())
+                .withOffence(view.getFilterOffence())
+                .withGender(ofNullable(view.getFilterGender()).map(gender -> Gender.valueOf(gender.name())).orElse(null))
+                .withIsAdult(view.getFilterAdult())
+                .withFilterType(FilterType.valueOf(view.getFilterType().name()))
+                .withDefendant(defendant()
+                        .withFirstName(view.getFilterDefendantFirstName())
+                        .withLastName(view.getFilterDefendantLastName())
+                        .withDateOfBirth(view.getFilterDefendantDateOfBirth())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,21 @@
+package uk.gov.moj.cpp.subscriptions.query.converter;
+
+import static java.lang.Math.toIntExact;
+import static uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionSummary.subscriptionSummary;
+
+import uk.gov.moj.cpp.subscriptions.json.schemas.SubscriptionSummary;
+
+public class SubscriptionSummaryConverter implements Converter<uk.gov.moj.cpp.subscriptions.persistence.projection.SubscriptionSummary, SubscriptionSummary> {
+
+    @Override
+    public SubscriptionSummary convert(final uk.gov.moj.cpp.subscriptions.persistence.projection.SubscriptionSummary source) {
+        return subscriptionSummary()
+                .withId(source.getId())
+                .withName(source.getName())
+                .withActive(source.isActive())
+                .withSubscriberCount(toIntExact(source.getSubscriberCount()))
+                .withCourtCount(toIntExact(source.getCourtCount()))
+                .withNowsOrEdtsCount(toIntExact(source.getNowsOrEdtsCount()))
+                .build();
+    }
+}
@@ -0,0 +1,54 @@
+package uk.gov.moj.cpp.subscriptions.query;
+
+import static java.util.Collections.emptyList;
+import static java.util.UUID.randomUUID;
+import static javax.json.Json.createObjectBuilder;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static uk.gov.moj.cpp.subscriptions.query.PageRequest.MAX_PAGE_SIZE;
+import static uk.gov.moj.cpp.subscriptions.query.PageRequest.PAGE_SIZE;
+import static uk.gov.moj.cpp.subscriptions.query.PageRequest.PAGE_TOKEN;
+import static uk.gov.moj.cpp.subscriptions.query.PageRequest.pageRequestOf;
+
+import uk.gov.justice.services.adapter.rest.exception.BadRequestException;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+public class PageRequestTest {
+
+    @Test
+    public void shouldRejectAMalformedPageToken() {
+        assertThrows(BadRequestException.class, () -> pageRequestOf(createObjectBuilder().add(PAGE_TOKEN, "not-a-page-token").build()));
+    }
+
+    @Test
+    public void shouldRejectANegativePageSize() {
+        assertThrows(BadRequestException.class, () -> pageRequestOf(createObjectBuilder().add(PAGE_SIZE, -1).build()));
+        assertThrows(BadRequestException.class, () -> pageRequestOf(createObjectBuilder().add(PAGE_SIZE, "-1").build()));
+    }
+
+    @Test
+    public void shouldRejectAPageSizeTooLargeForAWholeNumber() {
+        assertThrows(BadRequestException.class, () -> pageRequestOf(createObjectBuilder().add(PAGE_SIZE, 10_000_000_000L).build()));
+        assertThrows(BadRequestException.class, () -> pageRequestOf(createObjectBuilder().add(PAGE_SIZE, "10000000000").build()));
+        assertThrows(BadRequestException.class, () -> pageRequestOf(createObjectBuilder().add(PAGE_SIZE, 2.5).build()));
+    }
+
+    @Test
+    public void shouldLimitAValidPageSizeToTheMaximumPageSize() {
+        final AtomicInteger limit = new AtomicInteger();
+        final UUID after = randomUUID();
+
+        pageRequestOf(createObjectBuilder().add(PAGE_SIZE, MAX_PAGE_SIZE + 1).add(PAGE_TOKEN, after.toString()).build())
+                .<UUID>fetch(() -> null, size -> null, (token, size) -> {
+                    limit.set(size);
+                    return emptyList();
+                }, id -> id);
+
+        assertThat(limit.get(), is(MAX_PAGE_SIZE + 1));
+    }
+}
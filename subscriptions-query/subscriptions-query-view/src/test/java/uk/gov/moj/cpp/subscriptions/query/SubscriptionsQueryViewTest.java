@@ -1,24 +1,33 @@
 package uk.gov.moj.cpp.subscriptions.query;
 
 
+import static com.jayway.jsonpath.matchers.JsonPathMatchers.hasNoJsonPath;
 import static com.jayway.jsonpath.matchers.JsonPathMatchers.isJson;
 import static com.jayway.jsonpath.matchers.JsonPathMatchers.withJsonPath;
 import static java.util.Arrays.asList;
 import static java.util.UUID.randomUUID;
+import static org.hamcrest.CoreMatchers.allOf;
 import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
+import static uk.gov.justice.services.messaging.JsonObjects.createObjectBuilder;
 import static uk.gov.moj.cpp.subscriptions.persistence.constants.FilterType.CASE_REFERENCE;
 
 import uk.gov.justice.services.common.converter.ObjectToJsonValueConverter;
 import uk.gov.justice.services.common.converter.jackson.ObjectMapperProducer;
 import uk.gov.justice.services.messaging.JsonEnvelope;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.CourtSubscriptionView;
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Filter;
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+import uk.gov.moj.cpp.subscriptions.persistence.projection.SubscriptionSummary;
+import uk.gov.moj.cpp.subscriptions.persistence.repository.CourtSubscriptionViewRepository;
 import uk.gov.moj.cpp.subscriptions.persistence.repository.SubscriptionsRepository;
 
+import java.util.UUID;
+
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -33,6 +42,9 @@ public class SubscriptionsQueryViewTest {
     @Mock
     private SubscriptionsRepository subscriptionsRepository;
 
+    @Mock
+    private CourtSubscriptionViewRepository courtSubscriptionViewRepository;
+
     @Mock
     private JsonEnvelope jsonEnvelope;
 
@@ -48,6 +60,7 @@ public class SubscriptionsQueryViewTest {
     @Test
     public void shouldRetrieveSubscriptions() {
 
+        when(jsonEnvelope.payloadAsJsonObject()).thenReturn(createObjectBuilder().build());
         when(subscriptionsRepository.findByOrganisationId(any()))
                 .thenReturn(asList(Subscription.builder()
                         .withName("ABCD")
@@ -65,7 +78,8 @@ public class SubscriptionsQueryViewTest {
     @Test
     public void shouldRetrieveSubscriptionsByCourtId() {
 
-        when(subscriptionsRepository.findByCourtId(any()))
+        when(jsonEnvelope.payloadAsJsonObject()).thenReturn(createObjectBuilder().build());
+        when(subscriptionsRepository.findWithDetailsByCourtId(any()))
                 .thenReturn(asList(Subscription.builder()
                         .withName("ABCD")
                         .withFilters(Filter.builder()
@@ -79,9 +93,38 @@ public class SubscriptionsQueryViewTest {
         assertThat(jsonEnvelope.payloadAsJsonObject().toString(), isJson(withJsonPath("$.subscriptions[0].name", equalTo("ABCD"))));
     }
 
+    @Test
+    public void shouldRetrieveCourtMatchingView() {
+        final UUID courtId = randomUUID();
+
+        when(courtSubscriptionViewRepository.findByCourtId(courtId))
+                .thenReturn(asList(CourtSubscriptionView.builder()
+                        .withCourtId(courtId)
+                        .withSubscriptionId(randomUUID())
+                        .withSubscriptionName("ABCD")
+                        .withActive(true)
+                        .withFilterType(CASE_REFERENCE)
+                        .withFilterUrn("URN123")
+                        .withFilterId(randomUUID())
+                        .withEvents(asList("CHANGE_OF_PLEA"))
+                        .withSubscriberEmails(asList("test@test.com"))
+                        .build()));
+
+        final JsonEnvelope jsonEnvelope = subscriptionsQueryView.retrieveCourtMatchingView(this.jsonEnvelope, courtId);
+        assertThat(jsonEnvelope.payloadAsJsonObject().toString(), isJson(allOf(
+                withJsonPath("$.subscriptions[0].name", equalTo("ABCD")),
+                withJsonPath("$.subscriptions[0].active", equalTo(true)),
+                withJsonPath("$.subscriptions[0].events[0]", equalTo("CHANGE_OF_PLEA")),
+                withJsonPath("$.subscriptions[0].filter.filterType", equalTo("CASE_REFERENCE")),
+                withJsonPath("$.subscriptions[0].filter.urn", equalTo("URN123")),
+                withJsonPath("$.subscriptions[0].subscribers[0].emailAddress", equalTo("test@test.com")),
+                withJsonPath("$.subscriptions[0].subscribers[0].active", equalTo(true)))));
+    }
+
     @Test
     public void shouldRetrieveSubscriptionsBySubscriber() {
 
+        when(jsonEnvelope.payloadAsJsonObject()).thenReturn(createObjectBuilder().build());
         when(subscriptionsRepository.findByOrganisationIdAndSubscriber(any(), anyString()))
                 .thenReturn(asList(Subscription.builder()
                         .withName("ABCD")
@@ -96,4 +139,84 @@ public class SubscriptionsQueryViewTest {
         assertThat(jsonEnvelope.payloadAsJsonObject().toString(), isJson(withJsonPath("$.subscriptions[0].name", equalTo("ABCD"))));
     }
 
+    @Test
+    public void shouldRetrieveFirstPageOfSubscriptionsWithTokenOfItsLastSubscription() {
+        final UUID organisationId = randomUUID();
+        final Subscription first = subscriptionNamed("First");
+        final Subscription second = subscriptionNamed("Second");
+        when(jsonEnvelope.payloadAsJsonObject()).thenReturn(createObjectBuilder().add("pageSize", 2).build());
+        when(subscriptionsRepository.findByOrganisationIdOrderByIdAsc(organisationId, 3))
+                .thenReturn(asList(first, second, subscriptionNamed("Third")));
+
+        final JsonEnvelope jsonEnvelope = subscriptionsQueryView.retrieveSubscriptions(this.jsonEnvelope, organisationId);
+
+        assertThat(jsonEnvelope.payloadAsJsonObject().toString(), isJson(allOf(
+                withJsonPath("$.subscriptions.length()", is(2)),
+                withJsonPath("$.subscriptions[0].name", equalTo("First")),
+                withJsonPath("$.subscriptions[1].name", equalTo("Second")),
+                withJsonPath("$.nextPageToken", equalTo(second.getId().toString())))));
+    }
+
+    @Test
+    public void shouldRetrieveLastPageOfSubscriptionsBySubscriberWithoutToken() {
+        final UUID organisationId = randomUUID();
+        final UUID pageToken = randomUUID();
+        when(jsonEnvelope.payloadAsJsonObject()).thenReturn(createObjectBuilder()
+                .add("pageSize", "2")
+                .add("pageToken", pageToken.toString())
+                .build());
+        when(subscriptionsRepository.findPageByOrganisationIdAndSubscriberAfter(organisationId, "test@test.com", pageToken, 3))
+                .thenReturn(asList(subscriptionNamed("Third")));
+
+        final JsonEnvelope jsonEnvelope = subscriptionsQueryView.retrieveSubscriptions(this.jsonEnvelope, organisationId, "test@test.com");
+
+        assertThat(jsonEnvelope.payloadAsJsonObject().toString(), isJson(allOf(
+                withJsonPath("$.subscriptions[0].name", equalTo("Third")),
+                hasNoJsonPath("$.nextPageToken"))));
+    }
+
+    @Test
+    public void shouldRetrievePageOfSubscriptionsByCourtIdWithDefaultPageSizeWhenOnlyTokenIsGiven() {
+        final UUID courtId = randomUUID();
+        final UUID pageToken = randomUUID();
+        when(jsonEnvelope.payloadAsJsonObject()).thenReturn(createObjectBuilder().add("pageToken", pageToken.toString()).build());
+        when(subscriptionsRepository.findPageWithDetailsByCourtIdAfter(courtId, pageToken, PageRequest.DEFAULT_PAGE_SIZE + 1))
+                .thenReturn(asList(subscriptionNamed("ABCD")));
+
+        final JsonEnvelope jsonEnvelope = subscriptionsQueryView.retrieveSubscriptionsByCourtId(this.jsonEnvelope, courtId);
+
+        assertThat(jsonEnvelope.payloadAsJsonObject().toString(), isJson(withJsonPath("$.subscriptions[0].name", equalTo("ABCD"))));
+    }
+
+    @Test
+    public void shouldRetrieveSubscriptionSummaries() {
+        final UUID organisationId = randomUUID();
+        final UUID subscriptionId = randomUUID();
+        when(jsonEnvelope.payloadAsJsonObject()).thenReturn(createObjectBuilder().build());
+        when(subscriptionsRepository.findSummariesByOrganisationId(organisationId))
+                .thenReturn(asList(new SubscriptionSummary(subscriptionId, "ABCD", true, 3L, 1L, 2L)));
+
+        final JsonEnvelope jsonEnvelope = subscriptionsQueryView.retrieveSubscriptionSummaries(this.jsonEnvelope, organisationId);
+
+        assertThat(jsonEnvelope.payloadAsJsonObject().toString(), isJson(allOf(
+                withJsonPath("$.subscriptions[0].id", equalTo(subscriptionId.toString())),
+                withJsonPath("$.subscriptions[0].name", equalTo("ABCD")),
+                withJsonPath("$.subscriptions[0].active", equalTo(true)),
+                withJsonPath("$.subscriptions[0].subscriberCount", equalTo(3)),
+                withJsonPath("$.subscriptions[0].courtCount", equalTo(1)),
+                withJsonPath("$.subscriptions[0].nowsOrEdtsCount", equalTo(2)),
+                hasNoJsonPath("$.nextPageToken"))));
+    }
+
+    private static Subscription subscriptionNamed(final String name) {
+        return Subscription.builder()
+                .withId(randomUUID())
+                .withName(name)
+                .withFilters(Filter.builder()
+                        .withFilterType(CASE_REFERENCE)
+                        .withUrn("URN123")
+                        .withId(randomUUID())
+                        .build())
+                .build();
+    }
 }
@@ -0,0 +1,42 @@
+package uk.gov.moj.cpp.subscriptions.persistence.converter;
+
+import static java.util.Collections.emptyList;
+import static java.util.Objects.isNull;
+import static java.util.stream.Collectors.toList;
+
+import java.io.StringReader;
+import java.util.List;
+
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonReader;
+import javax.json.JsonString;
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+@Converter
+public class JsonStringListConverter implements AttributeConverter<List<String>, String> {
+
+    @Override
+    public String convertToDatabaseColumn(final List<String> values) {
+        final JsonArrayBuilder arrayBuilder = Json.createArrayBuilder();
+        if (!isNull(values)) {
+            values.forEach(arrayBuilder::add);
+        }
+        return arrayBuilder.build().toString();
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(final String column) {
+        if (isNull(column) || column.isEmpty()) {
+            return emptyList();
+        }
+        try (final JsonReader reader = Json.createReader(new StringReader(column))) {
+            return reader.readArray()
+                    .getValuesAs(JsonString.class)
+                    .stream()
+                    .map(JsonString::getString)
+                    .collect(toList());
+        }
+    }
+}
@@ -0,0 +1,368 @@
+package uk.gov.moj.cpp.subscriptions.persistence.entity;
+
+import uk.gov.moj.cpp.subscriptions.persistence.constants.FilterType;
+import uk.gov.moj.cpp.subscriptions.persistence.constants.Gender;
+import uk.gov.moj.cpp.subscriptions.persistence.converter.JsonStringListConverter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.persistence.Column;
+import javax.persistence.Convert;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.Id;
+import javax.persistence.IdClass;
+import javax.persistence.Table;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+@Entity
+@Table(name = "court_subscription_view")
+@IdClass(CourtSubscriptionViewId.class)
+@SuppressWarnings({"squid:S2384", "PMD.BeanMembersShouldSerialize"})
+public class CourtSubscriptionView implements Serializable {
+
+    private static final long serialVersionUID = -6311842791054624563L;
+
+    @Id
+    @Column(name = "court_id")
+    private UUID courtId;
+
+    @Id
+    @Column(name = "subscription_id")
+    private UUID subscriptionId;
+
+    @Column(name = "subscription_name")
+    private String subscriptionName;
+
+    @Column(name = "active")
+    private boolean active;
+
+    @Column(name = "filter_id")
+    private UUID filterId;
+
+    @Column(name = "filter_type")
+    @Enumerated(EnumType.STRING)
+    private FilterType filterType;
+
+    @Column(name = "filter_urn")
+    private String filterUrn;
+
+    @Column(name = "filter_is_adult")
+    private Boolean filterAdult;
+
+    @Column(name = "filter_defendant_first_name")
+    private String filterDefendantFirstName;
+
+    @Column(name = "filter_defendant_last_name")
+    private String filterDefendantLastName;
+
+    @Column(name = "filter_defendant_date_of_birth")
+    private LocalDate filterDefendantDateOfBirth;
+
+    @Column(name = "filter_gender")
+    @Enumerated(EnumType.STRING)
+    private Gender filterGender;
+
+    @Column(name = "filter_offence")
+    private String filterOffence;
+
+    @Column(name = "events")
+    @Convert(converter = JsonStringListConverter.class)
+    private List<String> events = new ArrayList<>();
+
+    @Column(name = "nows_edts")
+    @Convert(converter = JsonStringListConverter.class)
+    private List<String> nowsEdts = new ArrayList<>();
+
+    @Column(name = "subscriber_emails")
+    @Convert(converter = JsonStringListConverter.class)
+    private List<String> subscriberEmails = new ArrayList<>();
+
+    public UUID getCourtId() {
+        return courtId;
+    }
+
+    public void setCourtId(final UUID courtId) {
+        this.courtId = courtId;
+    }
+
+    public UUID getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    public void setSubscriptionId(final UUID subscriptionId) {
+        this.subscriptionId = subscriptionId;
+    }
+
+    public String getSubscriptionName() {
+        return subscriptionName;
+    }
+
+    public void setSubscriptionName(final String subscriptionName) {
+        this.subscriptionName = subscriptionName;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(final boolean active) {
+        this.active = active;
+    }
+
+    public UUID getFilterId() {
+        return filterId;
+    }
+
+    public void setFilterId(final UUID filterId) {
+        this.filterId = filterId;
+    }
+
+    public FilterType getFilterType() {
+        return filterType;
+    }
+
+    public void setFilterType(final FilterType filterType) {
+        this.filterType = filterType;
+    }
+
+    public String getFilterUrn() {
+        return filterUrn;
+    }
+
+    public void setFilterUrn(final String filterUrn) {
+        this.filterUrn = filterUrn;
+    }
+
+    public Boolean getFilterAdult() {
+        return filterAdult;
+    }
+
+    public void setFilterAdult(final Boolean filterAdult) {
+        this.filterAdult = filterAdult;
+    }
+
+    public String getFilterDefendantFirstName() {
+        return filterDefendantFirstName;
+    }
+
+    public void setFilterDefendantFirstName(final String filterDefendantFirstName) {
+        this.filterDefendantFirstName = filterDefendantFirstName;
+    }
+
+    public String getFilterDefendantLastName() {
+        return filterDefendantLastName;
+    }
+
+    public void setFilterDefendantLastName(final String filterDefendantLastName) {
+        this.filterDefendantLastName = filterDefendantLastName;
+    }
+
+    public LocalDate getFilterDefendantDateOfBirth() {
+        return filterDefendantDateOfBirth;
+    }
+
+    public void setFilterDefendantDateOfBirth(final LocalDate filterDefendantDateOfBirth) {
+        this.filterDefendantDateOfBirth = filterDefendantDateOfBirth;
+    }
+
+    public Gender getFilterGender() {
+        return filterGender;
+    }
+
+    public void setFilterGender(final Gender filterGender) {
+        this.filterGender = filterGender;
+    }
+
+    public String getFilterOffence() {
+        return filterOffence;
+    }
+
+    public void setFilterOffence(final String filterOffence) {
+        this.filterOffence = filterOffence;
+    }
+
+    public List<String> getEvents() {
+        return events;
+    }
+
+    public void setEvents(final List<String> events) {
+        this.events = events;
+    }
+
+    public List<String> getNowsEdts() {
+        return nowsEdts;
+    }
+
+    public void setNowsEdts(final List<String> nowsEdts) {
+        this.nowsEdts = nowsEdts;
+    }
+
+    public List<String> getSubscriberEmails() {
+        return subscriberEmails;
+    }
+
+    public void setSubscriberEmails(final List<String> subscriberEmails) {
+        this.subscriberEmails = subscriberEmails;
+    }
+
+    public static CourtSubscriptionViewBuilder builder() {
+        return new CourtSubscriptionViewBuilder();
+    }
+
+    public static final class CourtSubscriptionViewBuilder {
+        private UUID courtId;
+        private UUID subscriptionId;
+        private String subscriptionName;
+        private boolean active;
+        private UUID filterId;
+        private FilterType filterType;
+        private String filterUrn;
+        private Boolean filterAdult;
+        private String filterDefendantFirstName;
+        private String filterDefendantLastName;
+        private LocalDate filterDefendantDateOfBirth;
+        private Gender filterGender;
+        private String filterOffence;
+        private List<String> events = new ArrayList<>();
+        private List<String> nowsEdts = new ArrayList<>();
+        private List<String> subscriberEmails = new ArrayList<>();
+
+        private CourtSubscriptionViewBuilder() {
+        }
+
+        public CourtSubscriptionViewBuilder withCourtId(final UUID courtId) {
+            this.courtId = courtId;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withSubscriptionId(final UUID subscriptionId) {
+            this.subscriptionId = subscriptionId;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withSubscriptionName(final String subscriptionName) {
+            this.subscriptionName = subscriptionName;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withActive(final boolean active) {
+            this.active = active;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withFilterId(final UUID filterId) {
+            this.filterId = filterId;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withFilterType(final FilterType filterType) {
+            this.filterType = filterType;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withFilterUrn(final String filterUrn) {
+            this.filterUrn = filterUrn;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withFilterAdult(final Boolean filterAdult) {
+            this.filterAdult = filterAdult;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withFilterDefendantFirstName(final String filterDefendantFirstName) {
+            this.filterDefendantFirstName = filterDefendantFirstName;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withFilterDefendantLastName(final String filterDefendantLastName) {
+            this.filterDefendantLastName = filterDefendantLastName;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withFilterDefendantDateOfBirth(final LocalDate filterDefendantDateOfBirth) {
+            this.filterDefendantDateOfBirth = filterDefendantDateOfBirth;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withFilterGender(final Gender filterGender) {
+            this.filterGender = filterGender;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withFilterOffence(final String filterOffence) {
+            this.filterOffence = filterOffence;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withEvents(final List<String> events) {
+            this.events = events;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withNowsEdts(final List<String> nowsEdts) {
+            this.nowsEdts = nowsEdts;
+            return this;
+        }
+
+        public CourtSubscriptionViewBuilder withSubscriberEmails(final List<String> subscriberEmails) {
+            this.subscriberEmails = subscriberEmails;
+            return this;
+        }
+
+        public CourtSubscriptionView build() {
+            final CourtSubscriptionView courtSubscriptionView = new CourtSubscriptionView();
+            courtSubscriptionView.setCourtId(courtId);
+            courtSubscriptionView.setSubscriptionId(subscriptionId);
+            courtSubscriptionView.setSubscriptionName(subscriptionName);
+            courtSubscriptionView.setActive(active);
+            courtSubscriptionView.setFilterId(filterId);
+            courtSubscriptionView.setFilterType(filterType);
+            courtSubscriptionView.setFilterUrn(filterUrn);
+            courtSubscriptionView.setFilterAdult(filterAdult);
+            courtSubscriptionView.setFilterDefendantFirstName(filterDefendantFirstName);
+            courtSubscriptionView.setFilterDefendantLastName(filterDefendantLastName);
+            courtSubscriptionView.setFilterDefendantDateOfBirth(filterDefendantDateOfBirth);
+            courtSubscriptionView.setFilterGender(filterGender);
+            courtSubscriptionView.setFilterOffence(filterOffence);
+            courtSubscriptionView.setEvents(events);
+            courtSubscriptionView.setNowsEdts(nowsEdts);
+            courtSubscriptionView.setSubscriberEmails(subscriberEmails);
+            return courtSubscriptionView;
+        }
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final CourtSubscriptionView that = (CourtSubscriptionView) o;
+
+        return new EqualsBuilder()
+                .append(courtId, that.courtId)
+                .append(subscriptionId, that.subscriptionId)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(courtId)
+                .append(subscriptionId)
+                .toHashCode();
+    }
+}
@@ -0,0 +1,58 @@
+package uk.gov.moj.cpp.subscriptions.persistence.entity;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+
+public class CourtSubscriptionViewId implements Serializable {
+
+    private static final long serialVersionUID = 4038317286127467210L;
+
+    private UUID courtId;
+
+    private UUID subscriptionId;
+
+    public CourtSubscriptionViewId() {
+    }
+
+    public CourtSubscriptionViewId(final UUID courtId, final UUID subscriptionId) {
+        this.courtId = courtId;
+        this.subscriptionId = subscriptionId;
+    }
+
+    public UUID getCourtId() {
+        return courtId;
+    }
+
+    public UUID getSubscriptionId() {
+        return subscriptionId;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        final CourtSubscriptionViewId that = (CourtSubscriptionViewId) o;
+
+        return new EqualsBuilder()
+                .append(courtId, that.courtId)
+                .append(subscriptionId, that.subscriptionId)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(courtId)
+                .append(subscriptionId)
+                .toHashCode();
+    }
+}
@@ -0,0 +1,47 @@
+package uk.gov.moj.cpp.subscriptions.persistence.entity;
+
+import java.io.Serializable;
+import java.time.ZonedDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+
+/**
+ * A public event the event processor has already acted on, keyed so that a second copy of the
+ * same event can be recognised and dropped.
+ */
+@Entity
+@Table(name = "duplicate_event_ledger")
+public class DuplicateEventLedgerEntry implements Serializable {
+
+    private static final long serialVersionUID = 2931857746610735123L;
+
+    @Id
+    @Column(name = "dedupe_key")
+    private String dedupeKey;
+
+    @Column(name = "processed_at", nullable = false)
+    private ZonedDateTime processedAt;
+
+    public DuplicateEventLedgerEntry() {
+    }
+
+    public DuplicateEventLedgerEntry(final String dedupeKey, final ZonedDateTime processedAt) {
+        this.dedupeKey = dedupeKey;
+        this.processedAt = processedAt;
+    }
+
+    public String getDedupeKey() {
+        return dedupeKey;
+    }
+
+    public ZonedDateTime getProcessedAt() {
+        return processedAt;
+    }
+
+    public void setProcessedAt(final ZonedDateTime processedAt) {
+        this.processedAt = processedAt;
+    }
+}
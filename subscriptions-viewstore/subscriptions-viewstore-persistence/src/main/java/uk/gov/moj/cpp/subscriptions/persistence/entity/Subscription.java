@@ -11,6 +11,9 @@ import javax.persistence.Entity;
 import javax.persistence.FetchType;
 import javax.persistence.Id;
 import javax.persistence.JoinColumn;
+import javax.persistence.NamedAttributeNode;
+import javax.persistence.NamedEntityGraph;
+import javax.persistence.NamedEntityGraphs;
 import javax.persistence.OneToMany;
 import javax.persistence.OneToOne;
 import javax.persistence.Table;
@@ -18,11 +21,34 @@ import javax.persistence.Table;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+/**
+ * Children are loaded lazily. The fetch plan of each use case is a named entity graph; anything
+ * outside the graph is loaded in batches of hibernate.default_batch_fetch_size on first access.
+ */
 @Entity
 @Table(name = "subscription")
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Subscription.LISTENER_UPDATE_GRAPH, attributeNodes = {
+                @NamedAttributeNode("filter"),
+                @NamedAttributeNode("courts")}),
+        @NamedEntityGraph(name = Subscription.QUERY_VIEW_GRAPH, attributeNodes = {
+                @NamedAttributeNode("filter")})
+})
 @SuppressWarnings({"squid:S2384", "PMD.BeanMembersShouldSerialize"})
 public class Subscription implements Serializable {
 
+    /**
+     * A single subscription changed by the event listener: the filter and courts that the court
+     * subscription view is built from, without the subscribers.
+     */
+    public static final String LISTENER_UPDATE_GRAPH = "Subscription.listenerUpdate";
+
+    /**
+     * Lists of subscriptions read by the query view, by organisation or by court. No collection is
+     * joined so that a page limit stays in SQL and no product of the collections is read.
+     */
+    public static final String QUERY_VIEW_GRAPH = "Subscription.queryView";
+
     private static final long serialVersionUID = 5469813744527379259L;
 
     @Id
@@ -38,20 +64,20 @@ public class Subscription implements Serializable {
     @Column(name ="organisation_id")
     private UUID organisationId;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "subscription", orphanRemoval = true)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "subscription", orphanRemoval = true)
     private Set<Subscriber> subscribers = new HashSet<>();
 
-    @OneToOne(cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JoinColumn(name = "filter_id")
     private Filter filter;
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "subscription", orphanRemoval = true)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "subscription", orphanRemoval = true)
     private Set<Court> courts = new HashSet<>();
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "subscription", orphanRemoval = true)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "subscription", orphanRemoval = true)
     private Set<NowsEdt> nowsEdts = new HashSet<>();
 
-    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "subscription", orphanRemoval = true)
+    @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.LAZY, mappedBy = "subscription", orphanRemoval = true)
     private Set<Event> events = new HashSet<>();
 
 
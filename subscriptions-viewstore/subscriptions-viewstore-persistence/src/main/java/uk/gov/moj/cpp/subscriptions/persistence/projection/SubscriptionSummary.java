@@ -0,0 +1,51 @@
+package uk.gov.moj.cpp.subscriptions.persistence.projection;
+
+import java.util.UUID;
+
+/**
+ * A subscription with the sizes of its collections instead of their contents, selected by a
+ * constructor expression so none of the collections are loaded.
+ */
+public class SubscriptionSummary {
+
+    private final UUID id;
+    private final String name;
+    private final boolean active;
+    private final long subscriberCount;
+    private final long courtCount;
+    private final long nowsOrEdtsCount;
+
+    public SubscriptionSummary(final UUID id, final String name, final boolean active, final long subscriberCount,
+                               final long courtCount, final long nowsOrEdtsCount) {
+        this.id = id;
+        this.name = name;
+        this.active = active;
+        this.subscriberCount = subscriberCount;
+        this.courtCount = courtCount;
+        this.nowsOrEdtsCount = nowsOrEdtsCount;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public long getSubscriberCount() {
+        return subscriberCount;
+    }
+
+    public long getCourtCount() {
+        return courtCount;
+    }
+
+    public long getNowsOrEdtsCount() {
+        return nowsOrEdtsCount;
+    }
+}
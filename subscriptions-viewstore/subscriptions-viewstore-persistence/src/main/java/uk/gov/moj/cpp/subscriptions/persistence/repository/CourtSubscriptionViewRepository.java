@@ -0,0 +1,26 @@
+package uk.gov.moj.cpp.subscriptions.persistence.repository;
+
+import uk.gov.moj.cpp.subscriptions.persistence.entity.CourtSubscriptionView;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.CourtSubscriptionViewId;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Modifying;
+import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.Repository;
+
+@Repository
+public interface CourtSubscriptionViewRepository extends EntityRepository<CourtSubscriptionView, CourtSubscriptionViewId> {
+
+    @Query(value = "from CourtSubscriptionView view where view.courtId = ?1 and view.active = true")
+    List<CourtSubscriptionView> findActiveByCourtId(final UUID courtId);
+
+    @Query(value = "from CourtSubscriptionView view where view.courtId = ?1")
+    List<CourtSubscriptionView> findByCourtId(final UUID courtId);
+
+    @Modifying
+    @Query(value = "delete from CourtSubscriptionView view where view.subscriptionId = ?1")
+    int deleteBySubscriptionId(final UUID subscriptionId);
+}
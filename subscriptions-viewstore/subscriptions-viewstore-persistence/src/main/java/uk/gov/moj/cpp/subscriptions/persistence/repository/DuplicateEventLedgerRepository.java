@@ -0,0 +1,23 @@
+package uk.gov.moj.cpp.subscriptions.persistence.repository;
+
+import uk.gov.moj.cpp.subscriptions.persistence.entity.DuplicateEventLedgerEntry;
+
+import java.time.ZonedDateTime;
+
+import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Modifying;
+import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.Repository;
+
+@Repository
+public interface DuplicateEventLedgerRepository extends EntityRepository<DuplicateEventLedgerEntry, String> {
+
+    @Modifying
+    @Query(value = "update DuplicateEventLedgerEntry ledgerEntry set ledgerEntry.processedAt = ?2 " +
+            "where ledgerEntry.dedupeKey = ?1 and ledgerEntry.processedAt < ?3")
+    int updateProcessedAtIfProcessedBefore(final String dedupeKey, final ZonedDateTime processedAt, final ZonedDateTime processedBefore);
+
+    @Modifying
+    @Query(value = "delete from DuplicateEventLedgerEntry ledgerEntry where ledgerEntry.processedAt < ?1")
+    int deleteProcessedBefore(final ZonedDateTime processedBefore);
+}
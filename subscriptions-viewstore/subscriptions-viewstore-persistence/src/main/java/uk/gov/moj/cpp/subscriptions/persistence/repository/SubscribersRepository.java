@@ -2,16 +2,37 @@ package uk.gov.moj.cpp.subscriptions.persistence.repository;
 
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscriber;
 
+import java.util.List;
 import java.util.UUID;
 
 import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.Modifying;
 import org.apache.deltaspike.data.api.Query;
+import org.apache.deltaspike.data.api.QueryParam;
 import org.apache.deltaspike.data.api.Repository;
 
 @Repository
 public interface SubscribersRepository extends EntityRepository<Subscriber, UUID> {
 
-    @Query(value = "from Subscriber subscriber where subscriber.emailAddress =  ?1 and subscriber.subscription.id = ?2")
+    @Query(value = "from Subscriber subscriber where lower(subscriber.emailAddress) = lower(?1) and subscriber.emailAddress = ?1 " +
+            "and subscriber.subscription.id = ?2")
     Subscriber findSubscriberByEmailAddressForSubscription(final String emailAddress, final UUID subscriptionId);
 
+    @Query(value = "from Subscriber subscriber where lower(subscriber.emailAddress) = lower(?1) and subscriber.emailAddress = ?1 " +
+            "and subscriber.subscription.id = ?2")
+    List<Subscriber> findSubscribersByEmailAddressForSubscription(final String emailAddress, final UUID subscriptionId);
+
+    @Query(value = "select subscriber.emailAddress from Subscriber subscriber where subscriber.subscription.id = ?1 and subscriber.active = true")
+    List<String> findActiveEmailAddressesBySubscriptionId(final UUID subscriptionId);
+
+    @Modifying
+    @Query(value = "update Subscriber subscriber set subscriber.active = ?2 where subscriber.subscription.id = ?1")
+    int updateActiveBySubscriptionId(final UUID subscriptionId, final boolean active);
+
+    @Modifying
+    @Query(value = "update Subscriber subscriber set subscriber.active = :active where lower(subscriber.emailAddress) = lower(:emailAddress) " +
+            "and subscriber.emailAddress = :emailAddress and subscriber.subscription.id = :subscriptionId")
+    int updateActiveByEmailAddressForSubscription(@QueryParam("emailAddress") final String emailAddress, @QueryParam("subscriptionId") final UUID subscriptionId,
+                                                  @QueryParam("active") final boolean active);
+
 }
@@ -1,25 +1,99 @@
 package uk.gov.moj.cpp.subscriptions.persistence.repository;
 
+import static uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.LISTENER_UPDATE_GRAPH;
+import static uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.QUERY_VIEW_GRAPH;
+
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+import uk.gov.moj.cpp.subscriptions.persistence.projection.SubscriptionSummary;
 
 import java.util.List;
 import java.util.UUID;
 
+import org.apache.deltaspike.data.api.EntityGraph;
 import org.apache.deltaspike.data.api.EntityRepository;
+import org.apache.deltaspike.data.api.MaxResults;
+import org.apache.deltaspike.data.api.Modifying;
 import org.apache.deltaspike.data.api.Query;
 import org.apache.deltaspike.data.api.QueryParam;
 import org.apache.deltaspike.data.api.Repository;
+import org.apache.deltaspike.data.api.SingleResultType;
 
 @Repository
 public interface SubscriptionsRepository extends EntityRepository<Subscription, UUID> {
 
+    /**
+     * Matches the subscriber_lower_email_address_subscription_id_idx expression index, with the
+     * exact comparison keeping the match case sensitive.
+     */
+    String SUBSCRIBER_EMAIL_MATCHES = "lower(sub.emailAddress) = lower(:emailAddress) and sub.emailAddress = :emailAddress";
+
+    String SUMMARY_SELECT = "select new uk.gov.moj.cpp.subscriptions.persistence.projection.SubscriptionSummary(s.id, s.name, s.active, " +
+            "(select count(sub) from Subscriber sub where sub.subscription = s), " +
+            "(select count(c) from Court c where c.subscription = s), " +
+            "(select count(n) from NowsEdt n where n.subscription = s)) from Subscription s ";
+
+    @Query(value = "select distinct s from Subscription s where s.id = ?1", singleResult = SingleResultType.OPTIONAL)
+    @EntityGraph(LISTENER_UPDATE_GRAPH)
+    Subscription findForListenerUpdate(final UUID subscriptionId);
+
+    @EntityGraph(QUERY_VIEW_GRAPH)
     List<Subscription> findByOrganisationId(final UUID organisationId);
 
+    @Modifying
+    @Query(value = "update Subscription s set s.active = ?2 where s.id = ?1")
+    int updateActive(final UUID subscriptionId, final boolean active);
+
+    @Modifying
+    @Query(value = "update Subscription s set s.active = false where s.id = ?1 and not exists(select sub.id from Subscriber sub " +
+            "where sub.subscription.id = ?1 and sub.active = true)")
+    int deactivateWithoutActiveSubscribers(final UUID subscriptionId);
+
     @Query(value = "select s.* from Subscription s where exists(select 1 from court_details c where c.court_id = ?1 " +
             "and s.id = c.subscription_id)", isNative = true)
     List<Subscription> findByCourtId(final UUID courtId);
 
-    @Query(value = "select s.* from Subscription s where s.organisation_id = :organisationId and exists(select 1 from subscriber sub where sub.email_address = :emailAddress " +
-            "and s.id = sub.subscription_id)", isNative = true)
+    @Query(value = "select s from Subscription s where s.id in (select c.subscription.id from Court c where c.courtId = ?1)")
+    @EntityGraph(QUERY_VIEW_GRAPH)
+    List<Subscription> findWithDetailsByCourtId(final UUID courtId);
+
+    @Query(value = "select s from Subscription s where s.organisationId = :organisationId and exists(select sub.id from Subscriber sub " +
+            "where " + SUBSCRIBER_EMAIL_MATCHES + " and sub.subscription = s)")
+    @EntityGraph(QUERY_VIEW_GRAPH)
     List<Subscription> findByOrganisationIdAndSubscriber(@QueryParam("organisationId") final UUID organisationId, @QueryParam("emailAddress") final String emailAddress);
+
+    @EntityGraph(QUERY_VIEW_GRAPH)
+    List<Subscription> findByOrganisationIdOrderByIdAsc(final UUID organisationId, @MaxResults final int maxResults);
+
+    @EntityGraph(QUERY_VIEW_GRAPH)
+    List<Subscription> findByOrganisationIdAndIdGreaterThanOrderByIdAsc(final UUID organisationId, final UUID after, @MaxResults final int maxResults);
+
+    @Query(value = "select s from Subscription s where s.organisationId = :organisationId and exists(select sub.id from Subscriber sub " +
+            "where " + SUBSCRIBER_EMAIL_MATCHES + " and sub.subscription = s) order by s.id")
+    @EntityGraph(QUERY_VIEW_GRAPH)
+    List<Subscription> findPageByOrganisationIdAndSubscriber(@QueryParam("organisationId") final UUID organisationId, @QueryParam("emailAddress") final String emailAddress,
+                                                             @MaxResults final int maxResults);
+
+    @Query(value = "select s from Subscription s where s.organisationId = :organisationId and exists(select sub.id from Subscriber sub " +
+            "where " + SUBSCRIBER_EMAIL_MATCHES + " and sub.subscription = s) and s.id > :after order by s.id")
+    @EntityGraph(QUERY_VIEW_GRAPH)
+    List<Subscription> findPageByOrganisationIdAndSubscriberAfter(@QueryParam("organisationId") final UUID organisationId, @QueryParam("emailAddress") final String emailAddress,
+                                                                  @QueryParam("after") final UUID after, @MaxResults final int maxResults);
+
+    @Query(value = "select s from Subscription s where s.id in (select c.subscription.id from Court c where c.courtId = ?1) order by s.id")
+    @EntityGraph(QUERY_VIEW_GRAPH)
+    List<Subscription> findPageWithDetailsByCourtId(final UUID courtId, @MaxResults final int maxResults);
+
+    @Query(value = "select s from Subscription s where s.id in (select c.subscription.id from Court c where c.courtId = ?1) " +
+            "and s.id > ?2 order by s.id")
+    @EntityGraph(QUERY_VIEW_GRAPH)
+    List<Subscription> findPageWithDetailsByCourtIdAfter(final UUID courtId, final UUID after, @MaxResults final int maxResults);
+
+    @Query(value = SUMMARY_SELECT + "where s.organisationId = ?1 order by s.id")
+    List<SubscriptionSummary> findSummariesByOrganisationId(final UUID organisationId);
+
+    @Query(value = SUMMARY_SELECT + "where s.organisationId = ?1 order by s.id")
+    List<SubscriptionSummary> findSummariesByOrganisationId(final UUID organisationId, @MaxResults final int maxResults);
+
+    @Query(value = SUMMARY_SELECT + "where s.organisationId = ?1 and s.id > ?2 order by s.id")
+    List<SubscriptionSummary> findSummariesByOrganisationIdAfter(final UUID organisationId, final UUID after, @MaxResults final int maxResults);
 }
@@ -0,0 +1,102 @@
+package uk.gov.moj.cpp.subscriptions.persistence.repository;
+
+import static java.time.LocalDate.parse;
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static uk.gov.moj.cpp.subscriptions.persistence.constants.FilterType.DEFENDANT;
+
+import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.CourtSubscriptionView;
+
+import java.util.List;
+import java.util.UUID;
+
+import javax.inject.Inject;
+
+import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(CdiTestRunner.class)
+public class CourtSubscriptionViewRepositoryTest extends BaseTransactionalJunit4Test {
+
+    @Inject
+    private CourtSubscriptionViewRepository courtSubscriptionViewRepository;
+
+    @Test
+    public void shouldFindActiveSubscriptionsForCourt() {
+        final UUID courtId = randomUUID();
+        final CourtSubscriptionView active = buildView(courtId, randomUUID(), true);
+        final CourtSubscriptionView inactive = buildView(courtId, randomUUID(), false);
+        final CourtSubscriptionView otherCourt = buildView(randomUUID(), randomUUID(), true);
+
+        courtSubscriptionViewRepository.save(active);
+        courtSubscriptionViewRepository.save(inactive);
+        courtSubscriptionViewRepository.saveAndFlush(otherCourt);
+
+        final List<CourtSubscriptionView> views = courtSubscriptionViewRepository.findActiveByCourtId(courtId);
+
+        assertThat(views, hasSize(1));
+        assertThat(views.get(0).getSubscriptionId(), is(active.getSubscriptionId()));
+        assertThat(views.get(0).getFilterType(), is(DEFENDANT));
+        assertThat(views.get(0).getFilterDefendantDateOfBirth(), is(parse("1961-03-02")));
+        assertThat(views.get(0).getEvents(), contains("CHANGE_OF_PLEA", "PLEAS_ENTER"));
+        assertThat(views.get(0).getNowsEdts(), contains("Custodial Document"));
+        assertThat(views.get(0).getSubscriberEmails(), contains("test@test.com", "test1@test.com"));
+    }
+
+    @Test
+    public void shouldFindActiveAndInactiveSubscriptionsForCourt() {
+        final UUID courtId = randomUUID();
+        final CourtSubscriptionView active = buildView(courtId, randomUUID(), true);
+        final CourtSubscriptionView inactive = buildView(courtId, randomUUID(), false);
+
+        courtSubscriptionViewRepository.save(active);
+        courtSubscriptionViewRepository.save(inactive);
+        courtSubscriptionViewRepository.saveAndFlush(buildView(randomUUID(), randomUUID(), true));
+
+        final List<CourtSubscriptionView> views = courtSubscriptionViewRepository.findByCourtId(courtId);
+
+        assertThat(views.stream().map(CourtSubscriptionView::getSubscriptionId).collect(toList()),
+                containsInAnyOrder(active.getSubscriptionId(), inactive.getSubscriptionId()));
+    }
+
+    @Test
+    public void shouldDeleteEveryCourtRowOfSubscription() {
+        final UUID courtId = randomUUID();
+        final UUID otherCourtId = randomUUID();
+        final UUID subscriptionId = randomUUID();
+
+        courtSubscriptionViewRepository.save(buildView(courtId, subscriptionId, true));
+        courtSubscriptionViewRepository.saveAndFlush(buildView(otherCourtId, subscriptionId, true));
+
+        assertThat(courtSubscriptionViewRepository.deleteBySubscriptionId(subscriptionId), is(2));
+
+        assertThat(courtSubscriptionViewRepository.findActiveByCourtId(courtId), is(empty()));
+        assertThat(courtSubscriptionViewRepository.findActiveByCourtId(otherCourtId), is(empty()));
+    }
+
+    private CourtSubscriptionView buildView(final UUID courtId, final UUID subscriptionId, final boolean active) {
+        return CourtSubscriptionView.builder()
+                .withCourtId(courtId)
+                .withSubscriptionId(subscriptionId)
+                .withSubscriptionName("Subscription Name")
+                .withActive(active)
+                .withFilterId(randomUUID())
+                .withFilterType(DEFENDANT)
+                .withFilterDefendantFirstName("First Name")
+                .withFilterDefendantLastName("Last Name")
+                .withFilterDefendantDateOfBirth(parse("1961-03-02"))
+                .withEvents(asList("CHANGE_OF_PLEA", "PLEAS_ENTER"))
+                .withNowsEdts(asList("Custodial Document"))
+                .withSubscriberEmails(asList("test@test.com", "test1@test.com"))
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package uk.gov.moj.cpp.subscriptions.persistence.repository;
+
+import static java.time.ZoneOffset.UTC;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.DuplicateEventLedgerEntry;
+
+import java.time.ZonedDateTime;
+
+import javax.inject.Inject;
+
+import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(CdiTestRunner.class)
+public class DuplicateEventLedgerRepositoryTest extends BaseTransactionalJunit4Test {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.of(2026, 10, 17, 10, 0, 0, 0, UTC);
+
+    @Inject
+    private DuplicateEventLedgerRepository duplicateEventLedgerRepository;
+
+    @Test
+    public void shouldOnlyRefreshAProcessedEventThatIsOlderThanTheWindow() {
+        duplicateEventLedgerRepository.save(new DuplicateEventLedgerEntry("material:1", NOW.minusMinutes(30)));
+
+        assertThat(duplicateEventLedgerRepository.updateProcessedAtIfProcessedBefore("material:1", NOW, NOW.minusMinutes(60)), is(0));
+        assertThat(duplicateEventLedgerRepository.updateProcessedAtIfProcessedBefore("material:1", NOW, NOW.minusMinutes(10)), is(1));
+    }
+
+    @Test
+    public void shouldDeleteProcessedEventsOlderThanTheWindow() {
+        duplicateEventLedgerRepository.save(new DuplicateEventLedgerEntry("material:1", NOW.minusMinutes(90)));
+        duplicateEventLedgerRepository.save(new DuplicateEventLedgerEntry("material:2", NOW.minusMinutes(30)));
+
+        assertThat(duplicateEventLedgerRepository.deleteProcessedBefore(NOW.minusMinutes(60)), is(1));
+
+        assertThat(duplicateEventLedgerRepository.findBy("material:1"), is(nullValue()));
+        assertThat(duplicateEventLedgerRepository.findBy("material:2"), is(notNullValue()));
+    }
+}
@@ -1,10 +1,12 @@
 package uk.gov.moj.cpp.subscriptions.persistence.repository;
 
 import static java.time.LocalDate.parse;
+import static java.util.Arrays.asList;
 import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static uk.gov.moj.cpp.subscriptions.persistence.constants.EventType.CHANGE_OF_PLEA;
 import static uk.gov.moj.cpp.subscriptions.persistence.constants.FilterType.DEFENDANT;
@@ -95,4 +97,42 @@ public class SubscriberRepositoryTest extends BaseTransactionalJunit4Test {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldReadActiveSubscribersOfSubscriptionWithoutLoadingIt() {
+
+        final Subscription subscription = builder()
+                .withId(randomUUID())
+                .withName("Subscription Name")
+                .withActive(true)
+                .build();
+        subscription.setSubscribers(new HashSet<>(asList(
+                Subscriber.builder().withId(randomUUID()).withEmailAddress("active@test.com").withActive(true).withSubscription(subscription).build(),
+                Subscriber.builder().withId(randomUUID()).withEmailAddress("inactive@test.com").withActive(false).withSubscription(subscription).build())));
+        subscriptionsRepository.save(subscription);
+
+        assertThat(subscribersRepository.findActiveEmailAddressesBySubscriptionId(subscription.getId()), contains("active@test.com"));
+        assertThat(subscribersRepository.findSubscribersByEmailAddressForSubscription("inactive@test.com", subscription.getId()), hasSize(1));
+        assertThat(subscribersRepository.findSubscribersByEmailAddressForSubscription("Inactive@test.com", subscription.getId()), hasSize(0));
+    }
+
+    @Test
+    public void shouldUpdateOnlySubscriberWithExactEmailAddress() {
+
+        final Subscription subscription = builder()
+                .withId(randomUUID())
+                .withName("Subscription Name")
+                .withActive(true)
+                .build();
+        subscription.setSubscribers(new HashSet<>(asList(
+                Subscriber.builder().withId(randomUUID()).withEmailAddress("first@test.com").withActive(false).withSubscription(subscription).build(),
+                Subscriber.builder().withId(randomUUID()).withEmailAddress("second@test.com").withActive(false).withSubscription(subscription).build())));
+        subscriptionsRepository.save(subscription);
+
+        assertThat(subscribersRepository.updateActiveByEmailAddressForSubscription("First@test.com", subscription.getId(), true), is(0));
+        assertThat(subscribersRepository.updateActiveByEmailAddressForSubscription("first@test.com", subscription.getId(), true), is(1));
+        assertThat(subscribersRepository.updateActiveByEmailAddressForSubscription("first@test.com", randomUUID(), true), is(0));
+
+        assertThat(subscribersRepository.findActiveEmailAddressesBySubscriptionId(subscription.getId()), contains("first@test.com"));
+    }
+
+}
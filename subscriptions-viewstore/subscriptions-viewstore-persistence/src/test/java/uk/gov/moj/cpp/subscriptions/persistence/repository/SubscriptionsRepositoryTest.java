@@ -3,17 +3,24 @@ package uk.gov.moj.cpp.subscriptions.persistence.repository;
 import static java.time.LocalDate.parse;
 import static java.util.UUID.randomUUID;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static uk.gov.moj.cpp.subscriptions.persistence.constants.EventType.CHANGE_OF_PLEA;
+import static uk.gov.moj.cpp.subscriptions.persistence.constants.FilterType.CASE_REFERENCE;
 import static uk.gov.moj.cpp.subscriptions.persistence.constants.FilterType.DEFENDANT;
 import static uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription.builder;
 
 import uk.gov.justice.services.test.utils.persistence.BaseTransactionalJunit4Test;
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Court;
+import uk.gov.moj.cpp.subscriptions.persistence.entity.Event;
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Filter;
 import uk.gov.moj.cpp.subscriptions.persistence.entity.NowsEdt;
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscriber;
 import uk.gov.moj.cpp.subscriptions.persistence.entity.Subscription;
+import uk.gov.moj.cpp.subscriptions.persistence.projection.SubscriptionSummary;
 
 import java.util.HashSet;
 import java.util.List;
@@ -21,18 +28,31 @@ import java.util.Set;
 import java.util.UUID;
 
 import javax.inject.Inject;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceUnitUtil;
 
 import com.google.common.collect.Sets;
 import org.apache.deltaspike.testcontrol.api.junit.CdiTestRunner;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
 @RunWith(CdiTestRunner.class)
 public class SubscriptionsRepositoryTest extends BaseTransactionalJunit4Test {
 
+    private static final int SUBSCRIPTIONS_FOR_COURT = 1000;
+    private static final long MAXIMUM_QUERIES_FOR_COURT = 17;
+
     @Inject
     private SubscriptionsRepository subscriptionsRepository;
 
+    @Inject
+    private SubscribersRepository subscribersRepository;
+
+    @Inject
+    private EntityManager entityManager;
+
     @Test
     public void shouldSaveTheGivenSubscriptionAndGetById() {
 
@@ -191,6 +211,33 @@ public class SubscriptionsRepositoryTest extends BaseTransactionalJunit4Test {
 
     }
 
+    @Test
+    public void shouldFindWithDetailsByCourtIdInABoundedNumberOfQueries() {
+
+        final UUID courtId = randomUUID();
+        for (int index = 0; index < SUBSCRIPTIONS_FOR_COURT; index++) {
+            subscriptionsRepository.save(buildSubscriptionForCourt(courtId, index));
+        }
+        subscriptionsRepository.save(buildSubscriptionForCourt(randomUUID(), SUBSCRIPTIONS_FOR_COURT));
+        entityManager.flush();
+        entityManager.clear();
+
+        final Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        final List<Subscription> persistedSubscriptions = subscriptionsRepository.findWithDetailsByCourtId(courtId);
+
+        assertThat(persistedSubscriptions, hasSize(SUBSCRIPTIONS_FOR_COURT));
+        persistedSubscriptions.forEach(subscription -> {
+            assertThat(subscription.getFilter().getUrn(), is(notNullValue()));
+            assertThat(subscription.getSubscribers(), hasSize(2));
+            assertThat(subscription.getCourts(), hasSize(1));
+            assertThat(subscription.getNowsEdts(), hasSize(1));
+            assertThat(subscription.getEvents(), hasSize(1));
+        });
+        assertThat(statistics.getPrepareStatementCount(), is(lessThanOrEqualTo(MAXIMUM_QUERIES_FOR_COURT)));
+    }
+
     @Test
     public void shouldFindByOrganisationIdAndSubscriber() {
 
@@ -235,4 +282,175 @@ public class SubscriptionsRepositoryTest extends BaseTransactionalJunit4Test {
         assertThat(persistedSubscriptions.get(0).getNowsEdts(), hasSize(2));
     }
 
+    @Test
+    public void shouldMatchSubscriberEmailAddressCaseSensitively() {
+
+        final Subscription subscription = buildSubscriptionForCourt(randomUUID(), 0);
+        subscriptionsRepository.save(subscription);
+
+        assertThat(subscriptionsRepository.findByOrganisationIdAndSubscriber(subscription.getOrganisationId(), "first0@test.com"), hasSize(1));
+        assertThat(subscriptionsRepository.findByOrganisationIdAndSubscriber(subscription.getOrganisationId(), "FIRST0@test.com"), hasSize(0));
+    }
+
+    @Test
+    public void shouldPageSubscriptionsOfOrganisationBySubscriptionId() {
+
+        final UUID organisationId = randomUUID();
+        final Set<UUID> subscriptionIds = new HashSet<>();
+        for (int index = 0; index < 5; index++) {
+            final Subscription subscription = buildSubscriptionForCourt(randomUUID(), index);
+            subscription.setOrganisationId(organisationId);
+            subscriptionIds.add(subscriptionsRepository.save(subscription).getId());
+        }
+        subscriptionsRepository.save(buildSubscriptionForCourt(randomUUID(), 5));
+
+        final List<Subscription> firstPage = subscriptionsRepository.findByOrganisationIdOrderByIdAsc(organisationId, 2);
+        final List<Subscription> remaining = subscriptionsRepository.findByOrganisationIdAndIdGreaterThanOrderByIdAsc(organisationId, firstPage.get(1).getId(), 10);
+
+        assertThat(firstPage, hasSize(2));
+        assertThat(remaining, hasSize(3));
+        final Set<UUID> pagedIds = new HashSet<>();
+        firstPage.forEach(subscription -> pagedIds.add(subscription.getId()));
+        remaining.forEach(subscription -> pagedIds.add(subscription.getId()));
+        assertThat(pagedIds, is(subscriptionIds));
+    }
+
+    @Test
+    public void shouldPageSubscriptionsOfCourtAndSubscriber() {
+
+        final UUID courtId = randomUUID();
+        final UUID organisationId = randomUUID();
+        for (int index = 0; index < 3; index++) {
+            final Subscription subscription = buildSubscriptionForCourt(courtId, index);
+            subscription.setOrganisationId(organisationId);
+            subscription.getSubscribers().add(Subscriber.builder().withId(randomUUID()).withEmailAddress("shared@test.com").withActive(true).withSubscription(subscription).build());
+            subscriptionsRepository.save(subscription);
+        }
+
+        final List<Subscription> firstCourtPage = subscriptionsRepository.findPageWithDetailsByCourtId(courtId, 2);
+        final List<Subscription> lastCourtPage = subscriptionsRepository.findPageWithDetailsByCourtIdAfter(courtId, firstCourtPage.get(1).getId(), 2);
+        final List<Subscription> firstSubscriberPage = subscriptionsRepository.findPageByOrganisationIdAndSubscriber(organisationId, "shared@test.com", 2);
+        final List<Subscription> lastSubscriberPage = subscriptionsRepository.findPageByOrganisationIdAndSubscriberAfter(organisationId, "shared@test.com", firstSubscriberPage.get(1).getId(), 2);
+
+        assertThat(firstCourtPage, hasSize(2));
+        assertThat(lastCourtPage, hasSize(1));
+        assertThat(firstSubscriberPage, hasSize(2));
+        assertThat(lastSubscriberPage, hasSize(1));
+        assertThat(subscriptionsRepository.findPageByOrganisationIdAndSubscriber(organisationId, "first0@test.com", 2), hasSize(1));
+    }
+
+    @Test
+    public void shouldFindSummariesWithCollectionSizes() {
+
+        final UUID organisationId = randomUUID();
+        final Subscription subscription = buildSubscriptionForCourt(randomUUID(), 0);
+        subscription.setOrganisationId(organisationId);
+        subscriptionsRepository.save(subscription);
+        entityManager.flush();
+        entityManager.clear();
+
+        final List<SubscriptionSummary> summaries = subscriptionsRepository.findSummariesByOrganisationId(organisationId, 10);
+
+        assertThat(summaries, hasSize(1));
+        assertThat(summaries.get(0).getId(), is(subscription.getId()));
+        assertThat(summaries.get(0).getName(), is(subscription.getName()));
+        assertThat(summaries.get(0).isActive(), is(true));
+        assertThat(summaries.get(0).getSubscriberCount(), is(2L));
+        assertThat(summaries.get(0).getCourtCount(), is(1L));
+        assertThat(summaries.get(0).getNowsOrEdtsCount(), is(1L));
+        assertThat(subscriptionsRepository.findSummariesByOrganisationIdAfter(organisationId, subscription.getId(), 10), hasSize(0));
+    }
+
+    @Test
+    public void shouldLoadOnlyFilterAndCourtsForListenerUpdate() {
+
+        final Subscription subscription = buildSubscriptionForCourt(randomUUID(), 0);
+        subscriptionsRepository.save(subscription);
+        entityManager.flush();
+        entityManager.clear();
+
+        final Subscription persistedSubscription = subscriptionsRepository.findForListenerUpdate(subscription.getId());
+
+        final PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        assertThat(persistenceUnitUtil.isLoaded(persistedSubscription, "filter"), is(true));
+        assertThat(persistenceUnitUtil.isLoaded(persistedSubscription, "courts"), is(true));
+        assertThat(persistenceUnitUtil.isLoaded(persistedSubscription, "subscribers"), is(false));
+        assertThat(persistenceUnitUtil.isLoaded(persistedSubscription, "nowsEdts"), is(false));
+        assertThat(persistenceUnitUtil.isLoaded(persistedSubscription, "events"), is(false));
+        assertThat(persistedSubscription.getCourts(), hasSize(1));
+        assertThat(subscriptionsRepository.findForListenerUpdate(randomUUID()), is(nullValue()));
+    }
+
+    @Test
+    public void shouldLoadFilterWithoutJoiningCollectionsForQueryView() {
+
+        final UUID organisationId = randomUUID();
+        final Subscription subscription = buildSubscriptionForCourt(randomUUID(), 0);
+        subscription.setOrganisationId(organisationId);
+        subscriptionsRepository.save(subscription);
+        entityManager.flush();
+        entityManager.clear();
+
+        final List<Subscription> subscriptions = subscriptionsRepository.findByOrganisationIdOrderByIdAsc(organisationId, 10);
+
+        assertThat(subscriptions, hasSize(1));
+        final PersistenceUnitUtil persistenceUnitUtil = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+        assertThat(persistenceUnitUtil.isLoaded(subscriptions.get(0), "filter"), is(true));
+        assertThat(persistenceUnitUtil.isLoaded(subscriptions.get(0), "subscribers"), is(false));
+        assertThat(subscriptions.get(0).getSubscribers(), hasSize(2));
+    }
+
+    @Test
+    public void shouldDeactivateOnlyWithoutActiveSubscribers() {
+
+        final Subscription subscription = buildSubscriptionForCourt(randomUUID(), 0);
+        subscriptionsRepository.save(subscription);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(subscribersRepository.updateActiveByEmailAddressForSubscription("first0@test.com", subscription.getId(), false), is(1));
+        assertThat(subscriptionsRepository.deactivateWithoutActiveSubscribers(subscription.getId()), is(0));
+        assertThat(subscribersRepository.updateActiveByEmailAddressForSubscription("second0@test.com", subscription.getId(), false), is(1));
+        assertThat(subscriptionsRepository.deactivateWithoutActiveSubscribers(subscription.getId()), is(1));
+
+        assertThat(subscriptionsRepository.findForListenerUpdate(subscription.getId()).isActive(), is(false));
+    }
+
+    @Test
+    public void shouldToggleSubscriptionAndAllSubscribers() {
+
+        final Subscription subscription = buildSubscriptionForCourt(randomUUID(), 0);
+        subscriptionsRepository.save(subscription);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(subscriptionsRepository.updateActive(subscription.getId(), false), is(1));
+        assertThat(subscribersRepository.updateActiveBySubscriptionId(subscription.getId(), false), is(2));
+
+        final Subscription persistedSubscription = subscriptionsRepository.findForListenerUpdate(subscription.getId());
+        assertThat(persistedSubscription.isActive(), is(false));
+        assertThat(persistedSubscription.getSubscribers().stream().noneMatch(Subscriber::isActive), is(true));
+    }
+
+    private Subscription buildSubscriptionForCourt(final UUID courtId, final int index) {
+        final Subscription subscription = builder()
+                .withId(randomUUID())
+                .withName("Subscription " + index)
+                .withOrganisationId(randomUUID())
+                .withActive(true)
+                .withFilters(Filter.builder()
+                        .withId(randomUUID())
+                        .withFilterType(CASE_REFERENCE)
+                        .withUrn("URN" + index)
+                        .build())
+                .build();
+        subscription.setCourts(Sets.newHashSet(Court.builder().withId(randomUUID()).withCourtId(courtId).withName("Wimbledon")
+                .withSubscription(subscription).build()));
+        subscription.setSubscribers(Sets.newHashSet(
+                Subscriber.builder().withId(randomUUID()).withEmailAddress("first" + index + "@test.com").withActive(true).withSubscription(subscription).build(),
+                Subscriber.builder().withId(randomUUID()).withEmailAddress("second" + index + "@test.com").withActive(true).withSubscription(subscription).build()));
+        subscription.setNowsEdts(Sets.newHashSet(NowsEdt.builder().withId(randomUUID()).withName("Custodial Document").withSubscription(subscription).build()));
+        subscription.setEvents(Sets.newHashSet(Event.builder().withId(randomUUID()).withName(CHANGE_OF_PLEA).withSubscription(subscription).build()));
+        return subscription;
+    }
 }